@@ -3,17 +3,18 @@ package com.deliverytech.delivery_api.auth.controller;
 import java.time.Duration;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.CookieValue;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -24,9 +25,14 @@ import com.deliverytech.delivery_api.auth.dto.RegisterRequestDTO;
 import com.deliverytech.delivery_api.auth.dto.UsuarioResponseDTO;
 import com.deliverytech.delivery_api.auth.model.Usuario;
 import com.deliverytech.delivery_api.auth.service.AuthService;
+import com.deliverytech.delivery_api.auth.service.LoginService;
+import com.deliverytech.delivery_api.auth.service.RefreshTokenService;
+import com.deliverytech.delivery_api.auth.service.RefreshTokenService.SessaoEmitida;
 import com.deliverytech.delivery_api.common.dto.ApiResponseWrapper;
-import com.deliverytech.delivery_api.common.security.JwtUtil;
+import com.deliverytech.delivery_api.common.exceptions.ServiceOverloadedException;
+import com.deliverytech.delivery_api.common.monitoring.audit.AuditService;
 
+import io.jsonwebtoken.JwtException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -40,87 +46,97 @@ import jakarta.validation.Valid;
 public class AuthController {
 
   @Autowired
-  private AuthenticationManager authenticationManager;
+  private LoginService loginService;
 
   @Autowired
   private AuthService authService;
 
   @Autowired
-  private JwtUtil jwtUtil;
+  private RefreshTokenService refreshTokenService;
 
-  @Value("${jwt.expiration}")
-  private Long jwtExpiration;
+  @Autowired
+  private AuditService auditService;
 
   @Operation(summary = "Login de usuário", description = "Autentica um usuário e retorna um token JWT de acesso e cookie de refresh token seguro")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Login bem-sucedido"),
-      @ApiResponse(responseCode = "401", description = "Credenciais inválidas")
+      @ApiResponse(responseCode = "401", description = "Credenciais inválidas"),
+      @ApiResponse(responseCode = "503", description = "Muitos logins em andamento (ver Retry-After)")
   })
   @PostMapping("/login")
   public ResponseEntity<?> login(@Valid @RequestBody LoginRequestDTO loginRequest) {
     try {
-      // 1️⃣ Autentica o usuário
-      authenticationManager.authenticate(
-          new UsernamePasswordAuthenticationToken(
-              loginRequest.getEmail(),
-              loginRequest.getSenha()));
-
-      // 2️⃣ Carrega o usuário autenticado
-      Usuario userDetails = authService.loadUserByUsername(loginRequest.getEmail());
-
-      // 3️⃣ Gera tokens
-      String accessToken = jwtUtil.generateToken(userDetails);
-      String refreshToken = jwtUtil.generateRefreshToken(userDetails);
-
-      // 4️⃣ Cria cookie seguro para refresh token
-      ResponseCookie refreshCookie = ResponseCookie.from("refresh_token", refreshToken)
-          .httpOnly(true)
-          .secure(true)
-          .sameSite("Strict")
-          .path("/api/auth/refresh")
-          .maxAge(Duration.ofDays(7))
-          .build();
+      // 1️⃣ Autentica no pool de login (BCrypt fora das threads de requisição) e já devolve o usuário
+      Usuario userDetails = loginService.autenticar(loginRequest.getEmail(), loginRequest.getSenha());
+
+      // 2️⃣ Abre a sessão: access token + refresh token de uso único
+      SessaoEmitida sessao = refreshTokenService.iniciarSessao(userDetails);
+      auditService.logSecurityEvent(String.valueOf(userDetails.getId()), "LOGIN", null, true);
 
+      // 3️⃣ Cria cookie seguro para refresh token
       return ResponseEntity.ok()
-          .header(HttpHeaders.SET_COOKIE, refreshCookie.toString())
-          .body(accessToken);
+          .header(HttpHeaders.SET_COOKIE, refreshCookie(sessao.refreshToken(), refreshTokenService.getValidade()).toString())
+          .body(sessao.accessToken());
 
     } catch (BadCredentialsException e) {
+      auditService.logSecurityEvent(null, "LOGIN", "Credenciais inválidas para " + loginRequest.getEmail(), false);
       return ResponseEntity.status(401)
           .body(new ApiResponseWrapper<>(false, null, "Credenciais inválidas"));
+    } catch (ServiceOverloadedException e) {
+      return ResponseEntity.status(503)
+          .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfter().toSeconds()))
+          .body(new ApiResponseWrapper<>(false, null, e.getMessage()));
     } catch (Exception e) {
       return ResponseEntity.status(500)
           .body(new ApiResponseWrapper<>(false, null, "Erro ao autenticar usuário"));
     }
   }
 
-  @Operation(summary = "Refresh de token", description = "Gera um novo token JWT de acesso usando o refresh token do cookie seguro")
+  @Operation(summary = "Refresh de token", description = "Gera um novo token JWT de acesso e troca o refresh token do cookie seguro (uso único)")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Novo token de acesso gerado com sucesso"),
-      @ApiResponse(responseCode = "401", description = "Refresh token inválido ou expirado")
+      @ApiResponse(responseCode = "401", description = "Refresh token inválido, expirado, reutilizado ou revogado")
   })
   @PostMapping("/refresh")
   public ResponseEntity<?> refreshToken(@CookieValue("refresh_token") String refreshToken) {
     try {
-      if (!jwtUtil.validateRefreshToken(refreshToken)) {
-        return ResponseEntity.status(401)
-            .body(new ApiResponseWrapper<>(false, null, "Refresh token inválido ou expirado"));
-      }
-
-      String email = jwtUtil.extractUsername(refreshToken);
-
-      Usuario usuario = authService.loadUserByUsername(email);
-
-      String newAccessToken = jwtUtil.generateToken(usuario);
+      SessaoEmitida sessao = refreshTokenService.renovar(refreshToken);
 
-      return ResponseEntity.ok(newAccessToken);
+      return ResponseEntity.ok()
+          .header(HttpHeaders.SET_COOKIE, refreshCookie(sessao.refreshToken(), refreshTokenService.getValidade()).toString())
+          .body(sessao.accessToken());
 
+    } catch (JwtException e) {
+      return ResponseEntity.status(401)
+          .body(new ApiResponseWrapper<>(false, null, "Refresh token inválido ou expirado"));
+    } catch (AuthenticationException e) {
+      return ResponseEntity.status(401)
+          .header(HttpHeaders.SET_COOKIE, refreshCookie("", Duration.ZERO).toString())
+          .body(new ApiResponseWrapper<>(false, null, e.getMessage()));
     } catch (Exception e) {
       return ResponseEntity.status(500)
           .body(new ApiResponseWrapper<>(false, null, "Erro ao gerar novo token de acesso"));
     }
   }
 
+  @Operation(summary = "Logout", description = "Encerra a sessão do refresh token: ele e os access tokens da sessão deixam de valer")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "204", description = "Sessão encerrada")
+  })
+  @PostMapping("/logout")
+  public ResponseEntity<Void> logout(@CookieValue(name = "refresh_token", required = false) String refreshToken) {
+    if (refreshToken != null && !refreshToken.isBlank()) {
+      try {
+        refreshTokenService.encerrarSessao(refreshToken);
+      } catch (JwtException | AuthenticationException e) {
+        // Token inválido ou expirado: não há sessão a encerrar, só limpa o cookie
+      }
+    }
+    return ResponseEntity.noContent()
+        .header(HttpHeaders.SET_COOKIE, refreshCookie("", Duration.ZERO).toString())
+        .build();
+  }
+
   @Operation(summary = "Registro de usuário", description = "Registra um novo usuário no sistema")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "201", description = "Usuário criado com sucesso"),
@@ -160,7 +176,8 @@ public class AuthController {
   public ResponseEntity<ApiResponseWrapper<UsuarioResponseDTO>> getCurrentUser(
       @AuthenticationPrincipal Usuario usuarioLogado) {
     try {
-      UsuarioResponseDTO userResponse = new UsuarioResponseDTO(usuarioLogado);
+      // O principal vem das claims do token; o perfil completo vem do banco
+      UsuarioResponseDTO userResponse = new UsuarioResponseDTO(authService.buscarPorId(usuarioLogado.getId()));
       ApiResponseWrapper<UsuarioResponseDTO> response = new ApiResponseWrapper<>(true, userResponse,
           "Usuário autenticado retornado com sucesso");
       return ResponseEntity.ok(response);
@@ -170,4 +187,30 @@ public class AuthController {
               "Erro ao obter usuário autenticado: " + e.getMessage()));
     }
   }
-}
\ No newline at end of file
+
+  @Operation(summary = "Desativar usuário", description = "Desativa o usuário e revoga os tokens já emitidos para ele")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Usuário desativado com sucesso"),
+      @ApiResponse(responseCode = "403", description = "Acesso negado")
+  })
+  @PatchMapping("/usuarios/{id}/desativar")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<ApiResponseWrapper<UsuarioResponseDTO>> desativarUsuario(@PathVariable Long id) {
+    Usuario usuario = authService.desativarUsuario(id);
+    return ResponseEntity.ok(new ApiResponseWrapper<>(true, new UsuarioResponseDTO(usuario),
+        "Usuário desativado com sucesso"));
+  }
+
+  /**
+   * Cookie do refresh token, enviado só para /api/auth (refresh e logout)
+   */
+  private static ResponseCookie refreshCookie(String valor, Duration validade) {
+    return ResponseCookie.from("refresh_token", valor)
+        .httpOnly(true)
+        .secure(true)
+        .sameSite("Strict")
+        .path("/api/auth")
+        .maxAge(validade)
+        .build();
+  }
+}
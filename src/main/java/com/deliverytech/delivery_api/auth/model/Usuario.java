@@ -51,6 +51,10 @@ public class Usuario implements UserDetails {
   @Column(nullable = false)
   private Boolean ativo = true;
 
+  // Incrementada para revogar os tokens já emitidos (ex.: ao desativar o usuário)
+  @Column(name = "versao_token")
+  private Integer versaoToken = 0;
+
   @Column(name = "data_criacao", nullable = false)
   private LocalDateTime dataCriacao = LocalDateTime.now();
 
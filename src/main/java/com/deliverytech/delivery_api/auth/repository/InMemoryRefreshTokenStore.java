@@ -0,0 +1,75 @@
+package com.deliverytech.delivery_api.auth.repository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Refresh tokens em memória, para testes e execução com um único nó.
+ * Expirados são descartados na leitura.
+ */
+@Repository
+@ConditionalOnProperty(name = "delivery.auth.refresh.armazenamento", havingValue = "memoria")
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+  private record Emitido(RefreshToken token, Instant expiraEm) {
+  }
+
+  private final Map<String, Emitido> tokens = new ConcurrentHashMap<>();
+  private final Map<String, Instant> revogadas = new ConcurrentHashMap<>();
+  private final Clock clock;
+
+  @Autowired
+  public InMemoryRefreshTokenStore() {
+    this(Clock.systemUTC());
+  }
+
+  public InMemoryRefreshTokenStore(Clock clock) {
+    this.clock = clock;
+  }
+
+  @Override
+  public void registrar(String jti, String sessao, Long usuarioId, Duration validade) {
+    tokens.put(jti, new Emitido(new RefreshToken(sessao, usuarioId), clock.instant().plus(validade)));
+  }
+
+  @Override
+  public Optional<RefreshToken> consumir(String jti) {
+    Emitido emitido = tokens.remove(jti);
+    if (emitido == null || !emitido.expiraEm().isAfter(clock.instant())) {
+      return Optional.empty();
+    }
+    return Optional.of(emitido.token());
+  }
+
+  @Override
+  public void revogarSessao(String sessao, Instant ate) {
+    revogadas.merge(sessao, ate, (atual, novo) -> novo.isAfter(atual) ? novo : atual);
+    Instant agora = clock.instant();
+    revogadas.values().removeIf(fim -> !fim.isAfter(agora));
+  }
+
+  @Override
+  public boolean sessaoRevogada(String sessao) {
+    Instant ate = revogadas.get(sessao);
+    return ate != null && ate.isAfter(clock.instant());
+  }
+
+  @Override
+  public Set<String> sessoesRevogadas() {
+    Instant agora = clock.instant();
+    return revogadas.entrySet().stream()
+        .filter(e -> e.getValue().isAfter(agora))
+        .map(Map.Entry::getKey)
+        .collect(Collectors.toSet());
+  }
+}
@@ -0,0 +1,69 @@
+package com.deliverytech.delivery_api.auth.repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Refresh tokens no Redis.
+ *
+ * - delivery:auth:refresh:{jti} → "sessao|usuarioId", com TTL da validade
+ *   do token; consumido com GETDEL (uma única leitura vence)
+ * - delivery:auth:sessoes-revogadas → ZSET sessão → instante até o qual a
+ *   revogação vale (expiração do último refresh token da sessão)
+ */
+@Repository
+@ConditionalOnProperty(name = "delivery.auth.refresh.armazenamento", havingValue = "redis", matchIfMissing = true)
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+
+  private static final String PREFIXO_TOKEN = "delivery:auth:refresh:";
+  private static final String CHAVE_REVOGADAS = "delivery:auth:sessoes-revogadas";
+
+  private final StringRedisTemplate redisTemplate;
+
+  public RedisRefreshTokenStore(StringRedisTemplate redisTemplate) {
+    this.redisTemplate = redisTemplate;
+  }
+
+  @Override
+  public void registrar(String jti, String sessao, Long usuarioId, Duration validade) {
+    redisTemplate.opsForValue().set(PREFIXO_TOKEN + jti, sessao + "|" + usuarioId, validade);
+  }
+
+  @Override
+  public Optional<RefreshToken> consumir(String jti) {
+    String valor = redisTemplate.opsForValue().getAndDelete(PREFIXO_TOKEN + jti);
+    if (valor == null) {
+      return Optional.empty();
+    }
+    int separador = valor.lastIndexOf('|');
+    return Optional.of(new RefreshToken(valor.substring(0, separador),
+        Long.valueOf(valor.substring(separador + 1))));
+  }
+
+  @Override
+  public void revogarSessao(String sessao, Instant ate) {
+    redisTemplate.opsForZSet().add(CHAVE_REVOGADAS, sessao, ate.toEpochMilli());
+    // Revogações vencidas não precisam mais ser lembradas
+    redisTemplate.opsForZSet().removeRangeByScore(CHAVE_REVOGADAS, Double.NEGATIVE_INFINITY,
+        System.currentTimeMillis());
+  }
+
+  @Override
+  public boolean sessaoRevogada(String sessao) {
+    Double ate = redisTemplate.opsForZSet().score(CHAVE_REVOGADAS, sessao);
+    return ate != null && ate > System.currentTimeMillis();
+  }
+
+  @Override
+  public Set<String> sessoesRevogadas() {
+    Set<String> sessoes = redisTemplate.opsForZSet().rangeByScore(CHAVE_REVOGADAS, System.currentTimeMillis(),
+        Double.POSITIVE_INFINITY);
+    return sessoes != null ? sessoes : Set.of();
+  }
+}
@@ -0,0 +1,36 @@
+package com.deliverytech.delivery_api.auth.repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Refresh tokens emitidos e sessões revogadas.
+ *
+ * Cada refresh token (jti) só pode ser consumido uma vez; a rotação emite um
+ * novo jti na mesma sessão. Implementações: Redis (padrão, compartilhado
+ * entre os nós) e memória (delivery.auth.refresh.armazenamento=memoria).
+ */
+public interface RefreshTokenStore {
+
+  record RefreshToken(String sessao, Long usuarioId) {
+  }
+
+  void registrar(String jti, String sessao, Long usuarioId, Duration validade);
+
+  /**
+   * Remove e devolve o token de forma atômica; vazio se já foi usado,
+   * expirou ou nunca foi emitido.
+   */
+  Optional<RefreshToken> consumir(String jti);
+
+  void revogarSessao(String sessao, Instant ate);
+
+  boolean sessaoRevogada(String sessao);
+
+  /**
+   * Sessões com revogação ainda vigente, para montar o filtro de revogação
+   */
+  Set<String> sessoesRevogadas();
+}
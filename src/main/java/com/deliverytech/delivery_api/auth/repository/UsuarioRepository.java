@@ -3,6 +3,8 @@ package com.deliverytech.delivery_api.auth.repository;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.deliverytech.delivery_api.auth.model.Usuario;
@@ -13,4 +15,16 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
   Optional<Usuario> findByEmail(String email);
 
   boolean existsByEmail(String email);
+
+  /**
+   * Versão atual dos tokens do usuário; -1 se ele estiver desativado
+   */
+  @Query("select case when u.ativo = true then coalesce(u.versaoToken, 0) else -1 end from Usuario u where u.id = :id")
+  Optional<Integer> findVersaoToken(@Param("id") Long id);
+
+  /**
+   * Só o id do restaurante do usuário (checagem de dono, sem carregar a entidade)
+   */
+  @Query("select u.restaurante.id from Usuario u where u.id = :id")
+  Optional<Long> findRestauranteIdById(@Param("id") Long id);
 }
\ No newline at end of file
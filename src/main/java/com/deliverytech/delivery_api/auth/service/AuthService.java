@@ -5,6 +5,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.deliverytech.delivery_api.auth.dto.RegisterRequestDTO;
 import com.deliverytech.delivery_api.auth.model.Usuario;
@@ -20,6 +21,9 @@ public class AuthService implements UserDetailsService {
   @Autowired
   private PasswordEncoder passwordEncoder;
 
+  @Autowired
+  private TokenVersionService tokenVersionService;
+
   @Override
   public Usuario loadUserByUsername(String email) throws UsernameNotFoundException {
     return usuarioRepository.findByEmail(email)
@@ -55,4 +59,15 @@ public class AuthService implements UserDetailsService {
     return usuarioRepository.findByEmail(email)
         .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
   }
-}
\ No newline at end of file
+
+  /**
+   * Desativa o usuário e revoga os tokens já emitidos para ele
+   */
+  @Transactional
+  public Usuario desativarUsuario(Long id) {
+    Usuario usuario = buscarPorId(id);
+    usuario.setAtivo(false);
+    tokenVersionService.revogarTokens(usuario);
+    return usuario;
+  }
+}
@@ -0,0 +1,154 @@
+package com.deliverytech.delivery_api.auth.service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Service;
+
+import com.deliverytech.delivery_api.auth.model.Usuario;
+import com.deliverytech.delivery_api.common.exceptions.ServiceOverloadedException;
+import com.deliverytech.delivery_api.common.monitoring.context.RequestContext;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Login com CPU limitada: a verificação de senha (BCrypt) roda em um pool
+ * próprio, com fila limitada, e não nas threads de requisição.
+ *
+ * Em um pico de logins (ex.: após uma queda), no máximo "threads" hashes rodam
+ * ao mesmo tempo e no máximo "fila" requisições esperam; as demais são
+ * recusadas na hora com {@link ServiceOverloadedException} (503 + Retry-After),
+ * deixando CPU e threads para o restante da API.
+ *
+ * O usuário é carregado uma única vez: o principal devolvido pelo
+ * AuthenticationManager já é o Usuario.
+ *
+ * Métricas:
+ * - delivery.auth.login.fila.espera: tempo entre a chegada e o início do login
+ * - delivery.auth.login.rejeicoes{motivo=fila_cheia|tempo_esgotado}
+ * - delivery.auth.login.fila.tamanho / delivery.auth.login.ativos
+ * - delivery.auth.senha.hash.tempo (MeteredPasswordEncoder)
+ */
+@Slf4j
+@Service
+public class LoginService {
+
+  private final AuthenticationManager authenticationManager;
+  private final ThreadPoolExecutor executor;
+  private final Duration tempoMaximo;
+  private final Duration retryAfter;
+
+  private final Timer esperaFila;
+  private final Counter rejeicoesFilaCheia;
+  private final Counter rejeicoesTempoEsgotado;
+
+  @Autowired
+  public LoginService(AuthenticationManager authenticationManager, MeterRegistry meterRegistry,
+      @Value("${delivery.login.threads:0}") int threads,
+      @Value("${delivery.login.fila:50}") int fila,
+      @Value("${delivery.login.tempo-maximo:5s}") Duration tempoMaximo,
+      @Value("${delivery.login.retry-after:2s}") Duration retryAfter) {
+    this.authenticationManager = authenticationManager;
+    this.tempoMaximo = tempoMaximo;
+    this.retryAfter = retryAfter;
+
+    // 0 = uma thread por CPU
+    int tamanho = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    AtomicInteger sequencia = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(tamanho, tamanho, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(fila), r -> {
+          Thread thread = new Thread(r, "login-" + sequencia.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+
+    this.esperaFila = Timer.builder("delivery.auth.login.fila.espera")
+        .description("Tempo de espera na fila de login")
+        .register(meterRegistry);
+    this.rejeicoesFilaCheia = rejeicoes(meterRegistry, "fila_cheia");
+    this.rejeicoesTempoEsgotado = rejeicoes(meterRegistry, "tempo_esgotado");
+    Gauge.builder("delivery.auth.login.fila.tamanho", executor, e -> e.getQueue().size())
+        .description("Logins aguardando na fila")
+        .register(meterRegistry);
+    Gauge.builder("delivery.auth.login.ativos", executor, ThreadPoolExecutor::getActiveCount)
+        .description("Logins em execução")
+        .register(meterRegistry);
+
+    log.info("🔧 Login com {} threads e fila de {}", tamanho, fila);
+  }
+
+  /**
+   * Autentica email e senha no pool de login. Lança as exceções do Spring
+   * Security (ex.: BadCredentialsException) ou ServiceOverloadedException.
+   */
+  public Usuario autenticar(String email, String senha) {
+    long chegada = System.nanoTime();
+
+    Future<Usuario> login;
+    try {
+      // O pool é próprio (fora do TaskDecorator): o contexto da requisição vai junto com a tarefa
+      login = executor.submit(RequestContext.propagar(() -> {
+        esperaFila.record(System.nanoTime() - chegada, TimeUnit.NANOSECONDS);
+        return (Usuario) authenticationManager
+            .authenticate(new UsernamePasswordAuthenticationToken(email, senha))
+            .getPrincipal();
+      }));
+    } catch (RejectedExecutionException e) {
+      rejeicoesFilaCheia.increment();
+      throw sobrecarregado();
+    }
+
+    try {
+      return login.get(tempoMaximo.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      login.cancel(true);
+      rejeicoesTempoEsgotado.increment();
+      throw sobrecarregado();
+    } catch (InterruptedException e) {
+      login.cancel(true);
+      Thread.currentThread().interrupt();
+      throw sobrecarregado();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException causa) {
+        throw causa;
+      }
+      throw new IllegalStateException("Falha ao autenticar", e.getCause());
+    }
+  }
+
+  public int getTamanhoFila() {
+    return executor.getQueue().size();
+  }
+
+  @PreDestroy
+  public void encerrar() {
+    executor.shutdownNow();
+  }
+
+  private ServiceOverloadedException sobrecarregado() {
+    return new ServiceOverloadedException("Muitos logins em andamento. Tente novamente em instantes.", retryAfter);
+  }
+
+  private static Counter rejeicoes(MeterRegistry meterRegistry, String motivo) {
+    return Counter.builder("delivery.auth.login.rejeicoes")
+        .description("Logins recusados por falta de capacidade")
+        .tag("motivo", motivo)
+        .register(meterRegistry);
+  }
+}
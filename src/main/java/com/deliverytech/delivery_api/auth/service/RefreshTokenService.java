@@ -0,0 +1,106 @@
+package com.deliverytech.delivery_api.auth.service;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+
+import com.deliverytech.delivery_api.auth.model.Usuario;
+import com.deliverytech.delivery_api.auth.repository.RefreshTokenStore;
+import com.deliverytech.delivery_api.common.security.JwtUtil;
+import com.deliverytech.delivery_api.common.security.TokenValidado;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sessões de login com refresh token rotativo.
+ *
+ * O login abre uma sessão (claim "sid") e emite um refresh token de uso
+ * único. Cada refresh consome o token e emite outro na mesma sessão. Se um
+ * token já consumido voltar (cópia roubada ou replay), a sessão inteira é
+ * revogada: o access token e o refresh token mais recente também deixam de
+ * valer.
+ *
+ * Erros de sessão lançam BadCredentialsException; token inválido ou expirado
+ * lança as exceções do jjwt.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+  public record SessaoEmitida(String accessToken, String refreshToken) {
+  }
+
+  private final JwtUtil jwtUtil;
+  private final RefreshTokenStore store;
+  private final SessionRevocationService revogacoes;
+  private final AuthService authService;
+
+  @Autowired
+  public RefreshTokenService(JwtUtil jwtUtil, RefreshTokenStore store, SessionRevocationService revogacoes,
+      AuthService authService) {
+    this.jwtUtil = jwtUtil;
+    this.store = store;
+    this.revogacoes = revogacoes;
+    this.authService = authService;
+  }
+
+  public SessaoEmitida iniciarSessao(Usuario usuario) {
+    return emitir(usuario, UUID.randomUUID().toString());
+  }
+
+  public SessaoEmitida renovar(String refreshToken) {
+    TokenValidado token = validarRefresh(refreshToken);
+
+    if (revogacoes.estaRevogada(token.sessao())) {
+      throw new BadCredentialsException("Sessão encerrada");
+    }
+
+    if (store.consumir(token.id()).isEmpty()) {
+      // Token válido, mas já usado: alguém mais tem uma cópia
+      revogacoes.revogar(token.sessao());
+      log.warn("🚨 Refresh token reutilizado; sessão revogada para o usuário {}", token.username());
+      throw new BadCredentialsException("Refresh token reutilizado; sessão encerrada");
+    }
+
+    Usuario usuario = authService.loadUserByUsername(token.username());
+
+    // Usuário desativado ou tokens revogados depois da emissão
+    if (!TokenVersionService.tokenVigente(usuario, token.versao())) {
+      throw new BadCredentialsException("Refresh token revogado");
+    }
+
+    return emitir(usuario, token.sessao());
+  }
+
+  /**
+   * Logout: revoga a sessão do refresh token em todos os nós
+   */
+  public void encerrarSessao(String refreshToken) {
+    TokenValidado token = validarRefresh(refreshToken);
+    store.consumir(token.id());
+    revogacoes.revogar(token.sessao());
+  }
+
+  public Duration getValidade() {
+    return jwtUtil.getRefreshExpiration();
+  }
+
+  private TokenValidado validarRefresh(String refreshToken) {
+    TokenValidado token = jwtUtil.validar(refreshToken);
+    // Refresh tokens emitidos antes das sessões não têm sid/jti: exigem novo login
+    if (!token.refresh() || token.sessao() == null || token.id() == null) {
+      throw new BadCredentialsException("Refresh token inválido");
+    }
+    return token;
+  }
+
+  private SessaoEmitida emitir(Usuario usuario, String sessao) {
+    String jti = UUID.randomUUID().toString();
+    String refreshToken = jwtUtil.generateRefreshToken(usuario, sessao, jti);
+    store.registrar(jti, sessao, usuario.getId(), jwtUtil.getRefreshExpiration());
+    return new SessaoEmitida(jwtUtil.generateToken(usuario, sessao), refreshToken);
+  }
+}
@@ -0,0 +1,192 @@
+package com.deliverytech.delivery_api.auth.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.deliverytech.delivery_api.auth.repository.RefreshTokenStore;
+import com.deliverytech.delivery_api.common.cache.CacheCircuitBreaker;
+import com.deliverytech.delivery_api.common.security.JwtUtil;
+import com.deliverytech.delivery_api.common.utils.BloomFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Revogação de sessões (logout e reutilização de refresh token).
+ *
+ * Cada nó mantém um filtro de Bloom com as sessões revogadas: o caso comum,
+ * sessão não revogada, é respondido em memória a cada requisição. Só um
+ * "pode estar revogada" consulta o {@link RefreshTokenStore}.
+ *
+ * Revogações são publicadas no canal delivery.auth.refresh.canal e aplicadas
+ * pelos demais nós. O filtro é remontado a partir do store na subida e
+ * periodicamente, o que descarta revogações vencidas (Bloom não remove) e
+ * recupera mensagens perdidas.
+ *
+ * A consulta ao store passa pelo {@link CacheCircuitBreaker}: com o Redis
+ * indisponível, a sessão que o filtro aponta é tratada como revogada (401 em
+ * vez de 500), inclusive nos falsos positivos.
+ *
+ * Enquanto o filtro não tiver sido montado uma vez (store fora do ar na
+ * subida), ele não sabe das revogações anteriores: toda consulta vai ao store
+ * e a montagem é tentada de novo a cada delivery.auth.refresh.filtro.nova-tentativa.
+ *
+ * Métrica delivery.auth.revogacao.consultas{resultado=memoria|revogada|falso_positivo|sem_filtro|indisponivel}.
+ */
+@Slf4j
+@Service
+public class SessionRevocationService implements MessageListener {
+
+  private final RefreshTokenStore store;
+  private final CacheCircuitBreaker circuito;
+  private final StringRedisTemplate redisTemplate;
+  private final JwtUtil jwtUtil;
+  private final String canal;
+  private final int capacidade;
+  private final double taxaFalsoPositivo;
+
+  private final Counter respondidasEmMemoria;
+  private final Counter confirmadas;
+  private final Counter falsosPositivos;
+  private final Counter indisponiveis;
+  private final Counter semFiltro;
+
+  private volatile BloomFilter filtro;
+  private volatile boolean filtroMontado;
+
+  @Autowired
+  public SessionRevocationService(RefreshTokenStore store, CacheCircuitBreaker circuito,
+      StringRedisTemplate redisTemplate, JwtUtil jwtUtil, MeterRegistry meterRegistry,
+      @Value("${delivery.auth.refresh.canal:delivery:auth:revogacoes}") String canal,
+      @Value("${delivery.auth.refresh.filtro.capacidade:100000}") int capacidade,
+      @Value("${delivery.auth.refresh.filtro.taxa-falso-positivo:0.01}") double taxaFalsoPositivo) {
+    this.store = store;
+    this.circuito = circuito;
+    this.redisTemplate = redisTemplate;
+    this.jwtUtil = jwtUtil;
+    this.canal = canal;
+    this.capacidade = capacidade;
+    this.taxaFalsoPositivo = taxaFalsoPositivo;
+    this.filtro = new BloomFilter(capacidade, taxaFalsoPositivo);
+
+    this.respondidasEmMemoria = consultas(meterRegistry, "memoria");
+    this.confirmadas = consultas(meterRegistry, "revogada");
+    this.falsosPositivos = consultas(meterRegistry, "falso_positivo");
+    this.indisponiveis = consultas(meterRegistry, "indisponivel");
+    this.semFiltro = consultas(meterRegistry, "sem_filtro");
+  }
+
+  /**
+   * Remonta o filtro com as revogações vigentes no store
+   */
+  @PostConstruct
+  @Scheduled(fixedDelayString = "${delivery.auth.refresh.filtro.reconstrucao:1h}",
+      initialDelayString = "${delivery.auth.refresh.filtro.reconstrucao:1h}")
+  public synchronized void reconstruirFiltro() {
+    try {
+      Set<String> revogadas = store.sessoesRevogadas();
+      BloomFilter novo = new BloomFilter(Math.max(capacidade, revogadas.size() * 2), taxaFalsoPositivo);
+      revogadas.forEach(novo::adicionar);
+      filtro = novo;
+      filtroMontado = true;
+      log.info("🔐 Filtro de revogação montado com {} sessões", revogadas.size());
+    } catch (Exception e) {
+      // Mantém o filtro atual; se nunca foi montado, as consultas vão ao store
+      log.warn("⚠️ Falha ao montar o filtro de revogação: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Nova tentativa, em intervalo curto, enquanto o filtro nunca foi montado
+   */
+  @Scheduled(fixedDelayString = "${delivery.auth.refresh.filtro.nova-tentativa:5s}",
+      initialDelayString = "${delivery.auth.refresh.filtro.nova-tentativa:5s}")
+  public void montarFiltroPendente() {
+    if (!filtroMontado) {
+      reconstruirFiltro();
+    }
+  }
+
+  public boolean isFiltroMontado() {
+    return filtroMontado;
+  }
+
+  /**
+   * Revoga a sessão até a validade máxima de um refresh token dela
+   */
+  public void revogar(String sessao) {
+    store.revogarSessao(sessao, Instant.now().plus(jwtUtil.getRefreshExpiration()));
+    adicionar(sessao);
+
+    try {
+      redisTemplate.convertAndSend(canal, sessao);
+    } catch (Exception e) {
+      // Os demais nós recebem a revogação na próxima reconstrução do filtro
+      log.warn("⚠️ Falha ao publicar revogação da sessão: {}", e.getMessage());
+    }
+  }
+
+  public boolean estaRevogada(String sessao) {
+    if (sessao == null) {
+      return false;
+    }
+    if (!filtroMontado) {
+      return consultarStore(sessao, semFiltro);
+    }
+    if (!filtro.podeConter(sessao)) {
+      respondidasEmMemoria.increment();
+      return false;
+    }
+    return consultarStore(sessao, falsosPositivos);
+  }
+
+  private boolean consultarStore(String sessao, Counter naoRevogada) {
+    Boolean revogada = circuito.executar(() -> store.sessaoRevogada(sessao), () -> null);
+    if (revogada == null) {
+      // Store indisponível: na dúvida a sessão é recusada (fail-closed)
+      indisponiveis.increment();
+      return true;
+    }
+    if (revogada) {
+      confirmadas.increment();
+      return true;
+    }
+    naoRevogada.increment();
+    return false;
+  }
+
+  public String getCanal() {
+    return canal;
+  }
+
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    adicionar(new String(message.getBody(), StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Sincronizado com a reconstrução para a revogação não cair no filtro que
+   * está sendo substituído
+   */
+  private synchronized void adicionar(String sessao) {
+    filtro.adicionar(sessao);
+  }
+
+  private static Counter consultas(MeterRegistry meterRegistry, String resultado) {
+    return Counter.builder("delivery.auth.revogacao.consultas")
+        .description("Consultas de revogação de sessão")
+        .tag("resultado", resultado)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,52 @@
+package com.deliverytech.delivery_api.auth.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import com.deliverytech.delivery_api.auth.model.Usuario;
+import com.deliverytech.delivery_api.auth.repository.UsuarioRepository;
+
+/**
+ * Versão dos tokens de cada usuário, usada para revogar tokens já emitidos.
+ *
+ * O token carrega a versão do momento do login; se a versão do usuário mudou
+ * (ou ele foi desativado), o token deixa de ser aceito. A consulta fica no
+ * cache em dois níveis, então a checagem por requisição normalmente não vai
+ * ao banco; a revogação remove a entrada em todos os nós.
+ */
+@Service
+public class TokenVersionService {
+
+  public static final String CACHE = "versoesToken";
+  public static final int REVOGADO = -1;
+
+  @Autowired
+  private UsuarioRepository usuarioRepository;
+
+  @Cacheable(cacheNames = CACHE, key = "#usuarioId")
+  public Integer versaoAtual(Long usuarioId) {
+    return usuarioRepository.findVersaoToken(usuarioId).orElse(REVOGADO);
+  }
+
+  /**
+   * Invalida todos os tokens emitidos até agora para o usuário
+   */
+  @CacheEvict(cacheNames = CACHE, key = "#usuario.id")
+  public void revogarTokens(Usuario usuario) {
+    usuario.setVersaoToken(versaoDe(usuario) + 1);
+    usuarioRepository.save(usuario);
+  }
+
+  /**
+   * Confere a versão do token com a do usuário já carregado do banco
+   */
+  public static boolean tokenVigente(Usuario usuario, int versaoDoToken) {
+    return usuario.isEnabled() && versaoDe(usuario) == versaoDoToken;
+  }
+
+  public static int versaoDe(Usuario usuario) {
+    return usuario.getVersaoToken() != null ? usuario.getVersaoToken() : 0;
+  }
+}
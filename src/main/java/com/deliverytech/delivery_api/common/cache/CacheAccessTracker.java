@@ -0,0 +1,128 @@
+package com.deliverytech.delivery_api.common.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Weights;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registra a frequência de acesso das chaves de cache para o aquecimento.
+ *
+ * Só os caches aquecidos ({@link #CACHES}) são contados. Os acessos ficam em
+ * memória (LongAdder, sem contenção no caminho da requisição), no máximo
+ * {@code maximo-chaves-janela} chaves por cache a cada janela, e são
+ * descarregados periodicamente em um ZSET por cache no Redis, somando os
+ * acessos de todos os nós.
+ *
+ * A cada envio as pontuações do ZSET decaem ({@code decaimento}), as chaves
+ * abaixo de meio acesso saem e o ZSET é limitado às chaves mais acessadas: o
+ * ranking acompanha o acesso recente.
+ */
+@Slf4j
+@Component
+public class CacheAccessTracker {
+
+  /** Caches com ranking de acessos (os do aquecimento) */
+  public static final Set<String> CACHES = Set.of("produtos", "restaurantes", "cardapios");
+
+  private static final String PREFIXO = "delivery:cache:acessos:";
+
+  /** Pontuação abaixo da qual a chave sai do ranking */
+  private static final double PONTUACAO_MINIMA = 0.5;
+
+  private final StringRedisTemplate redisTemplate;
+  private final int maximoChaves;
+  private final int maximoChavesJanela;
+  private final double decaimento;
+
+  private final Map<String, ConcurrentMap<String, LongAdder>> acessos = new HashMap<>();
+
+  public CacheAccessTracker(StringRedisTemplate redisTemplate,
+      @Value("${delivery.cache.acessos.maximo-chaves:1000}") int maximoChaves,
+      @Value("${delivery.cache.acessos.maximo-chaves-janela:10000}") int maximoChavesJanela,
+      @Value("${delivery.cache.acessos.decaimento:0.95}") double decaimento) {
+    this.redisTemplate = redisTemplate;
+    this.maximoChaves = maximoChaves;
+    this.maximoChavesJanela = maximoChavesJanela;
+    this.decaimento = decaimento;
+    CACHES.forEach(cache -> acessos.put(cache, new ConcurrentHashMap<>()));
+  }
+
+  public void registrarAcesso(String cacheName, String chave) {
+    ConcurrentMap<String, LongAdder> contadores = acessos.get(cacheName);
+    if (contadores == null) {
+      return;
+    }
+
+    LongAdder contador = contadores.get(chave);
+    if (contador == null) {
+      // Janela cheia: chaves novas só entram na próxima (as quentes voltam logo)
+      if (contadores.size() >= maximoChavesJanela) {
+        return;
+      }
+      contador = contadores.computeIfAbsent(chave, c -> new LongAdder());
+    }
+    contador.increment();
+  }
+
+  /**
+   * Chaves mais acessadas de um cache, da mais para a menos acessada
+   */
+  public List<String> chavesMaisAcessadas(String cacheName, int limite) {
+    Set<String> chaves = redisTemplate.opsForZSet().reverseRange(PREFIXO + cacheName, 0, limite - 1L);
+    return chaves != null ? new ArrayList<>(chaves) : List.of();
+  }
+
+  @Scheduled(fixedDelayString = "${delivery.cache.acessos.intervalo-envio:60s}")
+  public void enviarAcessos() {
+    for (Map.Entry<String, ConcurrentMap<String, LongAdder>> cache : acessos.entrySet()) {
+      Map<String, Long> contagens = drenar(cache.getValue());
+
+      String chaveZset = PREFIXO + cache.getKey();
+      try {
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+          StringRedisConnection redis = (StringRedisConnection) connection;
+          // Decai mesmo sem acessos na janela, para as chaves antigas saírem
+          byte[] zset = chaveZset.getBytes(StandardCharsets.UTF_8);
+          redis.zUnionStore(zset, Aggregate.SUM, Weights.of(decaimento), zset);
+          contagens.forEach((chave, total) -> redis.zIncrBy(chaveZset, total, chave));
+          redis.zRemRangeByScore(chaveZset, Double.NEGATIVE_INFINITY, PONTUACAO_MINIMA);
+          redis.zRemRange(chaveZset, 0, -(maximoChaves + 1L));
+          return null;
+        });
+      } catch (Exception e) {
+        // Perder uma janela de contagem só deixa o ranking menos preciso
+        log.warn("⚠️ Falha ao enviar acessos do cache {}: {}", cache.getKey(), e.getMessage());
+      }
+    }
+  }
+
+  private static Map<String, Long> drenar(ConcurrentMap<String, LongAdder> contadores) {
+    Map<String, Long> contagens = new HashMap<>();
+    // A janela seguinte recomeça vazia, com todo o limite de chaves livre
+    contadores.forEach((chave, contador) -> {
+      contadores.remove(chave, contador);
+      long total = contador.sum();
+      if (total > 0) {
+        contagens.put(chave, total);
+      }
+    });
+    return contagens;
+  }
+}
@@ -0,0 +1,94 @@
+package com.deliverytech.delivery_api.common.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Component;
+
+import com.deliverytech.delivery_api.common.exceptions.ValidationException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Busca várias entidades por id passando pelo cache em lote:
+ *
+ * 1. L1 e um único MGET no Redis para as chaves que faltam
+ * 2. Uma única consulta na origem para o que não estava em cache
+ * 3. Os valores carregados voltam ao cache em um pipeline
+ *
+ * Ids inexistentes ficam fora do resultado; a ordem segue a dos ids pedidos.
+ */
+@Slf4j
+@Component
+public class CacheBatchLoader {
+
+  private final CacheManager cacheManager;
+  private final int maximoIds;
+
+  public CacheBatchLoader(CacheManager cacheManager,
+      @Value("${delivery.cache.lote.maximo-ids:100}") int maximoIds) {
+    this.cacheManager = cacheManager;
+    this.maximoIds = maximoIds;
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T> List<T> buscarVarios(String cacheName, Collection<Long> ids,
+      Function<Collection<Long>, Map<Long, T>> carregador) {
+    Set<Long> distintos = new LinkedHashSet<>(ids);
+    distintos.remove(null);
+    if (distintos.size() > maximoIds) {
+      throw new ValidationException("Máximo de " + maximoIds + " ids por consulta");
+    }
+    if (distintos.isEmpty()) {
+      return List.of();
+    }
+
+    Map<Long, T> encontrados = new LinkedHashMap<>();
+    TwoLevelCache cache = cacheEmDoisNiveis(cacheName);
+    if (cache != null) {
+      cache.getAll(distintos).forEach((id, valor) -> encontrados.put((Long) id, (T) valor));
+    }
+
+    List<Long> faltas = distintos.stream().filter(id -> !encontrados.containsKey(id)).toList();
+    if (!faltas.isEmpty()) {
+      long inicio = System.nanoTime();
+      Map<Long, T> carregados = carregador.apply(faltas);
+      long custoMs = (System.nanoTime() - inicio) / 1_000_000;
+
+      encontrados.putAll(carregados);
+      if (cache != null) {
+        cache.putAll(carregados, custoMs);
+      }
+    }
+
+    log.debug("Busca em lote no cache {}: {} ids, {} carregados da origem", cacheName, distintos.size(),
+        faltas.size());
+
+    List<T> resultado = new ArrayList<>(distintos.size());
+    for (Long id : distintos) {
+      T valor = encontrados.get(id);
+      if (valor != null) {
+        resultado.add(valor);
+      }
+    }
+    return resultado;
+  }
+
+  private TwoLevelCache cacheEmDoisNiveis(String cacheName) {
+    Cache cache = cacheManager.getCache(cacheName);
+    if (cache instanceof TransactionAwareCacheDecorator decorator) {
+      cache = decorator.getTargetCache();
+    }
+    return cache instanceof TwoLevelCache twoLevelCache ? twoLevelCache : null;
+  }
+}
@@ -0,0 +1,181 @@
+package com.deliverytech.delivery_api.common.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Circuit breaker das operações no Redis usadas pelo cache.
+ *
+ * - FECHADO: chamadas passam; N falhas seguidas abrem o circuito
+ * - ABERTO: chamadas não vão ao Redis até o tempo de espera passar
+ * - MEIO_ABERTO: uma única chamada de teste; sucesso fecha, falha reabre
+ *
+ * Sem locks: as transições são feitas por compareAndSet. Ao fechar, os
+ * ouvintes registrados rodam (ex.: reaplicar remoções pendentes).
+ *
+ * Métricas:
+ * - delivery.cache.circuito.estado (0 = fechado, 1 = meio aberto, 2 = aberto)
+ * - delivery.cache.circuito.falhas
+ * - delivery.cache.circuito.aberturas
+ */
+@Slf4j
+@Component
+public class CacheCircuitBreaker {
+
+  public enum Estado {
+    FECHADO, MEIO_ABERTO, ABERTO
+  }
+
+  private final int limiteFalhas;
+  private final long tempoAbertoMs;
+  private final LongSupplier relogio;
+
+  private final AtomicReference<Estado> estado = new AtomicReference<>(Estado.FECHADO);
+  private final AtomicInteger falhasSeguidas = new AtomicInteger();
+  private final AtomicLong abertoAte = new AtomicLong();
+  private final AtomicLong ultimaFalhaEm = new AtomicLong();
+  private final AtomicReference<String> ultimoErro = new AtomicReference<>();
+  private final List<Runnable> aoFechar = new CopyOnWriteArrayList<>();
+
+  private final Counter falhas;
+  private final Counter aberturas;
+
+  @Autowired
+  public CacheCircuitBreaker(MeterRegistry meterRegistry,
+      @Value("${delivery.cache.circuito.limite-falhas:5}") int limiteFalhas,
+      @Value("${delivery.cache.circuito.tempo-aberto:30s}") Duration tempoAberto) {
+    this(meterRegistry, limiteFalhas, tempoAberto, System::currentTimeMillis);
+  }
+
+  public CacheCircuitBreaker(MeterRegistry meterRegistry, int limiteFalhas, Duration tempoAberto,
+      LongSupplier relogio) {
+    this.limiteFalhas = limiteFalhas;
+    this.tempoAbertoMs = tempoAberto.toMillis();
+    this.relogio = relogio;
+
+    this.falhas = Counter.builder("delivery.cache.circuito.falhas")
+        .description("Falhas nas operações de cache no Redis")
+        .register(meterRegistry);
+    this.aberturas = Counter.builder("delivery.cache.circuito.aberturas")
+        .description("Vezes que o circuito do Redis abriu")
+        .register(meterRegistry);
+    Gauge.builder("delivery.cache.circuito.estado", estado, e -> e.get().ordinal())
+        .description("Estado do circuito do Redis (0 = fechado, 1 = meio aberto, 2 = aberto)")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Indica se a chamada pode ir ao Redis. No meio aberto só uma chamada passa.
+   */
+  public boolean permiteChamada() {
+    Estado atual = estado.get();
+    if (atual == Estado.FECHADO) {
+      return true;
+    }
+    if (atual == Estado.ABERTO && relogio.getAsLong() >= abertoAte.get()) {
+      // Só quem fizer a transição executa a chamada de teste
+      return estado.compareAndSet(Estado.ABERTO, Estado.MEIO_ABERTO);
+    }
+    return false;
+  }
+
+  /**
+   * Executa a operação no Redis ou a alternativa, quando o circuito não deixa
+   * passar ou o Redis falha. Erros que não são de acesso ao Redis (ex.: valor
+   * ilegível) são relançados sem contar como indisponibilidade.
+   */
+  public <T> T executar(Supplier<T> operacao, Supplier<T> alternativa) {
+    if (!permiteChamada()) {
+      return alternativa.get();
+    }
+    try {
+      T resultado = operacao.get();
+      registrarSucesso();
+      return resultado;
+    } catch (DataAccessException e) {
+      registrarFalha(e);
+      return alternativa.get();
+    } catch (RuntimeException e) {
+      registrarSucesso();
+      throw e;
+    }
+  }
+
+  public void registrarSucesso() {
+    if (falhasSeguidas.get() != 0) {
+      falhasSeguidas.set(0);
+    }
+    if (estado.get() != Estado.FECHADO && estado.getAndSet(Estado.FECHADO) != Estado.FECHADO) {
+      log.info("✅ Redis respondeu: circuito do cache fechado");
+      aoFechar.forEach(this::executarOuvinte);
+    }
+  }
+
+  public void registrarFalha(Exception e) {
+    falhas.increment();
+    ultimaFalhaEm.set(relogio.getAsLong());
+    ultimoErro.set(e.getClass().getSimpleName() + ": " + e.getMessage());
+
+    if (estado.compareAndSet(Estado.MEIO_ABERTO, Estado.ABERTO)) {
+      abertoAte.set(relogio.getAsLong() + tempoAbertoMs);
+      log.warn("⚠️ Chamada de teste ao Redis falhou: circuito reaberto por {} ms", tempoAbertoMs);
+      return;
+    }
+
+    if (falhasSeguidas.incrementAndGet() >= limiteFalhas && estado.get() == Estado.FECHADO) {
+      abertoAte.set(relogio.getAsLong() + tempoAbertoMs);
+      if (estado.compareAndSet(Estado.FECHADO, Estado.ABERTO)) {
+        aberturas.increment();
+        log.warn("⚠️ {} falhas seguidas no Redis: circuito do cache aberto por {} ms ({})", limiteFalhas,
+            tempoAbertoMs, ultimoErro.get());
+      }
+    }
+  }
+
+  /**
+   * Ouvinte executado sempre que o circuito volta a fechar
+   */
+  public void registrarOuvinteAoFechar(Runnable ouvinte) {
+    aoFechar.add(ouvinte);
+  }
+
+  public Estado getEstado() {
+    return estado.get();
+  }
+
+  public int getFalhasSeguidas() {
+    return falhasSeguidas.get();
+  }
+
+  public long getUltimaFalhaEm() {
+    return ultimaFalhaEm.get();
+  }
+
+  public String getUltimoErro() {
+    return ultimoErro.get();
+  }
+
+  private void executarOuvinte(Runnable ouvinte) {
+    try {
+      ouvinte.run();
+    } catch (Exception e) {
+      log.warn("⚠️ Falha ao executar ouvinte do circuito do cache: {}", e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,36 @@
+package com.deliverytech.delivery_api.common.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Envelope gravado nos dois níveis do cache.
+ *
+ * Guarda quando o valor foi carregado, quando expira no Redis e quanto custou
+ * carregá-lo: é o que a renovação antecipada probabilística precisa para
+ * decidir se uma requisição deve recarregar a chave antes do TTL.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheEntry {
+
+  private Object valor;
+
+  /** Epoch em milissegundos */
+  private long criadoEm;
+
+  /** Epoch em milissegundos */
+  private long expiraEm;
+
+  /** Tempo gasto pelo carregamento que gerou o valor */
+  private long custoMs;
+
+  /**
+   * Milissegundos até expirar (zero quando já expirou)
+   */
+  public long restanteMs(long agora) {
+    return Math.max(0, expiraEm - agora);
+  }
+}
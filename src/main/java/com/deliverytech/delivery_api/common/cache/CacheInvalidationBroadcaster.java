@@ -0,0 +1,98 @@
+package com.deliverytech.delivery_api.common.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Propaga invalidações do cache L1 entre os nós via Redis pub/sub.
+ *
+ * Formato da mensagem: {@code noOrigem|cache|chave}. Chave vazia significa
+ * limpar o cache inteiro. Mensagens publicadas pelo próprio nó são ignoradas.
+ * Com o circuito do Redis aberto nada é publicado; o L1 dos outros nós é
+ * limpo quando o circuito deles voltar a fechar.
+ */
+@Slf4j
+@Component
+public class CacheInvalidationBroadcaster implements MessageListener {
+
+  private static final String SEPARADOR = "|";
+
+  private final StringRedisTemplate redisTemplate;
+  private final String canal;
+  private final CacheCircuitBreaker circuito;
+  private final String noId = UUID.randomUUID().toString();
+
+  private volatile BiConsumer<String, String> ouvinte = (cache, chave) -> {
+  };
+
+  public CacheInvalidationBroadcaster(StringRedisTemplate redisTemplate, String canal) {
+    this(redisTemplate, canal, null);
+  }
+
+  @Autowired
+  public CacheInvalidationBroadcaster(StringRedisTemplate redisTemplate,
+      @Value("${delivery.cache.invalidacao.canal:delivery:cache:invalidacao}") String canal,
+      CacheCircuitBreaker circuito) {
+    this.redisTemplate = redisTemplate;
+    this.canal = canal;
+    this.circuito = circuito;
+  }
+
+  /**
+   * Registra quem aplica as invalidações recebidas de outros nós
+   */
+  public void registrarOuvinte(BiConsumer<String, String> ouvinte) {
+    this.ouvinte = ouvinte;
+  }
+
+  public void publicarRemocao(String cacheName, String chave) {
+    publicar(cacheName, chave);
+  }
+
+  public void publicarLimpeza(String cacheName) {
+    publicar(cacheName, "");
+  }
+
+  public String getCanal() {
+    return canal;
+  }
+
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    String corpo = new String(message.getBody(), StandardCharsets.UTF_8);
+    String[] partes = corpo.split("\\|", 3);
+
+    if (partes.length < 3 || noId.equals(partes[0])) {
+      return;
+    }
+
+    String chave = partes[2].isEmpty() ? null : partes[2];
+    log.debug("Invalidação remota recebida - cache: {}, chave: {}", partes[1], chave);
+    ouvinte.accept(partes[1], chave);
+  }
+
+  private void publicar(String cacheName, String chave) {
+    String mensagem = noId + SEPARADOR + cacheName + SEPARADOR + chave;
+    if (circuito != null) {
+      circuito.executar(() -> redisTemplate.convertAndSend(canal, mensagem), () -> 0L);
+      return;
+    }
+
+    try {
+      redisTemplate.convertAndSend(canal, mensagem);
+    } catch (Exception e) {
+      // O L1 dos outros nós expira sozinho; falha de publicação não deve quebrar a requisição
+      log.warn("⚠️ Falha ao publicar invalidação do cache {}: {}", cacheName, e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,121 @@
+package com.deliverytech.delivery_api.common.cache;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Métricas de um cache em dois níveis, com o nome do cache como tag.
+ *
+ * - delivery.cache.gets{cache, nivel=l1|l2, resultado=hit|miss}
+ * - delivery.cache.l1.tamanho{cache}
+ * - delivery.cache.carregamentos{cache, tipo=falha|antecipado}
+ * - delivery.cache.carregamentos.compartilhados{cache}
+ * - delivery.cache.carregamento.tempo{cache}
+ * - delivery.cache.puts{cache}
+ * - delivery.cache.evictions{cache}
+ *
+ * O tempo e o tamanho da serialização ficam no MeteredCacheValueCodec.
+ */
+public class CacheMetrics {
+
+  private final Counter acertosL1;
+  private final Counter falhasL1;
+  private final Counter acertosL2;
+  private final Counter falhasL2;
+  private final Counter carregamentosPorFalha;
+  private final Counter carregamentosAntecipados;
+  private final Counter esperasCompartilhadas;
+  private final Timer tempoCarregamento;
+  private final Counter escritas;
+  private final Counter remocoes;
+
+  public CacheMetrics(String cacheName, MeterRegistry meterRegistry,
+      com.github.benmanes.caffeine.cache.Cache<?, ?> local) {
+    this.acertosL1 = contadorGets(meterRegistry, cacheName, "l1", "hit");
+    this.falhasL1 = contadorGets(meterRegistry, cacheName, "l1", "miss");
+    this.acertosL2 = contadorGets(meterRegistry, cacheName, "l2", "hit");
+    this.falhasL2 = contadorGets(meterRegistry, cacheName, "l2", "miss");
+
+    this.carregamentosPorFalha = contadorCarregamentos(meterRegistry, cacheName, "falha");
+    this.carregamentosAntecipados = contadorCarregamentos(meterRegistry, cacheName, "antecipado");
+    this.esperasCompartilhadas = Counter.builder("delivery.cache.carregamentos.compartilhados")
+        .description("Requisições que aguardaram um carregamento já em andamento")
+        .tag("cache", cacheName)
+        .register(meterRegistry);
+
+    this.tempoCarregamento = Timer.builder("delivery.cache.carregamento.tempo")
+        .description("Tempo de carregamento na origem após falha no cache")
+        .tag("cache", cacheName)
+        .register(meterRegistry);
+    this.escritas = Counter.builder("delivery.cache.puts")
+        .description("Valores gravados no cache")
+        .tag("cache", cacheName)
+        .register(meterRegistry);
+    this.remocoes = Counter.builder("delivery.cache.evictions")
+        .description("Remoções de chaves ou limpezas do cache")
+        .tag("cache", cacheName)
+        .register(meterRegistry);
+
+    Gauge.builder("delivery.cache.l1.tamanho", local, c -> c.estimatedSize())
+        .description("Entradas no cache local (L1)")
+        .tag("cache", cacheName)
+        .register(meterRegistry);
+  }
+
+  public void registrarAcertoL1() {
+    acertosL1.increment();
+  }
+
+  public void registrarFalhaL1() {
+    falhasL1.increment();
+  }
+
+  public void registrarAcertoL2() {
+    acertosL2.increment();
+  }
+
+  public void registrarFalhaL2() {
+    falhasL2.increment();
+  }
+
+  public void registrarCarregamento(boolean antecipado) {
+    (antecipado ? carregamentosAntecipados : carregamentosPorFalha).increment();
+  }
+
+  public void registrarTempoCarregamento(long nanos) {
+    tempoCarregamento.record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void registrarEscrita() {
+    escritas.increment();
+  }
+
+  public void registrarRemocao() {
+    remocoes.increment();
+  }
+
+  public void registrarEsperaCompartilhada() {
+    esperasCompartilhadas.increment();
+  }
+
+  private static Counter contadorCarregamentos(MeterRegistry meterRegistry, String cacheName, String tipo) {
+    return Counter.builder("delivery.cache.carregamentos")
+        .description("Carregamentos na origem disparados pelo cache")
+        .tag("cache", cacheName)
+        .tag("tipo", tipo)
+        .register(meterRegistry);
+  }
+
+  private static Counter contadorGets(MeterRegistry meterRegistry, String cacheName, String nivel, String resultado) {
+    return Counter.builder("delivery.cache.gets")
+        .description("Leituras do cache por nível")
+        .tag("cache", cacheName)
+        .tag("nivel", nivel)
+        .tag("resultado", resultado)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,146 @@
+package com.deliverytech.delivery_api.common.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.deliverytech.delivery_api.produto.service.ProdutoService;
+import com.deliverytech.delivery_api.restaurante.service.RestauranteService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Aquecimento dos caches de catálogo após o deploy.
+ *
+ * As chaves vêm do ranking de acessos ({@link CacheAccessTracker}) e são
+ * carregadas pelos próprios serviços, passando pelo {@code @Cacheable}, com
+ * concorrência e tempo total limitados. Enquanto o aquecimento não termina, o
+ * health indicator {@code cacheWarmup} mantém o probe de readiness fora do ar.
+ */
+@Slf4j
+@Component
+public class CacheWarmupService {
+
+  private final CacheAccessTracker rastreador;
+  private final boolean habilitado;
+  private final int limitePorCache;
+  private final int concorrencia;
+  private final Duration tempoMaximo;
+
+  /** Cache -> carregamento de uma chave, na ordem do aquecimento */
+  private final Map<String, Consumer<Long>> carregadores = new LinkedHashMap<>();
+
+  private volatile boolean concluido;
+  private volatile ResultadoAquecimento resultado;
+
+  public CacheWarmupService(CacheAccessTracker rastreador, RestauranteService restauranteService,
+      ProdutoService produtoService,
+      @Value("${delivery.cache.aquecimento.habilitado:true}") boolean habilitado,
+      @Value("${delivery.cache.aquecimento.limite-por-cache:200}") int limitePorCache,
+      @Value("${delivery.cache.aquecimento.concorrencia:4}") int concorrencia,
+      @Value("${delivery.cache.aquecimento.tempo-maximo:30s}") Duration tempoMaximo) {
+    this.rastreador = rastreador;
+    this.habilitado = habilitado;
+    this.limitePorCache = limitePorCache;
+    this.concorrencia = concorrencia;
+    this.tempoMaximo = tempoMaximo;
+
+    carregadores.put("restaurantes", restauranteService::buscarPorId);
+    carregadores.put("cardapios", restauranteService::buscarComProdutos);
+    carregadores.put("produtos", produtoService::buscarProdutoPorId);
+  }
+
+  public record ResultadoAquecimento(int carregadas, int falhas, long duracaoMs, boolean interrompido) {
+  }
+
+  public boolean isConcluido() {
+    return concluido;
+  }
+
+  public ResultadoAquecimento getResultado() {
+    return resultado;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void iniciar() {
+    if (!habilitado) {
+      resultado = new ResultadoAquecimento(0, 0, 0, false);
+      concluido = true;
+      return;
+    }
+
+    Thread.ofPlatform().name("cache-warmup").daemon().start(this::aquecer);
+  }
+
+  /**
+   * Executa o aquecimento e bloqueia até terminar ou atingir o tempo máximo
+   */
+  public void aquecer() {
+    long inicio = System.nanoTime();
+    AtomicInteger carregadas = new AtomicInteger();
+    AtomicInteger falhas = new AtomicInteger();
+    boolean interrompido = false;
+
+    log.info("🔥 Aquecendo caches (até {} chaves por cache, {} em paralelo, limite {})", limitePorCache,
+        concorrencia, tempoMaximo);
+
+    ExecutorService executor = Executors.newFixedThreadPool(concorrencia,
+        Thread.ofPlatform().name("cache-warmup-", 0).daemon().factory());
+    try {
+      List<Callable<Void>> tarefas = montarTarefas(carregadas, falhas);
+      List<Future<Void>> execucoes = executor.invokeAll(tarefas, tempoMaximo.toMillis(), TimeUnit.MILLISECONDS);
+      interrompido = execucoes.stream().anyMatch(Future::isCancelled);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      interrompido = true;
+    } catch (Exception e) {
+      // Sem ranking (ex.: Redis indisponível) a aplicação sobe com o cache frio
+      log.warn("⚠️ Aquecimento de cache não executado: {}", e.getMessage());
+    } finally {
+      executor.shutdownNow();
+    }
+
+    long duracaoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+    resultado = new ResultadoAquecimento(carregadas.get(), falhas.get(), duracaoMs, interrompido);
+    concluido = true;
+
+    log.info("✅ Aquecimento de cache concluído: {} chaves, {} falhas, {} ms{}", carregadas.get(), falhas.get(),
+        duracaoMs, interrompido ? " (interrompido pelo tempo máximo)" : "");
+  }
+
+  private List<Callable<Void>> montarTarefas(AtomicInteger carregadas, AtomicInteger falhas) {
+    List<Callable<Void>> tarefas = new ArrayList<>();
+
+    carregadores.forEach((cacheName, carregador) -> {
+      for (String chave : rastreador.chavesMaisAcessadas(cacheName, limitePorCache)) {
+        tarefas.add(() -> {
+          try {
+            carregador.accept(Long.valueOf(chave));
+            carregadas.incrementAndGet();
+          } catch (Exception e) {
+            // Chave removida desde o último acesso ou erro pontual: segue o aquecimento
+            falhas.incrementAndGet();
+            log.debug("Falha ao aquecer {}::{}: {}", cacheName, chave, e.getMessage());
+          }
+          return null;
+        });
+      }
+    });
+
+    return tarefas;
+  }
+}
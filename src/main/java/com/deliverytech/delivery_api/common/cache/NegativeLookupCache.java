@@ -0,0 +1,93 @@
+package com.deliverytech.delivery_api.common.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Cache negativo: guarda por pouco tempo os ids que não existem no banco.
+ *
+ * Ids removidos ou inexistentes consultados repetidamente deixam de ir ao
+ * banco até o TTL do cache "ausentes" expirar. A exclusão grava uma lápide
+ * após o commit e o cadastro remove a marcação do id criado.
+ *
+ * Métrica: delivery.entidades.nao_encontradas{entidade, origem=banco|cache}
+ */
+@Component
+public class NegativeLookupCache {
+
+  public static final String CACHE = "ausentes";
+
+  private final CacheManager cacheManager;
+  private final MeterRegistry meterRegistry;
+
+  public NegativeLookupCache(CacheManager cacheManager, MeterRegistry meterRegistry) {
+    this.cacheManager = cacheManager;
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Indica se o id foi marcado como inexistente recentemente
+   */
+  public boolean isAusente(String entidade, Object id) {
+    Cache cache = cacheManager.getCache(CACHE);
+    if (cache == null || cache.get(chave(entidade, id)) == null) {
+      return false;
+    }
+    contador(entidade, "cache").increment();
+    return true;
+  }
+
+  /**
+   * Marca o id após uma busca sem resultado no banco.
+   *
+   * A gravação é imediata: a transação da busca é desfeita pela própria exceção
+   * de "não encontrado", o que descartaria uma escrita adiada para o commit.
+   */
+  public void registrarAusente(String entidade, Object id) {
+    Cache cache = cacheManager.getCache(CACHE);
+    if (cache instanceof TransactionAwareCacheDecorator decorator) {
+      cache = decorator.getTargetCache();
+    }
+    if (cache != null) {
+      cache.put(chave(entidade, id), Boolean.TRUE);
+    }
+    contador(entidade, "banco").increment();
+  }
+
+  /**
+   * Lápide da exclusão, gravada após o commit
+   */
+  public void registrarExclusao(String entidade, Object id) {
+    Cache cache = cacheManager.getCache(CACHE);
+    if (cache != null) {
+      cache.put(chave(entidade, id), Boolean.TRUE);
+    }
+  }
+
+  /**
+   * Remove a marcação do id (entidade criada), após o commit
+   */
+  public void remover(String entidade, Object id) {
+    Cache cache = cacheManager.getCache(CACHE);
+    if (cache != null) {
+      cache.evict(chave(entidade, id));
+    }
+  }
+
+  private Counter contador(String entidade, String origem) {
+    return Counter.builder("delivery.entidades.nao_encontradas")
+        .description("Buscas por id sem resultado, respondidas pelo banco ou pelo cache negativo")
+        .tag("entidade", entidade)
+        .tag("origem", origem)
+        .register(meterRegistry);
+  }
+
+  private static String chave(String entidade, Object id) {
+    return entidade + ":" + id;
+  }
+}
@@ -0,0 +1,88 @@
+package com.deliverytech.delivery_api.common.cache;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.util.ByteUtils;
+
+/**
+ * Operações em lote no L2 de um RedisCache: um MGET para ler e um pipeline de
+ * SETs (com o TTL do cache) para gravar.
+ *
+ * Usa o mesmo prefixo e o mesmo serializador de valores do RedisCache, então
+ * as chaves são as mesmas lidas e gravadas pelo {@code @Cacheable}. Vale para
+ * chaves simples (ids), cuja forma textual é a chave no Redis.
+ *
+ * Passa pelo {@link CacheCircuitBreaker}: sem Redis, a leitura volta vazia e a
+ * gravação é descartada.
+ */
+public class RedisCacheBatch {
+
+  private final RedisConnectionFactory connectionFactory;
+  private final RedisCacheConfiguration config;
+  private final String name;
+  private final CacheCircuitBreaker circuito;
+
+  public RedisCacheBatch(RedisConnectionFactory connectionFactory, RedisCache redisCache,
+      CacheCircuitBreaker circuito) {
+    this.connectionFactory = connectionFactory;
+    this.circuito = circuito;
+    this.config = redisCache.getCacheConfiguration();
+    this.name = redisCache.getName();
+  }
+
+  /**
+   * Valores na mesma ordem das chaves (null para as ausentes)
+   */
+  public List<Object> buscar(List<?> keys) {
+    byte[][] chaves = keys.stream().map(this::chaveRedis).toArray(byte[][]::new);
+
+    List<byte[]> brutos = circuito.executar(() -> {
+      try (RedisConnection connection = connectionFactory.getConnection()) {
+        return connection.stringCommands().mGet(chaves);
+      }
+    }, () -> null);
+
+    List<Object> valores = new ArrayList<>(keys.size());
+    for (int i = 0; i < keys.size(); i++) {
+      byte[] bytes = brutos != null ? brutos.get(i) : null;
+      valores.add(bytes != null ? config.getValueSerializationPair().read(ByteBuffer.wrap(bytes)) : null);
+    }
+    return valores;
+  }
+
+  public void gravar(Map<?, ?> valores) {
+    if (valores.isEmpty()) {
+      return;
+    }
+
+    circuito.executar(() -> {
+      try (RedisConnection connection = connectionFactory.getConnection()) {
+        connection.openPipeline();
+        valores.forEach((key, valor) -> connection.stringCommands().set(chaveRedis(key),
+            ByteUtils.getBytes(config.getValueSerializationPair().write(valor)), expiracao(key, valor),
+            SetOption.upsert()));
+        return connection.closePipeline();
+      }
+    }, () -> null);
+  }
+
+  private Expiration expiracao(Object key, Object valor) {
+    Duration ttl = config.getTtlFunction().getTimeToLive(valor, key);
+    return ttl != null && !ttl.isZero() && !ttl.isNegative() ? Expiration.from(ttl) : Expiration.persistent();
+  }
+
+  private byte[] chaveRedis(Object key) {
+    return (config.getKeyPrefixFor(name) + key).getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,172 @@
+package com.deliverytech.delivery_api.common.cache;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.cache.Cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decorador do L2 (Redis) protegido pelo {@link CacheCircuitBreaker}.
+ *
+ * Com o circuito aberto ou o Redis falhando, leituras viram falha de cache (a
+ * requisição segue para o banco) e escritas são descartadas. Remoções que não
+ * chegaram ao Redis ficam pendentes e são reaplicadas quando o circuito fecha,
+ * para o Redis não voltar servindo valores anteriores a uma alteração.
+ *
+ * As pendências são limitadas; acima do limite o cache inteiro é limpo na volta.
+ */
+@Slf4j
+public class ResilientCache implements Cache {
+
+  private final Cache remoto;
+  private final CacheCircuitBreaker circuito;
+  private final int maximoPendentes;
+
+  private final Set<Object> remocoesPendentes = ConcurrentHashMap.newKeySet();
+  private final AtomicBoolean limpezaPendente = new AtomicBoolean();
+
+  public ResilientCache(Cache remoto, CacheCircuitBreaker circuito, int maximoPendentes) {
+    this.remoto = remoto;
+    this.circuito = circuito;
+    this.maximoPendentes = maximoPendentes;
+    circuito.registrarOuvinteAoFechar(this::reaplicarPendentes);
+  }
+
+  @Override
+  public String getName() {
+    return remoto.getName();
+  }
+
+  @Override
+  public Object getNativeCache() {
+    return remoto.getNativeCache();
+  }
+
+  public Cache getRemoto() {
+    return remoto;
+  }
+
+  @Override
+  public ValueWrapper get(Object key) {
+    return circuito.executar(() -> remoto.get(key), () -> null);
+  }
+
+  @Override
+  public <T> T get(Object key, Class<T> type) {
+    return circuito.executar(() -> remoto.get(key, type), () -> null);
+  }
+
+  @Override
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    ValueWrapper wrapper = get(key);
+    if (wrapper != null) {
+      @SuppressWarnings("unchecked")
+      T valor = (T) wrapper.get();
+      return valor;
+    }
+    try {
+      T valor = valueLoader.call();
+      put(key, valor);
+      return valor;
+    } catch (Exception e) {
+      throw new ValueRetrievalException(key, valueLoader, e);
+    }
+  }
+
+  @Override
+  public void put(Object key, Object value) {
+    circuito.executar(() -> {
+      remoto.put(key, value);
+      return null;
+    }, () -> {
+      // O Redis pode ter ficado com o valor anterior
+      adiarRemocao(key);
+      return null;
+    });
+  }
+
+  @Override
+  public ValueWrapper putIfAbsent(Object key, Object value) {
+    return circuito.executar(() -> remoto.putIfAbsent(key, value), () -> {
+      adiarRemocao(key);
+      return null;
+    });
+  }
+
+  @Override
+  public void evict(Object key) {
+    circuito.executar(() -> {
+      remoto.evict(key);
+      return null;
+    }, () -> {
+      adiarRemocao(key);
+      return null;
+    });
+  }
+
+  @Override
+  public boolean evictIfPresent(Object key) {
+    return circuito.executar(() -> remoto.evictIfPresent(key), () -> {
+      adiarRemocao(key);
+      return false;
+    });
+  }
+
+  @Override
+  public void clear() {
+    circuito.executar(() -> {
+      remoto.clear();
+      return null;
+    }, () -> {
+      limpezaPendente.set(true);
+      return null;
+    });
+  }
+
+  @Override
+  public boolean invalidate() {
+    return circuito.executar(remoto::invalidate, () -> {
+      limpezaPendente.set(true);
+      return false;
+    });
+  }
+
+  public int getRemocoesPendentes() {
+    return remocoesPendentes.size();
+  }
+
+  private void adiarRemocao(Object key) {
+    if (remocoesPendentes.size() >= maximoPendentes) {
+      limpezaPendente.set(true);
+      remocoesPendentes.clear();
+      return;
+    }
+    remocoesPendentes.add(key);
+  }
+
+  /**
+   * Executado quando o circuito fecha: leva ao Redis as remoções que ficaram para trás
+   */
+  private void reaplicarPendentes() {
+    if (limpezaPendente.getAndSet(false)) {
+      log.info("🔧 Limpando o cache {} no Redis (remoções pendentes acima do limite)", getName());
+      remocoesPendentes.clear();
+      clear();
+      return;
+    }
+
+    if (remocoesPendentes.isEmpty()) {
+      return;
+    }
+
+    log.info("🔧 Reaplicando {} remoções pendentes no cache {}", remocoesPendentes.size(), getName());
+    for (Object key : remocoesPendentes) {
+      remocoesPendentes.remove(key);
+      evict(key);
+    }
+  }
+}
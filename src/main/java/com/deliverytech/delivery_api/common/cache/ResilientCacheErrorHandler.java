@@ -0,0 +1,58 @@
+package com.deliverytech.delivery_api.common.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Erros de cache não chegam a quem chamou: a leitura vira falha de cache
+ * (o método anotado roda normalmente) e escritas/remoções são ignoradas.
+ *
+ * A indisponibilidade do Redis já é tratada pelo {@link ResilientCache}; aqui
+ * chegam os demais erros, como valores que não puderam ser lidos.
+ *
+ * Métrica: delivery.cache.erros{cache, operacao=get|put|evict|clear}
+ */
+@Slf4j
+public class ResilientCacheErrorHandler implements CacheErrorHandler {
+
+  private final MeterRegistry meterRegistry;
+
+  public ResilientCacheErrorHandler(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public void handleCacheGetError(RuntimeException exception, Cache cache, Object key) {
+    registrar(exception, cache, "get", key);
+  }
+
+  @Override
+  public void handleCachePutError(RuntimeException exception, Cache cache, Object key, Object value) {
+    registrar(exception, cache, "put", key);
+  }
+
+  @Override
+  public void handleCacheEvictError(RuntimeException exception, Cache cache, Object key) {
+    registrar(exception, cache, "evict", key);
+  }
+
+  @Override
+  public void handleCacheClearError(RuntimeException exception, Cache cache) {
+    registrar(exception, cache, "clear", null);
+  }
+
+  private void registrar(RuntimeException exception, Cache cache, String operacao, Object key) {
+    Counter.builder("delivery.cache.erros")
+        .description("Erros de cache tratados sem afetar a requisição")
+        .tag("cache", cache.getName())
+        .tag("operacao", operacao)
+        .register(meterRegistry)
+        .increment();
+    log.warn("⚠️ Erro no cache {} ({} {}): {}", cache.getName(), operacao, key != null ? key : "",
+        exception.getMessage());
+  }
+}
@@ -0,0 +1,437 @@
+package com.deliverytech.delivery_api.common.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import com.deliverytech.delivery_api.common.monitoring.jfr.CacheAcessoEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache em dois níveis: L1 local (Caffeine, W-TinyLFU) na frente do L2 no Redis.
+ *
+ * - Leituras consultam o L1 e só vão ao Redis quando a chave não está no nó
+ * - Escritas e remoções são aplicadas nos dois níveis
+ * - Remoções são propagadas via pub/sub para limpar o L1 dos demais nós
+ * - Em {@code @Cacheable(sync = true)} só um carregamento por chave roda no nó;
+ * as demais requisições aguardam o mesmo resultado
+ * - Perto do TTL, uma requisição sorteada recarrega a chave antes de expirar
+ * (XFetch), enquanto as outras continuam recebendo o valor atual
+ *
+ * Leituras e escritas em lote usam um MGET e um pipeline no Redis quando o L2
+ * é um RedisCache ({@link RedisCacheBatch}); sem ele, caem em operações por chave.
+ *
+ * Cada leitura é contada no {@link CacheAccessTracker} para o aquecimento.
+ * Os valores são gravados como {@link CacheEntry}. As chaves do L1 usam a
+ * forma textual da chave, a mesma usada pelo Redis e pelas mensagens de
+ * invalidação.
+ */
+@Slf4j
+public class TwoLevelCache implements Cache {
+
+  private final String name;
+  private final com.github.benmanes.caffeine.cache.Cache<Object, Object> local;
+  private final Cache remoto;
+  private final CacheInvalidationBroadcaster broadcaster;
+  private final CacheMetrics metrics;
+  private final CacheAccessTracker rastreador;
+  private final long ttlMs;
+  private final double beta;
+  private final DoubleSupplier aleatorio;
+  private final RedisCacheBatch lote;
+
+  private final ConcurrentMap<String, CompletableFuture<Object>> carregamentos = new ConcurrentHashMap<>();
+
+  public TwoLevelCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> local, Cache remoto,
+      CacheInvalidationBroadcaster broadcaster, CacheMetrics metrics, CacheAccessTracker rastreador, Duration ttl,
+      double beta, RedisCacheBatch lote) {
+    this(name, local, remoto, broadcaster, metrics, rastreador, ttl, beta,
+        () -> ThreadLocalRandom.current().nextDouble(), lote);
+  }
+
+  public TwoLevelCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> local, Cache remoto,
+      CacheInvalidationBroadcaster broadcaster, CacheMetrics metrics, CacheAccessTracker rastreador, Duration ttl,
+      double beta, DoubleSupplier aleatorio) {
+    this(name, local, remoto, broadcaster, metrics, rastreador, ttl, beta, aleatorio, null);
+  }
+
+  public TwoLevelCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> local, Cache remoto,
+      CacheInvalidationBroadcaster broadcaster, CacheMetrics metrics, CacheAccessTracker rastreador, Duration ttl,
+      double beta, DoubleSupplier aleatorio, RedisCacheBatch lote) {
+    this.name = name;
+    this.local = local;
+    this.remoto = remoto;
+    this.broadcaster = broadcaster;
+    this.metrics = metrics;
+    this.rastreador = rastreador;
+    this.ttlMs = ttl.toMillis();
+    this.beta = beta;
+    this.aleatorio = aleatorio;
+    this.lote = lote;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public Object getNativeCache() {
+    return remoto.getNativeCache();
+  }
+
+  public com.github.benmanes.caffeine.cache.Cache<Object, Object> getLocalCache() {
+    return local;
+  }
+
+  @Override
+  public ValueWrapper get(Object key) {
+    CacheAcessoEvent evento = new CacheAcessoEvent();
+    evento.begin();
+    String chave = chaveLocal(key);
+    CacheEntry entrada = buscarEntrada(key, chave, evento);
+    registrarEvento(evento, chave);
+    return entrada != null ? new SimpleValueWrapper(entrada.getValor()) : null;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Class<T> type) {
+    ValueWrapper wrapper = get(key);
+    Object valor = wrapper != null ? wrapper.get() : null;
+    if (valor != null && type != null && !type.isInstance(valor)) {
+      throw new IllegalStateException(
+          "Valor em cache não é do tipo esperado [" + type.getName() + "]: " + valor);
+    }
+    return (T) valor;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    String chave = chaveLocal(key);
+    CacheAcessoEvent evento = new CacheAcessoEvent();
+    evento.begin();
+    CacheEntry entrada = buscarEntrada(key, chave, evento);
+
+    try {
+      if (entrada == null) {
+        evento.resultado = "carregado";
+        return (T) carregarUmaVez(key, chave, valueLoader, false);
+      }
+
+      // Renovação já em andamento ou não sorteada: serve o valor atual
+      if (carregamentos.containsKey(chave) || !deveRenovarAntes(entrada)) {
+        return (T) entrada.getValor();
+      }
+
+      try {
+        log.debug("Renovação antecipada - cache: {}, chave: {}", name, chave);
+        evento.resultado = "renovado";
+        return (T) carregarUmaVez(key, chave, valueLoader, true);
+      } catch (ValueRetrievalException e) {
+        // O valor atual ainda está dentro do TTL
+        log.warn("⚠️ Falha na renovação antecipada do cache {} (chave {}): {}", name, chave,
+            e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+        return (T) entrada.getValor();
+      }
+    } finally {
+      registrarEvento(evento, chave);
+    }
+  }
+
+  @Override
+  public void put(Object key, Object value) {
+    String chave = chaveLocal(key);
+    if (value == null) {
+      remoto.put(key, null);
+      local.invalidate(chave);
+    } else {
+      CacheEntry entrada = novaEntrada(value, 0);
+      remoto.put(key, entrada);
+      local.put(chave, entrada);
+      metrics.registrarEscrita();
+    }
+    broadcaster.publicarRemocao(name, chave);
+  }
+
+  @Override
+  public ValueWrapper putIfAbsent(Object key, Object value) {
+    ValueWrapper existente = remoto.putIfAbsent(key, value != null ? novaEntrada(value, 0) : null);
+    local.invalidate(chaveLocal(key));
+    metrics.registrarEscrita();
+    if (existente == null || existente.get() == null) {
+      return existente;
+    }
+    return new SimpleValueWrapper(desembrulhar(existente.get()).getValor());
+  }
+
+  @Override
+  public void evict(Object key) {
+    String chave = chaveLocal(key);
+    remoto.evict(key);
+    local.invalidate(chave);
+    metrics.registrarRemocao();
+    broadcaster.publicarRemocao(name, chave);
+  }
+
+  @Override
+  public boolean evictIfPresent(Object key) {
+    String chave = chaveLocal(key);
+    boolean removido = remoto.evictIfPresent(key);
+    local.invalidate(chave);
+    metrics.registrarRemocao();
+    broadcaster.publicarRemocao(name, chave);
+    return removido;
+  }
+
+  @Override
+  public void clear() {
+    remoto.clear();
+    local.invalidateAll();
+    metrics.registrarRemocao();
+    broadcaster.publicarLimpeza(name);
+  }
+
+  @Override
+  public boolean invalidate() {
+    boolean removido = remoto.invalidate();
+    local.invalidateAll();
+    metrics.registrarRemocao();
+    broadcaster.publicarLimpeza(name);
+    return removido;
+  }
+
+  /**
+   * Leitura em lote: L1 e, para as faltas, uma única ida ao Redis.
+   * Retorna apenas as chaves encontradas, com os valores já desembrulhados.
+   */
+  public Map<Object, Object> getAll(Collection<?> keys) {
+    Map<Object, Object> encontrados = new LinkedHashMap<>();
+    List<Object> faltas = new ArrayList<>();
+
+    for (Object key : keys) {
+      String chave = chaveLocal(key);
+      rastreador.registrarAcesso(name, chave);
+      Object valorLocal = local.getIfPresent(chave);
+      if (valorLocal != null) {
+        metrics.registrarAcertoL1();
+        encontrados.put(key, ((CacheEntry) valorLocal).getValor());
+      } else {
+        metrics.registrarFalhaL1();
+        faltas.add(key);
+      }
+    }
+
+    if (faltas.isEmpty()) {
+      return encontrados;
+    }
+
+    List<Object> remotos = lote != null ? lote.buscar(faltas) : buscarRemotosPorChave(faltas);
+    for (int i = 0; i < faltas.size(); i++) {
+      Object valor = remotos.get(i);
+      if (valor == null) {
+        metrics.registrarFalhaL2();
+        continue;
+      }
+      metrics.registrarAcertoL2();
+      CacheEntry entrada = desembrulhar(valor);
+      local.put(chaveLocal(faltas.get(i)), entrada);
+      encontrados.put(faltas.get(i), entrada.getValor());
+    }
+    return encontrados;
+  }
+
+  /**
+   * Grava em lote os valores carregados da origem após um {@link #getAll}.
+   * O custo é o do carregamento em lote, usado pela renovação antecipada.
+   */
+  public void putAll(Map<?, ?> valores, long custoMs) {
+    Map<Object, CacheEntry> entradas = new LinkedHashMap<>();
+    valores.forEach((key, valor) -> {
+      if (valor != null) {
+        entradas.put(key, novaEntrada(valor, custoMs));
+      }
+    });
+
+    if (lote != null) {
+      lote.gravar(entradas);
+    } else {
+      entradas.forEach(remoto::put);
+    }
+
+    entradas.forEach((key, entrada) -> {
+      local.put(chaveLocal(key), entrada);
+      metrics.registrarEscrita();
+    });
+  }
+
+  /**
+   * Remove a chave apenas do L1 (invalidação recebida de outro nó)
+   */
+  public void removerLocal(String chave) {
+    local.invalidate(chave);
+  }
+
+  /**
+   * Limpa apenas o L1 (invalidação recebida de outro nó)
+   */
+  public void limparLocal() {
+    local.invalidateAll();
+  }
+
+  /**
+   * L1 e depois L2, populando o L1 quando o valor vem do Redis
+   */
+  private CacheEntry buscarEntrada(Object key, String chave, CacheAcessoEvent evento) {
+    rastreador.registrarAcesso(name, chave);
+
+    Object valorLocal = local.getIfPresent(chave);
+    if (valorLocal != null) {
+      metrics.registrarAcertoL1();
+      evento.resultado = "l1";
+      return (CacheEntry) valorLocal;
+    }
+    metrics.registrarFalhaL1();
+
+    ValueWrapper wrapper = remoto.get(key);
+    if (wrapper == null || wrapper.get() == null) {
+      metrics.registrarFalhaL2();
+      evento.resultado = "ausente";
+      return null;
+    }
+
+    metrics.registrarAcertoL2();
+    evento.resultado = "l2";
+    CacheEntry entrada = desembrulhar(wrapper.get());
+    local.put(chave, entrada);
+    return entrada;
+  }
+
+  /**
+   * Single-flight: o primeiro chamador carrega, os demais aguardam o mesmo future
+   */
+  private Object carregarUmaVez(Object key, String chave, Callable<?> valueLoader, boolean antecipado) {
+    CompletableFuture<Object> carregamento = new CompletableFuture<>();
+    CompletableFuture<Object> emAndamento = carregamentos.putIfAbsent(chave, carregamento);
+    if (emAndamento != null) {
+      metrics.registrarEsperaCompartilhada();
+      return aguardar(emAndamento, key, valueLoader);
+    }
+
+    try {
+      // Outro carregamento pode ter terminado entre a falha no cache e o registro do future
+      CacheEntry existente = antecipado ? null : buscarEntradaSemMetricas(key, chave);
+      if (existente != null) {
+        carregamento.complete(existente.getValor());
+        return existente.getValor();
+      }
+
+      long inicio = System.nanoTime();
+      Object valor = valueLoader.call();
+      long duracaoNanos = System.nanoTime() - inicio;
+      metrics.registrarCarregamento(antecipado);
+      metrics.registrarTempoCarregamento(duracaoNanos);
+
+      if (valor != null) {
+        CacheEntry entrada = novaEntrada(valor, Duration.ofNanos(duracaoNanos).toMillis());
+        remoto.put(key, entrada);
+        local.put(chave, entrada);
+        metrics.registrarEscrita();
+        if (antecipado) {
+          broadcaster.publicarRemocao(name, chave);
+        }
+      }
+
+      carregamento.complete(valor);
+      return valor;
+    } catch (Exception e) {
+      carregamento.completeExceptionally(e);
+      throw new ValueRetrievalException(key, valueLoader, e);
+    } finally {
+      carregamentos.remove(chave, carregamento);
+    }
+  }
+
+  /**
+   * Evento JFR do acesso (só acima do limite do evento, 1 ms por padrão)
+   */
+  private void registrarEvento(CacheAcessoEvent evento, String chave) {
+    evento.end();
+    if (evento.shouldCommit()) {
+      evento.cache = name;
+      evento.chave = chave;
+      evento.commit();
+    }
+  }
+
+  private Object aguardar(CompletableFuture<Object> carregamento, Object key, Callable<?> valueLoader) {
+    try {
+      return carregamento.join();
+    } catch (CompletionException e) {
+      // Mesma causa do carregamento original, para o CacheInterceptor relançar a exceção do método
+      throw new ValueRetrievalException(key, valueLoader, e.getCause());
+    }
+  }
+
+  private List<Object> buscarRemotosPorChave(List<Object> keys) {
+    List<Object> valores = new ArrayList<>(keys.size());
+    for (Object key : keys) {
+      ValueWrapper wrapper = remoto.get(key);
+      valores.add(wrapper != null ? wrapper.get() : null);
+    }
+    return valores;
+  }
+
+  private CacheEntry buscarEntradaSemMetricas(Object key, String chave) {
+    Object valorLocal = local.getIfPresent(chave);
+    if (valorLocal != null) {
+      return (CacheEntry) valorLocal;
+    }
+    ValueWrapper wrapper = remoto.get(key);
+    return wrapper != null && wrapper.get() != null ? desembrulhar(wrapper.get()) : null;
+  }
+
+  /**
+   * XFetch: renova quando agora - custo * beta * ln(rand) >= expiração.
+   * Quanto mais caro o carregamento e mais perto do TTL, maior a chance.
+   */
+  private boolean deveRenovarAntes(CacheEntry entrada) {
+    if (entrada.getCustoMs() <= 0 || beta <= 0) {
+      return false;
+    }
+    double sorteio = 1.0 - aleatorio.getAsDouble(); // (0, 1]
+    double antecipacaoMs = -entrada.getCustoMs() * beta * Math.log(sorteio);
+    return System.currentTimeMillis() + antecipacaoMs >= entrada.getExpiraEm();
+  }
+
+  private CacheEntry novaEntrada(Object valor, long custoMs) {
+    long agora = System.currentTimeMillis();
+    return new CacheEntry(valor, agora, agora + ttlMs, custoMs);
+  }
+
+  /**
+   * Valores gravados antes do envelope são tratados como entradas sem custo conhecido
+   */
+  private CacheEntry desembrulhar(Object valor) {
+    return valor instanceof CacheEntry entrada ? entrada : novaEntrada(valor, 0);
+  }
+
+  private static String chaveLocal(Object key) {
+    return String.valueOf(key);
+  }
+}
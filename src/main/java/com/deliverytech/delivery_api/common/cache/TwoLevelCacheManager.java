@@ -0,0 +1,168 @@
+package com.deliverytech.delivery_api.common.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Objects;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CacheManager composto: cada cache do Redis (L2) ganha um L1 local limitado.
+ *
+ * O L1 nunca guarda uma entrada além do TTL dela no Redis, e o TTL de cada
+ * cache é lido da configuração do RedisCache.
+ *
+ * Também aplica as invalidações recebidas dos outros nós, removendo apenas o
+ * L1 (o L2 já foi alterado por quem publicou).
+ *
+ * O L2 passa pelo {@link CacheCircuitBreaker} ({@link ResilientCache}). Quando
+ * o circuito volta a fechar, o L1 de todos os caches é limpo, porque as
+ * invalidações publicadas pelos outros nós nesse intervalo se perderam.
+ */
+@Slf4j
+public class TwoLevelCacheManager extends AbstractTransactionSupportingCacheManager {
+
+  private static final Duration SEM_TTL = Duration.ofDays(365);
+
+  private final RedisCacheManager redisCacheManager;
+  private final RedisConnectionFactory connectionFactory;
+  private final CacheInvalidationBroadcaster broadcaster;
+  private final MeterRegistry meterRegistry;
+  private final CacheAccessTracker rastreador;
+  private final CacheCircuitBreaker circuito;
+  private final int maximoRemocoesPendentes;
+  private final long maximoEntradasL1;
+  private final Duration expiracaoL1;
+  private final double betaRenovacao;
+
+  public TwoLevelCacheManager(RedisCacheManager redisCacheManager, RedisConnectionFactory connectionFactory,
+      CacheInvalidationBroadcaster broadcaster, MeterRegistry meterRegistry, CacheAccessTracker rastreador,
+      CacheCircuitBreaker circuito, int maximoRemocoesPendentes, long maximoEntradasL1, Duration expiracaoL1,
+      double betaRenovacao) {
+    this.redisCacheManager = redisCacheManager;
+    this.connectionFactory = connectionFactory;
+    this.broadcaster = broadcaster;
+    this.meterRegistry = meterRegistry;
+    this.rastreador = rastreador;
+    this.circuito = circuito;
+    this.maximoRemocoesPendentes = maximoRemocoesPendentes;
+    this.maximoEntradasL1 = maximoEntradasL1;
+    this.expiracaoL1 = expiracaoL1;
+    this.betaRenovacao = betaRenovacao;
+
+    broadcaster.registrarOuvinte(this::aplicarInvalidacaoRemota);
+    circuito.registrarOuvinteAoFechar(this::limparL1);
+  }
+
+  @Override
+  protected Collection<? extends Cache> loadCaches() {
+    return redisCacheManager.getCacheNames().stream()
+        .map(redisCacheManager::getCache)
+        .filter(Objects::nonNull)
+        .map(this::criarCache)
+        .toList();
+  }
+
+  @Override
+  protected Cache getMissingCache(String name) {
+    Cache remoto = redisCacheManager.getCache(name);
+    return remoto != null ? criarCache(remoto) : null;
+  }
+
+  private TwoLevelCache criarCache(Cache remoto) {
+    com.github.benmanes.caffeine.cache.Cache<Object, Object> local = Caffeine.newBuilder()
+        .maximumSize(maximoEntradasL1)
+        .expireAfter(new ExpiracaoL1())
+        .build();
+
+    Duration ttl = ttlDe(remoto);
+    log.info("   Cache {}: L1 com até {} entradas (expira em {}), TTL {}", remoto.getName(), maximoEntradasL1,
+        expiracaoL1, ttl);
+    return new TwoLevelCache(remoto.getName(), local,
+        new ResilientCache(remoto, circuito, maximoRemocoesPendentes), broadcaster,
+        new CacheMetrics(remoto.getName(), meterRegistry, local), rastreador, ttl, betaRenovacao,
+        remoto instanceof RedisCache redisCache ? new RedisCacheBatch(connectionFactory, redisCache, circuito)
+            : null);
+  }
+
+  private static Duration ttlDe(Cache remoto) {
+    if (remoto instanceof RedisCache redisCache) {
+      Duration ttl = redisCache.getCacheConfiguration().getTtlFunction().getTimeToLive(Object.class, null);
+      if (ttl != null && !ttl.isZero() && !ttl.isNegative()) {
+        return ttl;
+      }
+    }
+    // Sem TTL no Redis: a entrada vive até ser removida, sem renovação antecipada útil
+    return SEM_TTL;
+  }
+
+  /**
+   * Expira no menor entre a expiração configurada do L1 e o restante do TTL no Redis
+   */
+  private class ExpiracaoL1 implements Expiry<Object, Object> {
+
+    @Override
+    public long expireAfterCreate(Object key, Object value, long currentTime) {
+      long maximoNanos = expiracaoL1.toNanos();
+      if (value instanceof CacheEntry entrada) {
+        long restanteNanos = Duration.ofMillis(entrada.restanteMs(System.currentTimeMillis())).toNanos();
+        return Math.min(maximoNanos, restanteNanos);
+      }
+      return maximoNanos;
+    }
+
+    @Override
+    public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+
+  private void limparL1() {
+    for (String nome : getCacheNames()) {
+      TwoLevelCache cache = cacheEmDoisNiveis(nome);
+      if (cache != null) {
+        cache.limparLocal();
+      }
+    }
+  }
+
+  private void aplicarInvalidacaoRemota(String cacheName, String chave) {
+    TwoLevelCache cache = cacheEmDoisNiveis(cacheName);
+    if (cache == null) {
+      return;
+    }
+
+    if (chave == null) {
+      cache.limparLocal();
+    } else {
+      cache.removerLocal(chave);
+    }
+  }
+
+  /**
+   * Com setTransactionAware(true) o mapa guarda o decorator, não o TwoLevelCache
+   */
+  private TwoLevelCache cacheEmDoisNiveis(String cacheName) {
+    Cache cache = lookupCache(cacheName);
+    if (cache instanceof TransactionAwareCacheDecorator decorator) {
+      cache = decorator.getTargetCache();
+    }
+    return cache instanceof TwoLevelCache twoLevelCache ? twoLevelCache : null;
+  }
+}
@@ -0,0 +1,24 @@
+package com.deliverytech.delivery_api.common.cache.codec;
+
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+
+/**
+ * Classes aceitas nos nomes de tipo gravados no Redis (codecs sem o tipo do
+ * cache e valores no formato anterior).
+ *
+ * Só classes do projeto, coleções, datas e números: um valor adulterado no
+ * Redis não instancia classes arbitrárias do classpath.
+ */
+public final class CacheTypeValidator {
+
+  public static final PolymorphicTypeValidator INSTANCIA = BasicPolymorphicTypeValidator.builder()
+      .allowIfSubType("com.deliverytech.delivery_api.")
+      .allowIfSubType("java.util.")
+      .allowIfSubType("java.time.")
+      .allowIfSubType("java.math.")
+      .build();
+
+  private CacheTypeValidator() {
+  }
+}
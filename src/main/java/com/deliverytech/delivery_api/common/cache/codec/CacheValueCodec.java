@@ -0,0 +1,19 @@
+package com.deliverytech.delivery_api.common.cache.codec;
+
+/**
+ * Codifica e decodifica os valores gravados no Redis pelo cache.
+ *
+ * Implementações trocam formato (JSON, Smile) ou decoram outro codec
+ * (compressão) sem que o cache precise saber como os bytes são gerados.
+ */
+public interface CacheValueCodec {
+
+  /**
+   * Nome curto do formato, usado em logs e métricas
+   */
+  String getNome();
+
+  byte[] codificar(Object valor);
+
+  Object decodificar(byte[] bytes);
+}
@@ -0,0 +1,30 @@
+package com.deliverytech.delivery_api.common.cache.codec;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Adapta um {@link CacheValueCodec} para o RedisSerializer usado pelo RedisCacheManager
+ */
+public class CodecRedisSerializer implements RedisSerializer<Object> {
+
+  private final CacheValueCodec codec;
+
+  public CodecRedisSerializer(CacheValueCodec codec) {
+    this.codec = codec;
+  }
+
+  public CacheValueCodec getCodec() {
+    return codec;
+  }
+
+  @Override
+  public byte[] serialize(Object valor) throws SerializationException {
+    return valor == null ? new byte[0] : codec.codificar(valor);
+  }
+
+  @Override
+  public Object deserialize(byte[] bytes) throws SerializationException {
+    return bytes == null || bytes.length == 0 ? null : codec.decodificar(bytes);
+  }
+}
@@ -0,0 +1,105 @@
+package com.deliverytech.delivery_api.common.cache.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Decorador que comprime (Deflate) valores acima de um limite de bytes.
+ *
+ * Cada valor ganha um byte de cabeçalho:
+ * - 0x00: payload do codec sem compressão
+ * - 0x01: payload comprimido
+ *
+ * Valores sem cabeçalho (gravados antes deste codec, em JSON) são entregues
+ * ao codec legado, então o Redis não precisa ser esvaziado no deploy.
+ */
+public class CompressingCacheValueCodec implements CacheValueCodec {
+
+  static final byte SEM_COMPRESSAO = 0x00;
+  static final byte DEFLATE = 0x01;
+
+  private final CacheValueCodec codec;
+  private final CacheValueCodec legado;
+  private final int limiteBytes;
+
+  public CompressingCacheValueCodec(CacheValueCodec codec, CacheValueCodec legado, int limiteBytes) {
+    this.codec = codec;
+    this.legado = legado;
+    this.limiteBytes = limiteBytes;
+  }
+
+  @Override
+  public String getNome() {
+    return codec.getNome() + "+deflate";
+  }
+
+  @Override
+  public byte[] codificar(Object valor) {
+    byte[] payload = codec.codificar(valor);
+    if (payload.length < limiteBytes) {
+      return comCabecalho(SEM_COMPRESSAO, payload, payload.length);
+    }
+
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      deflater.setInput(payload);
+      deflater.finish();
+      byte[] saida = new byte[payload.length];
+      int tamanho = deflater.deflate(saida);
+
+      // Não compensou (ou não coube no buffer): grava sem compressão
+      if (!deflater.finished() || tamanho >= payload.length) {
+        return comCabecalho(SEM_COMPRESSAO, payload, payload.length);
+      }
+      return comCabecalho(DEFLATE, saida, tamanho);
+    } finally {
+      deflater.end();
+    }
+  }
+
+  @Override
+  public Object decodificar(byte[] bytes) {
+    if (bytes.length == 0) {
+      return null;
+    }
+
+    return switch (bytes[0]) {
+      case SEM_COMPRESSAO -> codec.decodificar(Arrays.copyOfRange(bytes, 1, bytes.length));
+      case DEFLATE -> codec.decodificar(descomprimir(bytes));
+      default -> legado.decodificar(bytes);
+    };
+  }
+
+  private static byte[] comCabecalho(byte cabecalho, byte[] payload, int tamanho) {
+    byte[] resultado = new byte[tamanho + 1];
+    resultado[0] = cabecalho;
+    System.arraycopy(payload, 0, resultado, 1, tamanho);
+    return resultado;
+  }
+
+  private static byte[] descomprimir(byte[] bytes) {
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(bytes, 1, bytes.length - 1);
+      ByteArrayOutputStream saida = new ByteArrayOutputStream(bytes.length * 4);
+      byte[] buffer = new byte[4096];
+      while (!inflater.finished()) {
+        int lidos = inflater.inflate(buffer);
+        if (lidos == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          throw new SerializationException("Valor comprimido do cache está truncado");
+        }
+        saida.write(buffer, 0, lidos);
+      }
+      return saida.toByteArray();
+    } catch (DataFormatException e) {
+      throw new SerializationException("Valor comprimido do cache está corrompido", e);
+    } finally {
+      inflater.end();
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package com.deliverytech.delivery_api.common.cache.codec;
+
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectMapper.DefaultTyping;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * JSON com o nome da classe embutido, o formato usado originalmente pelo cache.
+ *
+ * Continua disponível como opção de configuração e para ler os valores
+ * gravados antes do codec binário. Os tipos aceitos na leitura são os do
+ * {@link CacheTypeValidator}.
+ */
+public class JsonCacheValueCodec implements CacheValueCodec {
+
+  private final GenericJackson2JsonRedisSerializer serializer;
+
+  public JsonCacheValueCodec(ObjectMapper baseMapper) {
+    ObjectMapper cacheMapper = baseMapper.copy();
+    cacheMapper.registerModule(new JavaTimeModule());
+    cacheMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    cacheMapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+    cacheMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+    cacheMapper.activateDefaultTyping(CacheTypeValidator.INSTANCIA, DefaultTyping.NON_FINAL);
+
+    this.serializer = new GenericJackson2JsonRedisSerializer(cacheMapper);
+  }
+
+  @Override
+  public String getNome() {
+    return "json";
+  }
+
+  @Override
+  public byte[] codificar(Object valor) {
+    return serializer.serialize(valor);
+  }
+
+  @Override
+  public Object decodificar(byte[] bytes) {
+    return serializer.deserialize(bytes);
+  }
+}
@@ -0,0 +1,62 @@
+package com.deliverytech.delivery_api.common.cache.codec;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Decorador que mede o codec de um cache:
+ *
+ * - delivery.cache.serializacao.tempo{cache, operacao=codificar|decodificar}
+ * - delivery.cache.valor.tamanho{cache} (bytes gravados no Redis)
+ */
+public class MeteredCacheValueCodec implements CacheValueCodec {
+
+  private final CacheValueCodec codec;
+  private final Timer tempoCodificacao;
+  private final Timer tempoDecodificacao;
+  private final DistributionSummary tamanho;
+
+  public MeteredCacheValueCodec(CacheValueCodec codec, String cacheName, MeterRegistry meterRegistry) {
+    this.codec = codec;
+    this.tempoCodificacao = timer(meterRegistry, cacheName, "codificar");
+    this.tempoDecodificacao = timer(meterRegistry, cacheName, "decodificar");
+    this.tamanho = DistributionSummary.builder("delivery.cache.valor.tamanho")
+        .description("Tamanho dos valores do cache no Redis")
+        .baseUnit("bytes")
+        .tag("cache", cacheName)
+        .register(meterRegistry);
+  }
+
+  @Override
+  public String getNome() {
+    return codec.getNome();
+  }
+
+  @Override
+  public byte[] codificar(Object valor) {
+    long inicio = System.nanoTime();
+    byte[] bytes = codec.codificar(valor);
+    tempoCodificacao.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+    tamanho.record(bytes.length);
+    return bytes;
+  }
+
+  @Override
+  public Object decodificar(byte[] bytes) {
+    long inicio = System.nanoTime();
+    Object valor = codec.decodificar(bytes);
+    tempoDecodificacao.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+    return valor;
+  }
+
+  private static Timer timer(MeterRegistry meterRegistry, String cacheName, String operacao) {
+    return Timer.builder("delivery.cache.serializacao.tempo")
+        .description("Tempo de serialização dos valores do cache")
+        .tag("cache", cacheName)
+        .tag("operacao", operacao)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,146 @@
+package com.deliverytech.delivery_api.common.cache.codec;
+
+import java.io.IOException;
+
+import org.springframework.data.redis.serializer.SerializationException;
+
+import com.deliverytech.delivery_api.common.cache.CacheEntry;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper.DefaultTyping;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.cfg.MapperConfig;
+import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.fasterxml.jackson.databind.jsontype.TypeResolverBuilder;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Smile (JSON binário): números em binário e nomes de propriedades gravados
+ * uma vez por valor, com as repetições referenciadas.
+ *
+ * Com o tipo dos valores do cache (ex.: produtos guarda ProdutoResponseDTO),
+ * o {@link CacheEntry} é gravado e lido por esse tipo, sem nomes de classe no
+ * payload. Valores gravados sem o tipo (formato anterior, ou que não sejam
+ * CacheEntry) continuam legíveis pelo codec sem tipo.
+ *
+ * Sem o tipo, grava as informações de tipo, limitadas ao
+ * {@link CacheTypeValidator}. Escrita e leitura sempre pelo tipo raiz Object,
+ * para que o formato do tipo seja o mesmo com ou sem {@code @JsonTypeInfo} no
+ * DTO.
+ */
+public class SmileCacheValueCodec implements CacheValueCodec {
+
+  /**
+   * CacheEntry com o valor tipado
+   */
+  record Envelope<T>(T valor, long criadoEm, long expiraEm, long custoMs) {
+  }
+
+  private final ObjectWriter writer;
+  private final ObjectReader reader;
+  private final SmileCacheValueCodec semTipo;
+
+  public SmileCacheValueCodec() {
+    SmileMapper mapper = mapper();
+    mapper.activateDefaultTyping(CacheTypeValidator.INSTANCIA, DefaultTyping.NON_FINAL);
+
+    this.writer = mapper.writerFor(Object.class);
+    this.reader = mapper.readerFor(Object.class);
+    this.semTipo = null;
+  }
+
+  /**
+   * @param tipoValor classe dos valores guardados no cache
+   */
+  public SmileCacheValueCodec(Class<?> tipoValor) {
+    SmileMapper mapper = mapper();
+    mapper.setAnnotationIntrospector(new SemInformacaoDeTipo());
+    JavaType envelope = mapper.getTypeFactory().constructParametricType(Envelope.class, tipoValor);
+
+    this.writer = mapper.writerFor(envelope);
+    this.reader = mapper.readerFor(envelope);
+    this.semTipo = new SmileCacheValueCodec();
+  }
+
+  /**
+   * Ignora @JsonTypeInfo dos DTOs (ex.: ProdutoResponseDTO): com o tipo do
+   * cache, o nome da classe no valor é redundante
+   */
+  private static final class SemInformacaoDeTipo extends JacksonAnnotationIntrospector {
+
+    @Override
+    public TypeResolverBuilder<?> findTypeResolver(MapperConfig<?> config, AnnotatedClass ac, JavaType baseType) {
+      return null;
+    }
+
+    @Override
+    public TypeResolverBuilder<?> findPropertyTypeResolver(MapperConfig<?> config, AnnotatedMember am,
+        JavaType baseType) {
+      return null;
+    }
+
+    @Override
+    public TypeResolverBuilder<?> findPropertyContentTypeResolver(MapperConfig<?> config, AnnotatedMember am,
+        JavaType containerType) {
+      return null;
+    }
+  }
+
+  private static SmileMapper mapper() {
+    SmileFactory factory = SmileFactory.builder()
+        .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+        .build();
+
+    SmileMapper mapper = new SmileMapper(factory);
+    mapper.registerModule(new JavaTimeModule());
+    mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    mapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+    mapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+    return mapper;
+  }
+
+  @Override
+  public String getNome() {
+    return "smile";
+  }
+
+  @Override
+  public byte[] codificar(Object valor) {
+    Object raiz = valor;
+    if (semTipo != null) {
+      if (!(valor instanceof CacheEntry entrada)) {
+        return semTipo.codificar(valor);
+      }
+      raiz = new Envelope<>(entrada.getValor(), entrada.getCriadoEm(), entrada.getExpiraEm(), entrada.getCustoMs());
+    }
+    try {
+      return writer.writeValueAsBytes(raiz);
+    } catch (IOException e) {
+      throw new SerializationException("Não foi possível codificar o valor do cache (smile)", e);
+    }
+  }
+
+  @Override
+  public Object decodificar(byte[] bytes) {
+    try {
+      Object valor = reader.readValue(bytes);
+      if (valor instanceof Envelope<?> envelope) {
+        return new CacheEntry(envelope.valor(), envelope.criadoEm(), envelope.expiraEm(), envelope.custoMs());
+      }
+      return valor;
+    } catch (IOException e) {
+      if (semTipo != null) {
+        return semTipo.decodificar(bytes);
+      }
+      throw new SerializationException("Não foi possível decodificar o valor do cache (smile)", e);
+    }
+  }
+}
@@ -1,18 +1,29 @@
 package com.deliverytech.delivery_api.common.config;
 
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
+import org.springframework.boot.info.BuildProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
+import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
 
 /**
  * Configuração central do Micrometer e integração com Actuator/Prometheus.
- * 
+ *
  * - Adiciona tags comuns a todas as métricas (application, environment,
  * version)
  * - Oculta endpoints internos do Actuator nas métricas HTTP
+ * - Histograma de percentis e buckets de SLO nos timers de latência
+ * (delivery.metricas.histogramas / delivery.metricas.slo)
  * - Compatível com Prometheus, Grafana e OpenTelemetry
  */
 @Configuration
@@ -24,17 +35,51 @@ public class MicrometerConfig {
    * @return Bean configurador do Micrometer
    */
   @Bean
-  MeterRegistryCustomizer<MeterRegistry> metricsCommonTags() {
+  MeterRegistryCustomizer<MeterRegistry> metricsCommonTags(Environment environment,
+      ObjectProvider<BuildProperties> buildProperties,
+      @Value("${spring.application.name:delivery-api}") String aplicacao) {
+    String[] perfis = environment.getActiveProfiles();
+    BuildProperties build = buildProperties.getIfAvailable();
+
     return registry -> registry.config()
         // 🔖 Tags comuns aplicadas a todas as métricas
         .commonTags(
-            "application", "delivery-api",
-            "environment", System.getenv().getOrDefault("SPRING_PROFILES_ACTIVE", "development"),
-            "version", "1.0.0")
+            "application", aplicacao,
+            "environment", perfis.length > 0 ? String.join(",", perfis) : "default",
+            "version", build != null ? build.getVersion() : "1.0.0")
         // 🚫 Filtro: remove métricas relacionadas ao próprio Actuator
         .meterFilter(MeterFilter.deny(id -> {
           String uri = id.getTag("uri");
           return uri != null && uri.startsWith("/actuator");
         }));
   }
+
+  /**
+   * Histogramas dos timers de latência: buckets do histograma para
+   * histogram_quantile no Prometheus e buckets exatos nos limites de SLO (ex.:
+   * fração de requisições em até 250ms). Sem percentis calculados na
+   * aplicação: não somam entre instâncias e multiplicariam as séries.
+   */
+  @Bean
+  MeterRegistryCustomizer<MeterRegistry> metricsHistograms(
+      @Value("${delivery.metricas.histogramas:http.server.requests,delivery.operacao.tempo,delivery.pedido.processamento.tempo}") List<String> nomes,
+      @Value("${delivery.metricas.slo:50ms,100ms,250ms,500ms,1s}") List<Duration> slos) {
+    double[] limites = slos.stream().mapToDouble(Duration::toNanos).toArray();
+
+    return registry -> registry.config().meterFilter(new MeterFilter() {
+      @Override
+      public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+        if (id.getType() != Meter.Type.TIMER || !nomes.contains(id.getName())) {
+          return config;
+        }
+        return DistributionStatisticConfig.builder()
+            .percentilesHistogram(true)
+            .serviceLevelObjectives(limites)
+            .minimumExpectedValue((double) Duration.ofMillis(1).toNanos())
+            .maximumExpectedValue((double) Duration.ofSeconds(10).toNanos())
+            .build()
+            .merge(config);
+      }
+    });
+  }
 }
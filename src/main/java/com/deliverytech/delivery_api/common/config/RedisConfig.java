@@ -2,11 +2,14 @@ package com.deliverytech.delivery_api.common.config;
 
 import java.time.Duration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.CacheErrorHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -17,17 +20,34 @@ import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
-import com.fasterxml.jackson.annotation.JsonAutoDetect;
-import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.deliverytech.delivery_api.auth.service.SessionRevocationService;
+import com.deliverytech.delivery_api.auth.service.TokenVersionService;
+import com.deliverytech.delivery_api.common.cache.CacheAccessTracker;
+import com.deliverytech.delivery_api.common.cache.CacheCircuitBreaker;
+import com.deliverytech.delivery_api.common.cache.CacheInvalidationBroadcaster;
+import com.deliverytech.delivery_api.common.cache.NegativeLookupCache;
+import com.deliverytech.delivery_api.common.cache.ResilientCacheErrorHandler;
+import com.deliverytech.delivery_api.common.cache.TwoLevelCacheManager;
+import com.deliverytech.delivery_api.common.cache.codec.CacheValueCodec;
+import com.deliverytech.delivery_api.common.cache.codec.CodecRedisSerializer;
+import com.deliverytech.delivery_api.common.cache.codec.CompressingCacheValueCodec;
+import com.deliverytech.delivery_api.common.cache.codec.JsonCacheValueCodec;
+import com.deliverytech.delivery_api.common.cache.codec.MeteredCacheValueCodec;
+import com.deliverytech.delivery_api.common.cache.codec.SmileCacheValueCodec;
+import com.deliverytech.delivery_api.produto.dto.ProdutoResponseDTO;
+import com.deliverytech.delivery_api.restaurante.dto.RestauranteResponseDTO;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectMapper.DefaultTyping;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.SocketOptions;
+import io.micrometer.core.instrument.MeterRegistry;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -36,18 +56,52 @@ import lombok.extern.slf4j.Slf4j;
 @EnableCaching
 public class RedisConfig {
 
+  /**
+   * Tipo dos valores de cada cache (o que o @Cacheable devolve)
+   */
+  private static final Map<String, Class<?>> TIPOS_CACHE = Map.of(
+      "produtos", ProdutoResponseDTO.class,
+      "restaurantes", RestauranteResponseDTO.class,
+      "cardapios", RestauranteResponseDTO.class,
+      TokenVersionService.CACHE, Integer.class,
+      NegativeLookupCache.CACHE, Boolean.class);
+
   @Value("${spring.redis.host:localhost}")
   private String redisHost;
 
   @Value("${spring.redis.port:6379}")
   private int redisPort;
 
-  @Value("${spring.redis.timeout:10s}")
+  @Value("${spring.redis.timeout:250ms}")
   private Duration timeout;
 
+  @Value("${spring.redis.connect-timeout:500ms}")
+  private Duration connectTimeout;
+
   @Value("${spring.cache.redis.time-to-live:1800000}")
   private long defaultTtl;
 
+  @Value("${delivery.cache.l1.maximo-entradas:10000}")
+  private long maximoEntradasL1;
+
+  @Value("${delivery.cache.l1.expiracao:5m}")
+  private Duration expiracaoL1;
+
+  @Value("${delivery.cache.codec:smile}")
+  private String formatoCodec;
+
+  @Value("${delivery.cache.compressao.limite-bytes:2048}")
+  private int limiteCompressao;
+
+  @Value("${delivery.cache.renovacao-antecipada.beta:1.0}")
+  private double betaRenovacao;
+
+  @Value("${delivery.cache.ausentes.ttl:60s}")
+  private Duration ttlAusentes;
+
+  @Value("${delivery.cache.circuito.maximo-remocoes-pendentes:10000}")
+  private int maximoRemocoesPendentes;
+
   /**
    * 🔧 Cria a fábrica de conexões Redis (Lettuce)
    */
@@ -57,13 +111,20 @@ public class RedisConfig {
     log.info("🔧 Configurando Redis Connection Factory...");
     log.info("   Host: {}", redisHost);
     log.info("   Port: {}", redisPort);
-    log.info("   Timeout: {}", timeout);
+    log.info("   Timeout: {} (conexão: {})", timeout, connectTimeout);
 
     RedisStandaloneConfiguration serverConfig = new RedisStandaloneConfiguration(redisHost, redisPort);
 
+    // Sem conexão, comandos falham na hora em vez de esperar o timeout na fila de reconexão
+    ClientOptions clientOptions = ClientOptions.builder()
+        .socketOptions(SocketOptions.builder().connectTimeout(connectTimeout).build())
+        .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+        .build();
+
     LettuceClientConfiguration clientConfig = LettuceClientConfiguration.builder()
         .commandTimeout(timeout)
         .shutdownTimeout(Duration.ZERO)
+        .clientOptions(clientOptions)
         .build();
 
     LettuceConnectionFactory factory = new LettuceConnectionFactory(serverConfig, clientConfig);
@@ -71,6 +132,19 @@ public class RedisConfig {
     return factory;
   }
 
+  /**
+   * ⚠️ Erros de cache não chegam às requisições: leitura com erro vira falha de cache
+   */
+  @Bean
+  public CachingConfigurer cacheErrorHandlerConfigurer(MeterRegistry meterRegistry) {
+    return new CachingConfigurer() {
+      @Override
+      public CacheErrorHandler errorHandler() {
+        return new ResilientCacheErrorHandler(meterRegistry);
+      }
+    };
+  }
+
   /**
    * 💾 Template genérico para interação direta com Redis
    */
@@ -95,46 +169,95 @@ public class RedisConfig {
   }
 
   /**
-   * 🧠 CacheManager com múltiplas configurações de cache (TTL e prefixos)
+   * 📡 Container que escuta as invalidações de cache e as revogações de sessão publicadas pelos outros nós
    */
   @Bean
-  public CacheManager cacheManager(RedisConnectionFactory connectionFactory, ObjectMapper baseMapper) {
+  public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+      CacheInvalidationBroadcaster broadcaster, SessionRevocationService revogacoes) {
+    RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(connectionFactory);
+    container.addMessageListener(broadcaster, new ChannelTopic(broadcaster.getCanal()));
+    container.addMessageListener(revogacoes, new ChannelTopic(revogacoes.getCanal()));
+    log.info("📡 Invalidação de cache L1 no canal: {}", broadcaster.getCanal());
+    log.info("📡 Revogação de sessões no canal: {}", revogacoes.getCanal());
+    return container;
+  }
+
+  /**
+   * 📦 Codec dos valores do cache: Smile (binário) ou JSON, com compressão acima do limite.
+   * Valores JSON gravados antes do codec continuam legíveis. Este é o dos caches sem tipo
+   * conhecido; os de TIPOS_CACHE usam codecPara.
+   */
+  @Bean
+  public CacheValueCodec cacheValueCodec(ObjectMapper baseMapper) {
+    return codecPara(null, new JsonCacheValueCodec(baseMapper));
+  }
+
+  /**
+   * Codec de um cache: com o tipo dos valores, o Smile grava sem nomes de classe
+   */
+  private CacheValueCodec codecPara(Class<?> tipo, JsonCacheValueCodec json) {
+    CacheValueCodec formato = "json".equalsIgnoreCase(formatoCodec) ? json
+        : tipo != null ? new SmileCacheValueCodec(tipo) : new SmileCacheValueCodec();
+    return new CompressingCacheValueCodec(formato, json, limiteCompressao);
+  }
+
+  /**
+   * 🧠 CacheManager em dois níveis: L1 local (Caffeine) + L2 Redis com TTL e prefixos por cache
+   */
+  @Bean
+  public CacheManager cacheManager(RedisConnectionFactory connectionFactory, CacheValueCodec cacheValueCodec,
+      ObjectMapper baseMapper, CacheInvalidationBroadcaster broadcaster, CacheAccessTracker rastreador,
+      CacheCircuitBreaker circuito, MeterRegistry meterRegistry) {
     log.info("🔧 Configurando RedisCacheManager...");
     log.info("   TTL padrão: {} ms ({} min)", defaultTtl, defaultTtl / 60000);
 
-    // Configuração do ObjectMapper para o cache
-    ObjectMapper cacheMapper = baseMapper.copy();
-    cacheMapper.registerModule(new JavaTimeModule());
-    cacheMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-    cacheMapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
-    cacheMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
-    cacheMapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance, DefaultTyping.NON_FINAL);
-
-    GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(cacheMapper);
+    log.info("   Codec dos valores: {}", cacheValueCodec.getNome());
 
     // Configuração padrão (usada para caches sem TTL customizado)
     RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
         .entryTtl(Duration.ofMillis(defaultTtl))
         .disableCachingNullValues()
         .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-        .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer));
+        .serializeValuesWith(serializadorMedido(cacheValueCodec, "outros", meterRegistry));
+
+    // Configurações específicas (TTL, prefixo e serializador medido por cache)
+    Map<String, Duration> ttls = new LinkedHashMap<>();
+    ttls.put("produtos", Duration.ofHours(1));
+    ttls.put("pedidos", Duration.ofMinutes(15));
+    ttls.put("usuarios", Duration.ofMinutes(30));
+    ttls.put("restaurantes", Duration.ofMinutes(30));
+    ttls.put("cardapios", Duration.ofMinutes(15));
+    ttls.put("versoesToken", Duration.ofMinutes(30));
+    ttls.put(NegativeLookupCache.CACHE, ttlAusentes);
 
-    // Configurações específicas
+    JsonCacheValueCodec json = new JsonCacheValueCodec(baseMapper);
     Map<String, RedisCacheConfiguration> cacheConfigs = new HashMap<>();
-    cacheConfigs.put("produtos",
-        defaultConfig.entryTtl(Duration.ofHours(1)).prefixCacheNameWith("produtos::"));
-    cacheConfigs.put("pedidos",
-        defaultConfig.entryTtl(Duration.ofMinutes(15)).prefixCacheNameWith("pedidos::"));
-    cacheConfigs.put("usuarios",
-        defaultConfig.entryTtl(Duration.ofMinutes(30)).prefixCacheNameWith("usuarios::"));
-
-    RedisCacheManager manager = RedisCacheManager.builder(connectionFactory)
+    ttls.forEach((nome, ttl) -> cacheConfigs.put(nome, defaultConfig
+        .entryTtl(ttl)
+        .prefixCacheNameWith(nome + "::")
+        .serializeValuesWith(serializadorMedido(
+            TIPOS_CACHE.containsKey(nome) ? codecPara(TIPOS_CACHE.get(nome), json) : cacheValueCodec,
+            nome, meterRegistry))));
+
+    // O L2 não é transaction-aware: o manager composto adia as escritas para o commit nos dois níveis
+    RedisCacheManager redisManager = RedisCacheManager.builder(connectionFactory)
         .cacheDefaults(defaultConfig)
         .withInitialCacheConfigurations(cacheConfigs)
-        .transactionAware()
         .build();
+    redisManager.afterPropertiesSet();
+
+    TwoLevelCacheManager manager = new TwoLevelCacheManager(redisManager, connectionFactory, broadcaster,
+        meterRegistry, rastreador, circuito, maximoRemocoesPendentes, maximoEntradasL1, expiracaoL1, betaRenovacao);
+    manager.setTransactionAware(true);
 
-    log.info("✅ RedisCacheManager configurado com {} caches customizados", cacheConfigs.size());
+    log.info("✅ CacheManager em dois níveis configurado com {} caches customizados", cacheConfigs.size());
     return manager;
   }
+
+  private static SerializationPair<Object> serializadorMedido(CacheValueCodec codec, String cacheName,
+      MeterRegistry meterRegistry) {
+    return SerializationPair.fromSerializer(
+        new CodecRedisSerializer(new MeteredCacheValueCodec(codec, cacheName, meterRegistry)));
+  }
 }
@@ -23,6 +23,9 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 
 import com.deliverytech.delivery_api.common.security.JwtAuthenticationFilter;
+import com.deliverytech.delivery_api.common.security.MeteredPasswordEncoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Configuration
 @EnableWebSecurity
@@ -69,11 +72,11 @@ public class SecurityConfig {
   }
 
   /**
-   * 🧩 Criptografia segura de senhas
+   * 🧩 Criptografia segura de senhas (com o tempo de hash medido)
    */
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+    return new MeteredPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
   }
 
   /**
@@ -0,0 +1,21 @@
+package com.deliverytech.delivery_api.common.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+import com.deliverytech.delivery_api.common.monitoring.context.RequestContext;
+
+/**
+ * Executores gerenciados pelo Spring Boot (applicationTaskExecutor, inclusive
+ * com spring.threads.virtual.enabled) aplicam este decorator: tarefas
+ * submetidas durante uma requisição herdam o {@link RequestContext}.
+ */
+@Configuration
+public class TaskExecutionConfig {
+
+  @Bean
+  TaskDecorator requestContextTaskDecorator() {
+    return RequestContext::propagar;
+  }
+}
@@ -9,6 +9,14 @@ public class BusinessException extends RuntimeException {
     this.code = code;
   }
 
+  /**
+   * Para exceções de fluxo esperado, sem o custo de capturar o stack trace
+   */
+  protected BusinessException(String message, String code, boolean writableStackTrace) {
+    super(message, null, false, writableStackTrace);
+    this.code = code;
+  }
+
   public String getCode() {
     return code;
   }
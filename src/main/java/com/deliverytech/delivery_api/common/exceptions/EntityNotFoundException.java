@@ -1,7 +1,10 @@
 package com.deliverytech.delivery_api.common.exceptions;
 
+/**
+ * Resposta 404 esperada (ids removidos, clientes desatualizados): sem stack trace
+ */
 public class EntityNotFoundException extends BusinessException {
   public EntityNotFoundException(String entity, Long id) {
-    super(String.format("%s with ID %d not found.", entity, id), "entity.not.found");
+    super(String.format("%s with ID %d not found.", entity, id), "entity.not.found", false);
   }
 }
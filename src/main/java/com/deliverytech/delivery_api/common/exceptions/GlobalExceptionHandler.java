@@ -10,6 +10,7 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import lombok.extern.slf4j.Slf4j;
@@ -49,6 +50,15 @@ public class GlobalExceptionHandler {
     return buildError("ENTITY_NOT_FOUND", ex.getMessage(), HttpStatus.NOT_FOUND, ex);
   }
 
+  /**
+   * Cliente desconectou no meio da resposta (ex.: dashboard fechado durante o
+   * stream SSE): não há a quem responder
+   */
+  @ExceptionHandler(AsyncRequestNotUsableException.class)
+  public void handleClientDisconnected(AsyncRequestNotUsableException ex) {
+    log.debug("Cliente desconectado: {}", ex.getMessage());
+  }
+
   @ExceptionHandler(Exception.class)
   public ResponseEntity<Map<String, Object>> handleGeneric(Exception ex) {
     return buildError("INTERNAL_ERROR", "Erro interno inesperado", HttpStatus.INTERNAL_SERVER_ERROR, ex);
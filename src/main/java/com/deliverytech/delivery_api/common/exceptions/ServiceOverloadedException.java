@@ -0,0 +1,21 @@
+package com.deliverytech.delivery_api.common.exceptions;
+
+import java.time.Duration;
+
+/**
+ * Requisição recusada por falta de capacidade (fila cheia ou espera esgotada).
+ * Sem stack trace: em picos de carga ela é lançada muitas vezes por segundo.
+ */
+public class ServiceOverloadedException extends BusinessException {
+
+  private final Duration retryAfter;
+
+  public ServiceOverloadedException(String message, Duration retryAfter) {
+    super(message, "service.overloaded", false);
+    this.retryAfter = retryAfter;
+  }
+
+  public Duration getRetryAfter() {
+    return retryAfter;
+  }
+}
@@ -0,0 +1,83 @@
+package com.deliverytech.delivery_api.common.monitoring;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Tempo de cada operação pública de controllers e serviços
+ * (delivery.operacao.tempo{camada, classe, metodo, resultado, excecao}).
+ *
+ * Histograma, percentis e buckets de SLO vêm do MicrometerConfig. O timer
+ * de sucesso fica em cache por método; o de erro é resolvido no registry,
+ * já que depende da exceção. O dashboard fica de fora.
+ */
+@Aspect
+@Component
+public class OperationTimingAspect {
+
+  /**
+   * Método declarado (pode ser o da interface) e classe alvo: implementações
+   * diferentes da mesma interface não dividem o timer. O getStaticPart() não
+   * serve de chave no Spring AOP: é o próprio join point, um por chamada.
+   */
+  private record Operacao(Method metodo, Class<?> alvo) {
+  }
+
+  private final MeterRegistry meterRegistry;
+  private final Map<Operacao, Timer> sucessos = new ConcurrentHashMap<>();
+
+  public OperationTimingAspect(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Around("execution(public * com.deliverytech.delivery_api..controller..*.*(..))"
+      + " && !within(com.deliverytech.delivery_api.dashboard..*)")
+  public Object cronometrarController(ProceedingJoinPoint joinPoint) throws Throwable {
+    return cronometrar(joinPoint, "controller");
+  }
+
+  @Around("execution(public * com.deliverytech.delivery_api..service..*.*(..))"
+      + " && !within(com.deliverytech.delivery_api.dashboard..*)")
+  public Object cronometrarServico(ProceedingJoinPoint joinPoint) throws Throwable {
+    return cronometrar(joinPoint, "service");
+  }
+
+  private Object cronometrar(ProceedingJoinPoint joinPoint, String camada) throws Throwable {
+    long inicio = System.nanoTime();
+    try {
+      Object resultado = joinPoint.proceed();
+      Operacao operacao = new Operacao(((MethodSignature) joinPoint.getSignature()).getMethod(),
+          AopUtils.getTargetClass(joinPoint.getTarget()));
+      sucessos.computeIfAbsent(operacao, o -> timer(joinPoint, camada, "sucesso", "none"))
+          .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+      return resultado;
+    } catch (Throwable e) {
+      timer(joinPoint, camada, "erro", e.getClass().getSimpleName())
+          .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+      throw e;
+    }
+  }
+
+  private Timer timer(ProceedingJoinPoint joinPoint, String camada, String resultado, String excecao) {
+    return Timer.builder("delivery.operacao.tempo")
+        .description("Tempo das operações de controllers e serviços")
+        .tag("camada", camada)
+        .tag("classe", AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName())
+        .tag("metodo", joinPoint.getSignature().getName())
+        .tag("resultado", resultado)
+        .tag("excecao", excecao)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,110 @@
+package com.deliverytech.delivery_api.common.monitoring;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Anel de fatias de tempo fixas, sem locks, base das janelas deslizantes
+ * (SlidingWindow dos alertas, ErrorBudgetWindow dos SLOs). Cada janela
+ * define o que a fatia conta.
+ *
+ * Cada fatia cobre "largura" de tempo; a fatia da vez é reaproveitada quando
+ * o anel dá a volta (quem chega primeiro no período novo zera a fatia).
+ * Registros concorrentes com essa troca podem se perder: o erro de poucas
+ * amostras a cada "largura" é aceitável, e o caminho da requisição fica em
+ * poucos incrementos atômicos.
+ */
+public class TimeSliceRing<F extends TimeSliceRing.Fatia> {
+
+  /**
+   * Contadores de uma fatia; zerar() é chamado quando ela passa a um período
+   * novo
+   */
+  public abstract static class Fatia {
+    private final AtomicLong periodo = new AtomicLong(-1);
+
+    protected abstract void zerar();
+  }
+
+  private final Fatia[] fatias;
+  private final long larguraNanos;
+  private final LongSupplier relogio;
+  private final long origem;
+
+  public TimeSliceRing(Duration largura, Duration janelaMaxima, LongSupplier relogio, Supplier<F> fabrica) {
+    this.larguraNanos = largura.toNanos();
+    this.relogio = relogio;
+    this.origem = relogio.getAsLong();
+    // +1: a fatia atual está sempre pela metade
+    int quantidade = (int) ((janelaMaxima.toNanos() + larguraNanos - 1) / larguraNanos) + 1;
+    this.fatias = new Fatia[quantidade];
+    for (int i = 0; i < quantidade; i++) {
+      fatias[i] = fabrica.get();
+    }
+  }
+
+  /**
+   * Fatia do período atual, zerada se o anel deu a volta; null se outra
+   * thread já a levou a um período mais novo (o registro é descartado)
+   */
+  @SuppressWarnings("unchecked")
+  public F atual() {
+    long periodo = decorridoNanos() / larguraNanos;
+    Fatia fatia = fatias[(int) (periodo % fatias.length)];
+
+    long visto = fatia.periodo.get();
+    if (visto != periodo) {
+      if (visto > periodo) {
+        return null;
+      }
+      if (fatia.periodo.compareAndSet(visto, periodo)) {
+        fatia.zerar();
+      }
+    }
+    return (F) fatia;
+  }
+
+  /**
+   * Fatias com dados dos últimos "janela" (limitado à janela máxima), da
+   * mais nova para a mais antiga. A fatia atual entra inteira; a mais antiga
+   * sai, para cobrir ~"janela".
+   */
+  @SuppressWarnings("unchecked")
+  public List<F> fatias(Duration janela) {
+    long atual = decorridoNanos() / larguraNanos;
+    int quantidade = quantidade(janela);
+
+    List<F> resultado = new ArrayList<>(quantidade);
+    for (long periodo = atual; periodo > atual - quantidade && periodo >= 0; periodo--) {
+      Fatia fatia = fatias[(int) (periodo % fatias.length)];
+      if (fatia.periodo.get() == periodo) {
+        resultado.add((F) fatia);
+      }
+    }
+    return resultado;
+  }
+
+  /**
+   * Tempo de fato coberto por fatias(janela): menor que a janela enquanto o
+   * anel não tiver esse tempo de vida
+   */
+  public long cobertoNanos(Duration janela) {
+    long decorrido = decorridoNanos();
+    return Math.min(decorrido, (quantidade(janela) - 1) * larguraNanos + decorrido % larguraNanos);
+  }
+
+  /**
+   * Tempo desde a criação do anel
+   */
+  public long decorridoNanos() {
+    return relogio.getAsLong() - origem;
+  }
+
+  private int quantidade(Duration janela) {
+    return (int) Math.min(fatias.length - 1, (janela.toNanos() + larguraNanos - 1) / larguraNanos);
+  }
+}
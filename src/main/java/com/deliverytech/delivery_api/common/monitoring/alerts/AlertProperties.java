@@ -0,0 +1,75 @@
+package com.deliverytech.delivery_api.common.monitoring.alerts;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Regras de alerta (delivery.alertas), avaliadas a cada "intervalo" sobre a
+ * janela deslizante das requisições da API.
+ *
+ * Uma regra dispara depois de "avaliacoes" avaliações seguidas além do
+ * limite e só é resolvida depois de outras tantas abaixo de "recuperacao"
+ * (histerese; sem recuperação, vale o próprio limite). Enquanto ativa, não é
+ * notificada de novo, salvo a cada "lembrete" se configurado.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "delivery.alertas")
+public class AlertProperties {
+
+  public enum Metrica {
+    TAXA_ERRO, LATENCIA_P50, LATENCIA_P95, LATENCIA_P99, THROUGHPUT, CPU, MEMORIA
+  }
+
+  public enum Comparacao {
+    ACIMA, ABAIXO
+  }
+
+  private boolean habilitado = true;
+  private Duration intervalo = Duration.ofSeconds(30);
+
+  /**
+   * Largura de cada fatia da janela e maior janela consultável
+   */
+  private Duration fatia = Duration.ofSeconds(5);
+  private Duration janelaMaxima = Duration.ofMinutes(15);
+
+  /**
+   * Alertas (disparos e resoluções) mantidos em memória
+   */
+  private int historico = 200;
+
+  /**
+   * Reenvio de alerta ainda ativo; zero = nunca
+   */
+  private Duration lembrete = Duration.ZERO;
+
+  private List<Regra> regras = new ArrayList<>();
+
+  @Data
+  public static class Regra {
+    private String nome;
+    private Metrica metrica;
+    /**
+     * Ignorada para CPU e MEMORIA, que são instantâneas
+     */
+    private Duration janela = Duration.ofMinutes(5);
+    private Comparacao comparacao = Comparacao.ACIMA;
+    private double limite;
+    private Double recuperacao;
+    private int avaliacoes = 1;
+    /**
+     * Abaixo disso a janela não tem amostra suficiente e a regra não muda de
+     * estado (métricas de requisição). Throughput ignora o mínimo e só é
+     * avaliado com o nó no ar há pelo menos uma janela.
+     */
+    private long minimoRequisicoes = 1;
+    private String severidade = "WARNING";
+  }
+}
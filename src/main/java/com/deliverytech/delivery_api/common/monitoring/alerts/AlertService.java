@@ -1,158 +1,242 @@
 package com.deliverytech.delivery_api.common.monitoring.alerts;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import io.micrometer.core.instrument.MeterRegistry;
+import com.deliverytech.delivery_api.common.monitoring.alerts.AlertProperties.Comparacao;
+import com.deliverytech.delivery_api.common.monitoring.alerts.AlertProperties.Metrica;
+import com.deliverytech.delivery_api.common.monitoring.alerts.AlertProperties.Regra;
+import com.deliverytech.delivery_api.common.monitoring.alerts.SlidingWindow.Resumo;
+import com.sun.management.OperatingSystemMXBean;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Alertas sobre as requisições recentes da API.
+ *
+ * Taxa de erro, percentis de latência e throughput vêm da
+ * {@link SlidingWindow} alimentada pelo RequestWindowFilter, então refletem
+ * os últimos minutos e não a média desde a subida. CPU e memória são lidas
+ * direto dos MXBeans. As regras estão em {@link AlertProperties}.
+ *
+ * Métricas delivery.alertas.notificacoes{regra, estado} e
+ * delivery.alertas.ativos.
+ */
+@Slf4j
 @Service
 public class AlertService {
 
-  private static final Logger logger = LoggerFactory.getLogger(AlertService.class);
-  private final MeterRegistry meterRegistry;
-
-  // Thresholds para alertas
-  private static final double ERROR_RATE_THRESHOLD = 0.05; // 5%
-  private static final double RESPONSE_TIME_THRESHOLD = 1000; // 1 segundo
-  private static final double CPU_THRESHOLD = 0.8; // 80%
-  private static final double MEMORY_THRESHOLD = 0.85; // 85%
+  public enum Estado {
+    DISPARADO, LEMBRETE, RESOLVIDO
+  }
 
-  public AlertService(MeterRegistry meterRegistry) {
-    this.meterRegistry = meterRegistry;
+  public record Alerta(Instant timestamp, String regra, String severidade, Estado estado, double valor,
+      double limite, String mensagem) {
   }
 
-  @Scheduled(fixedRate = 30000) // A cada 30 segundos
-  public void verificarAlertas() {
-    logger.debug("VERIFICANDO ALERTAS");
-    verificarErrorRate();
-    verificarResponseTime();
-    verificarRecursosSistema();
-    verificarHealthStatus();
+  private static final List<Duration> JANELAS_PADRAO = List.of(
+      Duration.ofMinutes(1), Duration.ofMinutes(5), Duration.ofMinutes(15));
+
+  private static final class EstadoRegra {
+    boolean ativo;
+    int seguidas;
+    Instant ultimaNotificacao;
   }
 
-  private void verificarErrorRate() {
-    double totalRequests = getCounterValue("delivery.pedidos.total");
-    double errorRequests = getCounterValue("delivery.pedidos.erro");
+  private final AlertProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final SlidingWindow janela;
+  private final Clock clock;
+  private final OperatingSystemMXBean sistema = ManagementFactory.getPlatformMXBean(OperatingSystemMXBean.class);
+
+  private final Map<String, EstadoRegra> estados = new HashMap<>();
+  private final Deque<Alerta> historico = new ArrayDeque<>();
+  private final Map<String, Counter> notificacoes = new HashMap<>();
+
+  @Autowired
+  public AlertService(AlertProperties properties, MeterRegistry meterRegistry) {
+    this(properties, meterRegistry, new SlidingWindow(properties.getFatia(), properties.getJanelaMaxima()),
+        Clock.systemUTC());
+    log.info("🔔 {} regras de alerta, avaliadas a cada {}", properties.getRegras().size(),
+        properties.getIntervalo());
+  }
 
-    if (totalRequests > 0) {
-      double errorRate = errorRequests / totalRequests;
+  public AlertService(AlertProperties properties, MeterRegistry meterRegistry, SlidingWindow janela, Clock clock) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    this.janela = janela;
+    this.clock = clock;
+    properties.getRegras().forEach(regra -> estados.put(regra.getNome(), new EstadoRegra()));
 
-      if (errorRate > ERROR_RATE_THRESHOLD) {
-        enviarAlerta("HIGH_ERROR_RATE",
-            String.format("Taxa de erro alta: %.2f%% (threshold: %.2f%%)",
-                errorRate * 100, ERROR_RATE_THRESHOLD * 100),
-            "CRITICAL");
-      }
-    }
+    Gauge.builder("delivery.alertas.ativos", this, AlertService::getQuantidadeAtivos)
+        .description("Regras de alerta disparadas no momento")
+        .register(meterRegistry);
   }
 
-  private void verificarResponseTime() {
-    double avgResponseTime = getTimerMean("delivery.pedido.processamento.tempo");
+  /**
+   * Chamado a cada requisição da API
+   */
+  public void registrarRequisicao(long duracaoNanos, boolean erro) {
+    janela.registrar(duracaoNanos, erro);
+  }
 
-    if (avgResponseTime > RESPONSE_TIME_THRESHOLD) {
-      enviarAlerta("HIGH_RESPONSE_TIME",
-          String.format("Tempo de resposta alto: %.2fms (threshold: %.2fms)",
-              avgResponseTime, RESPONSE_TIME_THRESHOLD),
-          "WARNING");
-    }
+  public Resumo resumo(Duration duracao) {
+    return janela.resumo(duracao);
   }
 
-  private void verificarRecursosSistema() {
-    double cpuUsage = getGaugeValue("system.cpu.usage");
-    double memoryUsed = getGaugeValue("jvm.memory.used");
-    double memoryMax = getGaugeValue("jvm.memory.max");
+  /**
+   * Resumos de 1, 5 e 15 minutos
+   */
+  public Map<String, Resumo> resumos() {
+    Map<String, Resumo> resumos = new LinkedHashMap<>();
+    JANELAS_PADRAO.forEach(d -> resumos.put(d.toMinutes() + "m", janela.resumo(d)));
+    return resumos;
+  }
 
-    if (cpuUsage > CPU_THRESHOLD) {
-      enviarAlerta("HIGH_CPU_USAGE",
-          String.format("Uso de CPU alto: %.2f%% (threshold: %.2f%%)",
-              cpuUsage * 100, CPU_THRESHOLD * 100),
-          "WARNING");
+  @Scheduled(fixedRateString = "${delivery.alertas.intervalo:30s}")
+  public synchronized void verificarAlertas() {
+    if (!properties.isHabilitado()) {
+      return;
     }
-
-    if (memoryMax > 0) {
-      double memoryUsage = memoryUsed / memoryMax;
-      if (memoryUsage > MEMORY_THRESHOLD) {
-        enviarAlerta("HIGH_MEMORY_USAGE",
-            String.format("Uso de memória alto: %.2f%% (threshold: %.2f%%)",
-                memoryUsage * 100, MEMORY_THRESHOLD * 100),
-            "WARNING");
+    for (Regra regra : properties.getRegras()) {
+      try {
+        avaliar(regra, estados.computeIfAbsent(regra.getNome(), n -> new EstadoRegra()));
+      } catch (Exception e) {
+        log.error("Erro ao avaliar a regra de alerta {}", regra.getNome(), e);
       }
     }
   }
 
-  private void verificarHealthStatus() {
-    // Verificar health checks customizados
-    try {
-      // Simular verificação de health
-      boolean dbHealthy = verificarSaudeDatabase();
-      boolean externalServiceHealthy = verificarSaudeServicoExterno();
-
-      if (!dbHealthy) {
-        enviarAlerta("DATABASE_DOWN",
-            "Banco de dados não está respondendo",
-            "CRITICAL");
-      }
+  public synchronized List<Alerta> getHistorico() {
+    return new ArrayList<>(historico);
+  }
 
-      if (!externalServiceHealthy) {
-        enviarAlerta("EXTERNAL_SERVICE_DOWN",
-            "Serviço externo não está disponível",
-            "WARNING");
-      }
+  public synchronized List<String> getAtivos() {
+    return estados.entrySet().stream().filter(e -> e.getValue().ativo).map(Map.Entry::getKey).sorted().toList();
+  }
 
-    } catch (Exception e) {
-      logger.error("Erro ao verificar health status", e);
-    }
+  private synchronized int getQuantidadeAtivos() {
+    return (int) estados.values().stream().filter(e -> e.ativo).count();
   }
 
-  private void enviarAlerta(String po, String mensagem, String severidade) {
-    Map<String, Object> alerta = new HashMap<>();
-    alerta.put("timestamp", System.currentTimeMillis());
-    alerta.put("po", po);
-    alerta.put("mensagem", mensagem);
-    alerta.put("severidade", severidade);
-    alerta.put("aplicacao", "delivery-api");
+  private void avaliar(Regra regra, EstadoRegra estado) {
+    Double valor = medir(regra);
+    // Sem amostra suficiente: nem dispara nem resolve
+    if (valor == null) {
+      return;
+    }
 
-    // Log do alerta
-    logger.warn("ALERTA [{}] {}: {}", severidade, po, mensagem);
+    if (!estado.ativo) {
+      estado.seguidas = excede(regra, valor) ? estado.seguidas + 1 : 0;
+      if (estado.seguidas >= regra.getAvaliacoes()) {
+        estado.ativo = true;
+        estado.seguidas = 0;
+        notificar(regra, estado, Estado.DISPARADO, valor);
+      }
+      return;
+    }
 
-    // Aqui você integraria com sistemas de notificação:
-    // - Email, Slack, PagerDuty, SMS
-    enviarWebhookAlerta(alerta);
+    estado.seguidas = recuperou(regra, valor) ? estado.seguidas + 1 : 0;
+    if (estado.seguidas >= regra.getAvaliacoes()) {
+      estado.ativo = false;
+      estado.seguidas = 0;
+      notificar(regra, estado, Estado.RESOLVIDO, valor);
+    } else if (!properties.getLembrete().isZero()
+        && !clock.instant().isBefore(estado.ultimaNotificacao.plus(properties.getLembrete()))) {
+      notificar(regra, estado, Estado.LEMBRETE, valor);
+    }
   }
 
-  private void enviarWebhookAlerta(Map<String, Object> alerta) {
-    try {
-      logger.info("Enviando alerta via webhook: {}", alerta);
-      // Implementação de webhook para alertas
-    } catch (Exception e) {
-      logger.error("Erro ao enviar alerta via webhook", e);
+  private Double medir(Regra regra) {
+    Metrica metrica = regra.getMetrica();
+    if (metrica == Metrica.CPU) {
+      double cpu = sistema.getCpuLoad();
+      return cpu >= 0 ? cpu : null;
+    }
+    if (metrica == Metrica.MEMORIA) {
+      MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+      return heap.getMax() > 0 ? (double) heap.getUsed() / heap.getMax() : null;
     }
-  }
 
-  private boolean verificarSaudeDatabase() {
-    return true; // Simulado
+    // Throughput baixo é justamente o sinal: não exige mínimo de requisições,
+    // mas só vale depois que o nó esteve no ar por uma janela inteira (recém
+    // subido, ele ainda não recebeu tráfego nenhum)
+    if (metrica == Metrica.THROUGHPUT && janela.decorrido().compareTo(regra.getJanela()) < 0) {
+      return null;
+    }
+    Resumo resumo = janela.resumo(regra.getJanela());
+    if (metrica != Metrica.THROUGHPUT && resumo.requisicoes() < regra.getMinimoRequisicoes()) {
+      return null;
+    }
+    return switch (metrica) {
+      case TAXA_ERRO -> resumo.taxaErro();
+      case LATENCIA_P50 -> resumo.p50Ms();
+      case LATENCIA_P95 -> resumo.p95Ms();
+      case LATENCIA_P99 -> resumo.p99Ms();
+      case THROUGHPUT -> resumo.porSegundo();
+      default -> null;
+    };
   }
 
-  private boolean verificarSaudeServicoExterno() {
-    return true; // Simulado
+  private static boolean excede(Regra regra, double valor) {
+    return regra.getComparacao() == Comparacao.ACIMA ? valor > regra.getLimite() : valor < regra.getLimite();
   }
 
-  private double getCounterValue(String name) {
-    return meterRegistry.find(name).counter() != null ? meterRegistry.find(name).counter().count() : 0.0;
+  private static boolean recuperou(Regra regra, double valor) {
+    double recuperacao = regra.getRecuperacao() != null ? regra.getRecuperacao() : regra.getLimite();
+    return regra.getComparacao() == Comparacao.ACIMA ? valor <= recuperacao : valor >= recuperacao;
   }
 
-  private double getTimerMean(String name) {
-    return meterRegistry.find(name).timer() != null ?
+  private void notificar(Regra regra, EstadoRegra estado, Estado tipo, double valor) {
+    Instant agora = clock.instant();
+    estado.ultimaNotificacao = agora;
 
-        meterRegistry.find(name).timer().mean(java.util.concurrent.TimeUnit.MILLISECONDS) : 0.0;
+    String mensagem = String.format("%s %s %.4f (limite %.4f, janela %s)", regra.getMetrica(),
+        tipo == Estado.RESOLVIDO ? "normalizada em" : "em", valor, regra.getLimite(), regra.getJanela());
+    Alerta alerta = new Alerta(agora, regra.getNome(), regra.getSeveridade(), tipo, valor, regra.getLimite(),
+        mensagem);
+
+    historico.addFirst(alerta);
+    while (historico.size() > properties.getHistorico()) {
+      historico.removeLast();
+    }
+    notificacoes.computeIfAbsent(regra.getNome() + '|' + tipo, k -> Counter.builder("delivery.alertas.notificacoes")
+        .description("Alertas disparados, lembrados e resolvidos")
+        .tag("regra", regra.getNome())
+        .tag("estado", tipo.name().toLowerCase())
+        .register(meterRegistry)).increment();
+
+    if (tipo == Estado.RESOLVIDO) {
+      log.info("✅ ALERTA RESOLVIDO [{}] {}: {}", regra.getSeveridade(), regra.getNome(), mensagem);
+    } else {
+      log.warn("🚨 ALERTA [{}] {}: {}", regra.getSeveridade(), regra.getNome(), mensagem);
+    }
+    enviarWebhookAlerta(alerta);
   }
 
-  private double getGaugeValue(String name) {
-    return meterRegistry.find(name).gauge() != null ? meterRegistry.find(name).gauge().value() : 0.0;
+  private void enviarWebhookAlerta(Alerta alerta) {
+    try {
+      log.debug("Enviando alerta via webhook: {}", alerta);
+      // Aqui entra a integração com Email, Slack, PagerDuty, SMS
+    } catch (Exception e) {
+      log.error("Erro ao enviar alerta via webhook", e);
+    }
   }
-}
\ No newline at end of file
+}
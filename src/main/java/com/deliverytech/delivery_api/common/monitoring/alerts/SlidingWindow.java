@@ -0,0 +1,133 @@
+package com.deliverytech.delivery_api.common.monitoring.alerts;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+import com.deliverytech.delivery_api.common.monitoring.TimeSliceRing;
+
+/**
+ * Janela deslizante de requisições (total, erros e histograma de latência)
+ * sobre um {@link TimeSliceRing}.
+ *
+ * O histograma é log-linear (4 subdivisões por potência de 2, em
+ * microssegundos): percentis saem com erro relativo de até 25%.
+ */
+public class SlidingWindow {
+
+  public record Resumo(Duration janela, long requisicoes, long erros, double taxaErro, double porSegundo,
+      double mediaMs, double p50Ms, double p95Ms, double p99Ms) {
+  }
+
+  private static final int INTERVALOS = 112;
+
+  private final TimeSliceRing<Fatia> anel;
+
+  public SlidingWindow(Duration largura, Duration janelaMaxima) {
+    this(largura, janelaMaxima, System::nanoTime);
+  }
+
+  public SlidingWindow(Duration largura, Duration janelaMaxima, LongSupplier relogio) {
+    this.anel = new TimeSliceRing<>(largura, janelaMaxima, relogio, Fatia::new);
+  }
+
+  public void registrar(long duracaoNanos, boolean erro) {
+    Fatia fatia = anel.atual();
+    if (fatia == null) {
+      return;
+    }
+
+    fatia.total.incrementAndGet();
+    if (erro) {
+      fatia.erros.incrementAndGet();
+    }
+    long micros = TimeUnit.NANOSECONDS.toMicros(duracaoNanos);
+    fatia.somaMicros.addAndGet(micros);
+    fatia.latencias.incrementAndGet(intervalo(micros));
+  }
+
+  /**
+   * Tempo desde a criação da janela (a subida do nó)
+   */
+  public Duration decorrido() {
+    return Duration.ofNanos(anel.decorridoNanos());
+  }
+
+  /**
+   * Resumo dos últimos "janela" (limitado à janela máxima)
+   */
+  public Resumo resumo(Duration janela) {
+    long total = 0;
+    long erros = 0;
+    long somaMicros = 0;
+    long[] latencias = new long[INTERVALOS];
+    for (Fatia fatia : anel.fatias(janela)) {
+      total += fatia.total.get();
+      erros += fatia.erros.get();
+      somaMicros += fatia.somaMicros.get();
+      for (int i = 0; i < INTERVALOS; i++) {
+        latencias[i] += fatia.latencias.get(i);
+      }
+    }
+
+    double segundos = Math.max(anel.cobertoNanos(janela), 1) / 1e9;
+    return new Resumo(janela, total, erros, total > 0 ? (double) erros / total : 0.0, total / segundos,
+        total > 0 ? somaMicros / 1000.0 / total : 0.0,
+        percentil(latencias, total, 0.50), percentil(latencias, total, 0.95), percentil(latencias, total, 0.99));
+  }
+
+  /**
+   * Limite superior do intervalo que contém o percentil, em ms
+   */
+  private static double percentil(long[] latencias, long total, double percentil) {
+    if (total == 0) {
+      return 0.0;
+    }
+    long alvo = (long) Math.ceil(percentil * total);
+    long acumulado = 0;
+    for (int i = 0; i < INTERVALOS; i++) {
+      acumulado += latencias[i];
+      if (acumulado >= alvo) {
+        return limiteSuperior(i) / 1000.0;
+      }
+    }
+    return limiteSuperior(INTERVALOS - 1) / 1000.0;
+  }
+
+  static int intervalo(long micros) {
+    if (micros < 4) {
+      return (int) Math.max(micros, 0);
+    }
+    int expoente = 63 - Long.numberOfLeadingZeros(micros);
+    int mantissa = (int) (micros >>> (expoente - 2));
+    return Math.min(INTERVALOS - 1, (expoente - 1) * 4 + mantissa - 4);
+  }
+
+  static long limiteSuperior(int intervalo) {
+    if (intervalo < 4) {
+      return intervalo;
+    }
+    int expoente = intervalo / 4 + 1;
+    int mantissa = intervalo % 4 + 4;
+    return ((long) (mantissa + 1) << (expoente - 2)) - 1;
+  }
+
+  private static final class Fatia extends TimeSliceRing.Fatia {
+    final AtomicLong total = new AtomicLong();
+    final AtomicLong erros = new AtomicLong();
+    final AtomicLong somaMicros = new AtomicLong();
+    final AtomicLongArray latencias = new AtomicLongArray(INTERVALOS);
+
+    @Override
+    protected void zerar() {
+      total.set(0);
+      erros.set(0);
+      somaMicros.set(0);
+      for (int i = 0; i < INTERVALOS; i++) {
+        latencias.set(i, 0);
+      }
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package com.deliverytech.delivery_api.common.monitoring.audit;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
+/**
+ * Evento de auditoria, serializado como uma linha JSON pelo {@link AuditSink}.
+ *
+ * Criado na thread da requisição e serializado depois, pelo escritor: details,
+ * oldValue e newValue devem ser valores imutáveis (não entidades JPA).
+ * Campos nulos não aparecem no JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({ "timestamp", "type", "userId", "action", "resource", "event", "entity", "entityId",
+    "operation", "details", "oldValue", "newValue", "success", "correlationId", "ipAddress", "userAgent" })
+public record AuditEvent(
+    @JsonSerialize(using = ToStringSerializer.class) Instant timestamp,
+    String type,
+    String userId,
+    String action,
+    String resource,
+    String event,
+    String entity,
+    String entityId,
+    String operation,
+    Object details,
+    Object oldValue,
+    Object newValue,
+    Boolean success,
+    String correlationId,
+    String ipAddress,
+    String userAgent,
+    @JsonIgnore long enfileiradoEm) {
+
+  public static final String USER_ACTION = "USER_ACTION";
+  public static final String DATA_CHANGE = "DATA_CHANGE";
+  public static final String SECURITY = "SECURITY";
+}
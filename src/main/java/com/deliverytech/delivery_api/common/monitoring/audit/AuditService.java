@@ -1,79 +1,254 @@
 package com.deliverytech.delivery_api.common.monitoring.audit;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.deliverytech.delivery_api.common.monitoring.context.RequestContext;
+import com.deliverytech.delivery_api.common.utils.RingBuffer;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Auditoria assíncrona.
+ *
+ * A thread da requisição só monta o {@link AuditEvent} e o coloca em um
+ * {@link RingBuffer} limitado (um CAS, sem lock e sem serializar). Uma thread
+ * "audit-writer" drena a fila em lotes de até "lote" eventos e grava cada
+ * lote no {@link AuditSink} configurado.
+ *
+ * Fila cheia segue delivery.auditoria.overflow:
+ * - descartar: descarta o evento novo (padrão; a requisição nunca espera)
+ * - descartar-antigo: descarta o evento mais antigo da fila
+ * - aguardar: espera até "espera-maxima" por espaço e então descarta
+ *
+ * No desligamento a fila é esvaziada no sink antes de fechá-lo.
+ *
+ * Métricas:
+ * - delivery.auditoria.eventos{resultado=gravado|descartado|falha}
+ * - delivery.auditoria.fila.tamanho
+ * - delivery.auditoria.atraso: tempo entre a publicação e a gravação
+ */
+@Slf4j
 @Service
 public class AuditService {
 
-  private static final Logger auditLogger = LoggerFactory.getLogger("AUDIT");
-  private final ObjectMapper objectMapper = new ObjectMapper();
-
-  public void logUserAction(Long userId, String action, String resource, Object details) {
-    try {
-      Map<String, Object> auditEvent = new HashMap<>();
-      auditEvent.put("timestamp", LocalDateTime.now().toString());
-      auditEvent.put("userId", userId);
-      auditEvent.put("action", action);
-      auditEvent.put("resource", resource);
-      auditEvent.put("details", details);
-      auditEvent.put("correlationId", MDC.get("correlationId"));
-      auditEvent.put("sessionId", MDC.get("sessionId"));
-
-      String jsonLog = objectMapper.writeValueAsString(auditEvent);
-      auditLogger.info(jsonLog);
+  public enum Overflow {
+    DESCARTAR, DESCARTAR_ANTIGO, AGUARDAR;
 
-    } catch (Exception e) {
-      auditLogger.error("Erro ao registrar evento de auditoria", e);
+    public static Overflow de(String valor) {
+      return valueOf(valor.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
     }
   }
 
+  private final AuditSink sink;
+  private final RingBuffer<AuditEvent> fila;
+  private final int tamanhoLote;
+  private final long intervaloNanos;
+  private final Overflow overflow;
+  private final long esperaMaximaNanos;
+  private final Duration tempoDesligamento;
+
+  private final Counter gravados;
+  private final Counter descartados;
+  private final Counter falhas;
+  private final Timer atraso;
+
+  private volatile boolean ativo;
+  private volatile boolean escritorAguardando;
+  private volatile Thread escritor;
+
+  @Autowired
+  public AuditService(AuditSink sink, MeterRegistry meterRegistry,
+      @Value("${delivery.auditoria.capacidade:8192}") int capacidade,
+      @Value("${delivery.auditoria.lote:256}") int tamanhoLote,
+      @Value("${delivery.auditoria.intervalo:200ms}") Duration intervalo,
+      @Value("${delivery.auditoria.overflow:descartar}") String overflow,
+      @Value("${delivery.auditoria.espera-maxima:5ms}") Duration esperaMaxima,
+      @Value("${delivery.auditoria.tempo-desligamento:5s}") Duration tempoDesligamento) {
+    this.sink = sink;
+    this.fila = new RingBuffer<>(capacidade);
+    this.tamanhoLote = Math.max(1, tamanhoLote);
+    this.intervaloNanos = intervalo.toNanos();
+    this.overflow = Overflow.de(overflow);
+    this.esperaMaximaNanos = esperaMaxima.toNanos();
+    this.tempoDesligamento = tempoDesligamento;
+
+    this.gravados = eventos(meterRegistry, "gravado");
+    this.descartados = eventos(meterRegistry, "descartado");
+    this.falhas = eventos(meterRegistry, "falha");
+    this.atraso = Timer.builder("delivery.auditoria.atraso")
+        .description("Tempo entre a publicação e a gravação do evento de auditoria")
+        .register(meterRegistry);
+    Gauge.builder("delivery.auditoria.fila.tamanho", fila, RingBuffer::tamanho)
+        .description("Eventos de auditoria aguardando gravação")
+        .register(meterRegistry);
+  }
+
+  public void logUserAction(Long userId, String action, String resource, Object details) {
+    RequestContext contexto = RequestContext.atual();
+    publicar(new AuditEvent(Instant.now(), AuditEvent.USER_ACTION, userId != null ? userId.toString() : null,
+        action, resource, null, null, null, null, details, null, null, null,
+        contexto != null ? contexto.getCorrelationId() : null, null, null, System.nanoTime()));
+  }
+
   public void logDataChange(String userId, String entity, String entityId, Object oldValue, Object newValue,
       String operation) {
+    RequestContext contexto = RequestContext.atual();
+    publicar(new AuditEvent(Instant.now(), AuditEvent.DATA_CHANGE, userId, null, null, null, entity, entityId,
+        operation, null, oldValue, newValue, null,
+        contexto != null ? contexto.getCorrelationId() : null, null, null, System.nanoTime()));
+  }
+
+  public void logSecurityEvent(String userId, String event, String details, boolean success) {
+    RequestContext contexto = RequestContext.atual();
+    publicar(new AuditEvent(Instant.now(), AuditEvent.SECURITY, userId, null, null, event, null, null, null,
+        details, null, null, success,
+        contexto != null ? contexto.getCorrelationId() : null,
+        contexto != null ? contexto.getClientIp() : null,
+        contexto != null ? contexto.getUserAgent() : null, System.nanoTime()));
+  }
+
+  @PostConstruct
+  public synchronized void iniciar() {
+    if (escritor != null) {
+      return;
+    }
+    ativo = true;
+    escritor = new Thread(this::escrever, "audit-writer");
+    escritor.setDaemon(true);
+    escritor.start();
+    log.info("📝 Auditoria assíncrona: fila de {}, lotes de {}, overflow {}", fila.capacidade(), tamanhoLote,
+        overflow);
+  }
+
+  /**
+   * Grava o que ainda está na fila e fecha o sink
+   */
+  @PreDestroy
+  public synchronized void encerrar() {
+    if (escritor == null) {
+      return;
+    }
+    ativo = false;
+    LockSupport.unpark(escritor);
     try {
-      Map<String, Object> changeEvent = new HashMap<>();
-      changeEvent.put("timestamp", LocalDateTime.now().toString());
-      changeEvent.put("userId", userId);
-      changeEvent.put("entity", entity);
-      changeEvent.put("entityId", entityId);
-      changeEvent.put("operation", operation);
-      changeEvent.put("oldValue", oldValue);
-      changeEvent.put("newValue", newValue);
-      changeEvent.put("correlationId", MDC.get("correlationId"));
-
-      String jsonLog = objectMapper.writeValueAsString(changeEvent);
-      auditLogger.info(jsonLog);
+      escritor.join(tempoDesligamento.toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (escritor.isAlive()) {
+      log.warn("⚠️ Auditoria encerrada com {} eventos pendentes", fila.tamanho());
+    }
+    escritor = null;
+  }
 
-    } catch (Exception e) {
-      auditLogger.error("Erro ao registrar mudança de dados", e);
+  public int getTamanhoFila() {
+    return fila.tamanho();
+  }
+
+  private void publicar(AuditEvent evento) {
+    if (!fila.oferecer(evento) && !tratarOverflow(evento)) {
+      descartados.increment();
+      return;
+    }
+    // Lote completo: acorda o escritor antes do intervalo
+    if (escritorAguardando && fila.tamanho() >= tamanhoLote) {
+      Thread atual = escritor;
+      if (atual != null) {
+        LockSupport.unpark(atual);
+      }
     }
   }
 
-  public void logSecurityEvent(String userId, String event, String details, boolean success) {
+  /**
+   * Política da fila cheia; false se o evento não entrou
+   */
+  private boolean tratarOverflow(AuditEvent evento) {
+    switch (overflow) {
+      case DESCARTAR_ANTIGO -> {
+        while (!fila.oferecer(evento)) {
+          if (fila.retirar() != null) {
+            descartados.increment();
+          }
+        }
+        return true;
+      }
+      case AGUARDAR -> {
+        Thread atual = escritor;
+        if (atual != null) {
+          LockSupport.unpark(atual);
+        }
+        long limite = System.nanoTime() + esperaMaximaNanos;
+        while (!fila.oferecer(evento)) {
+          if (System.nanoTime() - limite >= 0) {
+            return false;
+          }
+          LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+        }
+        return true;
+      }
+      default -> {
+        return false;
+      }
+    }
+  }
+
+  private void escrever() {
+    List<AuditEvent> lote = new ArrayList<>(tamanhoLote);
+    while (true) {
+      fila.drenar(lote::add, tamanhoLote);
+      if (!lote.isEmpty()) {
+        gravar(lote);
+        lote.clear();
+        continue;
+      }
+      if (!ativo) {
+        break;
+      }
+      escritorAguardando = true;
+      if (fila.tamanho() == 0 && ativo) {
+        LockSupport.parkNanos(this, intervaloNanos);
+      }
+      escritorAguardando = false;
+    }
+
     try {
-      Map<String, Object> securityEvent = new HashMap<>();
-      securityEvent.put("timestamp", LocalDateTime.now().toString());
-      securityEvent.put("userId", userId);
-      securityEvent.put("event", event);
-      securityEvent.put("details", details);
-      securityEvent.put("success", success);
-      securityEvent.put("correlationId", MDC.get("correlationId"));
-      securityEvent.put("ipAddress", MDC.get("clientIp"));
-      securityEvent.put("userAgent", MDC.get("userAgent"));
-
-      String jsonLog = objectMapper.writeValueAsString(securityEvent);
-      auditLogger.info(jsonLog);
+      sink.fechar();
+    } catch (Exception e) {
+      log.warn("⚠️ Falha ao fechar o destino da auditoria: {}", e.getMessage());
+    }
+  }
 
+  private void gravar(List<AuditEvent> lote) {
+    atraso.record(System.nanoTime() - lote.get(0).enfileiradoEm(), TimeUnit.NANOSECONDS);
+    try {
+      sink.gravar(lote);
+      gravados.increment(lote.size());
     } catch (Exception e) {
-      auditLogger.error("Erro ao registrar evento de segurança", e);
+      falhas.increment(lote.size());
+      log.warn("⚠️ Falha ao gravar {} eventos de auditoria: {}", lote.size(), e.getMessage());
     }
   }
-}
\ No newline at end of file
+
+  private static Counter eventos(MeterRegistry meterRegistry, String resultado) {
+    return Counter.builder("delivery.auditoria.eventos")
+        .description("Eventos de auditoria por resultado")
+        .tag("resultado", resultado)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,19 @@
+package com.deliverytech.delivery_api.common.monitoring.audit;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destino append-only dos eventos de auditoria. Chamado sempre pela mesma
+ * thread (o escritor do {@link AuditService}), com lotes na ordem de chegada.
+ */
+public interface AuditSink {
+
+  void gravar(List<AuditEvent> lote) throws IOException;
+
+  /**
+   * Chamado uma vez, no desligamento, depois do último lote
+   */
+  default void fechar() throws IOException {
+  }
+}
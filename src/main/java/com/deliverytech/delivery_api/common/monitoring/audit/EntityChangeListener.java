@@ -0,0 +1,203 @@
+package com.deliverytech.delivery_api.common.monitoring.audit;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.type.Type;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.deliverytech.delivery_api.common.monitoring.context.RequestContext;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Captura de alterações para a auditoria (logDataChange), direto nos eventos
+ * do Hibernate.
+ *
+ * O Hibernate já tem o estado carregado e o novo estado de cada entidade no
+ * flush, além dos índices dos campos sujos: o diff sai desses arrays, sem
+ * reler a linha. Só os campos alterados entram no evento (INSERT: os campos
+ * preenchidos; DELETE: o último estado). Associações viram o id da entidade e
+ * coleções são ignoradas.
+ *
+ * Os listeners são pós-commit: transação desfeita não gera auditoria. O
+ * evento segue pelo {@link AuditService}, que grava de forma assíncrona.
+ *
+ * delivery.auditoria.alteracoes.entidades lista as entidades auditadas (nome
+ * simples da classe).
+ */
+@Slf4j
+@Component
+public class EntityChangeListener
+    implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+  public static final String INSERT = "INSERT";
+  public static final String UPDATE = "UPDATE";
+  public static final String DELETE = "DELETE";
+
+  private final AuditService auditService;
+  private final EntityManagerFactory entityManagerFactory;
+  private final boolean habilitado;
+  private final Set<String> entidades;
+
+  @Autowired
+  public EntityChangeListener(AuditService auditService, EntityManagerFactory entityManagerFactory,
+      @Value("${delivery.auditoria.alteracoes.habilitado:true}") boolean habilitado,
+      @Value("${delivery.auditoria.alteracoes.entidades:Pedido,Produto,Restaurante}") Set<String> entidades) {
+    this.auditService = auditService;
+    this.entityManagerFactory = entityManagerFactory;
+    this.habilitado = habilitado;
+    this.entidades = Set.copyOf(entidades);
+  }
+
+  @PostConstruct
+  public void registrar() {
+    if (habilitado) {
+      registrar(entityManagerFactory.unwrap(SessionFactoryImplementor.class));
+    }
+  }
+
+  public void registrar(SessionFactoryImplementor sessionFactory) {
+    EventListenerRegistry registro = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+    registro.appendListeners(EventType.POST_COMMIT_INSERT, this);
+    registro.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+    registro.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    log.info("📝 Auditoria de alterações registrada para {}", entidades);
+  }
+
+  @Override
+  public boolean requiresPostCommitHandling(EntityPersister persister) {
+    return entidades.contains(persister.getMappedClass().getSimpleName());
+  }
+
+  @Override
+  public void onPostInsert(PostInsertEvent event) {
+    EntityPersister persister = event.getPersister();
+    if (!requiresPostCommitHandling(persister)) {
+      return;
+    }
+    Map<String, Object> depois = preenchidos(persister, event.getState(), event.getSession());
+    publicar(persister, event.getId(), null, depois, INSERT);
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    EntityPersister persister = event.getPersister();
+    if (!requiresPostCommitHandling(persister)) {
+      return;
+    }
+
+    Object[] estado = event.getState();
+    Object[] anterior = event.getOldState();
+    String[] nomes = persister.getPropertyNames();
+    Type[] tipos = persister.getPropertyTypes();
+    SharedSessionContractImplementor session = event.getSession();
+
+    Map<String, Object> antes = new LinkedHashMap<>();
+    Map<String, Object> depois = new LinkedHashMap<>();
+    int[] sujos = event.getDirtyProperties();
+    if (sujos != null) {
+      for (int i : sujos) {
+        adicionarDiferenca(i, nomes, tipos, anterior, estado, session, antes, depois);
+      }
+    } else {
+      // Sem dirty checking (ex.: update de entidade desanexada): compara o estado inteiro
+      for (int i = 0; i < estado.length; i++) {
+        if (anterior == null || !tipos[i].isEqual(anterior[i], estado[i])) {
+          adicionarDiferenca(i, nomes, tipos, anterior, estado, session, antes, depois);
+        }
+      }
+    }
+
+    if (!depois.isEmpty()) {
+      publicar(persister, event.getId(), anterior != null ? antes : null, depois, UPDATE);
+    }
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    EntityPersister persister = event.getPersister();
+    if (!requiresPostCommitHandling(persister)) {
+      return;
+    }
+    Object[] estado = event.getDeletedState();
+    Map<String, Object> antes = estado != null ? preenchidos(persister, estado, event.getSession()) : null;
+    publicar(persister, event.getId(), antes, null, DELETE);
+  }
+
+  @Override
+  public void onPostInsertCommitFailed(PostInsertEvent event) {
+    // Transação desfeita: nada a auditar
+  }
+
+  @Override
+  public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    // Transação desfeita: nada a auditar
+  }
+
+  @Override
+  public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    // Transação desfeita: nada a auditar
+  }
+
+  private void publicar(EntityPersister persister, Object id, Map<String, Object> antes, Map<String, Object> depois,
+      String operacao) {
+    Long usuarioId = RequestContext.usuarioIdAtual();
+    auditService.logDataChange(usuarioId != null ? usuarioId.toString() : null,
+        persister.getMappedClass().getSimpleName(), String.valueOf(id), antes, depois, operacao);
+  }
+
+  private static void adicionarDiferenca(int i, String[] nomes, Type[] tipos, Object[] anterior, Object[] estado,
+      SharedSessionContractImplementor session, Map<String, Object> antes, Map<String, Object> depois) {
+    if (tipos[i].isCollectionType()) {
+      return;
+    }
+    if (anterior != null) {
+      antes.put(nomes[i], valor(anterior[i], tipos[i], session));
+    }
+    depois.put(nomes[i], valor(estado[i], tipos[i], session));
+  }
+
+  private static Map<String, Object> preenchidos(EntityPersister persister, Object[] estado,
+      SharedSessionContractImplementor session) {
+    String[] nomes = persister.getPropertyNames();
+    Type[] tipos = persister.getPropertyTypes();
+    Map<String, Object> valores = new LinkedHashMap<>();
+    for (int i = 0; i < estado.length; i++) {
+      if (estado[i] != null && !tipos[i].isCollectionType()) {
+        valores.put(nomes[i], valor(estado[i], tipos[i], session));
+      }
+    }
+    return valores;
+  }
+
+  /**
+   * Valor imutável para o evento: associação vira o id (sem inicializar proxy)
+   */
+  private static Object valor(Object valor, Type tipo, SharedSessionContractImplementor session) {
+    if (valor == null || !tipo.isEntityType()) {
+      return valor;
+    }
+    if (valor instanceof HibernateProxy proxy) {
+      return proxy.getHibernateLazyInitializer().getInternalIdentifier();
+    }
+    return session.getEntityPersister(null, valor).getIdentifier(valor, session);
+  }
+}
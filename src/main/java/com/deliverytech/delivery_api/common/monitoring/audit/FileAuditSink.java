@@ -0,0 +1,188 @@
+package com.deliverytech.delivery_api.common.monitoring.audit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Arquivo JSON Lines append-only, gravado por NIO: cada lote vira um único
+ * write no FileChannel.
+ *
+ * O arquivo atual (ex.: logs/delivery-api-audit.log) é renomeado na virada do
+ * dia para delivery-api-audit.yyyy-MM-dd.log, ou antes disso ao passar do
+ * tamanho máximo (delivery-api-audit.yyyy-MM-dd.N.log). Arquivos com mais de
+ * "historico" dias são apagados na virada.
+ *
+ * delivery.auditoria.destino=arquivo (padrão)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "delivery.auditoria.destino", havingValue = "arquivo", matchIfMissing = true)
+public class FileAuditSink implements AuditSink {
+
+  private static final byte NOVA_LINHA = '\n';
+
+  private final Path arquivo;
+  private final String prefixo;
+  private final long tamanhoMaximo;
+  private final int historicoDias;
+  private final boolean sincronizar;
+  private final Clock clock;
+  private final ObjectWriter writer;
+  private final Buffer buffer = new Buffer();
+
+  private FileChannel canal;
+  private LocalDate diaAtual;
+  private long tamanhoAtual;
+
+  @Autowired
+  public FileAuditSink(ObjectMapper objectMapper,
+      @Value("${delivery.auditoria.arquivo.caminho:logs/delivery-api-audit.log}") String caminho,
+      @Value("${delivery.auditoria.arquivo.tamanho-maximo:100MB}") DataSize tamanhoMaximo,
+      @Value("${delivery.auditoria.arquivo.historico-dias:365}") int historicoDias,
+      @Value("${delivery.auditoria.arquivo.sincronizar:false}") boolean sincronizar) {
+    this(objectMapper, Path.of(caminho), tamanhoMaximo.toBytes(), historicoDias, sincronizar, Clock.systemDefaultZone());
+  }
+
+  public FileAuditSink(ObjectMapper objectMapper, Path arquivo, long tamanhoMaximo, int historicoDias,
+      boolean sincronizar, Clock clock) {
+    this.arquivo = arquivo.toAbsolutePath();
+    String nome = this.arquivo.getFileName().toString();
+    this.prefixo = nome.endsWith(".log") ? nome.substring(0, nome.length() - 4) : nome;
+    this.tamanhoMaximo = tamanhoMaximo;
+    this.historicoDias = historicoDias;
+    this.sincronizar = sincronizar;
+    this.clock = clock;
+    // O buffer é reaproveitado entre eventos: o writer não pode fechá-lo
+    this.writer = objectMapper.writerFor(AuditEvent.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+  }
+
+  @Override
+  public void gravar(List<AuditEvent> lote) throws IOException {
+    buffer.reset();
+    for (AuditEvent evento : lote) {
+      writer.writeValue(buffer, evento);
+      buffer.write(NOVA_LINHA);
+    }
+
+    prepararArquivo(buffer.size());
+    ByteBuffer bytes = buffer.conteudo();
+    while (bytes.hasRemaining()) {
+      tamanhoAtual += canal.write(bytes);
+    }
+    if (sincronizar) {
+      canal.force(false);
+    }
+  }
+
+  @Override
+  public void fechar() throws IOException {
+    if (canal != null) {
+      canal.force(false);
+      canal.close();
+      canal = null;
+    }
+  }
+
+  /**
+   * Abre o arquivo na primeira gravação e faz a rotação por dia ou tamanho
+   */
+  private void prepararArquivo(int proximaGravacao) throws IOException {
+    LocalDate hoje = LocalDate.now(clock);
+    if (canal == null) {
+      Files.createDirectories(arquivo.getParent());
+      abrir();
+      // Arquivo que sobrou de outro dia (aplicação parada na virada)
+      LocalDate modificado = LocalDate.ofInstant(Files.getLastModifiedTime(arquivo).toInstant(), clock.getZone());
+      diaAtual = tamanhoAtual > 0 && modificado.isBefore(hoje) ? modificado : hoje;
+    }
+
+    boolean virouODia = !hoje.equals(diaAtual);
+    if (tamanhoAtual > 0 && (virouODia || tamanhoAtual + proximaGravacao > tamanhoMaximo)) {
+      rotacionar();
+      if (virouODia) {
+        apagarAntigos(hoje);
+      }
+      diaAtual = hoje;
+    }
+  }
+
+  private void abrir() throws IOException {
+    canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.APPEND);
+    tamanhoAtual = canal.size();
+  }
+
+  private void rotacionar() throws IOException {
+    canal.force(false);
+    canal.close();
+
+    Path destino = arquivo.resolveSibling(prefixo + "." + diaAtual + ".log");
+    for (int i = 1; Files.exists(destino); i++) {
+      destino = arquivo.resolveSibling(prefixo + "." + diaAtual + "." + i + ".log");
+    }
+    Files.move(arquivo, destino);
+    abrir();
+  }
+
+  private void apagarAntigos(LocalDate hoje) {
+    LocalDate limite = hoje.minusDays(historicoDias);
+    try (DirectoryStream<Path> rotacionados = Files.newDirectoryStream(arquivo.getParent(), prefixo + ".*.log")) {
+      for (Path antigo : rotacionados) {
+        LocalDate dia = diaDoArquivo(antigo.getFileName().toString());
+        if (dia != null && dia.isBefore(limite)) {
+          Files.deleteIfExists(antigo);
+        }
+      }
+    } catch (IOException e) {
+      log.warn("⚠️ Falha ao apagar auditoria antiga: {}", e.getMessage());
+    }
+  }
+
+  private LocalDate diaDoArquivo(String nome) {
+    int inicio = prefixo.length() + 1;
+    if (nome.length() < inicio + 10) {
+      return null;
+    }
+    try {
+      return LocalDate.parse(nome.substring(inicio, inicio + 10));
+    } catch (DateTimeParseException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Expõe o array interno, sem a cópia do toByteArray()
+   */
+  private static class Buffer extends ByteArrayOutputStream {
+
+    Buffer() {
+      super(64 * 1024);
+    }
+
+    ByteBuffer conteudo() {
+      return ByteBuffer.wrap(buf, 0, count);
+    }
+  }
+}
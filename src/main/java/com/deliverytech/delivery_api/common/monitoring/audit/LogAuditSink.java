@@ -0,0 +1,38 @@
+package com.deliverytech.delivery_api.common.monitoring.audit;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Grava cada evento como uma linha JSON no logger "AUDIT" (o destino anterior),
+ * fora da thread da requisição. delivery.auditoria.destino=log
+ */
+@Component
+@ConditionalOnProperty(name = "delivery.auditoria.destino", havingValue = "log")
+public class LogAuditSink implements AuditSink {
+
+  private static final Logger auditLogger = LoggerFactory.getLogger("AUDIT");
+
+  private final ObjectWriter writer;
+
+  @Autowired
+  public LogAuditSink(ObjectMapper objectMapper) {
+    this.writer = objectMapper.writerFor(AuditEvent.class);
+  }
+
+  @Override
+  public void gravar(List<AuditEvent> lote) throws IOException {
+    for (AuditEvent evento : lote) {
+      auditLogger.info(writer.writeValueAsString(evento));
+    }
+  }
+}
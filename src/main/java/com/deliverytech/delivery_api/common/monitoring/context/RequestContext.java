@@ -0,0 +1,161 @@
+package com.deliverytech.delivery_api.common.monitoring.context;
+
+import java.util.HexFormat;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.MDC;
+
+/**
+ * Contexto da requisição: correlation id, IP e user agent do cliente e o id
+ * do usuário autenticado.
+ *
+ * Aberto pelo CorrelationIdFilter sem criar sessão HTTP. Fica em um
+ * ThreadLocal e só o correlation id vai para o MDC (usado pelo padrão de
+ * log). Tarefas assíncronas recebem o contexto por {@link #propagar}: o
+ * TaskDecorator do Spring já faz isso nos executores gerenciados; pools
+ * próprios e virtual threads usam {@link #propagando(Executor)} ou envolvem
+ * a tarefa.
+ *
+ * Uso: {@code RequestContext anterior = RequestContext.abrir(contexto);}
+ * e, no finally, {@code RequestContext.restaurar(anterior);}
+ */
+public final class RequestContext {
+
+  public static final String MDC_CORRELATION_ID = "correlationId";
+
+  private static final ThreadLocal<RequestContext> ATUAL = new ThreadLocal<>();
+  private static final HexFormat HEX = HexFormat.of();
+
+  private final String correlationId;
+  private final String clientIp;
+  private final String userAgent;
+  private volatile Long usuarioId;
+
+  public RequestContext(String correlationId, String clientIp, String userAgent) {
+    this.correlationId = correlationId;
+    this.clientIp = clientIp;
+    this.userAgent = userAgent;
+  }
+
+  /**
+   * Id de 16 caracteres hexadecimais (64 bits aleatórios). Usa o
+   * ThreadLocalRandom: sem lock e sem o SecureRandom do UUID.randomUUID().
+   */
+  public static String novoCorrelationId() {
+    return HEX.toHexDigits(ThreadLocalRandom.current().nextLong());
+  }
+
+  /**
+   * Contexto da thread atual, ou null fora de uma requisição
+   */
+  public static RequestContext atual() {
+    return ATUAL.get();
+  }
+
+  /**
+   * Correlation id da thread atual, ou null
+   */
+  public static String correlationIdAtual() {
+    RequestContext contexto = ATUAL.get();
+    return contexto != null ? contexto.correlationId : null;
+  }
+
+  /**
+   * Usuário autenticado da thread atual, ou null
+   */
+  public static Long usuarioIdAtual() {
+    RequestContext contexto = ATUAL.get();
+    return contexto != null ? contexto.usuarioId : null;
+  }
+
+  /**
+   * Ativa o contexto na thread atual e devolve o anterior, que deve ser
+   * passado a {@link #restaurar} ao terminar
+   */
+  public static RequestContext abrir(RequestContext contexto) {
+    RequestContext anterior = ATUAL.get();
+    ativar(contexto);
+    return anterior;
+  }
+
+  public static void restaurar(RequestContext anterior) {
+    ativar(anterior);
+  }
+
+  /**
+   * A tarefa roda com o contexto atual, em qualquer thread
+   */
+  public static Runnable propagar(Runnable tarefa) {
+    RequestContext contexto = ATUAL.get();
+    if (contexto == null) {
+      return tarefa;
+    }
+    return () -> {
+      RequestContext anterior = abrir(contexto);
+      try {
+        tarefa.run();
+      } finally {
+        restaurar(anterior);
+      }
+    };
+  }
+
+  public static <T> Callable<T> propagar(Callable<T> tarefa) {
+    RequestContext contexto = ATUAL.get();
+    if (contexto == null) {
+      return tarefa;
+    }
+    return () -> {
+      RequestContext anterior = abrir(contexto);
+      try {
+        return tarefa.call();
+      } finally {
+        restaurar(anterior);
+      }
+    };
+  }
+
+  /**
+   * Executor que propaga o contexto de quem submete a tarefa (ex.:
+   * {@code propagando(Executors.newVirtualThreadPerTaskExecutor())})
+   */
+  public static Executor propagando(Executor executor) {
+    return tarefa -> executor.execute(propagar(tarefa));
+  }
+
+  private static void ativar(RequestContext contexto) {
+    if (contexto == null) {
+      ATUAL.remove();
+      MDC.remove(MDC_CORRELATION_ID);
+    } else {
+      ATUAL.set(contexto);
+      MDC.put(MDC_CORRELATION_ID, contexto.correlationId);
+    }
+  }
+
+  public String getCorrelationId() {
+    return correlationId;
+  }
+
+  public String getClientIp() {
+    return clientIp;
+  }
+
+  public String getUserAgent() {
+    return userAgent;
+  }
+
+  public Long getUsuarioId() {
+    return usuarioId;
+  }
+
+  /**
+   * Definido pelo filtro JWT depois de autenticar; visível nas tarefas já
+   * propagadas, que compartilham a instância
+   */
+  public void setUsuarioId(Long usuarioId) {
+    this.usuarioId = usuarioId;
+  }
+}
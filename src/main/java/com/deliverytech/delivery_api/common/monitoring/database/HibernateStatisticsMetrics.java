@@ -0,0 +1,114 @@
+package com.deliverytech.delivery_api.common.monitoring.database;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Estatísticas do Hibernate como métricas delivery.hibernate.*.
+ *
+ * Só há números com hibernate.generate_statistics ligado; desligado, as
+ * métricas ficam em zero. Os contadores são lidos das Statistics no scrape,
+ * sem custo no caminho das consultas.
+ */
+@Component
+public class HibernateStatisticsMetrics implements MeterBinder {
+
+  private final Statistics statistics;
+
+  public HibernateStatisticsMetrics(EntityManagerFactory entityManagerFactory) {
+    this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  public boolean isHabilitado() {
+    return statistics.isStatisticsEnabled();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    contador(registry, "delivery.hibernate.consultas", "Consultas HQL/JPQL executadas", null, null,
+        Statistics::getQueryExecutionCount);
+    contador(registry, "delivery.hibernate.statements", "Statements JDBC preparados", "estado", "preparado",
+        Statistics::getPrepareStatementCount);
+    contador(registry, "delivery.hibernate.statements", "Statements JDBC preparados", "estado", "fechado",
+        Statistics::getCloseStatementCount);
+
+    contador(registry, "delivery.hibernate.entidades", "Operações em entidades", "operacao", "carga",
+        Statistics::getEntityLoadCount);
+    contador(registry, "delivery.hibernate.entidades", "Operações em entidades", "operacao", "busca",
+        Statistics::getEntityFetchCount);
+    contador(registry, "delivery.hibernate.entidades", "Operações em entidades", "operacao", "insercao",
+        Statistics::getEntityInsertCount);
+    contador(registry, "delivery.hibernate.entidades", "Operações em entidades", "operacao", "atualizacao",
+        Statistics::getEntityUpdateCount);
+    contador(registry, "delivery.hibernate.entidades", "Operações em entidades", "operacao", "exclusao",
+        Statistics::getEntityDeleteCount);
+
+    contador(registry, "delivery.hibernate.colecoes", "Operações em coleções", "operacao", "carga",
+        Statistics::getCollectionLoadCount);
+    contador(registry, "delivery.hibernate.colecoes", "Operações em coleções", "operacao", "busca",
+        Statistics::getCollectionFetchCount);
+
+    contador(registry, "delivery.hibernate.sessoes", "Sessões do Hibernate", "estado", "aberta",
+        Statistics::getSessionOpenCount);
+    contador(registry, "delivery.hibernate.sessoes", "Sessões do Hibernate", "estado", "fechada",
+        Statistics::getSessionCloseCount);
+    contador(registry, "delivery.hibernate.flushes", "Flushes executados", null, null,
+        Statistics::getFlushCount);
+    contador(registry, "delivery.hibernate.transacoes", "Transações", "resultado", "sucesso",
+        Statistics::getSuccessfulTransactionCount);
+    contador(registry, "delivery.hibernate.transacoes", "Transações", "resultado", "falha",
+        s -> s.getTransactionCount() - s.getSuccessfulTransactionCount());
+    contador(registry, "delivery.hibernate.otimista.falhas", "Falhas de lock otimista", null, null,
+        Statistics::getOptimisticFailureCount);
+
+    contador(registry, "delivery.hibernate.cache.segundo_nivel", "Acessos ao cache de segundo nível",
+        "resultado", "hit", Statistics::getSecondLevelCacheHitCount);
+    contador(registry, "delivery.hibernate.cache.segundo_nivel", "Acessos ao cache de segundo nível",
+        "resultado", "miss", Statistics::getSecondLevelCacheMissCount);
+    contador(registry, "delivery.hibernate.cache.plano_consulta", "Acessos ao cache de planos de consulta",
+        "resultado", "hit", Statistics::getQueryPlanCacheHitCount);
+    contador(registry, "delivery.hibernate.cache.plano_consulta", "Acessos ao cache de planos de consulta",
+        "resultado", "miss", Statistics::getQueryPlanCacheMissCount);
+
+    Gauge.builder("delivery.hibernate.consulta.tempo.maximo", statistics, Statistics::getQueryExecutionMaxTime)
+        .description("Maior tempo de consulta HQL/JPQL observado")
+        .baseUnit("milliseconds")
+        .register(registry);
+  }
+
+  /**
+   * Resumo para o dashboard
+   */
+  public Map<String, Object> resumo() {
+    Map<String, Object> resumo = new LinkedHashMap<>();
+    resumo.put("habilitado", statistics.isStatisticsEnabled());
+    resumo.put("statements", statistics.getPrepareStatementCount());
+    resumo.put("entidades_carregadas", statistics.getEntityLoadCount());
+    resumo.put("colecoes_carregadas", statistics.getCollectionLoadCount());
+    resumo.put("flushes", statistics.getFlushCount());
+    resumo.put("consulta_mais_lenta_ms", statistics.getQueryExecutionMaxTime());
+    resumo.put("consulta_mais_lenta", statistics.getQueryExecutionMaxTimeQueryString());
+    return resumo;
+  }
+
+  private void contador(MeterRegistry registry, String nome, String descricao, String tag, String valor,
+      ToDoubleFunction<Statistics> funcao) {
+    FunctionCounter.Builder<Statistics> builder = FunctionCounter.builder(nome, statistics, funcao)
+        .description(descricao);
+    if (tag != null) {
+      builder.tag(tag, valor);
+    }
+    builder.register(registry);
+  }
+}
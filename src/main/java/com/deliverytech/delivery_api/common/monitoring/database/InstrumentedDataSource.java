@@ -0,0 +1,201 @@
+package com.deliverytech.delivery_api.common.monitoring.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource que cronometra cada statement JDBC e entrega a medição ao
+ * {@link StatementMetrics}.
+ *
+ * Conexões e statements são proxies dinâmicos finos: os set*(índice, valor)
+ * guardam o valor para o log de consultas lentas e os execute* são medidos
+ * com nanoTime. Todo o resto vai direto ao driver. ResultSets só ganham proxy
+ * (para contar linhas) quando o StatementMetrics tem listeners.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+  /** Marca de setNull, distinta de "parâmetro não informado" */
+  static final Object NULO = new Object();
+
+  private final Supplier<StatementMetrics> metrics;
+
+  public InstrumentedDataSource(DataSource alvo, StatementMetrics metrics) {
+    this(alvo, () -> metrics);
+  }
+
+  public InstrumentedDataSource(DataSource alvo, Supplier<StatementMetrics> metrics) {
+    super(alvo);
+    this.metrics = metrics;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return conexao(super.getConnection());
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return conexao(super.getConnection(username, password));
+  }
+
+  private Connection conexao(Connection alvo) {
+    return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+        new ConexaoInstrumentada(alvo));
+  }
+
+  private final class ConexaoInstrumentada implements InvocationHandler {
+
+    private final Connection alvo;
+
+    ConexaoInstrumentada(Connection alvo) {
+      this.alvo = alvo;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      switch (method.getName()) {
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "unwrap":
+          return ((Class<?>) args[0]).isInstance(proxy) ? proxy : alvo.unwrap((Class<?>) args[0]);
+        default:
+          break;
+      }
+
+      Object resultado = chamar(alvo, method, args);
+      return switch (method.getName()) {
+        case "prepareStatement" -> statement(proxy, PreparedStatement.class, (Statement) resultado, (String) args[0]);
+        case "prepareCall" -> statement(proxy, CallableStatement.class, (Statement) resultado, (String) args[0]);
+        case "createStatement" -> statement(proxy, Statement.class, (Statement) resultado, null);
+        default -> resultado;
+      };
+    }
+
+    private Object statement(Object conexao, Class<? extends Statement> tipo, Statement alvo, String sql) {
+      return Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(), new Class<?>[] { tipo },
+          new StatementInstrumentado(conexao, alvo, sql));
+    }
+  }
+
+  private final class StatementInstrumentado implements InvocationHandler {
+
+    private final Object conexao;
+    private final Statement alvo;
+    private final String sql;
+    private Object[] parametros;
+    private int lote;
+
+    StatementInstrumentado(Object conexao, Statement alvo, String sql) {
+      this.conexao = conexao;
+      this.alvo = alvo;
+      this.sql = sql;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      String nome = method.getName();
+      switch (nome) {
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "getConnection":
+          return conexao;
+        case "unwrap":
+          return ((Class<?>) args[0]).isInstance(proxy) ? proxy : alvo.unwrap((Class<?>) args[0]);
+        case "clearParameters":
+          parametros = null;
+          break;
+        case "addBatch":
+          lote++;
+          break;
+        case "clearBatch":
+          lote = 0;
+          break;
+        default:
+          if (nome.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer indice) {
+            guardar(indice, nome.equals("setNull") ? NULO : args[1]);
+          } else if (nome.startsWith("execute")) {
+            return linhas(proxy, executar(method, args));
+          } else if (nome.equals("getResultSet")) {
+            return linhas(proxy, chamar(alvo, method, args));
+          }
+      }
+      return chamar(alvo, method, args);
+    }
+
+    /**
+     * ResultSet que avisa o StatementMetrics a cada linha lida
+     */
+    private Object linhas(Object statement, Object resultado) {
+      if (!(resultado instanceof ResultSet resultSet) || !metrics.get().isContandoLinhas()) {
+        return resultado;
+      }
+      return Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+          (proxy, method, args) -> switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "getStatement" -> statement;
+            case "unwrap" -> ((Class<?>) args[0]).isInstance(proxy) ? proxy : resultSet.unwrap((Class<?>) args[0]);
+            default -> {
+              Object valor = chamar(resultSet, method, args);
+              if (method.getName().equals("next") && Boolean.TRUE.equals(valor)) {
+                metrics.get().registrarLinha();
+              }
+              yield valor;
+            }
+          });
+    }
+
+    private Object executar(Method method, Object[] args) throws Throwable {
+      // Statement simples recebe o SQL no execute; PreparedStatement já o tem
+      String comando = sql != null ? sql : args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+      int tamanhoLote = lote;
+      long inicio = System.nanoTime();
+      try {
+        return chamar(alvo, method, args);
+      } finally {
+        if (method.getName().equals("executeBatch")) {
+          lote = 0;
+        }
+        metrics.get().registrar(comando, System.nanoTime() - inicio, parametros, tamanhoLote);
+      }
+    }
+
+    private void guardar(int indice, Object valor) {
+      if (indice < 1) {
+        return;
+      }
+      if (parametros == null) {
+        parametros = new Object[Math.max(8, indice + 1)];
+      } else if (indice >= parametros.length) {
+        parametros = Arrays.copyOf(parametros, Math.max(parametros.length * 2, indice + 1));
+      }
+      parametros[indice] = valor;
+    }
+  }
+
+  private static Object chamar(Object alvo, Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(alvo, args);
+    } catch (InvocationTargetException e) {
+      throw e.getTargetException();
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package com.deliverytech.delivery_api.common.monitoring.database;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Envolve o DataSource da aplicação no {@link InstrumentedDataSource}.
+ *
+ * O StatementMetrics é resolvido só no primeiro statement: o DataSource é
+ * criado cedo (antes do MeterRegistry estar pronto) e não deve puxá-lo junto.
+ */
+@Component
+@ConditionalOnProperty(name = "delivery.database.instrumentacao.habilitado", havingValue = "true", matchIfMissing = true)
+public class InstrumentedDataSourcePostProcessor implements BeanPostProcessor {
+
+  private final ObjectProvider<StatementMetrics> metrics;
+
+  public InstrumentedDataSourcePostProcessor(ObjectProvider<StatementMetrics> metrics) {
+    this.metrics = metrics;
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) {
+    if (bean instanceof DataSource dataSource && !(bean instanceof InstrumentedDataSource)) {
+      return new InstrumentedDataSource(dataSource, SingletonSupplier.of(metrics::getObject));
+    }
+    return bean;
+  }
+}
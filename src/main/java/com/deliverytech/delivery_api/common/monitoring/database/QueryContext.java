@@ -0,0 +1,36 @@
+package com.deliverytech.delivery_api.common.monitoring.database;
+
+/**
+ * Nome da consulta em execução na thread (ex.: "ProdutoRepository.findById"),
+ * usado como tag das métricas de SQL. Definido pelo
+ * {@link RepositoryQueryNaming} em volta de cada método de repositório.
+ */
+public final class QueryContext {
+
+  private static final ThreadLocal<String> ATUAL = new ThreadLocal<>();
+
+  private QueryContext() {
+  }
+
+  public static String atual() {
+    return ATUAL.get();
+  }
+
+  /**
+   * Define o nome e devolve o anterior, que deve ser passado a
+   * {@link #restaurar}
+   */
+  public static String abrir(String consulta) {
+    String anterior = ATUAL.get();
+    ATUAL.set(consulta);
+    return anterior;
+  }
+
+  public static void restaurar(String anterior) {
+    if (anterior == null) {
+      ATUAL.remove();
+    } else {
+      ATUAL.set(anterior);
+    }
+  }
+}
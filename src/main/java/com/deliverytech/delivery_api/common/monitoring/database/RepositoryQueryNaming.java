@@ -0,0 +1,44 @@
+package com.deliverytech.delivery_api.common.monitoring.database;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+/**
+ * Nomeia as consultas pelo método de repositório: cada repositório Spring
+ * Data ganha um interceptor que define o {@link QueryContext} (ex.:
+ * "PedidoRepository.findUsuarioIdById") durante a chamada. A cardinalidade
+ * fica limitada aos métodos declarados.
+ */
+@Component
+public class RepositoryQueryNaming implements BeanPostProcessor {
+
+  @Override
+  public Object postProcessBeforeInitialization(Object bean, String beanName) {
+    // Antes do afterPropertiesSet, que cria o repositório
+    if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+      factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+          (proxyFactory, informacao) -> proxyFactory.addAdvice(
+              interceptor(informacao.getRepositoryInterface().getSimpleName()))));
+    }
+    return bean;
+  }
+
+  static MethodInterceptor interceptor(String repositorio) {
+    Map<Method, String> nomes = new ConcurrentHashMap<>();
+    return invocacao -> {
+      String nome = nomes.computeIfAbsent(invocacao.getMethod(), m -> repositorio + "." + m.getName());
+      String anterior = QueryContext.abrir(nome);
+      try {
+        return invocacao.proceed();
+      } finally {
+        QueryContext.restaurar(anterior);
+      }
+    };
+  }
+}
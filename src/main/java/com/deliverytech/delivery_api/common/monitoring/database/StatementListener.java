@@ -0,0 +1,23 @@
+package com.deliverytech.delivery_api.common.monitoring.database;
+
+/**
+ * Recebe, na thread que executou, cada statement medido pelo
+ * {@link InstrumentedDataSource} (ex.: orçamento de consultas dos testes de
+ * integração). Beans desse tipo são registrados no {@link StatementMetrics}.
+ *
+ * Sem nenhum listener, o DataSource não envolve os ResultSets: contar linhas
+ * só custa algo quando alguém as observa.
+ */
+public interface StatementListener {
+
+  /**
+   * @param consulta método de repositório (ou "hibernate"/"outras", como na métrica)
+   */
+  void statement(String consulta, String sql);
+
+  /**
+   * Linha lida de um ResultSet (next() com resultado)
+   */
+  default void linha() {
+  }
+}
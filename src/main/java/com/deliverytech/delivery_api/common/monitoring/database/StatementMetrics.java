@@ -0,0 +1,188 @@
+package com.deliverytech.delivery_api.common.monitoring.database;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.deliverytech.delivery_api.common.monitoring.metrics.MetricsService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Destino das medições do {@link InstrumentedDataSource}.
+ *
+ * Cada statement vira uma amostra de delivery.database.consulta.tempo com as
+ * tags "consulta" (método de repositório, ou "hibernate" para o que o
+ * Hibernate executa sozinho: flush, carga lazy) e "operacao"
+ * (select/insert/update/delete/outro). Passado o limite de nomes distintos,
+ * os novos entram como "outras".
+ *
+ * Statements acima de delivery.database.consulta-lenta vão para o log de
+ * consultas lentas com o formato dos parâmetros (tipos e tamanhos, nunca os
+ * valores) e contam em delivery.database.consulta.lenta{consulta}.
+ *
+ * Os {@link StatementListener} do contexto recebem cada statement e, havendo
+ * algum, cada linha lida.
+ */
+@Slf4j
+@Component
+public class StatementMetrics {
+
+  public static final String SEM_REPOSITORIO = "hibernate";
+  public static final String OUTRAS = "outras";
+
+  private static final int TAMANHO_MAXIMO_SQL = 500;
+
+  private final MetricsService metricsService;
+  private final MeterRegistry meterRegistry;
+  private final long limiteLentaNanos;
+  private final int maximoConsultas;
+  private final List<StatementListener> listeners;
+  private final Set<String> consultas = ConcurrentHashMap.newKeySet();
+  private final Map<String, Counter> lentas = new ConcurrentHashMap<>();
+
+  public StatementMetrics(MetricsService metricsService, MeterRegistry meterRegistry, Duration consultaLenta,
+      int maximoConsultas) {
+    this(metricsService, meterRegistry, consultaLenta, maximoConsultas, List.of());
+  }
+
+  public StatementMetrics(MetricsService metricsService, MeterRegistry meterRegistry, Duration consultaLenta,
+      int maximoConsultas, List<StatementListener> listeners) {
+    this.metricsService = metricsService;
+    this.meterRegistry = meterRegistry;
+    this.limiteLentaNanos = consultaLenta.toNanos();
+    this.maximoConsultas = maximoConsultas;
+    this.listeners = List.copyOf(listeners);
+  }
+
+  @Autowired
+  public StatementMetrics(MetricsService metricsService, MeterRegistry meterRegistry,
+      @Value("${delivery.database.consulta-lenta:200ms}") Duration consultaLenta,
+      @Value("${delivery.database.maximo-consultas:200}") int maximoConsultas,
+      ObjectProvider<StatementListener> listeners) {
+    this(metricsService, meterRegistry, consultaLenta, maximoConsultas, listeners.orderedStream().toList());
+  }
+
+  /**
+   * @param parametros valores dos binds (índice 1 em [1]); null em Statement
+   */
+  public void registrar(String sql, long nanos, Object[] parametros, int lote) {
+    String consulta = nomeLimitado(QueryContext.atual());
+    metricsService.registrarConsultaBanco(consulta, operacao(sql), nanos);
+    for (StatementListener listener : listeners) {
+      listener.statement(consulta, sql);
+    }
+
+    if (nanos >= limiteLentaNanos) {
+      lentas.computeIfAbsent(consulta, c -> Counter.builder("delivery.database.consulta.lenta")
+          .description("Statements acima do limite de consulta lenta")
+          .tag("consulta", c)
+          .register(meterRegistry)).increment();
+      log.warn("🐢 Consulta lenta ({} ms) [{}]{} {} parametros={}", TimeUnit.NANOSECONDS.toMillis(nanos), consulta,
+          lote > 1 ? " lote=" + lote : "", abreviar(sql), formatoParametros(parametros));
+    }
+  }
+
+  /**
+   * Indica se o DataSource deve contar as linhas lidas
+   */
+  public boolean isContandoLinhas() {
+    return !listeners.isEmpty();
+  }
+
+  public void registrarLinha() {
+    for (StatementListener listener : listeners) {
+      listener.linha();
+    }
+  }
+
+  private String nomeLimitado(String consulta) {
+    if (consulta == null) {
+      return SEM_REPOSITORIO;
+    }
+    if (consultas.contains(consulta)) {
+      return consulta;
+    }
+    // Corrida no limite pode deixar passar alguns nomes a mais; o teto segue limitado
+    if (consultas.size() >= maximoConsultas) {
+      return OUTRAS;
+    }
+    consultas.add(consulta);
+    return consulta;
+  }
+
+  /**
+   * Primeira palavra do SQL, sem alocar
+   */
+  static String operacao(String sql) {
+    if (sql == null) {
+      return "outro";
+    }
+    int i = 0;
+    while (i < sql.length() && (Character.isWhitespace(sql.charAt(i)) || sql.charAt(i) == '(')) {
+      i++;
+    }
+    if (sql.regionMatches(true, i, "select", 0, 6) || sql.regionMatches(true, i, "with", 0, 4)) {
+      return "select";
+    }
+    if (sql.regionMatches(true, i, "insert", 0, 6)) {
+      return "insert";
+    }
+    if (sql.regionMatches(true, i, "update", 0, 6)) {
+      return "update";
+    }
+    if (sql.regionMatches(true, i, "delete", 0, 6)) {
+      return "delete";
+    }
+    return "outro";
+  }
+
+  /**
+   * Ex.: [Long, String(12), null]
+   */
+  static String formatoParametros(Object[] parametros) {
+    if (parametros == null) {
+      return "[]";
+    }
+    // O array cresce em blocos: ignora as posições nunca informadas no fim
+    int fim = parametros.length - 1;
+    while (fim > 0 && parametros[fim] == null) {
+      fim--;
+    }
+    StringBuilder formato = new StringBuilder("[");
+    for (int i = 1; i <= fim; i++) {
+      if (i > 1) {
+        formato.append(", ");
+      }
+      Object valor = parametros[i];
+      if (valor == null || valor == InstrumentedDataSource.NULO) {
+        formato.append("null");
+      } else if (valor instanceof CharSequence texto) {
+        formato.append("String(").append(texto.length()).append(')');
+      } else if (valor instanceof byte[] bytes) {
+        formato.append("byte[").append(bytes.length).append(']');
+      } else {
+        formato.append(valor.getClass().getSimpleName());
+      }
+    }
+    return formato.append(']').toString();
+  }
+
+  private static String abreviar(String sql) {
+    if (sql == null) {
+      return "";
+    }
+    String linha = sql.replaceAll("\\s+", " ").trim();
+    return linha.length() > TAMANHO_MAXIMO_SQL ? linha.substring(0, TAMANHO_MAXIMO_SQL) + "..." : linha;
+  }
+}
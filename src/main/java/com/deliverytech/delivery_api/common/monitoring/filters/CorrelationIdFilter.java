@@ -1,11 +1,13 @@
 package com.deliverytech.delivery_api.common.monitoring.filters;
 
 import java.io.IOException;
-import java.util.UUID;
 
-import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
+import com.deliverytech.delivery_api.common.monitoring.context.RequestContext;
+
 import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -14,11 +16,19 @@ import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+/**
+ * Abre o {@link RequestContext} da requisição e devolve o correlation id no
+ * header X-Correlation-ID.
+ *
+ * Roda antes do Spring Security, para os logs da autenticação já terem o
+ * correlation id. Não cria sessão HTTP: a API é stateless.
+ */
 @Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
 public class CorrelationIdFilter implements Filter {
 
   private static final String CORRELATION_ID_HEADER = "X-Correlation-ID";
-  private static final String CORRELATION_ID_MDC_KEY = "correlationId";
+  private static final int TAMANHO_MAXIMO_ID = 64;
 
   @Override
   public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
@@ -27,43 +37,52 @@ public class CorrelationIdFilter implements Filter {
     HttpServletRequest httpRequest = (HttpServletRequest) request;
     HttpServletResponse httpResponse = (HttpServletResponse) response;
 
-    try {
-      // Obter ou gerar correlation ID
-      String correlationId = httpRequest.getHeader(CORRELATION_ID_HEADER);
-      if (correlationId == null || correlationId.trim().isEmpty()) {
-        correlationId = generateCorrelationId();
-      }
-
-      // Adicionar ao MDC para logs
-      MDC.put(CORRELATION_ID_MDC_KEY, correlationId);
-
-      // Adicionar informações extras ao MDC
-      MDC.put("clientIp", getClientIpAddress(httpRequest));
-      MDC.put("userAgent", httpRequest.getHeader("User-Agent"));
-      MDC.put("sessionId", httpRequest.getSession().getId());
-      MDC.put("requestUri", httpRequest.getRequestURI());
-      MDC.put("httpMethod", httpRequest.getMethod());
+    // Obter ou gerar correlation ID
+    String correlationId = httpRequest.getHeader(CORRELATION_ID_HEADER);
+    if (!idValido(correlationId)) {
+      correlationId = RequestContext.novoCorrelationId();
+    }
 
+    RequestContext contexto = new RequestContext(correlationId, getClientIpAddress(httpRequest),
+        httpRequest.getHeader("User-Agent"));
+    RequestContext anterior = RequestContext.abrir(contexto);
+    try {
       // Adicionar correlation ID ao header de resposta
       httpResponse.setHeader(CORRELATION_ID_HEADER, correlationId);
 
-      // Con nuar com a cadeia de filtros
       chain.doFilter(request, response);
-
     } finally {
-      // Limpar MDC após processamento
-      MDC.clear();
+      RequestContext.restaurar(anterior);
     }
   }
 
-  private String generateCorrelationId() {
-    return UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+  /**
+   * Id recebido de outro serviço: aceito se curto e sem caracteres que
+   * quebrem a linha de log
+   */
+  static boolean idValido(String id) {
+    if (id == null || id.isEmpty() || id.length() > TAMANHO_MAXIMO_ID) {
+      return false;
+    }
+    for (int i = 0; i < id.length(); i++) {
+      char c = id.charAt(i);
+      boolean permitido = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+          || c == '-' || c == '_' || c == '.' || c == ':';
+      if (!permitido) {
+        return false;
+      }
+    }
+    return true;
   }
 
-  private String getClientIpAddress(HttpServletRequest request) {
+  /**
+   * IP do cliente, considerando proxy reverso (X-Forwarded-For / X-Real-IP)
+   */
+  static String getClientIpAddress(HttpServletRequest request) {
     String xForwardedFor = request.getHeader("X-Forwarded-For");
     if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-      return xForwardedFor.split(",")[0].trim();
+      int virgula = xForwardedFor.indexOf(',');
+      return (virgula < 0 ? xForwardedFor : xForwardedFor.substring(0, virgula)).trim();
     }
 
     String xRealIp = request.getHeader("X-Real-IP");
@@ -73,4 +92,4 @@ public class CorrelationIdFilter implements Filter {
 
     return request.getRemoteAddr();
   }
-}
\ No newline at end of file
+}
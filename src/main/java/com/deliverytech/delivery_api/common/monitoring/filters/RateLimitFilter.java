@@ -0,0 +1,156 @@
+package com.deliverytech.delivery_api.common.monitoring.filters;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.deliverytech.delivery_api.auth.model.Usuario;
+import com.deliverytech.delivery_api.common.cache.CacheCircuitBreaker;
+import com.deliverytech.delivery_api.common.ratelimit.LocalRateLimiter;
+import com.deliverytech.delivery_api.common.ratelimit.RateLimitProperties;
+import com.deliverytech.delivery_api.common.ratelimit.RateLimitProperties.Modo;
+import com.deliverytech.delivery_api.common.ratelimit.RateLimitProperties.Rota;
+import com.deliverytech.delivery_api.common.ratelimit.RateLimiter;
+import com.deliverytech.delivery_api.common.ratelimit.RateLimiter.Decisao;
+import com.deliverytech.delivery_api.common.ratelimit.RedisRateLimiter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Limita requisições por cliente nas rotas de delivery.rate-limit.rotas.
+ *
+ * O cliente é o usuário autenticado (roda depois do filtro JWT) ou, sem
+ * token, o IP da conexão. X-Forwarded-For não é lido aqui: atrás de proxy, o
+ * server.forward-headers-strategy resolve o IP real só a partir de proxies
+ * confiáveis (um cliente não troca de bucket mudando o cabeçalho).
+ *
+ * Respostas das rotas limitadas levam RateLimit-Limit, RateLimit-Remaining e
+ * RateLimit-Reset; acima do limite, 429 com Retry-After.
+ *
+ * Métrica delivery.ratelimit.requisicoes{rota, resultado=permitida|bloqueada}.
+ */
+@Slf4j
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+  private record RotaLimitada(Rota rota, Counter permitidas, Counter bloqueadas) {
+  }
+
+  private final AntPathMatcher matcher = new AntPathMatcher();
+  private final RateLimiter limiter;
+  private final List<RotaLimitada> rotas;
+  private final boolean habilitado;
+
+  @Autowired
+  public RateLimitFilter(RateLimitProperties properties, StringRedisTemplate redisTemplate,
+      CacheCircuitBreaker circuito, MeterRegistry meterRegistry) {
+    this(properties, criarLimiter(properties, redisTemplate, circuito), meterRegistry);
+    log.info("🚦 Rate limit {} ({}) em {} rotas", properties.isHabilitado() ? "ativo" : "desligado",
+        properties.getModo(), properties.getRotas().size());
+  }
+
+  public RateLimitFilter(RateLimitProperties properties, RateLimiter limiter, MeterRegistry meterRegistry) {
+    this.limiter = limiter;
+    this.habilitado = properties.isHabilitado();
+    this.rotas = properties.getRotas().stream()
+        .map(rota -> new RotaLimitada(rota,
+            requisicoes(meterRegistry, rota.getNome(), "permitida"),
+            requisicoes(meterRegistry, rota.getNome(), "bloqueada")))
+        .toList();
+  }
+
+  @Override
+  protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+    return !habilitado || rotas.isEmpty();
+  }
+
+  @Override
+  protected void doFilterInternal(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+    RotaLimitada limitada = rotaDa(request);
+    if (limitada == null) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    Rota rota = limitada.rota();
+    Decisao decisao = limiter.tentar(rota.getNome() + ":" + cliente(request), rota.getCapacidade(),
+        rota.getPorSegundo());
+
+    response.setHeader("RateLimit-Limit", String.valueOf(rota.getCapacidade()));
+    response.setHeader("RateLimit-Remaining", String.valueOf(decisao.restantes()));
+    response.setHeader("RateLimit-Reset", String.valueOf(segundos(decisao.reposicaoNanos())));
+
+    if (!decisao.permitida()) {
+      limitada.bloqueadas().increment();
+      response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+      response.setHeader("Retry-After", String.valueOf(segundos(decisao.esperaNanos())));
+      response.setContentType("application/json");
+      response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+      response.getWriter().write(
+          "{\"success\": false, \"message\": \"Muitas requisições. Tente novamente em instantes.\"}");
+      return;
+    }
+
+    limitada.permitidas().increment();
+    filterChain.doFilter(request, response);
+  }
+
+  private RotaLimitada rotaDa(HttpServletRequest request) {
+    String caminho = request.getRequestURI();
+    for (RotaLimitada limitada : rotas) {
+      Rota rota = limitada.rota();
+      boolean metodo = rota.getMetodo() == null || rota.getMetodo().equalsIgnoreCase(request.getMethod());
+      if (metodo && matcher.match(rota.getPadrao(), caminho)) {
+        return limitada;
+      }
+    }
+    return null;
+  }
+
+  private static String cliente(HttpServletRequest request) {
+    Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+    if (autenticacao != null && autenticacao.getPrincipal() instanceof Usuario usuario && usuario.getId() != null) {
+      return "u" + usuario.getId();
+    }
+    return "ip" + request.getRemoteAddr();
+  }
+
+  private static long segundos(long nanos) {
+    return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+  }
+
+  private static RateLimiter criarLimiter(RateLimitProperties properties, StringRedisTemplate redisTemplate,
+      CacheCircuitBreaker circuito) {
+    LocalRateLimiter local = new LocalRateLimiter(properties.getMaximoClientes());
+    return properties.getModo() == Modo.REDIS ? new RedisRateLimiter(redisTemplate, circuito, local) : local;
+  }
+
+  private static Counter requisicoes(MeterRegistry meterRegistry, String rota, String resultado) {
+    return Counter.builder("delivery.ratelimit.requisicoes")
+        .description("Requisições nas rotas com rate limit")
+        .tag("rota", rota)
+        .tag("resultado", resultado)
+        .register(meterRegistry);
+  }
+}
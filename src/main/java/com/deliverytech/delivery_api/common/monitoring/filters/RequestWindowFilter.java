@@ -0,0 +1,64 @@
+package com.deliverytech.delivery_api.common.monitoring.filters;
+
+import java.io.IOException;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.deliverytech.delivery_api.common.monitoring.alerts.AlertService;
+import com.deliverytech.delivery_api.common.monitoring.slo.SloService;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Alimenta a janela deslizante dos alertas e o orçamento de erros da rota
+ * com cada requisição da API (/api/**): duração total, incluindo segurança e
+ * rate limit, e erro quando a resposta é 5xx ou uma exceção escapa.
+ * Dashboard e Actuator ficam de fora, para o polling não contar como
+ * tráfego. Requisições sem rota (404 de URL desconhecida) não entram no SLO.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class RequestWindowFilter extends OncePerRequestFilter {
+
+  private final AlertService alertService;
+  private final SloService sloService;
+
+  public RequestWindowFilter(AlertService alertService, SloService sloService) {
+    this.alertService = alertService;
+    this.sloService = sloService;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+    return !request.getRequestURI().startsWith("/api/");
+  }
+
+  @Override
+  protected void doFilterInternal(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+    long inicio = System.nanoTime();
+    boolean erro = true;
+    try {
+      filterChain.doFilter(request, response);
+      erro = response.getStatus() >= 500;
+    } finally {
+      long duracao = System.nanoTime() - inicio;
+      alertService.registrarRequisicao(duracao, erro);
+      Object rota = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+      if (rota != null) {
+        sloService.registrar(request.getMethod() + " " + rota, duracao, erro);
+      }
+    }
+  }
+}
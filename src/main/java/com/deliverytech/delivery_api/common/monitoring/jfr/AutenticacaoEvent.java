@@ -0,0 +1,31 @@
+package com.deliverytech.delivery_api.common.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Trabalho do JwtAuthenticationFilter numa requisição com token: validação,
+ * revogação e montagem do usuário. O restante da cadeia fica de fora.
+ * Resultados: autenticado, refresh, sessao_encerrada, revogado, expirado,
+ * invalido.
+ */
+@Name("delivery.Autenticacao")
+@Label("Autenticação JWT")
+@Category({ "Delivery", "Segurança" })
+@Description("Validação do token JWT no filtro de autenticação")
+@StackTrace(false)
+public class AutenticacaoEvent extends Event {
+
+  @Label("URI")
+  public String uri;
+
+  @Label("Resultado")
+  public String resultado;
+
+  @Label("Usuário")
+  public long usuarioId;
+}
@@ -0,0 +1,32 @@
+package com.deliverytech.delivery_api.common.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Leitura no TwoLevelCache, incluindo o carregamento na falha. Resultados:
+ * l1, l2, carregado, ausente. Por padrão só acessos acima de 1 ms (acertos
+ * no L1 levam microssegundos e seriam a maior parte dos eventos).
+ */
+@Name("delivery.CacheAcesso")
+@Label("Acesso ao cache")
+@Category({ "Delivery", "Cache" })
+@Description("Leitura no cache de dois níveis (Caffeine + Redis)")
+@Threshold("1 ms")
+@StackTrace(false)
+public class CacheAcessoEvent extends Event {
+
+  @Label("Cache")
+  public String cache;
+
+  @Label("Chave")
+  public String chave;
+
+  @Label("Resultado")
+  public String resultado;
+}
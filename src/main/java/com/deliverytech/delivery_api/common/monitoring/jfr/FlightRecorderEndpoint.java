@@ -0,0 +1,209 @@
+package com.deliverytech.delivery_api.common.monitoring.jfr;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Gravações do JDK Flight Recorder pelo Actuator (/actuator/jfr, só ADMIN):
+ *
+ * - GET /actuator/jfr: gravação em andamento e arquivos disponíveis
+ * - POST /actuator/jfr {"configuracao": "default|profile", "duracao": "5m"}:
+ * inicia uma gravação (no máximo uma por vez)
+ * - DELETE /actuator/jfr: encerra a gravação e grava o .jfr
+ * - GET /actuator/jfr/{arquivo}: baixa o .jfr (abrir no JDK Mission Control)
+ *
+ * A configuração "default" custa ~1% de CPU; "profile" (~2%) amostra pilhas e
+ * alocações com mais frequência. Os eventos delivery.* entram nas duas. Sem
+ * duração, a gravação para sozinha em "duracao-maxima". Só os últimos
+ * "maximo-arquivos" ficam no diretório.
+ */
+@Slf4j
+@Component
+@WebEndpoint(id = "jfr")
+public class FlightRecorderEndpoint {
+
+  private static final Pattern NOME_ARQUIVO = Pattern.compile("delivery-[0-9-]+\\.jfr");
+  private static final DateTimeFormatter CARIMBO = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+  private final Path diretorio;
+  private final Duration duracaoMaxima;
+  private final int maximoArquivos;
+
+  private Recording gravacao;
+  private Path arquivo;
+
+  public FlightRecorderEndpoint(
+      @Value("${delivery.jfr.diretorio:logs/jfr}") Path diretorio,
+      @Value("${delivery.jfr.duracao-maxima:30m}") Duration duracaoMaxima,
+      @Value("${delivery.jfr.maximo-arquivos:5}") int maximoArquivos) {
+    this.diretorio = diretorio;
+    this.duracaoMaxima = duracaoMaxima;
+    this.maximoArquivos = maximoArquivos;
+  }
+
+  @ReadOperation
+  public synchronized Map<String, Object> estado() throws IOException {
+    liberarEncerrada();
+    Map<String, Object> estado = new LinkedHashMap<>();
+    estado.put("gravando", gravacao != null);
+    if (gravacao != null) {
+      estado.put("inicio", gravacao.getStartTime());
+      estado.put("duracao", gravacao.getDuration());
+      estado.put("arquivo", arquivo.getFileName().toString());
+    }
+    estado.put("arquivos", arquivos().stream().map(FlightRecorderEndpoint::descrever).toList());
+    return estado;
+  }
+
+  @WriteOperation
+  public synchronized WebEndpointResponse<Map<String, Object>> iniciar(@Nullable String configuracao,
+      @Nullable Duration duracao) throws IOException {
+    liberarEncerrada();
+    if (gravacao != null) {
+      return new WebEndpointResponse<>(Map.of("erro", "Já existe uma gravação em andamento"),
+          WebEndpointResponse.STATUS_BAD_REQUEST);
+    }
+
+    Configuration config;
+    try {
+      config = Configuration.getConfiguration(configuracao != null ? configuracao : "default");
+    } catch (ParseException | IOException e) {
+      return new WebEndpointResponse<>(Map.of("erro", "Configuração JFR inválida: " + configuracao),
+          WebEndpointResponse.STATUS_BAD_REQUEST);
+    }
+    Duration limite = duracao != null && duracao.compareTo(duracaoMaxima) < 0 ? duracao : duracaoMaxima;
+
+    Files.createDirectories(diretorio);
+    removerAntigos();
+    arquivo = diretorio.resolve("delivery-" + LocalDateTime.now().format(CARIMBO) + ".jfr");
+
+    gravacao = new Recording(config);
+    gravacao.setName("delivery-api");
+    gravacao.setToDisk(true);
+    // Com destino, a gravação que atinge a duração é gravada no arquivo sozinha
+    gravacao.setDestination(arquivo);
+    gravacao.setDuration(limite);
+    gravacao.start();
+    log.info("🎥 Gravação JFR iniciada ({}, até {}): {}", config.getName(), limite, arquivo);
+
+    return new WebEndpointResponse<>(estado());
+  }
+
+  @DeleteOperation
+  public synchronized WebEndpointResponse<Map<String, Object>> parar() throws IOException {
+    liberarEncerrada();
+    if (gravacao == null) {
+      return new WebEndpointResponse<>(Map.of("erro", "Nenhuma gravação em andamento"),
+          WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+
+    Path gravado = arquivo;
+    gravacao.stop();
+    gravacao.close();
+    gravacao = null;
+    arquivo = null;
+    log.info("🎥 Gravação JFR encerrada: {} ({} bytes)", gravado, Files.size(gravado));
+    return new WebEndpointResponse<>(descrever(gravado));
+  }
+
+  @ReadOperation(produces = "application/octet-stream")
+  public synchronized WebEndpointResponse<Resource> baixar(@Selector String arquivo) {
+    // Só nomes gerados aqui: nada de caminhos fora do diretório
+    if (!NOME_ARQUIVO.matcher(arquivo).matches()) {
+      return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+    }
+    Path caminho = diretorio.resolve(arquivo);
+    if (!Files.isRegularFile(caminho) || caminho.equals(this.arquivo)) {
+      return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+    return new WebEndpointResponse<>(new FileSystemResource(caminho));
+  }
+
+  @PreDestroy
+  public synchronized void encerrar() {
+    if (gravacao != null) {
+      gravacao.close();
+      gravacao = null;
+    }
+  }
+
+  /**
+   * Gravação que parou sozinha (duração atingida) já foi gravada no destino
+   */
+  private void liberarEncerrada() {
+    if (gravacao != null && gravacao.getState() != RecordingState.RUNNING
+        && gravacao.getState() != RecordingState.DELAYED) {
+      log.info("🎥 Gravação JFR concluída pela duração: {}", arquivo);
+      gravacao.close();
+      gravacao = null;
+      arquivo = null;
+    }
+  }
+
+  private List<Path> arquivos() throws IOException {
+    if (!Files.isDirectory(diretorio)) {
+      return List.of();
+    }
+    try (Stream<Path> conteudo = Files.list(diretorio)) {
+      return conteudo
+          .filter(p -> NOME_ARQUIVO.matcher(p.getFileName().toString()).matches())
+          .filter(p -> !p.equals(arquivo))
+          .sorted(Comparator.comparing(Path::getFileName).reversed())
+          .toList();
+    }
+  }
+
+  /**
+   * Mantém espaço para o arquivo novo dentro do limite
+   */
+  private void removerAntigos() throws IOException {
+    List<Path> existentes = arquivos();
+    for (Path antigo : existentes.subList(Math.min(existentes.size(), Math.max(maximoArquivos - 1, 0)),
+        existentes.size())) {
+      Files.deleteIfExists(antigo);
+    }
+  }
+
+  private static Map<String, Object> descrever(Path arquivo) {
+    Map<String, Object> descricao = new LinkedHashMap<>();
+    descricao.put("arquivo", arquivo.getFileName().toString());
+    descricao.put("download", "/actuator/jfr/" + arquivo.getFileName());
+    try {
+      descricao.put("tamanho", Files.size(arquivo));
+      descricao.put("modificado", Instant.ofEpochMilli(Files.getLastModifiedTime(arquivo).toMillis()));
+    } catch (IOException e) {
+      descricao.put("tamanho", 0L);
+    }
+    return descricao;
+  }
+}
@@ -0,0 +1,36 @@
+package com.deliverytech.delivery_api.common.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Criação de pedido inteira (PedidoServiceImpl.criarPedido). As etapas são
+ * {@link PedidoEtapaEvent} na mesma thread; o commit da transação acontece
+ * depois do método e fica de fora.
+ */
+@Name("delivery.PedidoCriacao")
+@Label("Criação de pedido")
+@Category({ "Delivery", "Pedidos" })
+@Description("Criação de pedido, da validação ao DTO de resposta")
+@StackTrace(false)
+public class PedidoCriacaoEvent extends Event {
+
+  @Label("Usuário")
+  public long usuarioId;
+
+  @Label("Restaurante")
+  public long restauranteId;
+
+  @Label("Itens")
+  public int itens;
+
+  @Label("Pedido")
+  public long pedidoId;
+
+  @Label("Sucesso")
+  public boolean sucesso;
+}
@@ -0,0 +1,26 @@
+package com.deliverytech.delivery_api.common.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Uma etapa da criação de pedido: busca_usuario, busca_restaurante, itens,
+ * precificacao, gravacao, registro (métricas e auditoria) e mapeamento
+ */
+@Name("delivery.PedidoEtapa")
+@Label("Etapa da criação de pedido")
+@Category({ "Delivery", "Pedidos" })
+@Description("Tempo de cada etapa de PedidoServiceImpl.criarPedido")
+@StackTrace(false)
+public class PedidoEtapaEvent extends Event {
+
+  @Label("Etapa")
+  public String etapa;
+
+  @Label("Sucesso")
+  public boolean sucesso;
+}
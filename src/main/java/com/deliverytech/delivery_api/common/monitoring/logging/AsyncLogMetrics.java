@@ -0,0 +1,80 @@
+package com.deliverytech.delivery_api.common.monitoring.logging;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.AsyncAppenderBase;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Métricas dos appenders assíncronos do logback-spring.xml, com a tag
+ * appender:
+ * - delivery.log.fila: eventos aguardando escrita
+ * - delivery.log.fila.capacidade: tamanho da fila
+ * - delivery.log.descartados: eventos DEBUG/INFO descartados com a fila cheia
+ */
+@Component
+public class AsyncLogMetrics implements MeterBinder {
+
+  private final LoggerContext loggerContext;
+
+  @Autowired
+  public AsyncLogMetrics() {
+    this(LoggerFactory.getILoggerFactory() instanceof LoggerContext contexto ? contexto : null);
+  }
+
+  public AsyncLogMetrics(LoggerContext loggerContext) {
+    this.loggerContext = loggerContext;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    if (loggerContext == null) {
+      return;
+    }
+    appendersAssincronos().forEach((nome, appender) -> {
+      Gauge.builder("delivery.log.fila", appender, AsyncAppenderBase::getNumberOfElementsInQueue)
+          .description("Eventos de log aguardando escrita")
+          .tag("appender", nome)
+          .register(registry);
+      Gauge.builder("delivery.log.fila.capacidade", appender, AsyncAppenderBase::getQueueSize)
+          .description("Capacidade da fila do appender assíncrono")
+          .tag("appender", nome)
+          .register(registry);
+      if (loggerContext.getObject(MeteredAsyncAppender.DESCARTADOS + nome) instanceof LongSupplier descartados) {
+        FunctionCounter.builder("delivery.log.descartados", descartados, LongSupplier::getAsLong)
+            .description("Eventos de log descartados com a fila cheia")
+            .tag("appender", nome)
+            .register(registry);
+      }
+    });
+  }
+
+  /**
+   * Um appender pode estar ligado a vários loggers: registra uma vez por nome
+   */
+  private Map<String, AsyncAppenderBase<ILoggingEvent>> appendersAssincronos() {
+    Map<String, AsyncAppenderBase<ILoggingEvent>> appenders = new LinkedHashMap<>();
+    for (Logger logger : loggerContext.getLoggerList()) {
+      for (Iterator<Appender<ILoggingEvent>> it = logger.iteratorForAppenders(); it.hasNext();) {
+        if (it.next() instanceof AsyncAppenderBase<ILoggingEvent> assincrono) {
+          appenders.putIfAbsent(assincrono.getName(), assincrono);
+        }
+      }
+    }
+    return appenders;
+  }
+}
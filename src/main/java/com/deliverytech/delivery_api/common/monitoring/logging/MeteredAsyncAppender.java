@@ -0,0 +1,48 @@
+package com.deliverytech.delivery_api.common.monitoring.logging;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * AsyncAppender do Logback que conta os eventos descartados.
+ *
+ * A fila é limitada (queueSize). Quando restam menos de discardingThreshold
+ * posições, eventos TRACE/DEBUG/INFO são descartados e WARN/ERROR continuam
+ * entrando (bloqueando a thread se a fila encher). Fila e descartes são
+ * exportados pelo AsyncLogMetrics.
+ *
+ * O contador fica no contexto do Logback como LongSupplier: com o devtools, a
+ * aplicação roda em outro classloader e não enxerga esta classe como a do
+ * appender criado pelo Logback.
+ */
+public class MeteredAsyncAppender extends AsyncAppender {
+
+  public static final String DESCARTADOS = "delivery.log.descartados.";
+
+  private final LongAdder descartados = new LongAdder();
+
+  @Override
+  public void start() {
+    super.start();
+    if (isStarted()) {
+      getContext().putObject(DESCARTADOS + getName(), (LongSupplier) descartados::sum);
+    }
+  }
+
+  @Override
+  protected boolean isDiscardable(ILoggingEvent event) {
+    // Só é consultado com a fila abaixo do limite de descarte
+    boolean descartavel = super.isDiscardable(event);
+    if (descartavel) {
+      descartados.increment();
+    }
+    return descartavel;
+  }
+
+  public long getDescartados() {
+    return descartados.sum();
+  }
+}
@@ -0,0 +1,40 @@
+package com.deliverytech.delivery_api.common.monitoring.metrics;
+
+import java.time.Instant;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import com.deliverytech.delivery_api.common.cache.CacheCircuitBreaker;
+
+/**
+ * Estado do circuito do Redis usado pelo cache.
+ *
+ * Circuito aberto não derruba a aplicação (as requisições seguem para o
+ * banco), então é reportado como WARN, no mesmo padrão do serviço externo.
+ */
+@Component("cacheRedis")
+public class CacheCircuitHealthIndicator implements HealthIndicator {
+
+  private final CacheCircuitBreaker circuito;
+
+  public CacheCircuitHealthIndicator(CacheCircuitBreaker circuito) {
+    this.circuito = circuito;
+  }
+
+  @Override
+  public Health health() {
+    CacheCircuitBreaker.Estado estado = circuito.getEstado();
+    Health.Builder builder = estado == CacheCircuitBreaker.Estado.FECHADO ? Health.up() : Health.status("WARN");
+
+    builder.withDetail("circuito", estado.name())
+        .withDetail("falhasSeguidas", circuito.getFalhasSeguidas());
+
+    if (circuito.getUltimaFalhaEm() > 0) {
+      builder.withDetail("ultimaFalha", Instant.ofEpochMilli(circuito.getUltimaFalhaEm()).toString())
+          .withDetail("erro", circuito.getUltimoErro());
+    }
+    return builder.build();
+  }
+}
@@ -0,0 +1,39 @@
+package com.deliverytech.delivery_api.common.monitoring.metrics;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import com.deliverytech.delivery_api.common.cache.CacheWarmupService;
+import com.deliverytech.delivery_api.common.cache.CacheWarmupService.ResultadoAquecimento;
+
+/**
+ * Fora do ar enquanto os caches de catálogo estão sendo aquecidos.
+ * Incluído no grupo de readiness para o pod só receber tráfego com o cache quente.
+ */
+@Component("cacheWarmup")
+public class CacheWarmupHealthIndicator implements HealthIndicator {
+
+  private final CacheWarmupService cacheWarmupService;
+
+  public CacheWarmupHealthIndicator(CacheWarmupService cacheWarmupService) {
+    this.cacheWarmupService = cacheWarmupService;
+  }
+
+  @Override
+  public Health health() {
+    if (!cacheWarmupService.isConcluido()) {
+      return Health.outOfService()
+          .withDetail("status", "Aquecendo caches")
+          .build();
+    }
+
+    ResultadoAquecimento resultado = cacheWarmupService.getResultado();
+    return Health.up()
+        .withDetail("chavesCarregadas", resultado.carregadas())
+        .withDetail("falhas", resultado.falhas())
+        .withDetail("duracaoMs", resultado.duracaoMs())
+        .withDetail("interrompido", resultado.interrompido())
+        .build();
+  }
+}
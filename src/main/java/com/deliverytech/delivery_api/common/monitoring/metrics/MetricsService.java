@@ -1,7 +1,12 @@
 package com.deliverytech.delivery_api.common.monitoring.metrics;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToDoubleFunction;
 
 import org.springframework.stereotype.Service;
 
@@ -20,10 +25,14 @@ public class MetricsService {
   private final Counter pedidosComSucesso;
   private final Counter pedidosComErro;
   private final Counter receitaTotal;
+  private final Counter tokensEmCache;
+  private final Counter tokensVerificados;
 
   // Timers
   private final Timer tempoProcessamentoPedido;
-  private final Timer tempoConsultaBanco;
+  private final Timer tempoValidacaoTokenCache;
+  private final Timer tempoValidacaoTokenAssinatura;
+  private final Map<String, Timer> temposConsultaBanco = new ConcurrentHashMap<>();
 
   // Gauges
   private final AtomicInteger usuariosAtivos = new AtomicInteger(0);
@@ -55,8 +64,29 @@ public class MetricsService {
         .description("Tempo de processamento de pedidos")
         .register(meterRegistry);
 
-    this.tempoConsultaBanco = Timer.builder("delivery.database.consulta.tempo")
-        .description("Tempo de consulta ao banco de dados")
+    // Autenticação: tokens servidos pelo cache x verificados (HMAC + parse)
+    this.tokensEmCache = Counter.builder("delivery.auth.token.cache")
+        .description("Validações de token por origem")
+        .tag("resultado", "hit")
+        .register(meterRegistry);
+
+    this.tokensVerificados = Counter.builder("delivery.auth.token.cache")
+        .description("Validações de token por origem")
+        .tag("resultado", "miss")
+        .register(meterRegistry);
+
+    this.tempoValidacaoTokenCache = Timer.builder("delivery.auth.token.validacao.tempo")
+        .description("Tempo de validação do token JWT por requisição")
+        .tag("origem", "cache")
+        .register(meterRegistry);
+
+    this.tempoValidacaoTokenAssinatura = Timer.builder("delivery.auth.token.validacao.tempo")
+        .description("Tempo de validação do token JWT por requisição")
+        .tag("origem", "assinatura")
+        .register(meterRegistry);
+
+    Gauge.builder("delivery.auth.token.cache.hit_ratio", this, MetricsService::taxaAcertoCacheTokens)
+        .description("Fração das validações de token servidas pelo cache")
         .register(meterRegistry);
 
     // Inicializar gauges
@@ -95,6 +125,48 @@ public class MetricsService {
     sample.stop(tempoProcessamentoPedido);
   }
 
+  // Métodos de banco de dados
+
+  /**
+   * Tempo de um statement JDBC, por consulta (método de repositório) e
+   * operação. Só o histograma: p95/p99 saem do histogram_quantile no
+   * Prometheus, somando os buckets de todas as instâncias. Percentis
+   * calculados na aplicação não são agregáveis e custariam mais séries por
+   * consulta.
+   */
+  public void registrarConsultaBanco(String consulta, String operacao, long nanos) {
+    temposConsultaBanco.computeIfAbsent(consulta + '|' + operacao, k -> Timer.builder("delivery.database.consulta.tempo")
+        .description("Tempo de consulta ao banco de dados")
+        .tag("consulta", consulta)
+        .tag("operacao", operacao)
+        .publishPercentileHistogram()
+        .minimumExpectedValue(Duration.ofMillis(1))
+        .maximumExpectedValue(Duration.ofSeconds(10))
+        .register(meterRegistry)).record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  // Métodos de autenticação
+  public void registrarValidacaoToken(boolean cache, long nanos) {
+    if (cache) {
+      tokensEmCache.increment();
+      tempoValidacaoTokenCache.record(nanos, TimeUnit.NANOSECONDS);
+    } else {
+      tokensVerificados.increment();
+      tempoValidacaoTokenAssinatura.record(nanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  public <T> void registrarTamanhoCacheTokens(T cache, ToDoubleFunction<T> tamanho) {
+    Gauge.builder("delivery.auth.token.cache.tamanho", cache, tamanho)
+        .description("Tokens verificados mantidos em cache")
+        .register(meterRegistry);
+  }
+
+  public double taxaAcertoCacheTokens() {
+    double total = tokensEmCache.count() + tokensVerificados.count();
+    return total > 0 ? tokensEmCache.count() / total : 0.0;
+  }
+
   // Métodos para gauges
   public void setUsuariosAtivos(int quantidade) {
     usuariosAtivos.set(quantidade);
@@ -0,0 +1,68 @@
+package com.deliverytech.delivery_api.common.monitoring.slo;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import com.deliverytech.delivery_api.common.monitoring.TimeSliceRing;
+
+/**
+ * Contagens de uma rota (requisições, erros e lentas) sobre um
+ * {@link TimeSliceRing}, como a SlidingWindow dos alertas mas sem
+ * histograma: três contadores por fatia, então uma janela de uma hora em
+ * fatias de um minuto custa poucos KB por rota.
+ */
+public class ErrorBudgetWindow {
+
+  public record Contagem(long requisicoes, long erros, long lentas) {
+  }
+
+  private final TimeSliceRing<Fatia> anel;
+
+  public ErrorBudgetWindow(Duration largura, Duration periodo, LongSupplier relogio) {
+    this.anel = new TimeSliceRing<>(largura, periodo, relogio, Fatia::new);
+  }
+
+  public void registrar(boolean erro, boolean lenta) {
+    Fatia fatia = anel.atual();
+    if (fatia == null) {
+      return;
+    }
+
+    fatia.total.incrementAndGet();
+    if (erro) {
+      fatia.erros.incrementAndGet();
+    }
+    if (lenta) {
+      fatia.lentas.incrementAndGet();
+    }
+  }
+
+  /**
+   * Contagens dos últimos "janela" (limitado ao período)
+   */
+  public Contagem contar(Duration janela) {
+    long total = 0;
+    long erros = 0;
+    long lentas = 0;
+    for (Fatia fatia : anel.fatias(janela)) {
+      total += fatia.total.get();
+      erros += fatia.erros.get();
+      lentas += fatia.lentas.get();
+    }
+    return new Contagem(total, erros, lentas);
+  }
+
+  private static final class Fatia extends TimeSliceRing.Fatia {
+    final AtomicLong total = new AtomicLong();
+    final AtomicLong erros = new AtomicLong();
+    final AtomicLong lentas = new AtomicLong();
+
+    @Override
+    protected void zerar() {
+      total.set(0);
+      erros.set(0);
+      lentas.set(0);
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package com.deliverytech.delivery_api.common.monitoring.slo;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Objetivos de nível de serviço por rota (delivery.slo).
+ *
+ * Dois indicadores por rota: disponibilidade (respostas sem 5xx) e latência
+ * (respostas em até "latencia"). Os objetivos padrão valem para todas as
+ * rotas; "rotas" sobrescreve por rota ("POST /api/pedidos"). O limite de
+ * latência deve ser um dos buckets de SLO (delivery.metricas.slo), para o
+ * Prometheus calcular o mesmo indicador.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "delivery.slo")
+public class SloProperties {
+
+  private boolean habilitado = true;
+
+  /**
+   * Período do orçamento de erros e largura de cada fatia da janela
+   */
+  private Duration periodo = Duration.ofHours(1);
+  private Duration fatia = Duration.ofMinutes(1);
+
+  /**
+   * Janela curta para a taxa de queima do orçamento
+   */
+  private Duration janelaQueima = Duration.ofMinutes(5);
+
+  private double disponibilidade = 0.995;
+  private Duration latencia = Duration.ofMillis(500);
+  private double latenciaObjetivo = 0.95;
+
+  private List<Rota> rotas = new ArrayList<>();
+
+  @Data
+  public static class Rota {
+    private String rota;
+    private Double disponibilidade;
+    private Duration latencia;
+    private Double latenciaObjetivo;
+  }
+}
@@ -0,0 +1,146 @@
+package com.deliverytech.delivery_api.common.monitoring.slo;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.ToDoubleFunction;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.deliverytech.delivery_api.common.monitoring.slo.ErrorBudgetWindow.Contagem;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Orçamento de erros por rota.
+ *
+ * Cada requisição da API (RequestWindowFilter) conta na janela da sua rota
+ * como erro (5xx) e/ou lenta (acima do limite de latência da rota). Para
+ * cada indicador, sobre o período (delivery.slo.periodo):
+ * - valor: fração de requisições boas
+ * - orcamentoRestante: 1 - ruins / ruins permitidas pelo objetivo; negativo
+ * quando o orçamento estourou
+ * - queima: taxa de queima na janela curta (1 = consome o orçamento exatamente
+ * no ritmo do objetivo)
+ *
+ * Métricas delivery.slo.orcamento.restante e delivery.slo.queima, com as
+ * tags rota e sli (disponibilidade|latencia).
+ */
+@Service
+public class SloService {
+
+  public record Indicador(double objetivo, long requisicoes, long ruins, double valor, double orcamentoRestante,
+      double queima) {
+  }
+
+  public record Orcamento(String rota, long latenciaLimiteMs, Indicador disponibilidade, Indicador latencia) {
+  }
+
+  private record Rota(ErrorBudgetWindow janela, double disponibilidade, long latenciaNanos,
+      double latenciaObjetivo) {
+  }
+
+  private final SloProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final LongSupplier relogio;
+  private final Map<String, Rota> rotas = new ConcurrentHashMap<>();
+
+  @Autowired
+  public SloService(SloProperties properties, MeterRegistry meterRegistry) {
+    this(properties, meterRegistry, System::nanoTime);
+  }
+
+  public SloService(SloProperties properties, MeterRegistry meterRegistry, LongSupplier relogio) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    this.relogio = relogio;
+  }
+
+  /**
+   * Chamado a cada requisição da API com a rota resolvida ("GET
+   * /api/pedidos/{id}")
+   */
+  public void registrar(String rota, long duracaoNanos, boolean erro) {
+    if (!properties.isHabilitado()) {
+      return;
+    }
+    Rota slo = rotas.computeIfAbsent(rota, this::criar);
+    slo.janela().registrar(erro, duracaoNanos > slo.latenciaNanos());
+  }
+
+  /**
+   * Orçamento de cada rota, das mais próximas de estourar para as demais
+   */
+  public List<Orcamento> orcamentos() {
+    return rotas.keySet().stream()
+        .map(this::orcamento)
+        .sorted(Comparator.comparingDouble(SloService::menorRestante))
+        .toList();
+  }
+
+  public Orcamento orcamento(String rota) {
+    Rota slo = rotas.get(rota);
+    if (slo == null) {
+      return null;
+    }
+    Contagem periodo = slo.janela().contar(properties.getPeriodo());
+    Contagem recente = slo.janela().contar(properties.getJanelaQueima());
+    return new Orcamento(rota, Duration.ofNanos(slo.latenciaNanos()).toMillis(),
+        indicador(slo.disponibilidade(), periodo.requisicoes(), periodo.erros(), recente.requisicoes(),
+            recente.erros()),
+        indicador(slo.latenciaObjetivo(), periodo.requisicoes(), periodo.lentas(), recente.requisicoes(),
+            recente.lentas()));
+  }
+
+  private static Indicador indicador(double objetivo, long requisicoes, long ruins, long recentes,
+      long ruinsRecentes) {
+    double permitido = 1 - objetivo;
+    double valor = requisicoes > 0 ? 1 - (double) ruins / requisicoes : 1.0;
+    double restante = requisicoes > 0 ? 1 - (double) ruins / (permitido * requisicoes) : 1.0;
+    double queima = recentes > 0 ? (double) ruinsRecentes / recentes / permitido : 0.0;
+    return new Indicador(objetivo, requisicoes, ruins, valor, restante, queima);
+  }
+
+  private static double menorRestante(Orcamento orcamento) {
+    return Math.min(orcamento.disponibilidade().orcamentoRestante(), orcamento.latencia().orcamentoRestante());
+  }
+
+  private Rota criar(String rota) {
+    SloProperties.Rota especifica = properties.getRotas().stream()
+        .filter(r -> rota.equals(r.getRota()))
+        .findFirst()
+        .orElseGet(SloProperties.Rota::new);
+
+    Rota slo = new Rota(new ErrorBudgetWindow(properties.getFatia(), properties.getPeriodo(), relogio),
+        especifica.getDisponibilidade() != null ? especifica.getDisponibilidade() : properties.getDisponibilidade(),
+        (especifica.getLatencia() != null ? especifica.getLatencia() : properties.getLatencia()).toNanos(),
+        especifica.getLatenciaObjetivo() != null ? especifica.getLatenciaObjetivo()
+            : properties.getLatenciaObjetivo());
+
+    medidor("delivery.slo.orcamento.restante", "Fração restante do orçamento de erros no período", rota,
+        "disponibilidade", o -> o.disponibilidade().orcamentoRestante());
+    medidor("delivery.slo.orcamento.restante", "Fração restante do orçamento de erros no período", rota,
+        "latencia", o -> o.latencia().orcamentoRestante());
+    medidor("delivery.slo.queima", "Taxa de queima do orçamento de erros na janela curta", rota,
+        "disponibilidade", o -> o.disponibilidade().queima());
+    medidor("delivery.slo.queima", "Taxa de queima do orçamento de erros na janela curta", rota,
+        "latencia", o -> o.latencia().queima());
+    return slo;
+  }
+
+  private void medidor(String nome, String descricao, String rota, String sli, ToDoubleFunction<Orcamento> valor) {
+    Gauge.builder(nome, this, s -> {
+      Orcamento orcamento = s.orcamento(rota);
+      return orcamento != null ? valor.applyAsDouble(orcamento) : Double.NaN;
+    })
+        .description(descricao)
+        .tag("rota", rota)
+        .tag("sli", sli)
+        .register(meterRegistry);
+  }
+}
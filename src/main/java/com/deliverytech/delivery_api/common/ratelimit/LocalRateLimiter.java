@@ -0,0 +1,65 @@
+package com.deliverytech.delivery_api.common.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Token bucket em memória, sem locks.
+ *
+ * Usa GCRA: cada bucket é um único AtomicLong com o instante teórico em que
+ * o bucket volta a ficar cheio (TAT). Consumir um token é um CAS que avança o
+ * TAT de um intervalo; a requisição passa se o TAT não se afastar do agora
+ * mais que capacidade x intervalo. Buckets sem uso somem após o tempo de
+ * reposição completa (estão cheios, não há o que lembrar).
+ */
+public class LocalRateLimiter implements RateLimiter {
+
+  private final Cache<String, AtomicLong> buckets;
+  private final LongSupplier relogio;
+
+  public LocalRateLimiter(long maximoClientes) {
+    this(maximoClientes, System::nanoTime);
+  }
+
+  public LocalRateLimiter(long maximoClientes, LongSupplier relogio) {
+    this.relogio = relogio;
+    this.buckets = Caffeine.newBuilder()
+        .maximumSize(maximoClientes)
+        .expireAfterAccess(Duration.ofMinutes(10))
+        .build();
+  }
+
+  @Override
+  public Decisao tentar(String chave, int capacidade, double porSegundo) {
+    long intervalo = intervaloNanos(porSegundo);
+    long tolerancia = intervalo * capacidade;
+    AtomicLong tat = buckets.get(chave, k -> new AtomicLong(relogio.getAsLong()));
+
+    while (true) {
+      long agora = relogio.getAsLong();
+      long atual = tat.get();
+      long novo = Math.max(atual, agora) + intervalo;
+      long ocupado = novo - agora;
+
+      if (ocupado > tolerancia) {
+        long ocupadoAtual = Math.max(atual, agora) - agora;
+        return new Decisao(false, 0, ocupado - tolerancia, ocupadoAtual);
+      }
+      if (tat.compareAndSet(atual, novo)) {
+        return new Decisao(true, (tolerancia - ocupado) / intervalo, 0, ocupado);
+      }
+    }
+  }
+
+  public long getTotalBuckets() {
+    return buckets.estimatedSize();
+  }
+
+  static long intervaloNanos(double porSegundo) {
+    return Math.max(1, (long) (1_000_000_000L / porSegundo));
+  }
+}
@@ -0,0 +1,68 @@
+package com.deliverytech.delivery_api.common.ratelimit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+
+import lombok.Data;
+
+/**
+ * Limites por rota (delivery.rate-limit). A primeira rota que casar com o
+ * método e o caminho vale; rotas sem limite configurado não são limitadas.
+ *
+ * Cada rota é um token bucket: até "capacidade" requisições de uma vez,
+ * repostas à taxa de "por-segundo". O limite é por cliente: id do usuário
+ * autenticado ou, sem token, o IP. Capacidade e taxa precisam ser positivas:
+ * a aplicação não sobe com uma rota mal configurada.
+ */
+@Data
+@Validated
+@Component
+@ConfigurationProperties(prefix = "delivery.rate-limit")
+public class RateLimitProperties {
+
+  public enum Modo {
+    MEMORIA, REDIS
+  }
+
+  private boolean habilitado = true;
+
+  /**
+   * memoria: limite por nó; redis: compartilhado entre os nós
+   */
+  private Modo modo = Modo.MEMORIA;
+
+  /**
+   * Máximo de clientes com bucket em memória (os mais antigos são descartados)
+   */
+  private long maximoClientes = 100_000;
+
+  @Valid
+  private List<Rota> rotas = new ArrayList<>();
+
+  @Data
+  public static class Rota {
+    @NotBlank
+    private String nome;
+    /**
+     * Método HTTP; vazio vale para todos
+     */
+    private String metodo;
+    /**
+     * Padrão Ant do caminho (ex.: /api/produtos/buscar/**)
+     */
+    @NotBlank
+    private String padrao;
+    @Positive
+    private int capacidade;
+    @Positive
+    private double porSegundo;
+  }
+}
@@ -0,0 +1,18 @@
+package com.deliverytech.delivery_api.common.ratelimit;
+
+/**
+ * Token bucket por chave (cliente + rota).
+ */
+public interface RateLimiter {
+
+  /**
+   * @param permitida        se a requisição pode seguir (um token foi consumido)
+   * @param restantes        tokens disponíveis depois desta requisição
+   * @param esperaNanos      até haver um token de novo (0 se permitida)
+   * @param reposicaoNanos   até o bucket estar cheio de novo
+   */
+  record Decisao(boolean permitida, long restantes, long esperaNanos, long reposicaoNanos) {
+  }
+
+  Decisao tentar(String chave, int capacidade, double porSegundo);
+}
@@ -0,0 +1,73 @@
+package com.deliverytech.delivery_api.common.ratelimit;
+
+import java.util.List;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import com.deliverytech.delivery_api.common.cache.CacheCircuitBreaker;
+
+/**
+ * Token bucket compartilhado entre os nós: o mesmo GCRA do
+ * {@link LocalRateLimiter}, executado atomicamente em um script Lua com o
+ * relógio do Redis (sem depender do relógio de cada nó).
+ *
+ * Com o Redis fora (circuito aberto) o limite cai para o bucket local do nó.
+ */
+public class RedisRateLimiter implements RateLimiter {
+
+  private static final String PREFIXO = "delivery:ratelimit:";
+
+  // KEYS[1] = bucket; ARGV[1] = intervalo (µs), ARGV[2] = capacidade
+  // Retorna {permitida, restantes, espera µs, reposição µs}
+  private static final RedisScript<List<Long>> GCRA = script("""
+      local t = redis.call('TIME')
+      local agora = tonumber(t[1]) * 1000000 + tonumber(t[2])
+      local intervalo = tonumber(ARGV[1])
+      local tolerancia = intervalo * tonumber(ARGV[2])
+      local tat = tonumber(redis.call('GET', KEYS[1])) or agora
+      local base = math.max(tat, agora)
+      local novo = base + intervalo
+      local ocupado = novo - agora
+      if ocupado > tolerancia then
+        return {0, 0, ocupado - tolerancia, base - agora}
+      end
+      redis.call('SET', KEYS[1], string.format('%.0f', novo), 'PX', math.ceil(ocupado / 1000))
+      return {1, math.floor((tolerancia - ocupado) / intervalo), 0, ocupado}
+      """);
+
+  private final StringRedisTemplate redisTemplate;
+  private final CacheCircuitBreaker circuito;
+  private final RateLimiter alternativa;
+
+  public RedisRateLimiter(StringRedisTemplate redisTemplate, CacheCircuitBreaker circuito, RateLimiter alternativa) {
+    this.redisTemplate = redisTemplate;
+    this.circuito = circuito;
+    this.alternativa = alternativa;
+  }
+
+  @Override
+  public Decisao tentar(String chave, int capacidade, double porSegundo) {
+    long intervaloMicros = Math.max(1, LocalRateLimiter.intervaloNanos(porSegundo) / 1_000);
+    return circuito.executar(() -> {
+      List<Long> r = redisTemplate.execute(GCRA, List.of(PREFIXO + chave),
+          String.valueOf(intervaloMicros), String.valueOf(capacidade));
+      return new Decisao(numero(r, 0) == 1, numero(r, 1), numero(r, 2) * 1_000, numero(r, 3) * 1_000);
+    }, () -> alternativa.tentar(chave, capacidade, porSegundo));
+  }
+
+  private static long numero(List<Long> resultado, int indice) {
+    return resultado.get(indice);
+  }
+
+  /**
+   * Script com resultado List&lt;Long&gt; (inteiros Lua voltam como Long)
+   */
+  @SuppressWarnings("unchecked")
+  private static RedisScript<List<Long>> script(String lua) {
+    DefaultRedisScript<List<Long>> script = new DefaultRedisScript<>(lua);
+    script.setResultType((Class<List<Long>>) (Class<?>) List.class);
+    return script;
+  }
+}
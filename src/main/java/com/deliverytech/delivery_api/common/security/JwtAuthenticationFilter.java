@@ -5,6 +5,8 @@ import java.util.Arrays;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpStatus;
 import org.springframework.lang.NonNull;
@@ -14,9 +16,15 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.deliverytech.delivery_api.auth.model.Role;
 import com.deliverytech.delivery_api.auth.model.Usuario;
 import com.deliverytech.delivery_api.auth.service.AuthService;
+import com.deliverytech.delivery_api.auth.service.SessionRevocationService;
+import com.deliverytech.delivery_api.auth.service.TokenVersionService;
 import com.deliverytech.delivery_api.common.config.PublicEndpoints;
+import com.deliverytech.delivery_api.common.monitoring.context.RequestContext;
+import com.deliverytech.delivery_api.common.monitoring.jfr.AutenticacaoEvent;
+import com.deliverytech.delivery_api.restaurante.model.Restaurante;
 
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
@@ -26,6 +34,20 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+/**
+ * Autentica a requisição pelo token JWT.
+ *
+ * Com jwt.principal-do-token=true (padrão) o usuário é montado a partir das
+ * claims já verificadas, sem consultar o banco; a revogação é coberta pela
+ * versão do token ({@link TokenVersionService}), que fica em cache. Com false,
+ * o usuário é carregado do banco a cada requisição.
+ *
+ * A verificação da assinatura é reaproveitada entre requisições com o mesmo
+ * token ({@link VerifiedTokenCache}); a checagem de revogação não. Tokens de
+ * sessões encerradas (logout, refresh reutilizado) são recusados pelo filtro
+ * de Bloom do {@link SessionRevocationService}, em memória no caso comum.
+ * Refresh tokens não autenticam requisições.
+ */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
@@ -34,10 +56,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
   private final AuthService authService;
   private final JwtUtil jwtUtil;
+  private final TokenVersionService tokenVersionService;
+  private final VerifiedTokenCache tokenCache;
+  private final SessionRevocationService revogacoes;
+  private final boolean principalDoToken;
 
-  public JwtAuthenticationFilter(@Lazy AuthService authService, JwtUtil jwtUtil) {
+  public JwtAuthenticationFilter(AuthService authService, JwtUtil jwtUtil) {
+    this(authService, jwtUtil, null, null, null, false);
+  }
+
+  @Autowired
+  public JwtAuthenticationFilter(@Lazy AuthService authService, JwtUtil jwtUtil,
+      TokenVersionService tokenVersionService, VerifiedTokenCache tokenCache,
+      SessionRevocationService revogacoes,
+      @Value("${jwt.principal-do-token:true}") boolean principalDoToken) {
     this.authService = authService;
     this.jwtUtil = jwtUtil;
+    this.tokenVersionService = tokenVersionService;
+    this.tokenCache = tokenCache;
+    this.revogacoes = revogacoes;
+    this.principalDoToken = principalDoToken;
   }
 
   @Override
@@ -61,36 +99,119 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
 
     String token = header.substring(BEARER_PREFIX.length());
+    AutenticacaoEvent evento = new AutenticacaoEvent();
+    evento.begin();
 
     try {
-      // 🔍 Extrai usuário
-      String username = jwtUtil.extractUsername(token);
+      // 🔍 Verifica o token e lê as claims uma única vez (ou reaproveita a verificação em cache)
+      TokenValidado tokenValidado = tokenCache != null ? tokenCache.validar(token) : jwtUtil.validar(token);
+      String username = tokenValidado.username();
+
+      if (tokenValidado.refresh()) {
+        registrarEvento(evento, request, "refresh", null);
+        handleJwtError(response, HttpStatus.UNAUTHORIZED, "Token inválido ou malformado.");
+        log.warn("Refresh token usado como access token para o usuário {}", username);
+        return;
+      }
 
-      // 🔒 Se não há autenticação ainda, tenta validar o token
+      if (revogacoes != null && revogacoes.estaRevogada(tokenValidado.sessao())) {
+        registrarEvento(evento, request, "sessao_encerrada", null);
+        handleJwtError(response, HttpStatus.UNAUTHORIZED, "Sessão encerrada. Faça login novamente.");
+        log.warn("Token de sessão encerrada para o usuário {}", username);
+        return;
+      }
+
+      // 🔒 Se não há autenticação ainda, autentica com o usuário do token
       if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-        Usuario userDetails = authService.loadUserByUsername(username);
+        Usuario userDetails = carregarUsuario(tokenValidado);
+
+        if (userDetails == null) {
+          registrarEvento(evento, request, "revogado", tokenValidado.userId());
+          handleJwtError(response, HttpStatus.UNAUTHORIZED, "Token revogado. Faça login novamente.");
+          log.warn("Token revogado para o usuário {}", username);
+          return;
+        }
 
-        if (jwtUtil.validateToken(token, userDetails)) {
+        if (jwtUtil.validateToken(tokenValidado, userDetails)) {
           UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userDetails, null,
               userDetails.getAuthorities());
           authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
           SecurityContextHolder.getContext().setAuthentication(authToken);
+
+          RequestContext contexto = RequestContext.atual();
+          if (contexto != null) {
+            contexto.setUsuarioId(userDetails.getId());
+          }
+          registrarEvento(evento, request, "autenticado", userDetails.getId());
+        } else {
+          registrarEvento(evento, request, "invalido", userDetails.getId());
         }
       }
+      registrarEvento(evento, request, "ignorado", null);
       filterChain.doFilter(request, response);
 
     } catch (ExpiredJwtException e) {
+      registrarEvento(evento, request, "expirado", null);
       handleJwtError(response, HttpStatus.UNAUTHORIZED, "Token expirado. Faça login novamente.");
       log.warn("Token expirado: {}", e.getMessage());
     } catch (MalformedJwtException | UnsupportedJwtException e) {
+      registrarEvento(evento, request, "invalido", null);
       handleJwtError(response, HttpStatus.UNAUTHORIZED, "Token inválido ou malformado.");
       log.warn("Token inválido: {}", e.getMessage());
     } catch (IllegalArgumentException e) {
+      registrarEvento(evento, request, "invalido", null);
       handleJwtError(response, HttpStatus.BAD_REQUEST, "Token ausente ou inválido.");
       log.error("Erro ao processar token: {}", e.getMessage());
     }
   }
 
+  /**
+   * 👤 Usuário da requisição, ou null se o token foi revogado
+   */
+  private Usuario carregarUsuario(TokenValidado token) {
+    // Tokens sem userId/role (ex.: emitidos antes dessas claims) seguem pelo banco
+    if (principalDoToken && token.userId() != null && token.role() != null) {
+      Integer versaoAtual = tokenVersionService.versaoAtual(token.userId());
+      return versaoAtual != null && versaoAtual == token.versao() ? usuarioDoToken(token) : null;
+    }
+
+    Usuario usuario = authService.loadUserByUsername(token.username());
+    return TokenVersionService.tokenVigente(usuario, token.versao()) ? usuario : null;
+  }
+
+  /**
+   * Principal montado só com as claims: id, email, nome, role e restaurante (só o id)
+   */
+  private static Usuario usuarioDoToken(TokenValidado token) {
+    Usuario usuario = new Usuario(token.username(), null, token.nome(), Role.valueOf(token.role()));
+    usuario.setId(token.userId());
+    usuario.setVersaoToken(token.versao());
+    if (token.restauranteId() != null) {
+      Restaurante restaurante = new Restaurante();
+      restaurante.setId(token.restauranteId());
+      usuario.setRestaurante(restaurante);
+    }
+    return usuario;
+  }
+
+  /**
+   * Evento JFR só com o trabalho do filtro: registrado antes de seguir a
+   * cadeia, uma única vez por requisição
+   */
+  private static void registrarEvento(AutenticacaoEvent evento, HttpServletRequest request, String resultado,
+      Long usuarioId) {
+    if (evento.resultado != null) {
+      return;
+    }
+    evento.resultado = resultado;
+    evento.end();
+    if (evento.shouldCommit()) {
+      evento.uri = request.getRequestURI();
+      evento.usuarioId = usuarioId != null ? usuarioId : 0;
+      evento.commit();
+    }
+  }
+
   /**
    * 🧾 Retorna um JSON padronizado em caso de erro JWT
    */
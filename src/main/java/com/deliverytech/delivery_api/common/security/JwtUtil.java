@@ -1,5 +1,6 @@
 package com.deliverytech.delivery_api.common.security;
 
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -12,8 +13,10 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import com.deliverytech.delivery_api.auth.model.Usuario;
+import com.deliverytech.delivery_api.auth.service.TokenVersionService;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -24,40 +27,102 @@ public class JwtUtil {
   private String secret;
   @Value("${jwt.expiration}")
   private Long expiration;
+  @Value("${jwt.refresh-expiration:604800000}")
+  private long refreshExpiration = 604800000L;
+
+  /**
+   * Chave HMAC e parser montados uma vez e reutilizados (ambos imutáveis e
+   * thread-safe). Remontados só se o segredo mudar.
+   */
+  private volatile Assinatura assinatura;
+
+  private record Assinatura(String secret, SecretKey key, JwtParser parser) {
+  }
+
+  private Assinatura getAssinatura() {
+    Assinatura atual = assinatura;
+    if (atual == null || !atual.secret().equals(secret)) {
+      SecretKey key = Keys.hmacShaKeyFor(secret.getBytes());
+      atual = new Assinatura(secret, key, Jwts.parserBuilder().setSigningKey(key).build());
+      assinatura = atual;
+    }
+    return atual;
+  }
 
   private SecretKey getSigningKey() {
-    return Keys.hmacShaKeyFor(secret.getBytes());
+    return getAssinatura().key();
   }
 
   public String generateToken(Usuario usuario) {
+    return generateToken(usuario, null);
+  }
+
+  /**
+   * Access token ligado à sessão de login (claim "sid"), para que o logout ou
+   * a reutilização de um refresh token o revoguem junto com a sessão.
+   */
+  public String generateToken(Usuario usuario, String sessao) {
     Map<String, Object> claims = new HashMap<>();
 
     claims.put("userId", usuario.getId());
     claims.put("role", usuario.getRole().name());
     claims.put("nome", usuario.getNome());
+    claims.put("versao", TokenVersionService.versaoDe(usuario));
     if (usuario.getRestaurante() != null) {
       claims.put("restauranteId", usuario.getRestaurante().getId());
     }
+    if (sessao != null) {
+      claims.put("sid", sessao);
+    }
 
-    return createToken(claims, usuario.getUsername());
+    return createToken(claims, usuario.getUsername(), expiration);
   }
 
   public String generateRefreshToken(Usuario user) {
+    return generateRefreshToken(user, null, null);
+  }
+
+  /**
+   * Refresh token de uso único: o jti identifica esta emissão no
+   * RefreshTokenStore e a sessão se mantém entre as rotações.
+   */
+  public String generateRefreshToken(Usuario user, String sessao, String jti) {
     Map<String, Object> claims = new HashMap<>();
     claims.put("userId", user.getId());
-    return createToken(claims, user.getEmail());
+    claims.put("versao", TokenVersionService.versaoDe(user));
+    claims.put("tipo", TokenValidado.TIPO_REFRESH);
+    if (sessao != null) {
+      claims.put("sid", sessao);
+    }
+    if (jti != null) {
+      claims.put(Claims.ID, jti);
+    }
+    return createToken(claims, user.getEmail(), refreshExpiration);
+  }
+
+  public Duration getRefreshExpiration() {
+    return Duration.ofMillis(refreshExpiration);
   }
 
-  private String createToken(Map<String, Object> claims, String subject) {
+  private String createToken(Map<String, Object> claims, String subject, long validade) {
     return Jwts.builder()
         .setClaims(claims)
         .setSubject(subject)
         .setIssuedAt(new Date(System.currentTimeMillis()))
-        .setExpiration(new Date(System.currentTimeMillis() + expiration))
+        .setExpiration(new Date(System.currentTimeMillis() + validade))
         .signWith(getSigningKey(), SignatureAlgorithm.HS256)
         .compact();
   }
 
+  /**
+   * Verifica assinatura e expiração e lê todas as claims em uma única passada.
+   * Lança as exceções do jjwt (ExpiredJwtException, MalformedJwtException...)
+   * quando o token não é válido.
+   */
+  public TokenValidado validar(String token) {
+    return TokenValidado.de(extractAllClaims(token));
+  }
+
   public String extractUsername(String token) {
     return extractClaim(token, Claims::getSubject);
   }
@@ -88,9 +153,7 @@ public class JwtUtil {
   }
 
   private Claims extractAllClaims(String token) {
-    return Jwts.parserBuilder()
-        .setSigningKey(getSigningKey())
-        .build()
+    return getAssinatura().parser()
         .parseClaimsJws(token)
         .getBody();
   }
@@ -100,8 +163,11 @@ public class JwtUtil {
   }
 
   public Boolean validateToken(String token, UserDetails userDetails) {
-    final String username = extractUsername(token);
-    return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    return validateToken(validar(token), userDetails);
+  }
+
+  public boolean validateToken(TokenValidado token, UserDetails userDetails) {
+    return token.username().equals(userDetails.getUsername()) && !token.expirado();
   }
 
   public Boolean validateRefreshToken(String token) {
@@ -0,0 +1,46 @@
+package com.deliverytech.delivery_api.common.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * PasswordEncoder que mede o tempo de hash (BCrypt é o custo dominante do login).
+ *
+ * Métrica: delivery.auth.senha.hash.tempo{operacao=codificar|verificar}
+ */
+public class MeteredPasswordEncoder implements PasswordEncoder {
+
+  private final PasswordEncoder delegate;
+  private final Timer tempoCodificar;
+  private final Timer tempoVerificar;
+
+  public MeteredPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.tempoCodificar = timer(meterRegistry, "codificar");
+    this.tempoVerificar = timer(meterRegistry, "verificar");
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return tempoCodificar.record(() -> delegate.encode(rawPassword));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return tempoVerificar.record(() -> delegate.matches(rawPassword, encodedPassword));
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+
+  private static Timer timer(MeterRegistry meterRegistry, String operacao) {
+    return Timer.builder("delivery.auth.senha.hash.tempo")
+        .description("Tempo de hash de senha")
+        .tag("operacao", operacao)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,117 @@
+package com.deliverytech.delivery_api.common.security;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.deliverytech.delivery_api.auth.repository.UsuarioRepository;
+import com.deliverytech.delivery_api.common.exceptions.EntityNotFoundException;
+import com.deliverytech.delivery_api.pedido.repository.PedidoRepository;
+import com.deliverytech.delivery_api.produto.repository.ProdutoRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Checagens de dono usadas nos @PreAuthorize (via isOwner dos serviços).
+ *
+ * Cada checagem consulta só ids (projeções), nunca a entidade: a entidade é
+ * carregada uma única vez, pelo serviço. Os ids lidos ficam memorizados nos
+ * atributos da requisição, então checagens repetidas na mesma requisição não
+ * voltam ao banco. O restaurante de cada produto não muda depois da criação e
+ * fica em um cache local pequeno.
+ */
+@Component
+public class OwnershipResolver {
+
+  private static final String MEMO = OwnershipResolver.class.getName() + ".memo";
+
+  private final PedidoRepository pedidoRepository;
+  private final ProdutoRepository produtoRepository;
+  private final UsuarioRepository usuarioRepository;
+  private final Cache<Long, Long> restaurantePorProduto;
+
+  @Autowired
+  public OwnershipResolver(PedidoRepository pedidoRepository, ProdutoRepository produtoRepository,
+      UsuarioRepository usuarioRepository,
+      @Value("${delivery.dono.produtos.maximo:10000}") long maximoProdutos,
+      @Value("${delivery.dono.produtos.expiracao:30m}") Duration expiracao) {
+    this.pedidoRepository = pedidoRepository;
+    this.produtoRepository = produtoRepository;
+    this.usuarioRepository = usuarioRepository;
+    this.restaurantePorProduto = Caffeine.newBuilder()
+        .maximumSize(maximoProdutos)
+        .expireAfterWrite(expiracao)
+        .build();
+  }
+
+  /**
+   * O usuário autenticado fez o pedido? Pedido inexistente lança
+   * EntityNotFoundException (404), como a busca do serviço.
+   */
+  public boolean donoDoPedido(Long pedidoId) {
+    Long usuarioId = SecurityUtils.getCurrentUserId();
+    Long cliente = memorizado("pedido:" + pedidoId, () -> pedidoRepository.findUsuarioIdById(pedidoId))
+        .orElseThrow(() -> new EntityNotFoundException("Pedido", pedidoId));
+    return cliente.equals(usuarioId);
+  }
+
+  /**
+   * O produto é de um restaurante do usuário autenticado?
+   */
+  public boolean donoDoProduto(Long produtoId) {
+    Long restauranteId = restauranteDoProduto(produtoId);
+    return restauranteId != null && donoDoRestaurante(restauranteId);
+  }
+
+  /**
+   * O usuário autenticado está associado ao restaurante?
+   */
+  public boolean donoDoRestaurante(Long restauranteId) {
+    Long usuarioId = SecurityUtils.getCurrentUserId();
+    if (usuarioId == null) {
+      return false;
+    }
+    return memorizado("usuario:" + usuarioId, () -> usuarioRepository.findRestauranteIdById(usuarioId))
+        .map(restauranteId::equals)
+        .orElse(false);
+  }
+
+  /**
+   * Remove o produto do cache de restaurante (produto excluído)
+   */
+  public void removerProduto(Long produtoId) {
+    restaurantePorProduto.invalidate(produtoId);
+  }
+
+  private Long restauranteDoProduto(Long produtoId) {
+    // Caffeine não guarda null: produto inexistente volta ao banco na próxima checagem
+    return restaurantePorProduto.get(produtoId, id -> produtoRepository.findRestauranteIdById(id).orElse(null));
+  }
+
+  /**
+   * Memo por requisição; fora de uma requisição (jobs, testes) consulta direto
+   */
+  @SuppressWarnings("unchecked")
+  private static Optional<Long> memorizado(String chave, Supplier<Optional<Long>> consulta) {
+    RequestAttributes requisicao = RequestContextHolder.getRequestAttributes();
+    if (requisicao == null) {
+      return consulta.get();
+    }
+
+    Map<String, Optional<Long>> memo = (Map<String, Optional<Long>>) requisicao.getAttribute(MEMO,
+        RequestAttributes.SCOPE_REQUEST);
+    if (memo == null) {
+      memo = new HashMap<>();
+      requisicao.setAttribute(MEMO, memo, RequestAttributes.SCOPE_REQUEST);
+    }
+    return memo.computeIfAbsent(chave, k -> consulta.get());
+  }
+}
@@ -0,0 +1,58 @@
+package com.deliverytech.delivery_api.common.security;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Token JWT já verificado (assinatura e expiração), com as claims lidas uma
+ * única vez. Imutável: pode ser compartilhado durante a requisição.
+ *
+ * A versão é a do usuário no momento da emissão (0 em tokens sem a claim).
+ * A sessão (claim "sid") é comum ao access e ao refresh token de um mesmo
+ * login; o id (jti) só existe no refresh token, que tem tipo "refresh".
+ */
+public record TokenValidado(
+    String username,
+    Long userId,
+    String role,
+    String nome,
+    Long restauranteId,
+    int versao,
+    String sessao,
+    String id,
+    String tipo,
+    Instant emitidoEm,
+    Instant expiraEm,
+    Map<String, Object> claims) {
+
+  public static final String TIPO_REFRESH = "refresh";
+
+  static TokenValidado de(Claims claims) {
+    Integer versao = claims.get("versao", Integer.class);
+    return new TokenValidado(
+        claims.getSubject(),
+        claims.get("userId", Long.class),
+        claims.get("role", String.class),
+        claims.get("nome", String.class),
+        claims.get("restauranteId", Long.class),
+        versao != null ? versao : 0,
+        claims.get("sid", String.class),
+        claims.getId(),
+        claims.get("tipo", String.class),
+        claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+        claims.getExpiration() != null ? claims.getExpiration().toInstant() : null,
+        Collections.unmodifiableMap(new LinkedHashMap<>(claims)));
+  }
+
+  public boolean refresh() {
+    return TIPO_REFRESH.equals(tipo);
+  }
+
+  public boolean expirado() {
+    return expiraEm != null && expiraEm.isBefore(Instant.now());
+  }
+}
@@ -0,0 +1,94 @@
+package com.deliverytech.delivery_api.common.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.deliverytech.delivery_api.common.monitoring.metrics.MetricsService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+/**
+ * Cache dos tokens já verificados, para o mesmo token não pagar HMAC e parse
+ * das claims a cada requisição.
+ *
+ * A chave é o SHA-256 do token (o token em si não fica em memória). Cada
+ * entrada vale até a expiração do token, limitada a jwt.cache.ttl-maximo.
+ * Só tokens válidos entram; a revogação continua sendo checada pelo filtro
+ * (versão do token) a cada requisição.
+ */
+@Component
+public class VerifiedTokenCache {
+
+  private final JwtUtil jwtUtil;
+  private final MetricsService metricsService;
+  private final Cache<String, TokenValidado> tokens;
+
+  @Autowired
+  public VerifiedTokenCache(JwtUtil jwtUtil, MetricsService metricsService,
+      @Value("${jwt.cache.maximo-tokens:10000}") long maximoTokens,
+      @Value("${jwt.cache.ttl-maximo:10m}") Duration ttlMaximo) {
+    this(jwtUtil, metricsService, maximoTokens, ttlMaximo, Ticker.systemTicker());
+  }
+
+  public VerifiedTokenCache(JwtUtil jwtUtil, MetricsService metricsService, long maximoTokens, Duration ttlMaximo,
+      Ticker ticker) {
+    this.jwtUtil = jwtUtil;
+    this.metricsService = metricsService;
+    this.tokens = Caffeine.newBuilder()
+        .maximumSize(maximoTokens)
+        .expireAfter(Expiry.creating((String chave, TokenValidado token) -> validade(token, ttlMaximo)))
+        .ticker(ticker)
+        .build();
+    metricsService.registrarTamanhoCacheTokens(tokens, Cache::estimatedSize);
+  }
+
+  /**
+   * Mesmo contrato de {@link JwtUtil#validar(String)}: token inválido lança a
+   * exceção do jjwt e não entra no cache.
+   */
+  public TokenValidado validar(String token) {
+    long inicio = System.nanoTime();
+    String chave = hash(token);
+
+    TokenValidado validado = tokens.getIfPresent(chave);
+    boolean hit = validado != null && !validado.expirado();
+    if (!hit) {
+      validado = jwtUtil.validar(token);
+      tokens.put(chave, validado);
+    }
+
+    metricsService.registrarValidacaoToken(hit, System.nanoTime() - inicio);
+    return validado;
+  }
+
+  public long getTamanho() {
+    return tokens.estimatedSize();
+  }
+
+  private static Duration validade(TokenValidado token, Duration ttlMaximo) {
+    if (token.expiraEm() == null) {
+      return ttlMaximo;
+    }
+    Duration restante = Duration.between(Instant.now(), token.expiraEm());
+    return restante.compareTo(ttlMaximo) < 0 ? restante : ttlMaximo;
+  }
+
+  private static String hash(String token) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+      return Base64.getEncoder().encodeToString(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 indisponível", e);
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package com.deliverytech.delivery_api.common.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de strings, thread-safe e sem locks.
+ *
+ * "Não contém" é sempre correto; "pode conter" erra na taxa configurada
+ * (falso positivo) e deve ser confirmado na fonte. Não há remoção: para
+ * descartar itens antigos, construa um filtro novo.
+ */
+public class BloomFilter {
+
+  private final AtomicLongArray bits;
+  private final int totalBits;
+  private final int funcoesHash;
+
+  public BloomFilter(int capacidadeEsperada, double taxaFalsoPositivo) {
+    int capacidade = Math.max(1, capacidadeEsperada);
+    double ln2 = Math.log(2);
+    long m = (long) Math.ceil(-capacidade * Math.log(taxaFalsoPositivo) / (ln2 * ln2));
+    this.totalBits = (int) Math.max(64, Math.min(m, Integer.MAX_VALUE - 63));
+    this.funcoesHash = Math.max(1, (int) Math.round((double) totalBits / capacidade * ln2));
+    this.bits = new AtomicLongArray((totalBits + 63) / 64);
+  }
+
+  public void adicionar(String valor) {
+    long h1 = hash(valor);
+    long h2 = misturar(h1) | 1;
+    for (int i = 0; i < funcoesHash; i++) {
+      int indice = indice(h1 + i * h2);
+      long mascara = 1L << (indice & 63);
+      int palavra = indice >>> 6;
+      long atual;
+      do {
+        atual = bits.get(palavra);
+        if ((atual & mascara) != 0) {
+          break;
+        }
+      } while (!bits.compareAndSet(palavra, atual, atual | mascara));
+    }
+  }
+
+  public boolean podeConter(String valor) {
+    long h1 = hash(valor);
+    long h2 = misturar(h1) | 1;
+    for (int i = 0; i < funcoesHash; i++) {
+      int indice = indice(h1 + i * h2);
+      if ((bits.get(indice >>> 6) & (1L << (indice & 63))) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public int getTotalBits() {
+    return totalBits;
+  }
+
+  public int getFuncoesHash() {
+    return funcoesHash;
+  }
+
+  private int indice(long hash) {
+    return (int) Math.floorMod(hash, (long) totalBits);
+  }
+
+  /**
+   * FNV-1a de 64 bits sobre os bytes UTF-8, finalizado com o mix do SplitMix64
+   */
+  private static long hash(String valor) {
+    long h = 0xcbf29ce484222325L;
+    for (byte b : valor.getBytes(StandardCharsets.UTF_8)) {
+      h ^= b;
+      h *= 0x100000001b3L;
+    }
+    return misturar(h);
+  }
+
+  private static long misturar(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+}
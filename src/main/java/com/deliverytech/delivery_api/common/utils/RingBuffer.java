@@ -0,0 +1,109 @@
+package com.deliverytech.delivery_api.common.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Fila circular limitada, thread-safe e sem locks (várias threads produzem e
+ * consomem).
+ *
+ * Cada posição guarda uma sequência que diz se está livre para o produtor ou
+ * pronta para o consumidor (algoritmo de fila limitada de D. Vyukov): uma
+ * inserção ou remoção custa um CAS, sem alocar. Cheia, {@link #oferecer}
+ * devolve false; a política de overflow fica com quem chama.
+ */
+public class RingBuffer<T> {
+
+  private final AtomicReferenceArray<T> itens;
+  private final AtomicLongArray sequencias;
+  private final int mascara;
+  private final AtomicLong escrita = new AtomicLong();
+  private final AtomicLong leitura = new AtomicLong();
+
+  /**
+   * A capacidade é arredondada para a próxima potência de 2
+   */
+  public RingBuffer(int capacidade) {
+    int tamanho = capacidade <= 2 ? 2 : Integer.highestOneBit(capacidade - 1) << 1;
+    this.itens = new AtomicReferenceArray<>(tamanho);
+    this.sequencias = new AtomicLongArray(tamanho);
+    this.mascara = tamanho - 1;
+    for (int i = 0; i < tamanho; i++) {
+      sequencias.set(i, i);
+    }
+  }
+
+  /**
+   * Insere no fim; false se a fila estiver cheia
+   */
+  public boolean oferecer(T item) {
+    long posicao = escrita.get();
+    while (true) {
+      int indice = (int) posicao & mascara;
+      long diferenca = sequencias.get(indice) - posicao;
+      if (diferenca == 0) {
+        if (escrita.compareAndSet(posicao, posicao + 1)) {
+          itens.lazySet(indice, item);
+          sequencias.set(indice, posicao + 1);
+          return true;
+        }
+        posicao = escrita.get();
+      } else if (diferenca < 0) {
+        return false;
+      } else {
+        posicao = escrita.get();
+      }
+    }
+  }
+
+  /**
+   * Remove do início; null se a fila estiver vazia
+   */
+  public T retirar() {
+    long posicao = leitura.get();
+    while (true) {
+      int indice = (int) posicao & mascara;
+      long diferenca = sequencias.get(indice) - (posicao + 1);
+      if (diferenca == 0) {
+        if (leitura.compareAndSet(posicao, posicao + 1)) {
+          T item = itens.get(indice);
+          itens.lazySet(indice, null);
+          sequencias.set(indice, posicao + mascara + 1);
+          return item;
+        }
+        posicao = leitura.get();
+      } else if (diferenca < 0) {
+        return null;
+      } else {
+        posicao = leitura.get();
+      }
+    }
+  }
+
+  /**
+   * Remove até "maximo" itens, na ordem, e devolve quantos foram entregues
+   */
+  public int drenar(Consumer<? super T> destino, int maximo) {
+    int entregues = 0;
+    T item;
+    while (entregues < maximo && (item = retirar()) != null) {
+      destino.accept(item);
+      entregues++;
+    }
+    return entregues;
+  }
+
+  /**
+   * Aproximado sob concorrência
+   */
+  public int tamanho() {
+    long tamanho = escrita.get() - leitura.get();
+    return (int) Math.max(0, Math.min(tamanho, capacidade()));
+  }
+
+  public int capacidade() {
+    return mascara + 1;
+  }
+}
@@ -3,21 +3,26 @@ package com.deliverytech.delivery_api.dashboard.controller;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import io.micrometer.core.instrument.MeterRegistry;
+import com.deliverytech.delivery_api.common.monitoring.alerts.AlertService;
+import com.deliverytech.delivery_api.dashboard.service.DashboardFeedService;
 
 @Controller
 @RequestMapping("/dashboard")
 public class DashboardController {
 
-  private final MeterRegistry meterRegistry;
+  private final DashboardFeedService feedService;
+  private final AlertService alertService;
 
-  public DashboardController(MeterRegistry meterRegistry) {
-    this.meterRegistry = meterRegistry;
+  public DashboardController(DashboardFeedService feedService, AlertService alertService) {
+    this.feedService = feedService;
+    this.alertService = alertService;
   }
 
   @GetMapping
@@ -25,47 +30,36 @@ public class DashboardController {
     return "redirect:/dashboard/index.html";
   }
 
+  /**
+   * Último snapshot montado pelo agregador (remontado no máximo uma vez por
+   * intervalo)
+   */
   @GetMapping("/api/metrics")
   @ResponseBody
   public Map<String, Object> getMetricsData() {
-    Map<String, Object> metrics = new HashMap<>();
-
-    // Métricas de pedidos
-    metrics.put("pedidos_total", getCounterValue("delivery.pedidos.total"));
-    metrics.put("pedidos_sucesso", getCounterValue("delivery.pedidos.sucesso"));
-    metrics.put("pedidos_erro", getCounterValue("delivery.pedidos.erro"));
-    metrics.put("receita_total", getCounterValue("delivery.receita.total") / 100.0);
-
-    // Métricas de performance
-    metrics.put("tempo_medio_pedido", getTimerMean("delivery.pedido.processamento.tempo"));
-    metrics.put("tempo_medio_banco", getTimerMean("delivery.database.consulta.tempo"));
-
-    // Métricas de sistema
-    metrics.put("memoria_usada", getGaugeValue("jvm.memory.used"));
-    metrics.put("memoria_max", getGaugeValue("jvm.memory.max"));
-    metrics.put("cpu_usage", getGaugeValue("system.cpu.usage"));
-
-    // Métricas de estado
-    metrics.put("usuarios_ativos", getGaugeValue("delivery.usuarios.ativos"));
-    metrics.put("produtos_estoque", getGaugeValue("delivery.produtos.estoque"));
-
-    // Health status
-    metrics.put("health_status", "UP");
-
-    return metrics;
-  }
-
-  private double getCounterValue(String name) {
-    return meterRegistry.find(name).counter() != null ? meterRegistry.find(name).counter().count() : 0.0;
+    return feedService.getSnapshot();
   }
 
-  private double getTimerMean(String name) {
-    return meterRegistry.find(name).timer() != null
-        ? meterRegistry.find(name).timer().mean(java.util.concurrent.TimeUnit.MILLISECONDS)
-        : 0.0;
+  /**
+   * Stream SSE: evento "snapshot" ao conectar e "delta" com as seções que
+   * mudaram a cada intervalo
+   */
+  @GetMapping(value = "/api/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter stream() {
+    return feedService.assinar();
   }
 
-  private double getGaugeValue(String name) {
-    return meterRegistry.find(name).gauge() != null ? meterRegistry.find(name).gauge().value() : 0.0;
+  /**
+   * Alertas ativos, histórico em memória (mais recente primeiro) e as janelas
+   * de 1, 5 e 15 minutos das requisições
+   */
+  @GetMapping("/api/alertas")
+  @ResponseBody
+  public Map<String, Object> getAlertas() {
+    Map<String, Object> alertas = new HashMap<>();
+    alertas.put("ativos", alertService.getAtivos());
+    alertas.put("historico", alertService.getHistorico());
+    alertas.put("janelas", alertService.resumos());
+    return alertas;
   }
 }
@@ -0,0 +1,422 @@
+package com.deliverytech.delivery_api.dashboard.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.deliverytech.delivery_api.common.monitoring.alerts.AlertService;
+import com.deliverytech.delivery_api.common.monitoring.database.HibernateStatisticsMetrics;
+import com.deliverytech.delivery_api.common.monitoring.slo.SloService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Agregador das métricas do dashboard.
+ *
+ * Um snapshot é montado uma vez por intervalo, a partir do MeterRegistry, e
+ * compartilhado por todos os dashboards abertos: assinantes do stream SSE
+ * recebem o snapshot completo ao conectar e, a cada intervalo, só as seções
+ * que mudaram (evento "delta"), serializadas uma única vez. O custo por
+ * intervalo não depende de quantos dashboards estão abertos.
+ *
+ * Throughput e latência por endpoint vêm do http.server.requests: a
+ * diferença entre dois snapshots dá as requisições e o tempo do intervalo.
+ */
+@Slf4j
+@Service
+public class DashboardFeedService {
+
+  private static final int MAXIMO_CONSULTAS_PAINEL = 10;
+
+  /**
+   * Acumulado de um endpoint no snapshot anterior
+   */
+  private record Acumulado(long requisicoes, double tempoMs, long erros) {
+  }
+
+  private final MeterRegistry meterRegistry;
+  private final HibernateStatisticsMetrics hibernateStatistics;
+  private final AlertService alertService;
+  private final SloService sloService;
+  private final ObjectMapper objectMapper;
+  private final Duration intervalo;
+  private final Duration timeout;
+  private final int maximoAssinantes;
+
+  private final List<SseEmitter> assinantes = new CopyOnWriteArrayList<>();
+
+  // Protegidos pelo lock do serviço
+  private Map<String, Acumulado> anteriores;
+  private long anteriorNanos;
+  private Map<String, Object> snapshot;
+  private long snapshotNanos;
+  private Map<String, Object> publicado = Map.of();
+
+  @Autowired
+  public DashboardFeedService(MeterRegistry meterRegistry, HibernateStatisticsMetrics hibernateStatistics,
+      AlertService alertService, SloService sloService, ObjectMapper objectMapper,
+      @Value("${delivery.dashboard.intervalo:5s}") Duration intervalo,
+      @Value("${delivery.dashboard.stream.timeout:30m}") Duration timeout,
+      @Value("${delivery.dashboard.stream.maximo-assinantes:50}") int maximoAssinantes) {
+    this.meterRegistry = meterRegistry;
+    this.hibernateStatistics = hibernateStatistics;
+    this.alertService = alertService;
+    this.sloService = sloService;
+    this.objectMapper = objectMapper;
+    this.intervalo = intervalo;
+    this.timeout = timeout;
+    this.maximoAssinantes = maximoAssinantes;
+
+    Gauge.builder("delivery.dashboard.assinantes", assinantes, List::size)
+        .description("Dashboards conectados ao stream")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Snapshot atual. Sem assinantes o agendamento não monta snapshots, então
+   * um snapshot vencido é remontado aqui (no máximo um por intervalo).
+   */
+  public synchronized Map<String, Object> getSnapshot() {
+    if (snapshot == null || System.nanoTime() - snapshotNanos >= intervalo.toNanos()) {
+      atualizar();
+    }
+    return snapshot;
+  }
+
+  /**
+   * Novo assinante do stream: recebe o último estado publicado e depois os
+   * deltas. Acima do limite de assinantes a conexão é encerrada pedindo ao
+   * EventSource que tente de novo mais tarde.
+   */
+  public SseEmitter assinar() {
+    SseEmitter emitter = new SseEmitter(timeout.toMillis());
+    if (assinantes.size() >= maximoAssinantes) {
+      log.debug("Limite de {} dashboards conectados atingido", maximoAssinantes);
+      try {
+        emitter.send(SseEmitter.event().comment("limite de dashboards atingido").reconnectTime(timeout.toMillis()));
+        emitter.complete();
+      } catch (IOException e) {
+        emitter.completeWithError(e);
+      }
+      return emitter;
+    }
+
+    emitter.onCompletion(() -> assinantes.remove(emitter));
+    emitter.onTimeout(() -> assinantes.remove(emitter));
+    emitter.onError(e -> assinantes.remove(emitter));
+
+    // Sob o lock da publicação: o snapshot inicial é a base dos próximos deltas
+    synchronized (this) {
+      if (assinantes.isEmpty()) {
+        publicado = getSnapshot();
+      }
+      try {
+        emitter.send(evento("snapshot", publicado));
+      } catch (IOException e) {
+        emitter.completeWithError(e);
+        return emitter;
+      }
+      assinantes.add(emitter);
+    }
+    return emitter;
+  }
+
+  public int getQuantidadeAssinantes() {
+    return assinantes.size();
+  }
+
+  /**
+   * Monta o snapshot do intervalo e envia aos assinantes só o que mudou
+   */
+  @Scheduled(fixedRateString = "${delivery.dashboard.intervalo:5s}")
+  public void publicar() {
+    Set<DataWithMediaType> evento;
+    synchronized (this) {
+      if (assinantes.isEmpty()) {
+        return;
+      }
+      Map<String, Object> atual = atualizar();
+      Map<String, Object> delta = diferenca(publicado, atual);
+      publicado = atual;
+      try {
+        evento = evento("delta", delta);
+      } catch (IOException e) {
+        log.error("Erro ao serializar o delta do dashboard", e);
+        return;
+      }
+    }
+
+    for (SseEmitter emitter : assinantes) {
+      try {
+        emitter.send(evento);
+      } catch (IOException | IllegalStateException e) {
+        // Conexão fechada pelo navegador; o container conclui o emitter
+        assinantes.remove(emitter);
+      }
+    }
+  }
+
+  @PreDestroy
+  public void encerrar() {
+    assinantes.forEach(SseEmitter::complete);
+    assinantes.clear();
+  }
+
+  /**
+   * Seções (chaves do primeiro nível) que mudaram desde o snapshot anterior
+   */
+  public static Map<String, Object> diferenca(Map<String, Object> anterior, Map<String, Object> atual) {
+    Map<String, Object> delta = new LinkedHashMap<>();
+    atual.forEach((chave, valor) -> {
+      if (!Objects.equals(anterior.get(chave), valor)) {
+        delta.put(chave, valor);
+      }
+    });
+    return delta;
+  }
+
+  private Set<DataWithMediaType> evento(String nome, Map<String, Object> dados) throws JsonProcessingException {
+    return SseEmitter.event()
+        .name(nome)
+        .data(objectMapper.writeValueAsString(dados), MediaType.APPLICATION_JSON)
+        .build();
+  }
+
+  private Map<String, Object> atualizar() {
+    long agora = System.nanoTime();
+    Map<String, Object> metrics = new HashMap<>();
+
+    // Métricas de pedidos
+    metrics.put("pedidos_total", getCounterValue("delivery.pedidos.total"));
+    metrics.put("pedidos_sucesso", getCounterValue("delivery.pedidos.sucesso"));
+    metrics.put("pedidos_erro", getCounterValue("delivery.pedidos.erro"));
+    metrics.put("receita_total", getCounterValue("delivery.receita.total") / 100.0);
+
+    // Métricas de performance
+    metrics.put("tempo_medio_pedido", getTimerMean("delivery.pedido.processamento.tempo"));
+    metrics.put("tempo_medio_banco", getTimersMean("delivery.database.consulta.tempo"));
+
+    // Métricas de sistema
+    metrics.put("memoria_usada", getGaugeValue("jvm.memory.used"));
+    metrics.put("memoria_max", getGaugeValue("jvm.memory.max"));
+    metrics.put("cpu_usage", getGaugeValue("system.cpu.usage"));
+
+    // Métricas de estado
+    metrics.put("usuarios_ativos", getGaugeValue("delivery.usuarios.ativos"));
+    metrics.put("produtos_estoque", getGaugeValue("delivery.produtos.estoque"));
+
+    // Métricas de cache, uma entrada por cache
+    metrics.put("caches", getCacheMetrics());
+
+    // Consultas ao banco, das mais custosas (tempo total) para as menos
+    metrics.put("banco", getDatabaseMetrics());
+
+    // Throughput e latência por endpoint no último intervalo
+    metrics.put("endpoints", getEndpointMetrics(agora));
+
+    // Orçamento de erros por rota, das mais próximas de estourar para as demais
+    metrics.put("slo", sloService.orcamentos());
+
+    // Janelas deslizantes e alertas
+    Map<String, Object> alertas = new HashMap<>();
+    alertas.put("ativos", alertService.getAtivos());
+    alertas.put("janelas", alertService.resumos());
+    metrics.put("alertas", alertas);
+
+    // Health status
+    metrics.put("health_status", "UP");
+    metrics.put("timestamp", Instant.now().toString());
+
+    snapshot = metrics;
+    snapshotNanos = agora;
+    return metrics;
+  }
+
+  private List<Map<String, Object>> getEndpointMetrics(long agora) {
+    Map<String, Acumulado> atuais = new HashMap<>();
+    for (Timer timer : meterRegistry.find("http.server.requests").timers()) {
+      String uri = timer.getId().getTag("uri");
+      if (uri == null || !uri.startsWith("/api/")) {
+        continue;
+      }
+      boolean erro = "SERVER_ERROR".equals(timer.getId().getTag("outcome"));
+      atuais.merge(timer.getId().getTag("method") + " " + uri,
+          new Acumulado(timer.count(), timer.totalTime(TimeUnit.MILLISECONDS), erro ? timer.count() : 0),
+          (a, b) -> new Acumulado(a.requisicoes() + b.requisicoes(), a.tempoMs() + b.tempoMs(),
+              a.erros() + b.erros()));
+    }
+
+    // Primeiro snapshot: sem base, o intervalo fica vazio
+    Map<String, Acumulado> base = anteriores != null ? anteriores : atuais;
+    double segundos = anteriores != null ? (agora - anteriorNanos) / 1e9 : 0;
+
+    List<Map<String, Object>> endpoints = new ArrayList<>();
+    atuais.forEach((nome, atual) -> {
+      Acumulado antes = base.getOrDefault(nome, new Acumulado(0, 0, 0));
+      long requisicoes = atual.requisicoes() - antes.requisicoes();
+      double tempoMs = atual.tempoMs() - antes.tempoMs();
+
+      Map<String, Object> endpoint = new HashMap<>();
+      endpoint.put("endpoint", nome);
+      endpoint.put("total", atual.requisicoes());
+      endpoint.put("requisicoes", requisicoes);
+      endpoint.put("por_segundo", segundos > 0 ? requisicoes / segundos : 0.0);
+      endpoint.put("media_ms", requisicoes > 0 ? tempoMs / requisicoes : 0.0);
+      endpoint.put("media_total_ms", atual.requisicoes() > 0 ? atual.tempoMs() / atual.requisicoes() : 0.0);
+      endpoint.put("erros", atual.erros() - antes.erros());
+      endpoints.add(endpoint);
+    });
+    // Mais requisições no intervalo primeiro; empate pelo total acumulado
+    endpoints.sort(Comparator.comparingDouble((Map<String, Object> e) -> (double) e.get("por_segundo"))
+        .thenComparingLong(e -> (long) e.get("total"))
+        .reversed());
+
+    anteriores = atuais;
+    anteriorNanos = agora;
+    return endpoints;
+  }
+
+  private Map<String, Object> getCacheMetrics() {
+    Map<String, Object> caches = new TreeMap<>();
+    Set<String> nomes = new TreeSet<>();
+    meterRegistry.find("delivery.cache.gets").counters().forEach(c -> nomes.add(c.getId().getTag("cache")));
+
+    for (String nome : nomes) {
+      double acertosL1 = getCacheCounter("delivery.cache.gets", nome, "nivel", "l1", "resultado", "hit");
+      double falhasL1 = getCacheCounter("delivery.cache.gets", nome, "nivel", "l1", "resultado", "miss");
+      double acertosL2 = getCacheCounter("delivery.cache.gets", nome, "nivel", "l2", "resultado", "hit");
+      double falhasL2 = getCacheCounter("delivery.cache.gets", nome, "nivel", "l2", "resultado", "miss");
+      double leituras = acertosL1 + falhasL1;
+
+      Map<String, Object> cache = new HashMap<>();
+      cache.put("hits_l1", acertosL1);
+      cache.put("hits_l2", acertosL2);
+      cache.put("misses", falhasL2);
+      cache.put("hit_ratio", leituras > 0 ? (acertosL1 + acertosL2) / leituras : 0.0);
+      cache.put("puts", getCacheCounter("delivery.cache.puts", nome));
+      cache.put("evictions", getCacheCounter("delivery.cache.evictions", nome));
+      cache.put("tempo_medio_carregamento", getCacheTimerMean("delivery.cache.carregamento.tempo", nome));
+      cache.put("tempo_medio_codificacao",
+          getCacheTimerMean("delivery.cache.serializacao.tempo", nome, "operacao", "codificar"));
+      cache.put("tempo_medio_decodificacao",
+          getCacheTimerMean("delivery.cache.serializacao.tempo", nome, "operacao", "decodificar"));
+      DistributionSummary tamanho = meterRegistry.find("delivery.cache.valor.tamanho").tag("cache", nome).summary();
+      cache.put("tamanho_medio_bytes", tamanho != null ? tamanho.mean() : 0.0);
+      Gauge entradasL1 = meterRegistry.find("delivery.cache.l1.tamanho").tag("cache", nome).gauge();
+      cache.put("entradas_l1", entradasL1 != null ? entradasL1.value() : 0.0);
+      caches.put(nome, cache);
+    }
+    return caches;
+  }
+
+  private Map<String, Object> getDatabaseMetrics() {
+    List<Timer> timers = new ArrayList<>(meterRegistry.find("delivery.database.consulta.tempo").timers());
+    timers.sort(Comparator.comparingDouble((Timer t) -> t.totalTime(TimeUnit.MILLISECONDS)).reversed());
+
+    List<Map<String, Object>> consultas = new ArrayList<>();
+    for (Timer timer : timers.subList(0, Math.min(MAXIMO_CONSULTAS_PAINEL, timers.size()))) {
+      Map<String, Object> consulta = new HashMap<>();
+      consulta.put("consulta", timer.getId().getTag("consulta"));
+      consulta.put("operacao", timer.getId().getTag("operacao"));
+      consulta.put("total", timer.count());
+      consulta.put("media_ms", timer.mean(TimeUnit.MILLISECONDS));
+      consulta.put("p95_ms", getHistogramPercentile(timer, 0.95));
+      consulta.put("max_ms", timer.max(TimeUnit.MILLISECONDS));
+      consultas.add(consulta);
+    }
+
+    Map<String, Object> banco = new HashMap<>();
+    banco.put("consultas", consultas);
+    banco.put("consultas_lentas", meterRegistry.find("delivery.database.consulta.lenta").counters().stream()
+        .mapToDouble(Counter::count)
+        .sum());
+    banco.put("hibernate", hibernateStatistics.resumo());
+    return banco;
+  }
+
+  /**
+   * Percentil estimado pelos buckets do histograma (contagens acumuladas da
+   * janela recente): limite superior do primeiro bucket que alcança a
+   * posição, como o histogram_quantile sem interpolação.
+   */
+  private static double getHistogramPercentile(Timer timer, double percentil) {
+    CountAtBucket[] buckets = timer.takeSnapshot().histogramCounts();
+    if (buckets.length == 0 || buckets[buckets.length - 1].count() == 0) {
+      return 0.0;
+    }
+    double posicao = Math.ceil(percentil * buckets[buckets.length - 1].count());
+    for (CountAtBucket bucket : buckets) {
+      if (bucket.count() >= posicao) {
+        return bucket.bucket(TimeUnit.MILLISECONDS);
+      }
+    }
+    return buckets[buckets.length - 1].bucket(TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Média ponderada de todas as séries do timer (todas as tags)
+   */
+  private double getTimersMean(String name) {
+    double total = 0.0;
+    long count = 0;
+    for (Timer timer : meterRegistry.find(name).timers()) {
+      total += timer.totalTime(TimeUnit.MILLISECONDS);
+      count += timer.count();
+    }
+    return count > 0 ? total / count : 0.0;
+  }
+
+  private double getCacheCounter(String name, String cache, String... tags) {
+    Counter counter = meterRegistry.find(name).tag("cache", cache).tags(tags).counter();
+    return counter != null ? counter.count() : 0.0;
+  }
+
+  private double getCacheTimerMean(String name, String cache, String... tags) {
+    Timer timer = meterRegistry.find(name).tag("cache", cache).tags(tags).timer();
+    return timer != null ? timer.mean(TimeUnit.MILLISECONDS) : 0.0;
+  }
+
+  private double getCounterValue(String name) {
+    Counter counter = meterRegistry.find(name).counter();
+    return counter != null ? counter.count() : 0.0;
+  }
+
+  private double getTimerMean(String name) {
+    Timer timer = meterRegistry.find(name).timer();
+    return timer != null ? timer.mean(TimeUnit.MILLISECONDS) : 0.0;
+  }
+
+  private double getGaugeValue(String name) {
+    Gauge gauge = meterRegistry.find(name).gauge();
+    return gauge != null ? gauge.value() : 0.0;
+  }
+}
@@ -3,6 +3,7 @@ package com.deliverytech.delivery_api.pedido.repository;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -32,6 +33,10 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
   // Buscar por número do pedido
   Pedido findByNumeroPedido(String numeroPedido);
 
+  // Só o id do cliente do pedido (checagem de dono, sem carregar a entidade)
+  @Query("SELECT p.usuario.id FROM Pedido p WHERE p.id = :pedidoId")
+  Optional<Long> findUsuarioIdById(@Param("pedidoId") Long pedidoId);
+
   // 10 pedidos mais recentes
   List<Pedido> findTop10ByOrderByDataPedidoDesc();
 
@@ -13,6 +13,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.deliverytech.delivery_api.auth.model.Usuario;
 import com.deliverytech.delivery_api.auth.repository.UsuarioRepository;
@@ -20,7 +22,10 @@ import com.deliverytech.delivery_api.common.exceptions.BusinessException;
 import com.deliverytech.delivery_api.common.exceptions.EntityNotFoundException;
 import com.deliverytech.delivery_api.common.exceptions.InactiveEntityException;
 import com.deliverytech.delivery_api.common.exceptions.OrderStatusException;
+import com.deliverytech.delivery_api.common.monitoring.jfr.PedidoCriacaoEvent;
+import com.deliverytech.delivery_api.common.monitoring.jfr.PedidoEtapaEvent;
 import com.deliverytech.delivery_api.common.monitoring.metrics.MetricsService;
+import com.deliverytech.delivery_api.common.security.OwnershipResolver;
 import com.deliverytech.delivery_api.common.security.SecurityUtils;
 import com.deliverytech.delivery_api.pedido.dto.PedidoDTO;
 import com.deliverytech.delivery_api.pedido.dto.PedidoFiltroDTO;
@@ -35,6 +40,7 @@ import com.deliverytech.delivery_api.produto.repository.ProdutoRepository;
 import com.deliverytech.delivery_api.restaurante.model.Restaurante;
 import com.deliverytech.delivery_api.restaurante.repository.RestauranteRepository;
 
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -60,6 +66,7 @@ public class PedidoServiceImpl implements PedidoService {
   private final ProdutoRepository produtoRepository;
   private final MetricsService metricsService;
   private final ModelMapper modelMapper;
+  private final OwnershipResolver ownershipResolver;
 
   // ==================== MÉTODOS PÚBLICOS ====================
 
@@ -79,18 +86,28 @@ public class PedidoServiceImpl implements PedidoService {
   @Override
   @Transactional(isolation = Isolation.REPEATABLE_READ)
   public PedidoResponseDTO criarPedido(PedidoDTO dto) {
-    log.info("Iniciando criação de pedido para usuário ID: {} e restaurante ID: {}",
+    // Um INFO por pedido basta (o de sucesso); o início só interessa em DEBUG
+    log.debug("Iniciando criação de pedido para usuário ID: {} e restaurante ID: {}",
         dto.getUsuarioId(), dto.getRestauranteId());
 
+    metricsService.incrementarPedidosProcessados();
+    Timer.Sample timer = metricsService.iniciarTimerPedido();
+    // Eventos JFR: só custam algo com uma gravação ativa (/actuator/jfr)
+    PedidoCriacaoEvent criacao = new PedidoCriacaoEvent();
+    criacao.begin();
+    PedidoEtapaEvent etapa = iniciarEtapa("busca_usuario");
     try {
       // 1. Validar e buscar entidades
       Usuario usuario = validarEBuscarUsuario(dto.getUsuarioId());
+      etapa = proximaEtapa(etapa, "busca_restaurante");
       Restaurante restaurante = validarEBuscarRestaurante(dto.getRestauranteId());
 
       // 2. Processar itens do pedido
+      etapa = proximaEtapa(etapa, "itens");
       List<PedidoItem> itensPedido = processarItensPedido(dto.getItens(), restaurante.getId());
 
       // 3. Calcular valores do pedido
+      etapa = proximaEtapa(etapa, "precificacao");
       BigDecimal subtotal = calcularSubtotal(itensPedido);
       BigDecimal taxaEntrega = restaurante.getTaxaEntrega();
       BigDecimal valorTotal = subtotal.add(taxaEntrega);
@@ -99,22 +116,43 @@ public class PedidoServiceImpl implements PedidoService {
       Pedido pedido = construirPedido(dto, usuario, restaurante, subtotal, taxaEntrega, valorTotal);
 
       // 5. Salvar pedido
+      etapa = proximaEtapa(etapa, "gravacao");
       Pedido pedidoSalvo = pedidoRepository.save(pedido);
 
       // 6. Associar itens ao pedido
       associarItensPedido(pedidoSalvo, itensPedido);
 
-      // 7. Atualizar métricas
-      metricsService.incrementarPedidosComSucesso();
+      // 7. Atualizar métricas após o commit, como a auditoria do INSERT (EntityChangeListener)
+      etapa = proximaEtapa(etapa, "registro");
+      aposCommit(() -> {
+        metricsService.incrementarPedidosComSucesso();
+        metricsService.adicionarReceita(valorTotal.doubleValue());
+      });
 
       log.info("Pedido criado com sucesso. ID: {} | Número: {} | Valor: R$ {}",
           pedidoSalvo.getId(), pedidoSalvo.getNumeroPedido(), valorTotal);
 
-      return converterParaDTO(pedidoSalvo);
+      etapa = proximaEtapa(etapa, "mapeamento");
+      PedidoResponseDTO resposta = converterParaDTO(pedidoSalvo);
+      concluirEtapa(etapa, true);
+      criacao.pedidoId = pedidoSalvo.getId() != null ? pedidoSalvo.getId() : 0;
+      criacao.sucesso = true;
+      return resposta;
 
     } catch (Exception e) {
+      concluirEtapa(etapa, false);
+      metricsService.incrementarPedidosComErro();
       log.error("Erro ao criar pedido: {}", e.getMessage(), e);
       throw e;
+    } finally {
+      metricsService.finalizarTimerPedido(timer);
+      criacao.end();
+      if (criacao.shouldCommit()) {
+        criacao.usuarioId = dto.getUsuarioId() != null ? dto.getUsuarioId() : 0;
+        criacao.restauranteId = dto.getRestauranteId() != null ? dto.getRestauranteId() : 0;
+        criacao.itens = dto.getItens() != null ? dto.getItens().size() : 0;
+        criacao.commit();
+      }
     }
   }
 
@@ -280,10 +318,7 @@ public class PedidoServiceImpl implements PedidoService {
   @Override
   @Transactional(readOnly = true)
   public boolean isOwner(Long pedidoId) {
-    Long usuarioId = SecurityUtils.getCurrentUserId();
-    Pedido pedido = buscarPedidoOuLancarExcecao(pedidoId);
-
-    return pedido.getUsuario().getId().equals(usuarioId);
+    return ownershipResolver.donoDoPedido(pedidoId);
   }
 
   // ==================== MÉTODOS PRIVADOS - VALIDAÇÃO ====================
@@ -499,6 +534,47 @@ public class PedidoServiceImpl implements PedidoService {
     return status == PedidoStatus.PENDENTE || status == PedidoStatus.CONFIRMADO;
   }
 
+  // ==================== MÉTODOS PRIVADOS - TRANSAÇÃO ====================
+
+  /**
+   * Executa a ação só se a transação atual confirmar (pedido que falha no
+   * commit não conta como sucesso nem receita); sem transação, na hora.
+   */
+  private static void aposCommit(Runnable acao) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      acao.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        acao.run();
+      }
+    });
+  }
+
+  // ==================== MÉTODOS PRIVADOS - EVENTOS JFR ====================
+
+  private static PedidoEtapaEvent iniciarEtapa(String nome) {
+    PedidoEtapaEvent etapa = new PedidoEtapaEvent();
+    etapa.etapa = nome;
+    etapa.begin();
+    return etapa;
+  }
+
+  /**
+   * Encerra a etapa atual (com sucesso) e abre a seguinte
+   */
+  private static PedidoEtapaEvent proximaEtapa(PedidoEtapaEvent atual, String nome) {
+    concluirEtapa(atual, true);
+    return iniciarEtapa(nome);
+  }
+
+  private static void concluirEtapa(PedidoEtapaEvent etapa, boolean sucesso) {
+    etapa.sucesso = sucesso;
+    etapa.commit();
+  }
+
   // ==================== MÉTODOS PRIVADOS - CONVERSÃO ====================
 
   /**
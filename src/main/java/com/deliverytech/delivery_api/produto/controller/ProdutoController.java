@@ -1,5 +1,7 @@
 package com.deliverytech.delivery_api.produto.controller;
 
+import java.util.List;
+
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -17,6 +19,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.deliverytech.delivery_api.common.dto.ApiResponseWrapper;
@@ -72,6 +75,19 @@ public class ProdutoController {
     return ResponseEntity.ok(response);
   }
 
+  @Operation(summary = "Buscar produtos por IDs", description = "Retorna vários produtos em uma única chamada (ids inexistentes são ignorados)")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Produtos encontrados"),
+      @ApiResponse(responseCode = "400", description = "Quantidade de ids acima do limite", content = @Content)
+  })
+  @GetMapping(value = "/produtos", params = "ids")
+  public ResponseEntity<ApiResponseWrapper<List<ProdutoResponseDTO>>> buscarPorIds(@RequestParam List<Long> ids) {
+    List<ProdutoResponseDTO> produtos = produtoService.buscarPorIds(ids);
+    ApiResponseWrapper<List<ProdutoResponseDTO>> response = new ApiResponseWrapper<>(true, produtos,
+        "Produtos encontrados com sucesso");
+    return ResponseEntity.ok(response);
+  }
+
   @Operation(summary = "Listar produtos por restaurante", description = "Retorna todos os produtos disponíveis de um restaurante")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Lista de produtos retornada com sucesso"),
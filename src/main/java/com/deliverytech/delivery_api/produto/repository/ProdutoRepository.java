@@ -2,9 +2,11 @@ package com.deliverytech.delivery_api.produto.repository;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,6 +17,11 @@ import com.deliverytech.delivery_api.restaurante.model.Restaurante;
 
 @Repository
 public interface ProdutoRepository extends JpaRepository<Produto, Long> {
+  // Busca em lote já trazendo o restaurante (evita uma consulta por produto)
+  @Override
+  @EntityGraph(attributePaths = "restaurante")
+  List<Produto> findAllById(Iterable<Long> ids);
+
   // Buscar produtos por restaurante
   Page<Produto> findByRestauranteAndDisponivelTrue(Restaurante restaurante, Pageable pageable);
 
@@ -60,11 +67,9 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
       @Param("restauranteId") Long restauranteId,
       Pageable pageable);
 
-  // Verifica se usuário é dono do produto
-  @Query("SELECT CASE WHEN COUNT(p) > 0 THEN true ELSE false END " +
-      "FROM Produto p JOIN p.restaurante r JOIN r.usuarios u " +
-      "WHERE p.id = :produtoId AND u.id = :usuarioId")
-  boolean isOwner(@Param("produtoId") Long produtoId, @Param("usuarioId") Long usuarioId);
+  // Só o id do restaurante do produto (checagem de dono, sem carregar a entidade)
+  @Query("SELECT p.restaurante.id FROM Produto p WHERE p.id = :produtoId")
+  Optional<Long> findRestauranteIdById(@Param("produtoId") Long produtoId);
 
   // Query customizada - produtos mais vendidos
   @Query("SELECT p FROM Produto p JOIN p.itensPedido ip " +
@@ -1,6 +1,7 @@
 package com.deliverytech.delivery_api.produto.service;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -21,6 +22,11 @@ public interface ProdutoService {
    */
   ProdutoResponseDTO buscarProdutoPorId(Long id);
 
+  /**
+   * Buscar vários produtos por ID (ids inexistentes são ignorados)
+   */
+  List<ProdutoResponseDTO> buscarPorIds(List<Long> ids);
+
   /**
    * Listar produtos por restaurante
    */
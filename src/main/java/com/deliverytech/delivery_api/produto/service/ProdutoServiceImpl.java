@@ -1,21 +1,29 @@
 package com.deliverytech.delivery_api.produto.service;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.deliverytech.delivery_api.common.cache.CacheBatchLoader;
+import com.deliverytech.delivery_api.common.cache.NegativeLookupCache;
 import com.deliverytech.delivery_api.common.exceptions.ConflictException;
 import com.deliverytech.delivery_api.common.exceptions.EntityNotFoundException;
 import com.deliverytech.delivery_api.common.exceptions.InactiveEntityException;
 import com.deliverytech.delivery_api.common.exceptions.ValidationException;
+import com.deliverytech.delivery_api.common.security.OwnershipResolver;
 import com.deliverytech.delivery_api.common.security.SecurityUtils;
 import com.deliverytech.delivery_api.produto.dto.ProdutoDTO;
 import com.deliverytech.delivery_api.produto.dto.ProdutoFiltroDTO;
@@ -44,8 +52,21 @@ public class ProdutoServiceImpl implements ProdutoService {
   @Autowired
   private ModelMapper modelMapper;
 
+  @Autowired
+  private NegativeLookupCache ausentes;
+
+  @Autowired
+  private CacheBatchLoader cacheEmLote;
+
+  @Autowired
+  private OwnershipResolver ownershipResolver;
+
+  @Autowired
+  private CacheManager cacheManager;
+
   @Override
   @Transactional
+  @CacheEvict(value = "cardapios", key = "#produtoDTO.restauranteId")
   public ProdutoResponseDTO cadastrarProduto(ProdutoDTO produtoDTO) {
     log.info("Iniciando a criação de produto {} para o restaurante ID: {}", produtoDTO.getNome(),
         produtoDTO.getRestauranteId());
@@ -82,6 +103,7 @@ public class ProdutoServiceImpl implements ProdutoService {
     produto.setDisponivel(produtoDTO.isDisponivel());
 
     Produto produtoSalvo = produtoRepository.save(produto);
+    ausentes.remover("produtos", produtoSalvo.getId());
 
     // auditService.logUserAction(
     //     SecurityUtils.getCurrentUserId(),
@@ -98,14 +120,28 @@ public class ProdutoServiceImpl implements ProdutoService {
 
   @Override
   @Transactional(readOnly = true)
-  @Cacheable(value = "produtos", key = "#id")
+  @Cacheable(value = "produtos", key = "#id", sync = true)
   public ProdutoResponseDTO buscarProdutoPorId(Long id) {
+    if (ausentes.isAusente("produtos", id)) {
+      throw new EntityNotFoundException("Produto", id);
+    }
+
     Produto produto = produtoRepository.findById(id)
-        .orElseThrow(() -> new EntityNotFoundException("Produto", id));
+        .orElseThrow(() -> {
+          ausentes.registrarAusente("produtos", id);
+          return new EntityNotFoundException("Produto", id);
+        });
 
     return converterParaResponseDTO(produto);
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public List<ProdutoResponseDTO> buscarPorIds(List<Long> ids) {
+    return cacheEmLote.buscarVarios("produtos", ids, faltas -> produtoRepository.findAllById(faltas).stream()
+        .collect(Collectors.toMap(Produto::getId, this::converterParaResponseDTO)));
+  }
+
   @Override
   @Transactional(readOnly = true)
   public Page<ProdutoResponseDTO> listarPorRestaurante(Long restauranteId, Pageable pageable) {
@@ -146,7 +182,10 @@ public class ProdutoServiceImpl implements ProdutoService {
 
   @Override
   @Transactional
-  @CacheEvict(value = "produtos", key = "#id")
+  @Caching(evict = {
+      @CacheEvict(value = "produtos", key = "#id"),
+      @CacheEvict(value = "cardapios", key = "#result.restauranteId")
+  })
   public ProdutoResponseDTO atualizarProduto(Long id, ProdutoDTO produtoDTO) {
     // 1. Buscar produto existente
     Produto produto = produtoRepository.findById(id)
@@ -185,7 +224,10 @@ public class ProdutoServiceImpl implements ProdutoService {
 
   @Override
   @Transactional
-  @CacheEvict(value = "produtos", key = "#id")
+  @Caching(evict = {
+      @CacheEvict(value = "produtos", key = "#id"),
+      @CacheEvict(value = "cardapios", key = "#result.restauranteId")
+  })
   public ProdutoResponseDTO alterarDisponibilidade(Long id, boolean disponivel) {
     Produto produto = produtoRepository.findById(id)
         .orElseThrow(() -> new EntityNotFoundException("Produto", id));
@@ -223,14 +265,19 @@ public class ProdutoServiceImpl implements ProdutoService {
     Produto produto = produtoRepository.findById(id)
         .orElseThrow(() -> new EntityNotFoundException("Produto", id));
     produtoRepository.delete(produto);
+
+    // Sem #result (void): evicta o cardápio do restaurante do produto (aplicado após o commit)
+    Cache cardapios = cacheManager.getCache("cardapios");
+    if (cardapios != null) {
+      cardapios.evict(produto.getRestaurante().getId());
+    }
+    ausentes.registrarExclusao("produtos", id);
+    ownershipResolver.removerProduto(id);
   }
 
   @Override
   public boolean isOwner(Long produtoId) {
-    Long usuarioId = SecurityUtils.getCurrentUserId();
-    if (usuarioId == null)
-      return false;
-    return produtoRepository.isOwner(produtoId, usuarioId);
+    return ownershipResolver.donoDoProduto(produtoId);
   }
 
   // ==================== MÉTODOS AUXILIARES ====================
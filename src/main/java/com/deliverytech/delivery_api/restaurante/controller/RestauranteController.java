@@ -1,5 +1,7 @@
 package com.deliverytech.delivery_api.restaurante.controller;
 
+import java.util.List;
+
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -16,6 +18,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.deliverytech.delivery_api.common.dto.ApiResponseWrapper;
@@ -84,6 +87,20 @@ public class RestauranteController {
     return ResponseEntity.ok(response);
   }
 
+  // GET /api/restaurantes?ids=1,2,3 - Vários por ID
+  @Operation(summary = "Buscar restaurantes por IDs", description = "Retorna vários restaurantes em uma única chamada (ids inexistentes são ignorados)")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Restaurantes encontrados"),
+      @ApiResponse(responseCode = "400", description = "Quantidade de ids acima do limite")
+  })
+  @GetMapping(params = "ids")
+  public ResponseEntity<ApiResponseWrapper<List<RestauranteResponseDTO>>> buscarPorIds(@RequestParam List<Long> ids) {
+    List<RestauranteResponseDTO> restaurantes = restauranteService.buscarPorIds(ids);
+    ApiResponseWrapper<List<RestauranteResponseDTO>> response = new ApiResponseWrapper<>(true, restaurantes,
+        "Restaurantes encontrados");
+    return ResponseEntity.ok(response);
+  }
+
   // GET /api/restaurantes - Listar disponíveis
   @Operation(summary = "Listar restaurantes disponíveis", description = "Retorna todos os restaurantes que estão disponíveis para receber pedidos")
   @GetMapping
@@ -44,9 +44,6 @@ public interface RestauranteRepository extends JpaRepository<Restaurante, Long>
   // Top 5 restaurantes por nome (ordem alfabética)
   Page<Restaurante> findTop5ByOrderByNomeAsc(Pageable pageable);
 
-  // Verificar se o usuário é dono ou associado do restaurante
-  boolean existsByIdAndUsuarios_Id(Long restauranteId, Long usuarioId);
-
   // Query customizada - restaurantes com produtos
   @Query("SELECT DISTINCT r FROM Restaurante r JOIN r.produtos p WHERE r.ativo = true")
   List<Restaurante> findRestaurantesComProdutos();
@@ -1,5 +1,7 @@
 package com.deliverytech.delivery_api.restaurante.service;
 
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -21,6 +23,11 @@ public interface RestauranteService {
    */
   RestauranteResponseDTO buscarPorId(Long id);
 
+  /**
+   * Buscar vários restaurantes por ID (ids inexistentes são ignorados)
+   */
+  List<RestauranteResponseDTO> buscarPorIds(List<Long> ids);
+
   /**
    * Buscar restaurante por nome
    * @return Lista de RestauranteResponseDTO
@@ -6,16 +6,21 @@ import java.util.stream.Collectors;
 
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.deliverytech.delivery_api.common.cache.CacheBatchLoader;
+import com.deliverytech.delivery_api.common.cache.NegativeLookupCache;
 import com.deliverytech.delivery_api.common.exceptions.ConflictException;
 import com.deliverytech.delivery_api.common.exceptions.EntityNotFoundException;
 import com.deliverytech.delivery_api.common.exceptions.ValidationException;
-import com.deliverytech.delivery_api.common.security.SecurityUtils;
+import com.deliverytech.delivery_api.common.security.OwnershipResolver;
 import com.deliverytech.delivery_api.produto.dto.ProdutoResponseDTO;
 import com.deliverytech.delivery_api.produto.model.Produto;
 import com.deliverytech.delivery_api.produto.repository.ProdutoRepository;
@@ -37,6 +42,15 @@ public class RestauranteServiceImpl implements RestauranteService {
   @Autowired
   private ModelMapper modelMapper;
 
+  @Autowired
+  private NegativeLookupCache ausentes;
+
+  @Autowired
+  private CacheBatchLoader cacheEmLote;
+
+  @Autowired
+  private OwnershipResolver ownershipResolver;
+
   @Override
   @Transactional
   public RestauranteResponseDTO cadastrar(RestauranteDTO restauranteDTO) {
@@ -66,19 +80,28 @@ public class RestauranteServiceImpl implements RestauranteService {
     restaurante.setAtivo(true);
 
     Restaurante restauranteSalvo = restauranteRepository.save(restaurante);
+    ausentes.remover("restaurantes", restauranteSalvo.getId());
 
     return converterParaResponseDTO(restauranteSalvo);
   }
 
   @Override
   @Transactional(readOnly = true)
+  @Cacheable(value = "restaurantes", key = "#id", sync = true)
   public RestauranteResponseDTO buscarPorId(Long id) {
-    Restaurante restaurante = restauranteRepository.findById(id)
-        .orElseThrow(() -> new EntityNotFoundException("Restaurante", id));
+    Restaurante restaurante = buscarExistente(id);
 
     return converterParaResponseDTO(restaurante);
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public List<RestauranteResponseDTO> buscarPorIds(List<Long> ids) {
+    return cacheEmLote.buscarVarios("restaurantes", ids, faltas -> restauranteRepository.findAllById(faltas)
+        .stream()
+        .collect(Collectors.toMap(Restaurante::getId, this::converterParaResponseDTO)));
+  }
+
   @Override
   @Transactional(readOnly = true)
   public Page<RestauranteResponseDTO> listarDisponiveis(Pageable pageable) {
@@ -100,6 +123,10 @@ public class RestauranteServiceImpl implements RestauranteService {
 
   @Override
   @Transactional
+  @Caching(evict = {
+      @CacheEvict(value = "restaurantes", key = "#id"),
+      @CacheEvict(value = "cardapios", key = "#id")
+  })
   public RestauranteResponseDTO atualizar(Long id, RestauranteDTO restauranteDTO) {
     // 1. Buscar restaurante existente
     Restaurante restaurante = restauranteRepository.findById(id)
@@ -127,6 +154,10 @@ public class RestauranteServiceImpl implements RestauranteService {
 
   @Override
   @Transactional
+  @Caching(evict = {
+      @CacheEvict(value = "restaurantes", key = "#id"),
+      @CacheEvict(value = "cardapios", key = "#id")
+  })
   public RestauranteResponseDTO alterarStatus(Long id, boolean ativo) {
     Restaurante restaurante = restauranteRepository.findById(id)
         .orElseThrow(() -> new EntityNotFoundException("Restaurante", id));
@@ -145,6 +176,10 @@ public class RestauranteServiceImpl implements RestauranteService {
 
   @Override
   @Transactional
+  @Caching(evict = {
+      @CacheEvict(value = "restaurantes", key = "#id"),
+      @CacheEvict(value = "cardapios", key = "#id")
+  })
   public RestauranteResponseDTO alterarStatus(Long id) {
     Restaurante r = restauranteRepository.findById(id)
         .orElseThrow(() -> new EntityNotFoundException("Restaurante", id));
@@ -209,9 +244,9 @@ public class RestauranteServiceImpl implements RestauranteService {
 
   @Override
   @Transactional(readOnly = true)
+  @Cacheable(value = "cardapios", key = "#id", sync = true)
   public RestauranteResponseDTO buscarComProdutos(Long id) {
-    Restaurante restaurante = restauranteRepository.findById(id)
-        .orElseThrow(() -> new EntityNotFoundException("Restaurante", id));
+    Restaurante restaurante = buscarExistente(id);
 
     RestauranteResponseDTO response = converterParaResponseDTO(restaurante);
 
@@ -234,6 +269,21 @@ public class RestauranteServiceImpl implements RestauranteService {
 
   // ==================== MÉTODOS AUXILIARES ====================
 
+  /**
+   * Busca por id consultando antes o cache negativo de ids inexistentes
+   */
+  private Restaurante buscarExistente(Long id) {
+    if (ausentes.isAusente("restaurantes", id)) {
+      throw new EntityNotFoundException("Restaurante", id);
+    }
+
+    return restauranteRepository.findById(id)
+        .orElseThrow(() -> {
+          ausentes.registrarAusente("restaurantes", id);
+          return new EntityNotFoundException("Restaurante", id);
+        });
+  }
+
   private void validarDadosRestaurante(RestauranteDTO restauranteDTO) {
     if (restauranteDTO.getNome() == null || restauranteDTO.getNome().trim().isEmpty()) {
       throw new ValidationException("Nome do restaurante é obrigatório");
@@ -290,9 +340,6 @@ public class RestauranteServiceImpl implements RestauranteService {
 
   @Override
   public boolean isOwner(Long restauranteId) {
-    Long usuarioId = SecurityUtils.getCurrentUserId();
-    if (usuarioId == null)
-      return false;
-    return restauranteRepository.existsByIdAndUsuarios_Id(restauranteId, usuarioId);
+    return ownershipResolver.donoDoRestaurante(restauranteId);
   }
 }
\ No newline at end of file
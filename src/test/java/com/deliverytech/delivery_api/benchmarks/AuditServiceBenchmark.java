@@ -0,0 +1,85 @@
+package com.deliverytech.delivery_api.benchmarks;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.deliverytech.delivery_api.common.monitoring.audit.AuditService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Custo da auditoria na thread da requisição (ex.: login).
+ *
+ * - antes: HashMap + ObjectMapper.writeValueAsString na própria thread (sem
+ * contar a escrita do logger, que o caminho anterior também pagava)
+ * - depois: AuditService publicando no ring buffer; o escritor drena para um
+ * sink que descarta
+ *
+ * Executar com: mvn -Pbenchmark test -Djmh.filtro=AuditServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(2)
+@Fork(1)
+public class AuditServiceBenchmark {
+
+  @Param({ "antes", "depois" })
+  private String implementacao;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private AuditService auditService;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    auditService = new AuditService(lote -> {
+    }, new SimpleMeterRegistry(), 8192, 256, Duration.ofMillis(200), "descartar", Duration.ofMillis(5),
+        Duration.ofSeconds(5));
+    auditService.iniciar();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    auditService.encerrar();
+  }
+
+  @Benchmark
+  public void auditarLogin(Blackhole blackhole) throws Exception {
+    if ("antes".equals(implementacao)) {
+      Map<String, Object> securityEvent = new HashMap<>();
+      securityEvent.put("timestamp", LocalDateTime.now().toString());
+      securityEvent.put("userId", "42");
+      securityEvent.put("event", "LOGIN");
+      securityEvent.put("details", null);
+      securityEvent.put("success", true);
+      securityEvent.put("correlationId", "0123456789abcdef");
+      securityEvent.put("ipAddress", "203.0.113.7");
+      securityEvent.put("userAgent", "Mozilla/5.0");
+      blackhole.consume(objectMapper.writeValueAsString(securityEvent));
+    } else {
+      auditService.logSecurityEvent("42", "LOGIN", null, true);
+    }
+  }
+}
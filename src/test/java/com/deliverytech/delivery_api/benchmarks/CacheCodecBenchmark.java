@@ -0,0 +1,116 @@
+package com.deliverytech.delivery_api.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import com.deliverytech.delivery_api.common.cache.CacheEntry;
+import com.deliverytech.delivery_api.common.cache.codec.CodecRedisSerializer;
+import com.deliverytech.delivery_api.common.cache.codec.CompressingCacheValueCodec;
+import com.deliverytech.delivery_api.common.cache.codec.JsonCacheValueCodec;
+import com.deliverytech.delivery_api.common.cache.codec.SmileCacheValueCodec;
+import com.deliverytech.delivery_api.common.config.JacksonConfig;
+import com.deliverytech.delivery_api.produto.dto.ProdutoResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compara o serializer JSON original do cache com os codecs novos.
+ *
+ * Executar com: mvn -Pbenchmark test -Djmh.filtro=CacheCodecBenchmark
+ *
+ * Os tamanhos em bytes de cada formato são impressos no início de cada trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheCodecBenchmark {
+
+  /**
+   * produto: uma entrada de buscarProdutoPorId; cardapio: 80 produtos de um restaurante
+   */
+  @Param({ "produto", "cardapio" })
+  private String valor;
+
+  /**
+   * json: GenericJackson2JsonRedisSerializer como estava no RedisConfig (sem cabeçalho)
+   */
+  @Param({ "json", "json+deflate", "smile", "smile+deflate" })
+  private String formato;
+
+  private RedisSerializer<Object> serializer;
+  private Object entrada;
+  private byte[] codificado;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    ObjectMapper baseMapper = new JacksonConfig().objectMapper();
+    JsonCacheValueCodec json = new JsonCacheValueCodec(baseMapper);
+
+    serializer = switch (formato) {
+      case "json" -> new CodecRedisSerializer(json);
+      case "json+deflate" -> new CodecRedisSerializer(new CompressingCacheValueCodec(json, json, 1024));
+      case "smile" -> new CodecRedisSerializer(
+          new CompressingCacheValueCodec(new SmileCacheValueCodec(), json, Integer.MAX_VALUE));
+      case "smile+deflate" -> new CodecRedisSerializer(
+          new CompressingCacheValueCodec(new SmileCacheValueCodec(), json, 1024));
+      default -> throw new IllegalArgumentException(formato);
+    };
+
+    long agora = System.currentTimeMillis();
+    Object dados = "cardapio".equals(valor) ? cardapio(80) : produto(1L);
+    entrada = new CacheEntry(dados, agora, agora + 3_600_000L, 15L);
+    codificado = serializer.serialize(entrada);
+
+    System.out.printf("%n[tamanho] valor=%s formato=%s bytes=%d%n", valor, formato, codificado.length);
+  }
+
+  @Benchmark
+  public byte[] codificar() {
+    return serializer.serialize(entrada);
+  }
+
+  @Benchmark
+  public Object decodificar() {
+    return serializer.deserialize(codificado);
+  }
+
+  private static List<ProdutoResponseDTO> cardapio(int quantidade) {
+    List<ProdutoResponseDTO> produtos = new ArrayList<>(quantidade);
+    for (long id = 1; id <= quantidade; id++) {
+      produtos.add(produto(id));
+    }
+    return produtos;
+  }
+
+  private static ProdutoResponseDTO produto(long id) {
+    ProdutoResponseDTO dto = new ProdutoResponseDTO();
+    dto.setId(id);
+    dto.setNome("Pizza Margherita " + id);
+    dto.setDescricao("Molho de tomate, mussarela de búfala e manjericão fresco");
+    dto.setPreco(new BigDecimal("45.90"));
+    dto.setCategoria("Pizza");
+    dto.setRestauranteId(1L);
+    dto.setRestauranteNome("Pizzaria Bella");
+    dto.setImagemUrl("https://cdn.deliverytech.com/produtos/" + id + ".jpg");
+    dto.setDisponivel(true);
+    return dto;
+  }
+}
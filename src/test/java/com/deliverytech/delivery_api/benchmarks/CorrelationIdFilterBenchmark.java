@@ -0,0 +1,123 @@
+package com.deliverytech.delivery_api.benchmarks;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.deliverytech.delivery_api.common.monitoring.filters.CorrelationIdFilter;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Custo do CorrelationIdFilter por requisição.
+ *
+ * - antes: filtro anterior (UUID.randomUUID, seis entradas no MDC e
+ * getSession(), que cria uma sessão por requisição)
+ * - depois: RequestContext com id do ThreadLocalRandom, só o correlation id
+ * no MDC e sem sessão
+ * - base: sem filtro, só a requisição mock (descontar dos outros dois)
+ *
+ * A requisição mock é criada a cada operação. A sessão mock é mais leve que
+ * a do Tomcat, então "antes" subestima o custo real da sessão.
+ *
+ * Executar com: mvn -Pbenchmark test -Djmh.filtro=CorrelationIdFilterBenchmark
+ * A alocação por requisição (gc.alloc.rate.norm) sai com o profiler de GC:
+ * java -cp <classpath de teste> org.openjdk.jmh.Main CorrelationIdFilterBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CorrelationIdFilterBenchmark {
+
+  private static final FilterChain CADEIA = (request, response) -> {
+  };
+
+  @Param({ "base", "antes", "depois" })
+  private String implementacao;
+
+  private Filter filtro;
+
+  @Setup
+  public void setup() {
+    filtro = switch (implementacao) {
+      case "antes" -> new CorrelationIdFilterAnterior();
+      case "depois" -> new CorrelationIdFilter();
+      default -> (request, response, chain) -> chain.doFilter(request, response);
+    };
+  }
+
+  @Benchmark
+  public MockHttpServletResponse filtrar() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/restaurantes/1");
+    request.addHeader("User-Agent", "Mozilla/5.0");
+    request.setRemoteAddr("203.0.113.7");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    filtro.doFilter(request, response, CADEIA);
+    return response;
+  }
+
+  /**
+   * Cópia do filtro antes do RequestContext
+   */
+  static class CorrelationIdFilterAnterior implements Filter {
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+        throws IOException, ServletException {
+      HttpServletRequest httpRequest = (HttpServletRequest) request;
+      HttpServletResponse httpResponse = (HttpServletResponse) response;
+      try {
+        String correlationId = httpRequest.getHeader("X-Correlation-ID");
+        if (correlationId == null || correlationId.trim().isEmpty()) {
+          correlationId = UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+        }
+        MDC.put("correlationId", correlationId);
+        MDC.put("clientIp", ipAnterior(httpRequest));
+        MDC.put("userAgent", httpRequest.getHeader("User-Agent"));
+        MDC.put("sessionId", httpRequest.getSession().getId());
+        MDC.put("requestUri", httpRequest.getRequestURI());
+        MDC.put("httpMethod", httpRequest.getMethod());
+        httpResponse.setHeader("X-Correlation-ID", correlationId);
+        chain.doFilter(request, response);
+      } finally {
+        MDC.clear();
+      }
+    }
+
+    private static String ipAnterior(HttpServletRequest request) {
+      String xForwardedFor = request.getHeader("X-Forwarded-For");
+      if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
+        return xForwardedFor.split(",")[0].trim();
+      }
+      String xRealIp = request.getHeader("X-Real-IP");
+      if (xRealIp != null && !xRealIp.isEmpty()) {
+        return xRealIp;
+      }
+      return request.getRemoteAddr();
+    }
+  }
+}
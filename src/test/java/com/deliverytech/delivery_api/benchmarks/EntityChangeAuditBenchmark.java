@@ -0,0 +1,128 @@
+package com.deliverytech.delivery_api.benchmarks;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import com.deliverytech.delivery_api.common.monitoring.audit.AuditService;
+import com.deliverytech.delivery_api.common.monitoring.audit.EntityChangeListener;
+import com.deliverytech.delivery_api.produto.model.Produto;
+import com.deliverytech.delivery_api.restaurante.model.Restaurante;
+import com.deliverytech.delivery_api.utils.base.H2SessionFactory;
+import com.deliverytech.delivery_api.utils.factories.EntityFactory;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Custo da auditoria de alterações no caminho de update (alterar o preço de
+ * um produto em uma transação, H2 em memória).
+ *
+ * - sem_auditoria: só o update
+ * - listener: EntityChangeListener, diff a partir do estado do Hibernate
+ * - releitura: abordagem ingênua, relê a linha em outra sessão antes do
+ * commit e compara campo a campo
+ *
+ * Executar com: mvn -Pbenchmark test -Djmh.filtro=EntityChangeAuditBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityChangeAuditBenchmark {
+
+  @Param({ "sem_auditoria", "listener", "releitura" })
+  private String implementacao;
+
+  private SessionFactoryImplementor sessionFactory;
+  private AuditService auditService;
+  private Long produtoId;
+  private long versao;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    // Sem logback-test.xml o padrão é DEBUG: o log do Hibernate dominaria a medição
+    ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME))
+        .setLevel(ch.qos.logback.classic.Level.WARN);
+
+    auditService = new AuditService(lote -> {
+    }, new SimpleMeterRegistry(), 8192, 256, Duration.ofMillis(200), "descartar", Duration.ZERO,
+        Duration.ofSeconds(5));
+    auditService.iniciar();
+
+    sessionFactory = H2SessionFactory.criar("benchmark_auditoria");
+    if ("listener".equals(implementacao)) {
+      new EntityChangeListener(auditService, null, true, Set.of("Produto")).registrar(sessionFactory);
+    }
+
+    Restaurante restaurante = EntityFactory.criarRestaurante();
+    Produto produto = EntityFactory.criarProduto(restaurante);
+    sessionFactory.inTransaction(session -> {
+      session.persist(restaurante);
+      session.persist(produto);
+    });
+    produtoId = produto.getId();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    sessionFactory.close();
+    auditService.encerrar();
+  }
+
+  @Benchmark
+  public void atualizarPreco() {
+    BigDecimal novoPreco = BigDecimal.valueOf(10 + (versao++ % 1000), 2);
+    sessionFactory.inTransaction(session -> {
+      Produto produto = session.find(Produto.class, produtoId);
+      produto.setPreco(novoPreco);
+      if ("releitura".equals(implementacao)) {
+        auditarRelendo(produto);
+      }
+    });
+  }
+
+  private void auditarRelendo(Produto alterado) {
+    try (Session outra = sessionFactory.openSession()) {
+      Produto atual = outra.find(Produto.class, alterado.getId());
+      Map<String, Object> antes = new HashMap<>();
+      Map<String, Object> depois = new HashMap<>();
+      comparar("nome", atual.getNome(), alterado.getNome(), antes, depois);
+      comparar("descricao", atual.getDescricao(), alterado.getDescricao(), antes, depois);
+      comparar("preco", atual.getPreco(), alterado.getPreco(), antes, depois);
+      comparar("categoria", atual.getCategoria(), alterado.getCategoria(), antes, depois);
+      comparar("disponivel", atual.isDisponivel(), alterado.isDisponivel(), antes, depois);
+      auditService.logDataChange(null, "Produto", String.valueOf(alterado.getId()), antes, depois, "UPDATE");
+    }
+  }
+
+  private static void comparar(String campo, Object antigo, Object novo, Map<String, Object> antes,
+      Map<String, Object> depois) {
+    if (!Objects.equals(antigo, novo)) {
+      antes.put(campo, antigo);
+      depois.put(campo, novo);
+    }
+  }
+}
@@ -0,0 +1,132 @@
+package com.deliverytech.delivery_api.benchmarks;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.deliverytech.delivery_api.auth.model.Role;
+import com.deliverytech.delivery_api.auth.model.Usuario;
+import com.deliverytech.delivery_api.auth.service.AuthService;
+import com.deliverytech.delivery_api.common.monitoring.metrics.MetricsService;
+import com.deliverytech.delivery_api.common.security.JwtAuthenticationFilter;
+import com.deliverytech.delivery_api.common.security.JwtUtil;
+import com.deliverytech.delivery_api.common.security.TokenValidado;
+import com.deliverytech.delivery_api.common.security.VerifiedTokenCache;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Custo do JwtAuthenticationFilter por requisição autenticada.
+ *
+ * - antes: caminho anterior (3 parses do token, cada um recriando a chave HMAC
+ * e o parser)
+ * - depois: uma verificação com chave e parser reutilizados
+ * - cache: verificação reaproveitada pelo VerifiedTokenCache (mesmo token)
+ *
+ * O usuário vem de memória, para medir só o trabalho do filtro.
+ *
+ * Executar com: mvn -Pbenchmark test -Djmh.filtro=JwtAuthenticationFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+  private static final String SECRET = "mysecretkeymysecretkeymysecretkeymysecretkey";
+
+  @Param({ "antes", "depois", "cache" })
+  private String implementacao;
+
+  private JwtAuthenticationFilter filtro;
+  private String header;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    JwtUtil jwtUtil = "antes".equals(implementacao) ? new JwtUtilAnterior() : new JwtUtil();
+    ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+    ReflectionTestUtils.setField(jwtUtil, "expiration", 3_600_000L);
+
+    Usuario usuario = new Usuario("cliente@email.com", "123", "Cliente", Role.CLIENTE);
+    usuario.setId(10L);
+    header = "Bearer " + jwtUtil.generateToken(usuario);
+
+    AuthService authService = new AuthService() {
+      @Override
+      public Usuario loadUserByUsername(String email) {
+        return usuario;
+      }
+    };
+    filtro = "cache".equals(implementacao)
+        ? new JwtAuthenticationFilter(authService, jwtUtil, null,
+            new VerifiedTokenCache(jwtUtil, new MetricsService(new SimpleMeterRegistry()), 1_000,
+                Duration.ofMinutes(10)),
+            null, false)
+        : new JwtAuthenticationFilter(authService, jwtUtil);
+  }
+
+  @Benchmark
+  public Authentication filtrarRequisicao() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/pedidos");
+    request.addHeader("Authorization", header);
+
+    SecurityContextHolder.clearContext();
+    filtro.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    return SecurityContextHolder.getContext().getAuthentication();
+  }
+
+  /**
+   * Reproduz o JwtUtil anterior: extractUsername no filtro e, em validateToken,
+   * extractUsername + isTokenExpired, sempre com chave e parser novos. O token
+   * bruto segue nas claims para os parses seguintes.
+   */
+  private static class JwtUtilAnterior extends JwtUtil {
+
+    @Override
+    public TokenValidado validar(String token) {
+      return new TokenValidado(parse(token).getSubject(), null, null, null, null, 0, null, null, null, null, null,
+          Map.of("jwt", token));
+    }
+
+    @Override
+    public boolean validateToken(TokenValidado token, UserDetails userDetails) {
+      String jwt = (String) token.claims().get("jwt");
+      String username = parse(jwt).getSubject();
+      return username.equals(userDetails.getUsername()) && !parse(jwt).getExpiration().before(new Date());
+    }
+
+    private static Claims parse(String token) {
+      return Jwts.parserBuilder()
+          .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+          .build()
+          .parseClaimsJws(token)
+          .getBody();
+    }
+  }
+}
@@ -0,0 +1,155 @@
+package com.deliverytech.delivery_api.benchmarks;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.util.FileSystemUtils;
+
+import com.deliverytech.delivery_api.common.monitoring.logging.MeteredAsyncAppender;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+
+/**
+ * Custo do log de um pedido na thread da requisição, com os appenders de
+ * arquivo do logback-spring.xml (texto + JSON), a 4 threads.
+ *
+ * - desligado: logger em OFF, sem appenders; base do que não é log
+ * - sincrono: FILE e JSON_FILE direto no logger (como no logback-spring.xml anterior)
+ * - assincrono: cada um atrás de um MeteredAsyncAppender (fila 8192, reserva
+ * 1024); o total descartado é impresso ao final
+ *
+ * Cada operação reproduz o criarPedido: o DEBUG de início (desligado) e o
+ * INFO de sucesso.
+ *
+ * logarPedido satura: o disco é mais lento que as threads, a fila do
+ * assincrono passa da reserva e o INFO é descartado, então a vazão dele só
+ * vale junto com os descartados. logarPedidoComTrabalho fica abaixo do limite
+ * de descarte (zero descartados) e compara escrever o log de fato.
+ *
+ * Executar com: mvn -Pbenchmark test -Djmh.filtro=OrderLoggingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class OrderLoggingBenchmark {
+
+  @Param({ "desligado", "sincrono", "assincrono" })
+  private String implementacao;
+
+  private static final long TRABALHO = 50_000;
+
+  private final BigDecimal valorTotal = new BigDecimal("57.80");
+  private LoggerContext contexto;
+  private Logger logger;
+  private Path diretorio;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    diretorio = Files.createTempDirectory("logs-benchmark");
+    contexto = new LoggerContext();
+    contexto.setMDCAdapter(new LogbackMDCAdapter());
+    // O StructuredLogEncoder lê o Environment que o Spring Boot deixa no contexto
+    contexto.putObject(Environment.class.getName(), new StandardEnvironment());
+
+    PatternLayoutEncoder texto = new PatternLayoutEncoder();
+    texto.setPattern("%d{yyyy-MM-dd HH:mm:ss.SSS} [%thread] %-5level [%X{correlationId:-}] %logger{36} - %msg%n");
+    StructuredLogEncoder json = new StructuredLogEncoder();
+    json.setFormat("logstash");
+
+    logger = contexto.getLogger("com.deliverytech.delivery_api.pedido.service.PedidoServiceImpl");
+    if ("desligado".equals(implementacao)) {
+      logger.setLevel(ch.qos.logback.classic.Level.OFF);
+      return;
+    }
+    logger.setLevel(ch.qos.logback.classic.Level.INFO);
+    logger.addAppender(destino("FILE", texto));
+    logger.addAppender(destino("JSON_FILE", json));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    for (String nome : new String[] { "FILE", "JSON_FILE" }) {
+      if (logger.getAppender(nome) instanceof MeteredAsyncAppender assincrono) {
+        System.out.printf("%n%s: %d eventos descartados%n", nome, assincrono.getDescartados());
+      }
+    }
+    contexto.stop();
+    FileSystemUtils.deleteRecursively(diretorio.toFile());
+  }
+
+  @Benchmark
+  public void logarPedido() {
+    logger.debug("Iniciando criação de pedido para usuário ID: {} e restaurante ID: {}", 3L, 1L);
+    logger.info("Pedido criado com sucesso. ID: {} | Número: {} | Valor: R$ {}", 42L, "PED-1700000000000",
+        valorTotal);
+  }
+
+  /**
+   * Mesmo log com o trabalho do pedido entre um e outro: taxa abaixo do que
+   * o disco absorve, a fila não chega à reserva e nada é descartado. O tempo
+   * por operação menos o do trabalho é o custo do log na requisição.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Measurement(iterations = 10, time = 2)
+  public void logarPedidoComTrabalho() {
+    Blackhole.consumeCPU(TRABALHO);
+    logarPedido();
+  }
+
+  private Appender<ILoggingEvent> destino(String nome, Encoder<ILoggingEvent> encoder) {
+    encoder.setContext(contexto);
+    encoder.start();
+    FileAppender<ILoggingEvent> arquivo = new FileAppender<>();
+    arquivo.setContext(contexto);
+    arquivo.setName(nome);
+    arquivo.setFile(diretorio.resolve(nome + ".log").toString());
+    arquivo.setEncoder(encoder);
+    arquivo.start();
+    if ("sincrono".equals(implementacao)) {
+      return arquivo;
+    }
+
+    MeteredAsyncAppender assincrono = new MeteredAsyncAppender();
+    assincrono.setContext(contexto);
+    assincrono.setName(nome);
+    assincrono.setQueueSize(8192);
+    assincrono.setDiscardingThreshold(1024);
+    assincrono.addAppender(arquivo);
+    assincrono.start();
+    return assincrono;
+  }
+}
@@ -0,0 +1,94 @@
+package com.deliverytech.delivery_api.cache;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Weights;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.deliverytech.delivery_api.common.cache.CacheAccessTracker;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CacheAccessTracker - Testes Unitários")
+class CacheAccessTrackerTest {
+
+  private static final String PRODUTOS = "delivery:cache:acessos:produtos";
+  private static final byte[] PRODUTOS_BYTES = PRODUTOS.getBytes(StandardCharsets.UTF_8);
+
+  @Mock
+  private StringRedisTemplate redisTemplate;
+
+  @Mock
+  private StringRedisConnection redis;
+
+  private CacheAccessTracker rastreador;
+
+  @BeforeEach
+  void setUp() {
+    rastreador = new CacheAccessTracker(redisTemplate, 100, 2, 0.5);
+    when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocacao -> {
+      invocacao.<RedisCallback<?>>getArgument(0).doInRedis(redis);
+      return null;
+    });
+  }
+
+  @Test
+  @DisplayName("Deve contar só os caches aquecidos e até o limite de chaves da janela")
+  void deveContarSoCachesAquecidosAteOLimiteDaJanela() {
+    rastreador.registrarAcesso("produtos", "1");
+    rastreador.registrarAcesso("produtos", "1");
+    rastreador.registrarAcesso("produtos", "2");
+    rastreador.registrarAcesso("produtos", "3");
+    rastreador.registrarAcesso("ausentes", "produto:9");
+    rastreador.registrarAcesso("versoesToken", "cliente@email.com");
+
+    rastreador.enviarAcessos();
+
+    verify(redis).zIncrBy(PRODUTOS, 2.0, "1");
+    verify(redis).zIncrBy(PRODUTOS, 1.0, "2");
+    verify(redis, never()).zIncrBy(PRODUTOS, 1.0, "3");
+    verify(redis, never()).zIncrBy(eq("delivery:cache:acessos:ausentes"), anyDouble(), anyString());
+    verify(redis, never()).zIncrBy(eq("delivery:cache:acessos:versoesToken"), anyDouble(), anyString());
+
+    // Na janela seguinte a chave que ficou de fora entra
+    rastreador.registrarAcesso("produtos", "3");
+    rastreador.enviarAcessos();
+
+    verify(redis).zIncrBy(PRODUTOS, 1.0, "3");
+  }
+
+  @Test
+  @DisplayName("Deve decair e limitar o ranking a cada envio, mesmo sem acessos")
+  void deveDecairELimitarORanking() {
+    rastreador.registrarAcesso("produtos", "1");
+
+    rastreador.enviarAcessos();
+    rastreador.enviarAcessos();
+
+    InOrder ordem = inOrder(redis);
+    ordem.verify(redis).zUnionStore(PRODUTOS_BYTES, Aggregate.SUM, Weights.of(0.5), PRODUTOS_BYTES);
+    ordem.verify(redis).zIncrBy(PRODUTOS, 1.0, "1");
+    ordem.verify(redis).zRemRangeByScore(PRODUTOS, Double.NEGATIVE_INFINITY, 0.5);
+    ordem.verify(redis).zRemRange(PRODUTOS, 0, -101L);
+    ordem.verify(redis).zUnionStore(PRODUTOS_BYTES, Aggregate.SUM, Weights.of(0.5), PRODUTOS_BYTES);
+    ordem.verify(redis).zRemRangeByScore(PRODUTOS, Double.NEGATIVE_INFINITY, 0.5);
+  }
+}
@@ -0,0 +1,108 @@
+package com.deliverytech.delivery_api.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.deliverytech.delivery_api.common.cache.CacheAccessTracker;
+import com.deliverytech.delivery_api.common.cache.CacheBatchLoader;
+import com.deliverytech.delivery_api.common.cache.CacheEntry;
+import com.deliverytech.delivery_api.common.cache.CacheInvalidationBroadcaster;
+import com.deliverytech.delivery_api.common.cache.CacheMetrics;
+import com.deliverytech.delivery_api.common.cache.TwoLevelCache;
+import com.deliverytech.delivery_api.common.exceptions.ValidationException;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("CacheBatchLoader - Testes Unitários")
+class CacheBatchLoaderTest {
+
+  private ConcurrentMapCache remoto;
+  private TwoLevelCache cache;
+  private SimpleMeterRegistry meterRegistry;
+  private CacheBatchLoader cacheEmLote;
+  private List<Collection<Long>> consultas;
+
+  @BeforeEach
+  void setUp() {
+    remoto = new ConcurrentMapCache("produtos", false);
+    meterRegistry = new SimpleMeterRegistry();
+    var local = Caffeine.newBuilder().maximumSize(100).build();
+    cache = new TwoLevelCache("produtos", local, remoto,
+        new CacheInvalidationBroadcaster(mock(StringRedisTemplate.class), "delivery:cache:invalidacao"),
+        new CacheMetrics("produtos", meterRegistry, local), mock(CacheAccessTracker.class), Duration.ofHours(1), 1.0,
+        () -> 0);
+
+    CacheManager cacheManager = mock(CacheManager.class);
+    when(cacheManager.getCache("produtos")).thenReturn(new TransactionAwareCacheDecorator(cache));
+    cacheEmLote = new CacheBatchLoader(cacheManager, 3);
+    consultas = new ArrayList<>();
+  }
+
+  private Function<Collection<Long>, Map<Long, String>> banco(Long... existentes) {
+    List<Long> ids = List.of(existentes);
+    return faltas -> {
+      consultas.add(List.copyOf(faltas));
+      return faltas.stream().filter(ids::contains).collect(Collectors.toMap(id -> id, id -> "Produto " + id));
+    };
+  }
+
+  @Test
+  @DisplayName("Deve buscar no banco apenas os ids fora do cache, em uma única consulta")
+  void deveBuscarNoBancoApenasAsFaltas() {
+    cache.put(1L, "Produto 1");
+    remoto.put(2L, new CacheEntry("Produto 2", 0, Long.MAX_VALUE, 0));
+
+    List<String> produtos = cacheEmLote.buscarVarios("produtos", List.of(3L, 1L, 2L), banco(3L));
+
+    assertEquals(List.of("Produto 3", "Produto 1", "Produto 2"), produtos);
+    assertEquals(List.of(List.of(3L)), consultas);
+    assertEquals("Produto 3", ((CacheEntry) remoto.get(3L).get()).getValor());
+    assertEquals(1, meterRegistry.get("delivery.cache.gets").tag("nivel", "l2").tag("resultado", "hit").counter()
+        .count());
+  }
+
+  @Test
+  @DisplayName("Deve ignorar ids inexistentes e repetidos")
+  void deveIgnorarIdsInexistentesERepetidos() {
+    List<String> produtos = cacheEmLote.buscarVarios("produtos", List.of(1L, 1L, 9L), banco(1L));
+
+    assertEquals(List.of("Produto 1"), produtos);
+    assertEquals(List.of(List.of(1L, 9L)), consultas);
+  }
+
+  @Test
+  @DisplayName("Deve servir a segunda busca inteiramente do cache")
+  void deveServirSegundaBuscaDoCache() {
+    cacheEmLote.buscarVarios("produtos", List.of(1L, 2L), banco(1L, 2L));
+    List<String> produtos = cacheEmLote.buscarVarios("produtos", List.of(2L, 1L), banco(1L, 2L));
+
+    assertEquals(List.of("Produto 2", "Produto 1"), produtos);
+    assertEquals(1, consultas.size());
+  }
+
+  @Test
+  @DisplayName("Deve rejeitar mais ids que o limite por consulta")
+  void deveRejeitarIdsAcimaDoLimite() {
+    assertThrows(ValidationException.class,
+        () -> cacheEmLote.buscarVarios("produtos", List.of(1L, 2L, 3L, 4L), banco()));
+  }
+}
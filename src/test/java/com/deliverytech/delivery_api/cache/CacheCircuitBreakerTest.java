@@ -0,0 +1,246 @@
+package com.deliverytech.delivery_api.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+
+import com.deliverytech.delivery_api.common.cache.CacheAccessTracker;
+import com.deliverytech.delivery_api.common.cache.CacheCircuitBreaker;
+import com.deliverytech.delivery_api.common.cache.CacheInvalidationBroadcaster;
+import com.deliverytech.delivery_api.common.cache.CacheMetrics;
+import com.deliverytech.delivery_api.common.cache.ResilientCache;
+import com.deliverytech.delivery_api.common.cache.TwoLevelCache;
+import com.deliverytech.delivery_api.common.cache.codec.CodecRedisSerializer;
+import com.deliverytech.delivery_api.common.cache.codec.SmileCacheValueCodec;
+import com.deliverytech.delivery_api.utils.redis.SlowRedisStub;
+import com.deliverytech.delivery_api.utils.redis.TwoLevelCacheCluster;
+import com.deliverytech.delivery_api.utils.redis.TwoLevelCacheCluster.No;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("CacheCircuitBreaker - Testes Unitários")
+class CacheCircuitBreakerTest {
+
+  private static final Duration TEMPO_ABERTO = Duration.ofSeconds(30);
+
+  private AtomicLong agora;
+  private SimpleMeterRegistry meterRegistry;
+  private CacheCircuitBreaker circuito;
+  private Cache remoto;
+  private ResilientCache cache;
+
+  private SlowRedisStub redis;
+  private LettuceConnectionFactory connectionFactory;
+  private TwoLevelCacheCluster cluster;
+
+  @BeforeEach
+  void setUp() {
+    agora = new AtomicLong(1_000);
+    meterRegistry = new SimpleMeterRegistry();
+    circuito = new CacheCircuitBreaker(meterRegistry, 3, TEMPO_ABERTO, agora::get);
+    remoto = mock(Cache.class);
+    cache = new ResilientCache(remoto, circuito, 100);
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    if (connectionFactory != null) {
+      connectionFactory.destroy();
+    }
+    if (redis != null) {
+      redis.close();
+    }
+    if (cluster != null) {
+      cluster.close();
+    }
+  }
+
+  @Test
+  @DisplayName("Deve abrir o circuito após falhas seguidas e parar de chamar o Redis")
+  void deveAbrirAposFalhasSeguidas() {
+    when(remoto.get(any())).thenThrow(new QueryTimeoutException("Redis command timed out"));
+
+    for (int i = 0; i < 3; i++) {
+      assertNull(cache.get(1L));
+    }
+    assertEquals(CacheCircuitBreaker.Estado.ABERTO, circuito.getEstado());
+
+    assertNull(cache.get(1L));
+    verify(remoto, times(3)).get(any());
+    assertEquals(2, meterRegistry.get("delivery.cache.circuito.estado").gauge().value());
+  }
+
+  @Test
+  @DisplayName("Deve liberar uma única chamada de teste após o tempo aberto e fechar com sucesso")
+  void deveFecharAposChamadaDeTesteComSucesso() {
+    for (int i = 0; i < 3; i++) {
+      circuito.registrarFalha(new QueryTimeoutException("timeout"));
+    }
+    assertFalse(circuito.permiteChamada());
+
+    agora.addAndGet(TEMPO_ABERTO.toMillis());
+    assertTrue(circuito.permiteChamada());
+    assertFalse(circuito.permiteChamada());
+    assertEquals(CacheCircuitBreaker.Estado.MEIO_ABERTO, circuito.getEstado());
+
+    circuito.registrarSucesso();
+    assertEquals(CacheCircuitBreaker.Estado.FECHADO, circuito.getEstado());
+    assertTrue(circuito.permiteChamada());
+  }
+
+  @Test
+  @DisplayName("Deve reabrir o circuito quando a chamada de teste falha")
+  void deveReabrirQuandoChamadaDeTesteFalha() {
+    for (int i = 0; i < 3; i++) {
+      circuito.registrarFalha(new QueryTimeoutException("timeout"));
+    }
+    agora.addAndGet(TEMPO_ABERTO.toMillis());
+    assertTrue(circuito.permiteChamada());
+
+    circuito.registrarFalha(new QueryTimeoutException("timeout"));
+
+    assertEquals(CacheCircuitBreaker.Estado.ABERTO, circuito.getEstado());
+    assertFalse(circuito.permiteChamada());
+  }
+
+  @Test
+  @DisplayName("Deve reaplicar no Redis as remoções feitas com o circuito aberto")
+  void deveReaplicarRemocoesPendentesAoFechar() {
+    doThrow(new QueryTimeoutException("timeout")).when(remoto).evict(any());
+    for (int i = 0; i < 3; i++) {
+      cache.evict(1L);
+    }
+    cache.evict(2L); // circuito aberto: nem chega ao Redis
+    assertEquals(2, cache.getRemocoesPendentes());
+
+    doNothing().when(remoto).evict(any());
+    agora.addAndGet(TEMPO_ABERTO.toMillis());
+    when(remoto.get(1L)).thenReturn(null);
+    cache.get(1L); // chamada de teste bem-sucedida fecha o circuito
+
+    assertEquals(CacheCircuitBreaker.Estado.FECHADO, circuito.getEstado());
+    verify(remoto, times(5)).evict(any());
+    assertEquals(0, cache.getRemocoesPendentes());
+  }
+
+  @Test
+  @DisplayName("Deve seguir para o banco rapidamente com o Redis lento e sem chamá-lo com o circuito aberto")
+  void deveSeguirParaOBancoComRedisLento() throws Exception {
+    redis = new SlowRedisStub();
+    connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", redis.getPorta()),
+        LettuceClientConfiguration.builder().commandTimeout(Duration.ofMillis(100)).build());
+    connectionFactory.afterPropertiesSet();
+
+    RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+        .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig()
+            .entryTtl(Duration.ofMinutes(10))
+            .serializeValuesWith(SerializationPair.fromSerializer(new CodecRedisSerializer(new SmileCacheValueCodec()))))
+        .build();
+    redisCacheManager.afterPropertiesSet();
+
+    CacheCircuitBreaker circuitoReal = new CacheCircuitBreaker(meterRegistry, 3, Duration.ofMillis(300),
+        System::currentTimeMillis);
+    var local = Caffeine.newBuilder().maximumSize(100).build();
+    TwoLevelCache produtos = new TwoLevelCache("produtos", local,
+        new ResilientCache(redisCacheManager.getCache("produtos"), circuitoReal, 100),
+        new CacheInvalidationBroadcaster(new StringRedisTemplate(connectionFactory), "delivery:cache:invalidacao",
+            circuitoReal),
+        new CacheMetrics("produtos", meterRegistry, local), mock(CacheAccessTracker.class), Duration.ofMinutes(10),
+        1.0, () -> 0);
+
+    // Redis saudável: valor carregado vai para o Redis
+    assertEquals("Pizza 1", produtos.get(1L, () -> "Pizza 1"));
+    assertTrue(redis.contem("produtos::1"));
+
+    // Redis lento: cada leitura espera no máximo o timeout do comando e segue para o banco
+    redis.setLatenciaMs(1_000);
+    var carregamentos = new AtomicInteger();
+    for (long id = 2; id <= 4; id++) {
+      long inicio = System.nanoTime();
+      long produtoId = id;
+      assertEquals("Pizza " + id, produtos.get(id, () -> {
+        carregamentos.incrementAndGet();
+        return "Pizza " + produtoId;
+      }));
+      assertTrue(Duration.ofNanos(System.nanoTime() - inicio).toMillis() < 800);
+    }
+    assertEquals(3, carregamentos.get());
+    assertEquals(CacheCircuitBreaker.Estado.ABERTO, circuitoReal.getEstado());
+
+    // Circuito aberto: responde sem passar pelo Redis
+    redis.limparComandos();
+    long inicio = System.nanoTime();
+    assertEquals("Pizza 5", produtos.get(5L, () -> "Pizza 5"));
+    produtos.evict(1L);
+    assertTrue(Duration.ofNanos(System.nanoTime() - inicio).toMillis() < 50);
+    assertTrue(redis.getComandos().isEmpty());
+    assertTrue(redis.contem("produtos::1"));
+
+    // Redis volta: a chamada de teste fecha o circuito e a remoção pendente é aplicada
+    redis.setLatenciaMs(0);
+    Thread.sleep(1_200); // respostas atrasadas chegam e o tempo aberto passa
+    assertEquals("Pizza 6", produtos.get(6L, () -> "Pizza 6"));
+
+    assertEquals(CacheCircuitBreaker.Estado.FECHADO, circuitoReal.getEstado());
+    assertFalse(redis.contem("produtos::1"));
+    verify(remoto, never()).get(any());
+  }
+
+  @Test
+  @DisplayName("Deve limpar o L1 pelo manager quando o circuito fecha, descartando valores com invalidação perdida")
+  void deveLimparL1AoFecharPeloManager() throws Exception {
+    cluster = new TwoLevelCacheCluster("produtos");
+    No noA = cluster.novoNo(circuito);
+    No noB = cluster.novoNo();
+    Cache produtosA = noA.cacheManager().getCache("produtos");
+    Cache produtosB = noB.cacheManager().getCache("produtos");
+
+    produtosB.put(1L, "Pizza");
+    assertEquals("Pizza", produtosA.get(1L).get()); // fica no L1 do nó A
+
+    // Nó A perde o Redis; a invalidação publicada pelo nó B nesse intervalo não chega
+    for (int i = 0; i < 3; i++) {
+      circuito.registrarFalha(new QueryTimeoutException("timeout"));
+    }
+    cluster.setEntregarInvalidacoes(false);
+    produtosB.put(1L, "Pizza Grande");
+    cluster.setEntregarInvalidacoes(true);
+    assertEquals("Pizza", produtosA.get(1L).get());
+
+    // Chamada de teste bem-sucedida fecha o circuito e limpa o L1 do nó A
+    agora.addAndGet(TEMPO_ABERTO.toMillis());
+    assertNull(produtosA.get(2L));
+
+    assertEquals(CacheCircuitBreaker.Estado.FECHADO, circuito.getEstado());
+    assertEquals("Pizza Grande", produtosA.get(1L).get());
+  }
+}
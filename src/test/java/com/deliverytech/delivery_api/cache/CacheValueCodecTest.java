@@ -0,0 +1,171 @@
+package com.deliverytech.delivery_api.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import com.deliverytech.delivery_api.common.cache.CacheEntry;
+import com.deliverytech.delivery_api.common.cache.codec.CacheValueCodec;
+import com.deliverytech.delivery_api.common.cache.codec.CompressingCacheValueCodec;
+import com.deliverytech.delivery_api.common.cache.codec.JsonCacheValueCodec;
+import com.deliverytech.delivery_api.common.cache.codec.MeteredCacheValueCodec;
+import com.deliverytech.delivery_api.common.cache.codec.SmileCacheValueCodec;
+import com.deliverytech.delivery_api.common.config.JacksonConfig;
+import com.deliverytech.delivery_api.produto.dto.ProdutoResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("CacheValueCodec - Testes Unitários")
+class CacheValueCodecTest {
+
+  private ObjectMapper baseMapper;
+  private JsonCacheValueCodec json;
+  private CacheValueCodec codec;
+
+  @BeforeEach
+  void setUp() {
+    baseMapper = new JacksonConfig().objectMapper();
+    json = new JsonCacheValueCodec(baseMapper);
+    codec = new CompressingCacheValueCodec(new SmileCacheValueCodec(), json, 2048);
+  }
+
+  private static ProdutoResponseDTO produto(long id) {
+    ProdutoResponseDTO dto = new ProdutoResponseDTO();
+    dto.setId(id);
+    dto.setNome("Pizza Margherita " + id);
+    dto.setDescricao("Molho de tomate, mussarela de búfala e manjericão fresco");
+    dto.setPreco(new BigDecimal("45.90"));
+    dto.setCategoria("Pizza");
+    dto.setRestauranteId(1L);
+    dto.setRestauranteNome("Pizzaria Bella");
+    dto.setDisponivel(true);
+    return dto;
+  }
+
+  @Test
+  @DisplayName("Deve codificar e decodificar o DTO mantendo o tipo original")
+  void deveFazerIdaEVoltaComTipo() {
+    CacheEntry entrada = new CacheEntry(produto(1L), 1_000L, 3_601_000L, 12L);
+
+    Object decodificado = codec.decodificar(codec.codificar(entrada));
+
+    CacheEntry resultado = assertInstanceOf(CacheEntry.class, decodificado);
+    assertEquals(produto(1L), resultado.getValor());
+    assertEquals(3_601_000L, resultado.getExpiraEm());
+    assertEquals(12L, resultado.getCustoMs());
+  }
+
+  @Test
+  @DisplayName("Deve gravar pelo tipo do cache, sem nomes de classe no valor")
+  void deveGravarPeloTipoDoCacheSemNomesDeClasse() {
+    CacheValueCodec tipado = new CompressingCacheValueCodec(new SmileCacheValueCodec(ProdutoResponseDTO.class), json,
+        2048);
+    CacheEntry entrada = new CacheEntry(produto(1L), 1_000L, 3_601_000L, 12L);
+
+    byte[] bytes = tipado.codificar(entrada);
+
+    String conteudo = new String(bytes, StandardCharsets.ISO_8859_1);
+    assertFalse(conteudo.contains("com.deliverytech"), conteudo);
+    assertTrue(bytes.length < codec.codificar(entrada).length);
+    CacheEntry resultado = assertInstanceOf(CacheEntry.class, tipado.decodificar(bytes));
+    assertEquals(produto(1L), resultado.getValor());
+    assertEquals(1_000L, resultado.getCriadoEm());
+    assertEquals(3_601_000L, resultado.getExpiraEm());
+    assertEquals(12L, resultado.getCustoMs());
+  }
+
+  @Test
+  @DisplayName("Deve ler pelo tipo do cache os valores gravados com nomes de classe")
+  void deveLerValoresGravadosSemOTipoDoCache() {
+    CacheValueCodec tipado = new CompressingCacheValueCodec(new SmileCacheValueCodec(ProdutoResponseDTO.class), json,
+        2048);
+    CacheEntry entrada = new CacheEntry(produto(2L), 1_000L, 3_601_000L, 12L);
+
+    CacheEntry resultado = assertInstanceOf(CacheEntry.class, tipado.decodificar(codec.codificar(entrada)));
+
+    assertEquals(produto(2L), resultado.getValor());
+  }
+
+  @Test
+  @DisplayName("Deve recusar nomes de classe fora dos pacotes permitidos")
+  void deveRecusarTiposForaDosPermitidos() {
+    byte[] adulterado = "[\"java.lang.Thread\",{}]".getBytes(StandardCharsets.UTF_8);
+
+    assertThrows(SerializationException.class, () -> codec.decodificar(adulterado));
+  }
+
+  @Test
+  @DisplayName("Deve gerar valores menores que o JSON atual")
+  void deveGerarValoresMenoresQueJson() {
+    CacheEntry entrada = new CacheEntry(produto(1L), 1_000L, 3_601_000L, 12L);
+
+    int tamanhoJson = json.codificar(entrada).length;
+    int tamanhoSmile = codec.codificar(entrada).length;
+
+    assertTrue(tamanhoSmile < tamanhoJson, "smile=" + tamanhoSmile + " json=" + tamanhoJson);
+  }
+
+  @Test
+  @DisplayName("Deve comprimir valores grandes e decodificá-los de volta")
+  void deveComprimirValoresGrandes() {
+    List<ProdutoResponseDTO> cardapio = new ArrayList<>();
+    for (long id = 1; id <= 100; id++) {
+      cardapio.add(produto(id));
+    }
+
+    CacheValueCodec semCompressao = new CompressingCacheValueCodec(new SmileCacheValueCodec(), json,
+        Integer.MAX_VALUE);
+    byte[] comprimido = codec.codificar(cardapio);
+
+    assertEquals(0x01, comprimido[0]);
+    assertTrue(comprimido.length < semCompressao.codificar(cardapio).length);
+    assertEquals(cardapio, codec.decodificar(comprimido));
+  }
+
+  @Test
+  @DisplayName("Deve decodificar DTO gravado sem envelope")
+  void deveDecodificarDtoSemEnvelope() {
+    assertEquals(produto(3L), codec.decodificar(codec.codificar(produto(3L))));
+  }
+
+  @Test
+  @DisplayName("Deve ler valores JSON gravados antes da troca de codec")
+  void deveLerValoresJsonLegados() {
+    // Formato do GenericJackson2JsonRedisSerializer usado anteriormente pelo RedisConfig
+    byte[] legado = json.codificar(produto(7L));
+
+    assertEquals('{', legado[0]);
+    assertEquals(produto(7L), codec.decodificar(legado));
+  }
+
+  @Test
+  @DisplayName("Deve medir tempo de serialização e tamanho dos valores por cache")
+  void deveMedirSerializacaoPorCache() {
+    var registry = new SimpleMeterRegistry();
+    var medido = new MeteredCacheValueCodec(codec, "produtos", registry);
+
+    byte[] bytes = medido.codificar(produto(1L));
+    medido.decodificar(bytes);
+
+    var tamanho = registry.get("delivery.cache.valor.tamanho").tag("cache", "produtos").summary();
+    assertEquals(1, tamanho.count());
+    assertEquals(bytes.length, tamanho.totalAmount());
+    assertEquals(1, registry.get("delivery.cache.serializacao.tempo")
+        .tag("cache", "produtos").tag("operacao", "codificar").timer().count());
+    assertEquals(1, registry.get("delivery.cache.serializacao.tempo")
+        .tag("cache", "produtos").tag("operacao", "decodificar").timer().count());
+  }
+}
@@ -0,0 +1,114 @@
+package com.deliverytech.delivery_api.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+
+import com.deliverytech.delivery_api.common.cache.CacheAccessTracker;
+import com.deliverytech.delivery_api.common.cache.CacheWarmupService;
+import com.deliverytech.delivery_api.common.exceptions.EntityNotFoundException;
+import com.deliverytech.delivery_api.common.monitoring.metrics.CacheWarmupHealthIndicator;
+import com.deliverytech.delivery_api.produto.service.ProdutoService;
+import com.deliverytech.delivery_api.restaurante.service.RestauranteService;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CacheWarmupService - Testes Unitários")
+class CacheWarmupServiceTest {
+
+  @Mock
+  private CacheAccessTracker rastreador;
+
+  @Mock
+  private RestauranteService restauranteService;
+
+  @Mock
+  private ProdutoService produtoService;
+
+  @BeforeEach
+  void setUp() {
+    when(rastreador.chavesMaisAcessadas("restaurantes", 10)).thenReturn(List.of("1", "2"));
+    when(rastreador.chavesMaisAcessadas("cardapios", 10)).thenReturn(List.of("1"));
+    when(rastreador.chavesMaisAcessadas("produtos", 10)).thenReturn(List.of("5", "6", "7"));
+  }
+
+  private CacheWarmupService novoAquecimento(Duration tempoMaximo) {
+    return new CacheWarmupService(rastreador, restauranteService, produtoService, true, 10, 2, tempoMaximo);
+  }
+
+  @Test
+  @DisplayName("Deve carregar as chaves mais acessadas de cada cache pelos serviços")
+  void deveCarregarChavesMaisAcessadas() {
+    CacheWarmupService aquecimento = novoAquecimento(Duration.ofSeconds(5));
+
+    aquecimento.aquecer();
+
+    verify(restauranteService).buscarPorId(1L);
+    verify(restauranteService).buscarPorId(2L);
+    verify(restauranteService).buscarComProdutos(1L);
+    verify(produtoService).buscarProdutoPorId(5L);
+    verify(produtoService).buscarProdutoPorId(6L);
+    verify(produtoService).buscarProdutoPorId(7L);
+    assertEquals(6, aquecimento.getResultado().carregadas());
+    assertFalse(aquecimento.getResultado().interrompido());
+  }
+
+  @Test
+  @DisplayName("Deve seguir o aquecimento quando uma chave não existe mais")
+  void deveContarFalhasSemInterromper() {
+    // Os demais ids também passam pelo mock: stub leniente para o strict stubs não acusar argumento diferente
+    lenient().when(produtoService.buscarProdutoPorId(6L)).thenThrow(new EntityNotFoundException("Produto", 6L));
+    CacheWarmupService aquecimento = novoAquecimento(Duration.ofSeconds(5));
+
+    aquecimento.aquecer();
+
+    assertEquals(5, aquecimento.getResultado().carregadas());
+    assertEquals(1, aquecimento.getResultado().falhas());
+  }
+
+  @Test
+  @DisplayName("Deve encerrar no tempo máximo mesmo com carregamentos lentos")
+  void deveRespeitarTempoMaximo() {
+    doAnswer(invocacao -> {
+      Thread.sleep(5_000);
+      return null;
+    }).when(produtoService).buscarProdutoPorId(anyLong());
+    CacheWarmupService aquecimento = novoAquecimento(Duration.ofMillis(300));
+
+    long inicio = System.currentTimeMillis();
+    aquecimento.aquecer();
+
+    assertTrue(System.currentTimeMillis() - inicio < 3_000);
+    assertTrue(aquecimento.getResultado().interrompido());
+    assertTrue(aquecimento.isConcluido());
+  }
+
+  @Test
+  @DisplayName("Deve manter o readiness fora do ar até o aquecimento terminar")
+  void deveManterReadinessForaDoArAteConcluir() {
+    CacheWarmupService aquecimento = novoAquecimento(Duration.ofSeconds(5));
+    CacheWarmupHealthIndicator health = new CacheWarmupHealthIndicator(aquecimento);
+
+    assertEquals(Status.OUT_OF_SERVICE, health.health().getStatus());
+
+    aquecimento.aquecer();
+
+    assertEquals(Status.UP, health.health().getStatus());
+    assertEquals(6, health.health().getDetails().get("chavesCarregadas"));
+  }
+}
@@ -0,0 +1,69 @@
+package com.deliverytech.delivery_api.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+
+import com.deliverytech.delivery_api.common.cache.TwoLevelCache;
+import com.deliverytech.delivery_api.utils.redis.TwoLevelCacheCluster;
+import com.deliverytech.delivery_api.utils.redis.TwoLevelCacheCluster.No;
+
+@DisplayName("TwoLevelCacheManager - Testes Unitários")
+class TwoLevelCacheManagerTest {
+
+  private TwoLevelCacheCluster cluster;
+  private No noA;
+  private No noB;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    cluster = new TwoLevelCacheCluster("produtos");
+    noA = cluster.novoNo();
+    noB = cluster.novoNo();
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    cluster.close();
+  }
+
+  @Test
+  @DisplayName("Deve remover do L1 de outro nó a chave alterada, mesmo com o cache transaction-aware")
+  void deveAplicarInvalidacaoRemotaNoOutroNo() {
+    Cache produtosA = noA.cacheManager().getCache("produtos");
+    Cache produtosB = noB.cacheManager().getCache("produtos");
+    assertInstanceOf(TransactionAwareCacheDecorator.class, produtosB);
+
+    produtosA.put(1L, "Pizza");
+    assertEquals("Pizza", produtosB.get(1L).get()); // fica no L1 do nó B
+
+    produtosA.put(1L, "Pizza Grande");
+
+    assertEquals("Pizza Grande", produtosB.get(1L).get());
+  }
+
+  @Test
+  @DisplayName("Deve limpar o L1 de outro nó quando o cache inteiro é limpo")
+  void deveAplicarLimpezaRemotaNoOutroNo() {
+    Cache produtosB = noB.cacheManager().getCache("produtos");
+    produtosB.put(1L, "Pizza");
+    produtosB.put(2L, "Lasanha");
+    assertEquals(2, localDe(produtosB).estimatedSize());
+
+    noA.broadcaster().publicarLimpeza("produtos");
+
+    assertEquals(0, localDe(produtosB).estimatedSize());
+  }
+
+  private static com.github.benmanes.caffeine.cache.Cache<Object, Object> localDe(Cache cache) {
+    return ((TwoLevelCache) ((TransactionAwareCacheDecorator) cache).getTargetCache()).getLocalCache();
+  }
+}
@@ -0,0 +1,292 @@
+package com.deliverytech.delivery_api.cache;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.deliverytech.delivery_api.common.cache.CacheAccessTracker;
+import com.deliverytech.delivery_api.common.cache.CacheEntry;
+import com.deliverytech.delivery_api.common.cache.CacheInvalidationBroadcaster;
+import com.deliverytech.delivery_api.common.cache.CacheMetrics;
+import com.deliverytech.delivery_api.common.cache.TwoLevelCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("TwoLevelCache - Testes Unitários")
+class TwoLevelCacheTest {
+
+  private static final String CANAL = "delivery:cache:invalidacao";
+
+  private ConcurrentMapCache remoto;
+  private StringRedisTemplate redisTemplate;
+  private CacheInvalidationBroadcaster broadcaster;
+  private SimpleMeterRegistry meterRegistry;
+  private TwoLevelCache cache;
+  private double sorteio;
+  private Duration ttl;
+
+  @BeforeEach
+  void setUp() {
+    // Sorteio 0 => ln(1) = 0: nenhuma renovação antecipada, a não ser que o teste mude
+    sorteio = 0;
+    ttl = Duration.ofHours(1);
+    // ConcurrentMapCache faz o papel do Redis (L2) compartilhado entre os nós
+    remoto = new ConcurrentMapCache("produtos", false);
+    redisTemplate = mock(StringRedisTemplate.class);
+    broadcaster = new CacheInvalidationBroadcaster(redisTemplate, CANAL);
+    meterRegistry = new SimpleMeterRegistry();
+    cache = novoNo(broadcaster, meterRegistry);
+  }
+
+  private TwoLevelCache novoNo(CacheInvalidationBroadcaster broadcasterDoNo, SimpleMeterRegistry registry) {
+    var local = Caffeine.newBuilder().maximumSize(100).expireAfterWrite(Duration.ofMinutes(5)).build();
+    TwoLevelCache no = new TwoLevelCache("produtos", local, remoto, broadcasterDoNo,
+        new CacheMetrics("produtos", registry, local), mock(CacheAccessTracker.class), ttl, 1.0, () -> sorteio);
+    broadcasterDoNo.registrarOuvinte((nome, chave) -> {
+      if (chave == null) {
+        no.limparLocal();
+      } else {
+        no.removerLocal(chave);
+      }
+    });
+    return no;
+  }
+
+  private static Object valorLocal(TwoLevelCache no, String chave) {
+    CacheEntry entrada = (CacheEntry) no.getLocalCache().getIfPresent(chave);
+    return entrada != null ? entrada.getValor() : null;
+  }
+
+  private Object valorRemoto(Object chave) {
+    var wrapper = remoto.get(chave);
+    return wrapper != null ? ((CacheEntry) wrapper.get()).getValor() : null;
+  }
+
+  private double gets(String nivel, String resultado) {
+    return meterRegistry.get("delivery.cache.gets")
+        .tag("nivel", nivel)
+        .tag("resultado", resultado)
+        .counter()
+        .count();
+  }
+
+  @Test
+  @DisplayName("Deve buscar no Redis apenas na primeira leitura e servir as seguintes do L1")
+  void deveServirLeiturasSeguintesDoL1() {
+    remoto.put(1L, "Pizza");
+
+    assertEquals("Pizza", cache.get(1L).get());
+    assertEquals("Pizza", cache.get(1L).get());
+    assertEquals("Pizza", cache.get(1L).get());
+
+    assertEquals(1, gets("l1", "miss"));
+    assertEquals(2, gets("l1", "hit"));
+    assertEquals(1, gets("l2", "hit"));
+    assertEquals(1, cache.getLocalCache().estimatedSize());
+  }
+
+  @Test
+  @DisplayName("Deve registrar falha nos dois níveis quando a chave não existe")
+  void deveRegistrarFalhaNosDoisNiveis() {
+    assertNull(cache.get(99L));
+
+    assertEquals(1, gets("l1", "miss"));
+    assertEquals(1, gets("l2", "miss"));
+  }
+
+  @Test
+  @DisplayName("Deve carregar o valor uma vez e gravar nos dois níveis")
+  void deveCarregarEGravarNosDoisNiveis() {
+    String valor = cache.get(1L, () -> "Pizza");
+
+    assertEquals("Pizza", valor);
+    assertEquals("Pizza", valorRemoto(1L));
+    assertEquals("Pizza", valorLocal(cache, "1"));
+  }
+
+  @Test
+  @DisplayName("Deve remover dos dois níveis e publicar a invalidação")
+  void deveRemoverDosDoisNiveisEPublicar() {
+    cache.put(1L, "Pizza");
+
+    cache.evict(1L);
+
+    assertNull(remoto.get(1L));
+    assertNull(cache.getLocalCache().getIfPresent("1"));
+    // Uma publicação pelo put e outra pelo evict
+    verify(redisTemplate, times(2)).convertAndSend(eq(CANAL), endsWith("|produtos|1"));
+    assertEquals(1, meterRegistry.get("delivery.cache.puts").counter().count());
+    assertEquals(1, meterRegistry.get("delivery.cache.evictions").counter().count());
+  }
+
+  @Test
+  @DisplayName("Deve limpar o L1 de outro nó ao receber a invalidação")
+  void deveLimparL1DeOutroNo() {
+    var broadcasterOutroNo = new CacheInvalidationBroadcaster(mock(StringRedisTemplate.class), CANAL);
+    TwoLevelCache outroNo = novoNo(broadcasterOutroNo, new SimpleMeterRegistry());
+
+    remoto.put(1L, "Pizza");
+    outroNo.get(1L);
+    assertEquals("Pizza", valorLocal(outroNo, "1"));
+
+    // Nó atual altera o valor; a mensagem chega ao outro nó pelo canal
+    cache.put(1L, "Pizza Grande");
+    broadcasterOutroNo.onMessage(new DefaultMessage(CANAL.getBytes(StandardCharsets.UTF_8),
+        "no-atual|produtos|1".getBytes(StandardCharsets.UTF_8)), null);
+
+    assertNull(outroNo.getLocalCache().getIfPresent("1"));
+    assertEquals("Pizza Grande", outroNo.get(1L).get());
+  }
+
+  @Test
+  @DisplayName("Deve ignorar invalidações publicadas pelo próprio nó")
+  void deveIgnorarMensagensDoProprioNo() {
+    cache.put(1L, "Pizza");
+
+    var mensagens = ArgumentCaptor.forClass(String.class);
+    verify(redisTemplate).convertAndSend(eq(CANAL), mensagens.capture());
+    broadcaster.onMessage(new DefaultMessage(CANAL.getBytes(StandardCharsets.UTF_8),
+        mensagens.getValue().getBytes(StandardCharsets.UTF_8)), null);
+
+    assertEquals("Pizza", valorLocal(cache, "1"));
+  }
+
+  @Test
+  @DisplayName("Deve carregar do banco uma única vez com várias requisições simultâneas na mesma chave")
+  void deveCarregarUmaUnicaVezSobConcorrencia() throws Exception {
+    int requisicoes = 32;
+    var carregamentos = new AtomicInteger();
+    var largada = new CountDownLatch(1);
+    var executor = Executors.newFixedThreadPool(requisicoes);
+
+    try {
+      List<Future<String>> respostas = new ArrayList<>();
+      for (int i = 0; i < requisicoes; i++) {
+        respostas.add(executor.submit(() -> {
+          largada.await();
+          return cache.get(1L, () -> {
+            carregamentos.incrementAndGet();
+            Thread.sleep(200); // consulta lenta segura as demais requisições na espera
+            return "Pizza";
+          });
+        }));
+      }
+
+      largada.countDown();
+      for (Future<String> resposta : respostas) {
+        assertEquals("Pizza", resposta.get(5, TimeUnit.SECONDS));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(1, carregamentos.get());
+    assertEquals(1, meterRegistry.get("delivery.cache.carregamentos").tag("tipo", "falha").counter().count());
+    assertEquals(1, meterRegistry.get("delivery.cache.carregamento.tempo").timer().count());
+  }
+
+  @Test
+  @DisplayName("Deve propagar a exceção do carregamento para todas as requisições que aguardavam")
+  void devePropagarExcecaoParaQuemAguardava() throws Exception {
+    var carregamentos = new AtomicInteger();
+    var carregando = new CountDownLatch(1);
+    var liberar = new CountDownLatch(1);
+    var executor = Executors.newFixedThreadPool(2);
+
+    try {
+      Callable<String> carregador = () -> {
+        carregamentos.incrementAndGet();
+        carregando.countDown();
+        liberar.await();
+        throw new IllegalStateException("Produto não encontrado");
+      };
+
+      Future<String> lider = executor.submit(() -> cache.get(1L, carregador));
+      carregando.await();
+      Future<String> aguardando = executor.submit(() -> cache.get(1L, carregador));
+
+      // Garante que a segunda requisição entrou na espera antes de liberar o carregamento
+      await().atMost(Duration.ofSeconds(2)).until(() -> meterRegistry
+          .get("delivery.cache.carregamentos.compartilhados").counter().count() == 1);
+      liberar.countDown();
+
+      for (Future<String> resposta : List.of(lider, aguardando)) {
+        ExecutionException erro = assertThrows(ExecutionException.class, () -> resposta.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(Cache.ValueRetrievalException.class, erro.getCause());
+        assertInstanceOf(IllegalStateException.class, erro.getCause().getCause());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(1, carregamentos.get());
+    assertNull(remoto.get(1L));
+  }
+
+  @Test
+  @DisplayName("Deve renovar antes do TTL quando sorteado, sem esperar a expiração")
+  void deveRenovarAntesDoTtlQuandoSorteado() {
+    ttl = Duration.ofMillis(500);
+    cache = novoNo(broadcaster, meterRegistry);
+    cache.get(1L, () -> {
+      Thread.sleep(50); // custo do carregamento entra no cálculo da antecipação
+      return "Pizza";
+    });
+
+    // Sorteio próximo de 1 => -ln(1 - sorteio) grande: antecipação maior que o TTL restante
+    sorteio = 0.999_999_999;
+    String valor = cache.get(1L, () -> "Pizza Grande");
+
+    assertEquals("Pizza Grande", valor);
+    assertEquals("Pizza Grande", valorRemoto(1L));
+    assertEquals(1, meterRegistry.get("delivery.cache.carregamentos").tag("tipo", "antecipado").counter().count());
+  }
+
+  @Test
+  @DisplayName("Deve manter o valor atual quando a renovação antecipada falha")
+  void deveManterValorAtualQuandoRenovacaoFalha() {
+    ttl = Duration.ofMillis(500);
+    cache = novoNo(broadcaster, meterRegistry);
+    cache.get(1L, () -> {
+      Thread.sleep(50);
+      return "Pizza";
+    });
+
+    sorteio = 0.999_999_999;
+    String valor = cache.get(1L, () -> {
+      throw new IllegalStateException("Banco indisponível");
+    });
+
+    assertEquals("Pizza", valor);
+    assertEquals("Pizza", valorRemoto(1L));
+  }
+}
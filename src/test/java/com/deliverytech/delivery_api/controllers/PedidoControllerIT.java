@@ -35,8 +35,11 @@ import com.deliverytech.delivery_api.restaurante.repository.RestauranteRepositor
 import com.deliverytech.delivery_api.utils.base.BaseIntegrationTest;
 import com.deliverytech.delivery_api.utils.factories.EntityFactory;
 import com.deliverytech.delivery_api.utils.factories.UsuarioFactory;
+import com.deliverytech.delivery_api.utils.performance.PerformanceBudget;
 
+// Orçamento padrão dos cenários de erro; os endpoints declaram o seu em cada teste
 @DisplayName("Teste de Integração do PedidoController")
+@PerformanceBudget(consultas = 8, linhas = 8, kbAlocados = 2048)
 class PedidoControllerIT extends BaseIntegrationTest {
 
   @Autowired
@@ -106,6 +109,8 @@ class PedidoControllerIT extends BaseIntegrationTest {
   }
 
   @Test
+  // Primeiro commit de pedido com itens: a auditoria pós-commit ainda está fria
+  @PerformanceBudget(consultas = 6, linhas = 4, kbAlocados = 4096)
   void deveCriarPedidoComSucesso() throws Exception {
     postJson("/api/pedidos", clienteJwtToken, pedidoDTO)
         .andDo(print())
@@ -163,6 +168,7 @@ class PedidoControllerIT extends BaseIntegrationTest {
   }
 
   @Test
+  @PerformanceBudget(consultas = 4, linhas = 3, kbAlocados = 1024)
   void deveBuscarPedidoPorId() throws Exception {
     getJson("/api/pedidos/{id}", clienteJwtToken, pedidoSalvo.getId())
         .andDo(print())
@@ -183,6 +189,7 @@ class PedidoControllerIT extends BaseIntegrationTest {
   }
 
   @Test
+  @PerformanceBudget(consultas = 6, linhas = 5, kbAlocados = 1024)
   void deveListarPedidosPorUsuario() throws Exception {
     Map<String, String> params = new HashMap<>();
     params.put("page", "0");
@@ -201,6 +208,7 @@ class PedidoControllerIT extends BaseIntegrationTest {
   }
 
   @Test
+  @PerformanceBudget(consultas = 6, linhas = 5, kbAlocados = 1024)
   void deveListarPedidosPorRestaurante() throws Exception {
     Map<String, String> params = new HashMap<>();
     params.put("page", "0");
@@ -217,6 +225,7 @@ class PedidoControllerIT extends BaseIntegrationTest {
   }
 
   @Test
+  @PerformanceBudget(consultas = 5, linhas = 4, kbAlocados = 1024)
   void deveListarPedidosPorStatus() throws Exception {
     Map<String, String> params = new HashMap<>();
     params.put("status", "PENDENTE");
@@ -233,6 +242,7 @@ class PedidoControllerIT extends BaseIntegrationTest {
   }
 
   @Test
+  @PerformanceBudget(consultas = 4, linhas = 2, kbAlocados = 1024)
   void deveAtualizarStatusDoPedido() throws Exception {
     PedidoStatusDTO statusDTO = EntityFactory.criarStatusPedidoDTO(PedidoStatus.CONFIRMADO);
 
@@ -278,6 +288,7 @@ class PedidoControllerIT extends BaseIntegrationTest {
   }
 
   @Test
+  @PerformanceBudget(consultas = 4, linhas = 3, kbAlocados = 1024)
   void deveCancelarPedidoComSucesso() throws Exception {
     deleteJson("/api/pedidos/{id}", clienteJwtToken, pedidoSalvo.getId())
         .andDo(print())
@@ -315,6 +326,7 @@ class PedidoControllerIT extends BaseIntegrationTest {
   }
 
   @Test
+  @PerformanceBudget(consultas = 2, linhas = 2, kbAlocados = 1024)
   void deveCalcularTotalDoPedido() throws Exception {
     List<PedidoItemDTO> itens = new ArrayList<>();
     itens.add(EntityFactory.criarItemPedidoDTO(produtoSalvo.getId(), QUANTIDADE));
@@ -398,6 +410,7 @@ class PedidoControllerIT extends BaseIntegrationTest {
   }
 
   @Test
+  @PerformanceBudget(consultas = 8, linhas = 7, kbAlocados = 1024)
   void deveRetornarHistoricoDePedidosDoUsuario() throws Exception {
     // Criar mais pedidos com diferentes status
     Pedido pedido2 = EntityFactory.criarPedido(usuarioSalvo, restauranteSalvo);
@@ -27,8 +27,10 @@ import com.deliverytech.delivery_api.restaurante.repository.RestauranteRepositor
 import com.deliverytech.delivery_api.utils.base.BaseIntegrationTest;
 import com.deliverytech.delivery_api.utils.factories.EntityFactory;
 import com.deliverytech.delivery_api.utils.factories.UsuarioFactory;
+import com.deliverytech.delivery_api.utils.performance.PerformanceBudget;
 
 @DisplayName("Teste de Integração do ProdutoController")
+@PerformanceBudget(consultas = 6, linhas = 6, kbAlocados = 2048)
 class ProdutoControllerIT extends BaseIntegrationTest {
 
   @Autowired
@@ -60,6 +62,7 @@ class ProdutoControllerIT extends BaseIntegrationTest {
 
   @Test
   @Order(1)
+  @PerformanceBudget(consultas = 4, linhas = 3, kbAlocados = 2048)
   void deveCadastrarProdutoComSucesso() throws Exception {
     postJson("/api/produtos", restauranteJwtToken, produtoDTO)
         .andDo(print())
@@ -100,6 +103,7 @@ class ProdutoControllerIT extends BaseIntegrationTest {
 
   @Test
   @Order(4)
+  @PerformanceBudget(consultas = 2, linhas = 2, kbAlocados = 1024)
   void deveBuscarProdutoPorId() throws Exception {
     getJson("/api/produtos/{id}", restauranteJwtToken, produtoSalvo.getId())
         .andDo(print())
@@ -123,6 +127,7 @@ class ProdutoControllerIT extends BaseIntegrationTest {
 
   @Test
   @Order(6)
+  @PerformanceBudget(consultas = 4, linhas = 4, kbAlocados = 1024)
   void deveListarProdutosPorRestaurante() throws Exception {
     Map<String, String> params = new HashMap<>();
     params.put("page", "0");
@@ -142,6 +147,7 @@ class ProdutoControllerIT extends BaseIntegrationTest {
 
   @Test
   @Order(7)
+  @PerformanceBudget(consultas = 3, linhas = 3, kbAlocados = 1024)
   void deveListarProdutosPorCategoria() throws Exception {
     Map<String, String> params = new HashMap<>();
     params.put("page", "0");
@@ -157,6 +163,7 @@ class ProdutoControllerIT extends BaseIntegrationTest {
 
   @Test
   @Order(8)
+  @PerformanceBudget(consultas = 6, linhas = 5, kbAlocados = 2048)
   void deveAtualizarProdutoComSucesso() throws Exception {
     produtoDTO.setNome("Pizza Margherita Premium");
     produtoDTO.setPreco(new BigDecimal("55.90"));
@@ -172,6 +179,7 @@ class ProdutoControllerIT extends BaseIntegrationTest {
 
   @Test
   @Order(9)
+  @PerformanceBudget(consultas = 5, linhas = 4, kbAlocados = 1024)
   void deveAlterarDisponibilidadeDoProduto() throws Exception {
     Map<String, Object> body = Map.of("disponivel", false);
 
@@ -185,6 +193,7 @@ class ProdutoControllerIT extends BaseIntegrationTest {
 
   @Test
   @Order(10)
+  @PerformanceBudget(consultas = 3, linhas = 3, kbAlocados = 1024)
   void deveBuscarProdutosPorFaixaDePreco() throws Exception {
     Map<String, String> params = new HashMap<>();
     params.put("precoMin", "40.00");
@@ -228,6 +237,7 @@ class ProdutoControllerIT extends BaseIntegrationTest {
 
   @Test
   @Order(13)
+  @PerformanceBudget(consultas = 5, linhas = 4, kbAlocados = 2048)
   void deveDeletarProduto() throws Exception {
     deleteJson("/api/produtos/{id}", restauranteJwtToken, produtoSalvo.getId())
         .andExpect(status().isNoContent());
@@ -7,6 +7,7 @@ import com.deliverytech.delivery_api.restaurante.repository.RestauranteRepositor
 import com.deliverytech.delivery_api.utils.base.BaseIntegrationTest;
 import com.deliverytech.delivery_api.utils.factories.EntityFactory;
 import com.deliverytech.delivery_api.utils.factories.UsuarioFactory;
+import com.deliverytech.delivery_api.utils.performance.PerformanceBudget;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -24,6 +25,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @DisplayName("Teste de Integração do RestauranteController")
+@PerformanceBudget(consultas = 5, linhas = 4, kbAlocados = 2048)
 class RestauranteControllerIT extends BaseIntegrationTest {
 
   @Autowired
@@ -59,6 +61,7 @@ class RestauranteControllerIT extends BaseIntegrationTest {
   }
 
   @Test
+  @PerformanceBudget(consultas = 4, linhas = 1, kbAlocados = 2048)
   void deveCadastrarRestauranteComSucesso() throws Exception {
     postJson("/api/restaurantes", adminJwtToken, restauranteDTO)
       .andDo(print())
@@ -87,6 +90,7 @@ class RestauranteControllerIT extends BaseIntegrationTest {
   }
 
   @Test
+  @PerformanceBudget(consultas = 3, linhas = 2, kbAlocados = 1024)
   void deveBuscarRestaurantePorId() throws Exception {
     getJson("/api/restaurantes/{id}", restauranteJwtToken, restauranteAtivo.getId())
       .andDo(print())
@@ -107,6 +111,7 @@ class RestauranteControllerIT extends BaseIntegrationTest {
   }
 
   @Test
+  @PerformanceBudget(consultas = 3, linhas = 2, kbAlocados = 1024)
   void deveListarRestaurantesComPaginacao() throws Exception {
     Map<String, String> params = new HashMap<>();
     params.put("page", "0");
@@ -141,6 +146,7 @@ class RestauranteControllerIT extends BaseIntegrationTest {
   }
 
   @Test
+  @PerformanceBudget(consultas = 5, linhas = 3, kbAlocados = 2048)
   void deveAtualizarRestauranteComSucesso() throws Exception {
     restauranteDTO.setNome("Burger King Atualizado");
     restauranteDTO.setTaxaEntrega(new BigDecimal("7.00"));
@@ -155,6 +161,7 @@ class RestauranteControllerIT extends BaseIntegrationTest {
   }
 
   @Test
+  @PerformanceBudget(consultas = 4, linhas = 2, kbAlocados = 1024)
   void deveAlterarStatusRestaurante() throws Exception {
     patchJson("/api/restaurantes/{id}/status", adminJwtToken, null, restauranteAtivo.getId())
       .andDo(print())
@@ -183,6 +190,7 @@ class RestauranteControllerIT extends BaseIntegrationTest {
   }
 
   @Test
+  @PerformanceBudget(consultas = 3, linhas = 2, kbAlocados = 1024)
   void deveBuscarRestaurantesPorCategoria() throws Exception {
     Map<String, String> params = new HashMap<>();
     params.put("page", "0");
@@ -213,6 +221,7 @@ class RestauranteControllerIT extends BaseIntegrationTest {
   }
 
   @Test
+  @PerformanceBudget(consultas = 3, linhas = 2, kbAlocados = 1024)
   void deveBuscarRestaurantesPorNome() throws Exception {
     Map<String, String> params = new HashMap<>();
     params.put("nome", "Burger");
@@ -0,0 +1,148 @@
+package com.deliverytech.delivery_api.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.deliverytech.delivery_api.common.monitoring.alerts.AlertProperties;
+import com.deliverytech.delivery_api.common.monitoring.alerts.AlertProperties.Comparacao;
+import com.deliverytech.delivery_api.common.monitoring.alerts.AlertProperties.Metrica;
+import com.deliverytech.delivery_api.common.monitoring.alerts.AlertProperties.Regra;
+import com.deliverytech.delivery_api.common.monitoring.alerts.AlertService;
+import com.deliverytech.delivery_api.common.monitoring.alerts.AlertService.Alerta;
+import com.deliverytech.delivery_api.common.monitoring.alerts.AlertService.Estado;
+import com.deliverytech.delivery_api.common.monitoring.alerts.SlidingWindow;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AlertServiceTest {
+
+  private final AtomicLong agora = new AtomicLong();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Test
+  void disparaUmaVezEResolveAbaixoDaRecuperacao() {
+    AlertService alertService = criar(regraTaxaErro(1));
+
+    // 50% de erro: dispara
+    registrar(alertService, 10, 10);
+    alertService.verificarAlertas();
+    // Continua alto: não notifica de novo
+    alertService.verificarAlertas();
+    assertEquals(List.of("taxa-erro"), alertService.getAtivos());
+    assertEquals(1, alertService.getHistorico().size());
+
+    // Passa a janela com 3% de erro: entre recuperação (2%) e limite (5%), segue ativo
+    avancar(Duration.ofMinutes(2));
+    registrar(alertService, 97, 3);
+    alertService.verificarAlertas();
+    assertEquals(List.of("taxa-erro"), alertService.getAtivos());
+
+    avancar(Duration.ofMinutes(2));
+    registrar(alertService, 100, 1);
+    alertService.verificarAlertas();
+    assertTrue(alertService.getAtivos().isEmpty());
+
+    List<Alerta> historico = alertService.getHistorico();
+    assertEquals(Estado.RESOLVIDO, historico.get(0).estado());
+    assertEquals(Estado.DISPARADO, historico.get(1).estado());
+    assertEquals(1.0, meterRegistry.get("delivery.alertas.notificacoes").tag("estado", "disparado").counter().count());
+  }
+
+  @Test
+  void exigeAvaliacoesSeguidasParaDisparar() {
+    AlertService alertService = criar(regraTaxaErro(2));
+    registrar(alertService, 10, 10);
+
+    alertService.verificarAlertas();
+    assertTrue(alertService.getAtivos().isEmpty());
+
+    alertService.verificarAlertas();
+    assertEquals(List.of("taxa-erro"), alertService.getAtivos());
+  }
+
+  @Test
+  void semAmostraSuficienteNaoMudaOEstado() {
+    AlertService alertService = criar(regraTaxaErro(1));
+    // 100% de erro, mas só 5 requisições (mínimo 10)
+    registrar(alertService, 0, 5);
+
+    alertService.verificarAlertas();
+    assertTrue(alertService.getAtivos().isEmpty());
+    assertTrue(alertService.getHistorico().isEmpty());
+  }
+
+  @Test
+  void semTrafegoSoDepoisDeCobrirAJanela() {
+    AlertService alertService = criar(regraSemTrafego());
+
+    // Nó recém-subido, sem nenhuma requisição ainda
+    alertService.verificarAlertas();
+    avancar(Duration.ofMinutes(14));
+    alertService.verificarAlertas();
+    assertTrue(alertService.getAtivos().isEmpty());
+
+    // 15 minutos no ar sem tráfego: aí sim
+    avancar(Duration.ofMinutes(1));
+    alertService.verificarAlertas();
+    assertEquals(List.of("sem-trafego"), alertService.getAtivos());
+
+    registrar(alertService, 60, 0);
+    alertService.verificarAlertas();
+    assertTrue(alertService.getAtivos().isEmpty());
+  }
+
+  private AlertService criar(Regra regra) {
+    AlertProperties properties = new AlertProperties();
+    properties.setRegras(List.of(regra));
+    SlidingWindow janela = new SlidingWindow(properties.getFatia(), properties.getJanelaMaxima(), agora::get);
+    return new AlertService(properties, meterRegistry, janela, Clock.fixed(Instant.EPOCH, ZoneOffset.UTC));
+  }
+
+  private static Regra regraTaxaErro(int avaliacoes) {
+    Regra regra = new Regra();
+    regra.setNome("taxa-erro");
+    regra.setMetrica(Metrica.TAXA_ERRO);
+    regra.setJanela(Duration.ofMinutes(1));
+    regra.setLimite(0.05);
+    regra.setRecuperacao(0.02);
+    regra.setAvaliacoes(avaliacoes);
+    regra.setMinimoRequisicoes(10);
+    regra.setSeveridade("CRITICAL");
+    return regra;
+  }
+
+  private static Regra regraSemTrafego() {
+    Regra regra = new Regra();
+    regra.setNome("sem-trafego");
+    regra.setMetrica(Metrica.THROUGHPUT);
+    regra.setJanela(Duration.ofMinutes(15));
+    regra.setComparacao(Comparacao.ABAIXO);
+    regra.setLimite(0.01);
+    regra.setAvaliacoes(1);
+    regra.setSeveridade("WARNING");
+    return regra;
+  }
+
+  private static void registrar(AlertService alertService, int sucessos, int erros) {
+    for (int i = 0; i < sucessos; i++) {
+      alertService.registrarRequisicao(TimeUnit.MILLISECONDS.toNanos(20), false);
+    }
+    for (int i = 0; i < erros; i++) {
+      alertService.registrarRequisicao(TimeUnit.MILLISECONDS.toNanos(20), true);
+    }
+  }
+
+  private void avancar(Duration duracao) {
+    agora.addAndGet(duracao.toNanos());
+  }
+}
@@ -0,0 +1,198 @@
+package com.deliverytech.delivery_api.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.deliverytech.delivery_api.common.monitoring.audit.AuditEvent;
+import com.deliverytech.delivery_api.common.monitoring.audit.AuditService;
+import com.deliverytech.delivery_api.common.monitoring.audit.AuditSink;
+import com.deliverytech.delivery_api.common.monitoring.context.RequestContext;
+import com.deliverytech.delivery_api.common.utils.RingBuffer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AuditServiceTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private AuditService auditService;
+
+  @AfterEach
+  void tearDown() {
+    if (auditService != null) {
+      auditService.encerrar();
+    }
+    RequestContext.restaurar(null);
+  }
+
+  @Test
+  void gravaEmLotesForaDaThreadDaRequisicao() throws Exception {
+    SinkEmMemoria sink = new SinkEmMemoria();
+    auditService = criar(sink, 1024, 10, "descartar");
+    auditService.iniciar();
+    RequestContext.abrir(new RequestContext("corr-1", "10.0.0.1", "JUnit"));
+
+    for (int i = 0; i < 25; i++) {
+      auditService.logSecurityEvent("7", "LOGIN", null, true);
+    }
+    auditService.encerrar();
+
+    assertEquals(25, sink.eventos.size());
+    assertTrue(sink.lotes.stream().allMatch(tamanho -> tamanho <= 10));
+    assertTrue(sink.threads.stream().allMatch("audit-writer"::equals));
+    AuditEvent evento = sink.eventos.get(0);
+    assertEquals("corr-1", evento.correlationId());
+    assertEquals("10.0.0.1", evento.ipAddress());
+    assertEquals(25.0, contador("gravado"));
+    assertTrue(sink.fechado);
+  }
+
+  @Test
+  void filaCheiaDescartaEventoNovo() {
+    SinkEmMemoria sink = new SinkEmMemoria();
+    // Escritor parado: a fila de 4 enche
+    auditService = criar(sink, 4, 10, "descartar");
+
+    for (int i = 0; i < 6; i++) {
+      auditService.logUserAction((long) i, "CRIAR", "Pedido", null);
+    }
+
+    assertEquals(4, auditService.getTamanhoFila());
+    assertEquals(2.0, contador("descartado"));
+
+    auditService.iniciar();
+    auditService.encerrar();
+    assertEquals(List.of("0", "1", "2", "3"), sink.eventos.stream().map(AuditEvent::userId).toList());
+  }
+
+  @Test
+  void filaCheiaDescartaEventoAntigo() {
+    SinkEmMemoria sink = new SinkEmMemoria();
+    auditService = criar(sink, 4, 10, "descartar-antigo");
+
+    for (int i = 0; i < 6; i++) {
+      auditService.logUserAction((long) i, "CRIAR", "Pedido", null);
+    }
+
+    assertEquals(2.0, contador("descartado"));
+    auditService.iniciar();
+    auditService.encerrar();
+    assertEquals(List.of("2", "3", "4", "5"), sink.eventos.stream().map(AuditEvent::userId).toList());
+  }
+
+  @Test
+  void falhaDoSinkNaoDerrubaOEscritor() {
+    SinkEmMemoria sink = new SinkEmMemoria();
+    sink.falharProximo = true;
+    auditService = criar(sink, 64, 1, "descartar");
+    auditService.iniciar();
+
+    auditService.logDataChange("1", "Pedido", "10", null, null, "UPDATE");
+    esperar(() -> contador("falha") == 1.0);
+    auditService.logDataChange("1", "Pedido", "11", null, null, "UPDATE");
+    auditService.encerrar();
+
+    assertEquals(1, sink.eventos.size());
+    assertEquals("11", sink.eventos.get(0).entityId());
+  }
+
+  @Test
+  void ringBufferEntregaCadaItemUmaVezComVariosProdutoresEConsumidores() throws Exception {
+    RingBuffer<Integer> fila = new RingBuffer<>(64);
+    int produtores = 4;
+    int porProdutor = 20_000;
+    Set<Integer> recebidos = Collections.synchronizedSet(new HashSet<>());
+    CountDownLatch fim = new CountDownLatch(produtores);
+    ExecutorService executor = Executors.newFixedThreadPool(produtores + 2);
+    try {
+      List<Future<?>> tarefas = new ArrayList<>();
+      for (int p = 0; p < produtores; p++) {
+        int base = p * porProdutor;
+        tarefas.add(executor.submit(() -> {
+          for (int i = 0; i < porProdutor; i++) {
+            while (!fila.oferecer(base + i)) {
+              Thread.onSpinWait();
+            }
+          }
+          fim.countDown();
+        }));
+      }
+      for (int c = 0; c < 2; c++) {
+        tarefas.add(executor.submit(() -> {
+          while (fim.getCount() > 0 || fila.tamanho() > 0) {
+            Integer item = fila.retirar();
+            if (item != null) {
+              assertTrue(recebidos.add(item), "item duplicado " + item);
+            }
+          }
+        }));
+      }
+      for (Future<?> tarefa : tarefas) {
+        tarefa.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(produtores * porProdutor, recebidos.size());
+    assertNull(fila.retirar());
+  }
+
+  private AuditService criar(AuditSink sink, int capacidade, int lote, String overflow) {
+    return new AuditService(sink, meterRegistry, capacidade, lote, Duration.ofMillis(20), overflow,
+        Duration.ofMillis(5), Duration.ofSeconds(5));
+  }
+
+  private double contador(String resultado) {
+    return meterRegistry.get("delivery.auditoria.eventos").tag("resultado", resultado).counter().count();
+  }
+
+  private static void esperar(BooleanSupplier condicao) {
+    long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!condicao.getAsBoolean() && System.nanoTime() < limite) {
+      Thread.onSpinWait();
+    }
+    assertTrue(condicao.getAsBoolean());
+  }
+
+  static class SinkEmMemoria implements AuditSink {
+    final List<AuditEvent> eventos = Collections.synchronizedList(new ArrayList<>());
+    final List<Integer> lotes = Collections.synchronizedList(new ArrayList<>());
+    final Set<String> threads = Collections.synchronizedSet(new HashSet<>());
+    volatile boolean falharProximo;
+    volatile boolean fechado;
+
+    @Override
+    public void gravar(List<AuditEvent> lote) throws IOException {
+      threads.add(Thread.currentThread().getName());
+      if (falharProximo) {
+        falharProximo = false;
+        throw new IOException("disco cheio");
+      }
+      lotes.add(lote.size());
+      eventos.addAll(lote);
+    }
+
+    @Override
+    public void fechar() {
+      fechado = true;
+    }
+  }
+}
@@ -0,0 +1,127 @@
+package com.deliverytech.delivery_api.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.deliverytech.delivery_api.common.monitoring.alerts.AlertService;
+import com.deliverytech.delivery_api.common.monitoring.database.HibernateStatisticsMetrics;
+import com.deliverytech.delivery_api.common.monitoring.metrics.MetricsService;
+import com.deliverytech.delivery_api.common.monitoring.slo.SloService;
+import com.deliverytech.delivery_api.dashboard.service.DashboardFeedService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+
+class DashboardFeedServiceTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Test
+  void snapshotCompartilhadoDentroDoIntervalo() {
+    DashboardFeedService feed = criar(Duration.ofMinutes(1));
+
+    assertSame(feed.getSnapshot(), feed.getSnapshot());
+  }
+
+  @Test
+  void throughputELatenciaPorEndpointNoIntervalo() {
+    DashboardFeedService feed = criar(Duration.ZERO);
+    requisicoes("GET", "/api/restaurantes", "SUCCESS", 5, 10);
+    requisicoes("GET", "/dashboard/api/metrics", "SUCCESS", 5, 1);
+    feed.getSnapshot();
+
+    requisicoes("GET", "/api/restaurantes", "SUCCESS", 3, 40);
+    requisicoes("GET", "/api/restaurantes", "SERVER_ERROR", 1, 40);
+    requisicoes("POST", "/api/pedidos", "SUCCESS", 4, 100);
+
+    List<Map<String, Object>> endpoints = endpoints(feed.getSnapshot());
+    // Só a API; mais requisições no intervalo primeiro
+    assertEquals(2, endpoints.size());
+
+    Map<String, Object> restaurantes = endpoints.get(0);
+    assertEquals("GET /api/restaurantes", restaurantes.get("endpoint"));
+    assertEquals(4L, restaurantes.get("requisicoes"));
+    assertEquals(9L, restaurantes.get("total"));
+    assertEquals(1L, restaurantes.get("erros"));
+    assertEquals(40.0, (double) restaurantes.get("media_ms"), 0.001);
+    assertTrue((double) restaurantes.get("por_segundo") > 0);
+
+    Map<String, Object> pedidos = endpoints.get(1);
+    assertEquals("POST /api/pedidos", pedidos.get("endpoint"));
+    assertEquals(100.0, (double) pedidos.get("media_ms"), 0.001);
+  }
+
+  @Test
+  void p95DasConsultasPeloHistograma() {
+    // Buckets do histograma só em registries com percentis agregáveis
+    PrometheusMeterRegistry prometheus = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    DashboardFeedService feed = criar(Duration.ZERO, prometheus);
+    MetricsService metricsService = new MetricsService(prometheus);
+    for (int i = 0; i < 90; i++) {
+      metricsService.registrarConsultaBanco("PedidoRepository.findById", "select", TimeUnit.MILLISECONDS.toNanos(5));
+    }
+    for (int i = 0; i < 10; i++) {
+      metricsService.registrarConsultaBanco("PedidoRepository.findById", "select", TimeUnit.MILLISECONDS.toNanos(800));
+    }
+
+    Map<String, Object> consulta = consultas(feed.getSnapshot()).get(0);
+
+    assertEquals(100L, consulta.get("total"));
+    // Limite superior do bucket com a 95ª consulta
+    double p95 = (double) consulta.get("p95_ms");
+    assertTrue(p95 >= 800 && p95 < 1_000, "p95=" + p95);
+  }
+
+  @Test
+  void deltaSoComSecoesAlteradas() {
+    Map<String, Object> anterior = Map.of("pedidos_total", 1.0, "caches", Map.of("produtos", Map.of("puts", 2.0)));
+    Map<String, Object> atual = Map.of("pedidos_total", 2.0, "caches", Map.of("produtos", Map.of("puts", 2.0)));
+
+    assertEquals(Map.of("pedidos_total", 2.0), DashboardFeedService.diferenca(anterior, atual));
+  }
+
+  private DashboardFeedService criar(Duration intervalo) {
+    return criar(intervalo, meterRegistry);
+  }
+
+  private DashboardFeedService criar(Duration intervalo, MeterRegistry meterRegistry) {
+    AlertService alertService = mock(AlertService.class);
+    when(alertService.getAtivos()).thenReturn(List.of());
+    when(alertService.resumos()).thenReturn(Map.of());
+    return new DashboardFeedService(meterRegistry, mock(HibernateStatisticsMetrics.class), alertService,
+        mock(SloService.class), new ObjectMapper(), intervalo, Duration.ofMinutes(1), 10);
+  }
+
+  private void requisicoes(String metodo, String uri, String outcome, int quantidade, long milis) {
+    Timer timer = Timer.builder("http.server.requests")
+        .tags("method", metodo, "uri", uri, "outcome", outcome)
+        .register(meterRegistry);
+    for (int i = 0; i < quantidade; i++) {
+      timer.record(milis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<Map<String, Object>> consultas(Map<String, Object> snapshot) {
+    return (List<Map<String, Object>>) ((Map<String, Object>) snapshot.get("banco")).get("consultas");
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<Map<String, Object>> endpoints(Map<String, Object> snapshot) {
+    return (List<Map<String, Object>>) snapshot.get("endpoints");
+  }
+}
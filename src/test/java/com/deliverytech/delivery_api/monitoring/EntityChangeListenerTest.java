@@ -0,0 +1,142 @@
+package com.deliverytech.delivery_api.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.deliverytech.delivery_api.common.monitoring.audit.AuditEvent;
+import com.deliverytech.delivery_api.common.monitoring.audit.AuditService;
+import com.deliverytech.delivery_api.common.monitoring.audit.EntityChangeListener;
+import com.deliverytech.delivery_api.common.monitoring.context.RequestContext;
+import com.deliverytech.delivery_api.produto.model.Produto;
+import com.deliverytech.delivery_api.restaurante.model.Restaurante;
+import com.deliverytech.delivery_api.utils.base.H2SessionFactory;
+import com.deliverytech.delivery_api.utils.factories.EntityFactory;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EntityChangeListenerTest {
+
+  private final List<AuditEvent> eventos = Collections.synchronizedList(new ArrayList<>());
+  private SessionFactoryImplementor sessionFactory;
+  private AuditService auditService;
+
+  @BeforeEach
+  void setUp() {
+    auditService = new AuditService(eventos::addAll, new SimpleMeterRegistry(), 1024, 64, Duration.ofMillis(10),
+        "descartar", Duration.ZERO, Duration.ofSeconds(5));
+    sessionFactory = H2SessionFactory.criar("auditoria_alteracoes");
+    new EntityChangeListener(auditService, null, true, Set.of("Produto", "Restaurante")).registrar(sessionFactory);
+  }
+
+  @AfterEach
+  void tearDown() {
+    sessionFactory.close();
+    RequestContext.restaurar(null);
+  }
+
+  @Test
+  void insertRegistraCamposPreenchidosEAssociacaoPeloId() {
+    Restaurante restaurante = EntityFactory.criarRestaurante();
+    Produto produto = EntityFactory.criarProduto(restaurante);
+    sessionFactory.inTransaction(session -> {
+      session.persist(restaurante);
+      session.persist(produto);
+    });
+
+    List<AuditEvent> gravados = gravados();
+    assertEquals(2, gravados.size());
+    AuditEvent insert = gravados.get(1);
+    assertEquals("Produto", insert.entity());
+    assertEquals(EntityChangeListener.INSERT, insert.operation());
+    assertEquals(String.valueOf(produto.getId()), insert.entityId());
+    Map<?, ?> depois = (Map<?, ?>) insert.newValue();
+    assertEquals(produto.getNome(), depois.get("nome"));
+    assertEquals(restaurante.getId(), depois.get("restaurante"));
+    assertNull(insert.oldValue());
+  }
+
+  @Test
+  void updateRegistraSoOsCamposAlteradosComUsuarioDaRequisicao() {
+    Restaurante restaurante = EntityFactory.criarRestaurante();
+    Produto produto = EntityFactory.criarProduto(restaurante);
+    BigDecimal precoAnterior = produto.getPreco();
+    sessionFactory.inTransaction(session -> {
+      session.persist(restaurante);
+      session.persist(produto);
+    });
+    descartarGravados();
+
+    RequestContext contexto = new RequestContext("corr-cdc", "10.0.0.1", "JUnit");
+    contexto.setUsuarioId(42L);
+    RequestContext.abrir(contexto);
+    sessionFactory.inTransaction(session -> session.find(Produto.class, produto.getId())
+        .setPreco(new BigDecimal("99.90")));
+
+    List<AuditEvent> gravados = gravados();
+    assertEquals(1, gravados.size());
+    AuditEvent update = gravados.get(0);
+    assertEquals(EntityChangeListener.UPDATE, update.operation());
+    assertEquals("42", update.userId());
+    assertEquals("corr-cdc", update.correlationId());
+    assertEquals(Map.of("preco", precoAnterior), update.oldValue());
+    assertEquals(Map.of("preco", new BigDecimal("99.90")), update.newValue());
+  }
+
+  @Test
+  void rollbackNaoGeraEvento() {
+    Restaurante restaurante = EntityFactory.criarRestaurante();
+    sessionFactory.inTransaction(session -> session.persist(restaurante));
+    descartarGravados();
+
+    sessionFactory.inSession(session -> {
+      var transacao = session.beginTransaction();
+      session.find(Restaurante.class, restaurante.getId()).setNome("Desfeito");
+      session.flush();
+      transacao.rollback();
+    });
+    assertTrue(gravados().isEmpty());
+  }
+
+  @Test
+  void deleteRegistraUltimoEstado() {
+    Restaurante restaurante = EntityFactory.criarRestaurante();
+    sessionFactory.inTransaction(session -> session.persist(restaurante));
+    descartarGravados();
+
+    sessionFactory.inTransaction(session -> session.remove(session.find(Restaurante.class, restaurante.getId())));
+
+    List<AuditEvent> gravados = gravados();
+    assertEquals(1, gravados.size());
+    assertEquals(EntityChangeListener.DELETE, gravados.get(0).operation());
+    assertEquals(restaurante.getNome(), ((Map<?, ?>) gravados.get(0).oldValue()).get("nome"));
+    assertNull(gravados.get(0).newValue());
+  }
+
+  private void descartarGravados() {
+    gravados();
+    eventos.clear();
+  }
+
+  /**
+   * Esvazia a fila do AuditService e devolve o que chegou ao sink
+   */
+  private List<AuditEvent> gravados() {
+    auditService.iniciar();
+    auditService.encerrar();
+    return List.copyOf(eventos);
+  }
+}
@@ -0,0 +1,103 @@
+package com.deliverytech.delivery_api.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.deliverytech.delivery_api.common.monitoring.audit.AuditEvent;
+import com.deliverytech.delivery_api.common.monitoring.audit.FileAuditSink;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class FileAuditSinkTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @TempDir
+  Path diretorio;
+
+  @Test
+  void gravaUmaLinhaJsonPorEventoSemCamposNulos() throws Exception {
+    Path arquivo = diretorio.resolve("audit.log");
+    FileAuditSink sink = new FileAuditSink(objectMapper, arquivo, 1_000_000, 30, false, relogio("2026-10-19T10:00:00Z"));
+
+    sink.gravar(List.of(evento("1"), evento("2")));
+    sink.fechar();
+
+    List<String> linhas = Files.readAllLines(arquivo);
+    assertEquals(2, linhas.size());
+    JsonNode json = objectMapper.readTree(linhas.get(1));
+    assertEquals("2", json.get("userId").asText());
+    assertEquals("LOGIN", json.get("event").asText());
+    assertEquals("2026-10-19T10:00:00Z", json.get("timestamp").asText());
+    assertFalse(json.has("oldValue"));
+    assertFalse(json.has("enfileiradoEm"));
+  }
+
+  @Test
+  void rotacionaPorTamanhoEPorDia() throws Exception {
+    Path arquivo = diretorio.resolve("audit.log");
+    AtomicReference<Instant> agora = new AtomicReference<>(Instant.parse("2026-10-19T10:00:00Z"));
+    Clock clock = new Clock() {
+      @Override
+      public ZoneOffset getZone() {
+        return ZoneOffset.UTC;
+      }
+
+      @Override
+      public Clock withZone(java.time.ZoneId zone) {
+        return this;
+      }
+
+      @Override
+      public Instant instant() {
+        return agora.get();
+      }
+    };
+    FileAuditSink sink = new FileAuditSink(objectMapper, arquivo, 300, 1, false, clock);
+
+    for (int i = 0; i < 4; i++) {
+      sink.gravar(List.of(evento(String.valueOf(i))));
+    }
+    assertTrue(Files.exists(diretorio.resolve("audit.2026-10-19.log")));
+
+    agora.set(Instant.parse("2026-10-20T00:00:01Z"));
+    sink.gravar(List.of(evento("dia-seguinte")));
+    sink.fechar();
+
+    assertTrue(Files.readString(arquivo).contains("dia-seguinte"));
+    assertTrue(Files.exists(diretorio.resolve("audit.2026-10-19.1.log")));
+    try (var arquivos = Files.list(diretorio)) {
+      long linhas = arquivos.mapToLong(this::linhas).sum();
+      assertEquals(5, linhas);
+    }
+  }
+
+  private long linhas(Path arquivo) {
+    try {
+      return Files.readAllLines(arquivo).size();
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static Clock relogio(String instante) {
+    return Clock.fixed(Instant.parse(instante), ZoneOffset.UTC);
+  }
+
+  private static AuditEvent evento(String userId) {
+    return new AuditEvent(Instant.parse("2026-10-19T10:00:00Z"), AuditEvent.SECURITY, userId, null, null, "LOGIN",
+        null, null, null, "detalhes", null, null, true, "corr", "10.0.0.1", "JUnit", System.nanoTime());
+  }
+}
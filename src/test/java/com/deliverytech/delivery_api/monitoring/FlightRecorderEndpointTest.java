@@ -0,0 +1,95 @@
+package com.deliverytech.delivery_api.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+
+import com.deliverytech.delivery_api.common.monitoring.jfr.FlightRecorderEndpoint;
+import com.deliverytech.delivery_api.common.monitoring.jfr.PedidoEtapaEvent;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class FlightRecorderEndpointTest {
+
+  @TempDir
+  Path diretorio;
+
+  private FlightRecorderEndpoint endpoint;
+
+  @AfterEach
+  void encerrar() {
+    endpoint.encerrar();
+  }
+
+  @Test
+  void gravaEventosDoPipelineNoArquivo() throws Exception {
+    endpoint = new FlightRecorderEndpoint(diretorio, Duration.ofMinutes(5), 5);
+
+    assertEquals(200, endpoint.iniciar(null, null).getStatus());
+    PedidoEtapaEvent etapa = new PedidoEtapaEvent();
+    etapa.begin();
+    etapa.etapa = "precificacao";
+    etapa.sucesso = true;
+    etapa.commit();
+
+    WebEndpointResponse<Map<String, Object>> parada = endpoint.parar();
+    assertEquals(200, parada.getStatus());
+    String arquivo = (String) parada.getBody().get("arquivo");
+
+    WebEndpointResponse<?> download = endpoint.baixar(arquivo);
+    assertEquals(200, download.getStatus());
+
+    List<RecordedEvent> eventos = RecordingFile.readAllEvents(diretorio.resolve(arquivo)).stream()
+        .filter(e -> e.getEventType().getName().equals("delivery.PedidoEtapa"))
+        .toList();
+    assertEquals(1, eventos.size());
+    assertEquals("precificacao", eventos.get(0).getString("etapa"));
+  }
+
+  @Test
+  void recusaSegundaGravacaoEPararSemGravacao() throws Exception {
+    endpoint = new FlightRecorderEndpoint(diretorio, Duration.ofMinutes(5), 5);
+
+    assertEquals(404, endpoint.parar().getStatus());
+    assertEquals(400, endpoint.iniciar("inexistente", null).getStatus());
+    assertEquals(200, endpoint.iniciar("default", null).getStatus());
+    assertEquals(400, endpoint.iniciar("default", null).getStatus());
+    assertTrue((Boolean) endpoint.estado().get("gravando"));
+  }
+
+  @Test
+  void downloadAceitaSomenteArquivosGerados() throws Exception {
+    endpoint = new FlightRecorderEndpoint(diretorio, Duration.ofMinutes(5), 5);
+    Files.writeString(diretorio.resolve("segredo.txt"), "x");
+
+    assertEquals(400, endpoint.baixar("../segredo.txt").getStatus());
+    assertEquals(400, endpoint.baixar("segredo.txt").getStatus());
+    assertEquals(404, endpoint.baixar("delivery-20260101-000000.jfr").getStatus());
+  }
+
+  @Test
+  void mantemSomenteOsUltimosArquivos() throws Exception {
+    endpoint = new FlightRecorderEndpoint(diretorio, Duration.ofMinutes(5), 2);
+    Files.writeString(diretorio.resolve("delivery-20260101-000000.jfr"), "");
+    Files.writeString(diretorio.resolve("delivery-20260102-000000.jfr"), "");
+
+    endpoint.iniciar(null, null);
+    endpoint.parar();
+
+    assertFalse(Files.exists(diretorio.resolve("delivery-20260101-000000.jfr")));
+    assertTrue(Files.exists(diretorio.resolve("delivery-20260102-000000.jfr")));
+    assertEquals(2, ((List<?>) endpoint.estado().get("arquivos")).size());
+  }
+}
@@ -0,0 +1,110 @@
+package com.deliverytech.delivery_api.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.deliverytech.delivery_api.common.monitoring.logging.AsyncLogMetrics;
+import com.deliverytech.delivery_api.common.monitoring.logging.MeteredAsyncAppender;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MeteredAsyncAppenderTest {
+
+  private final LoggerContext contexto = new LoggerContext();
+  private final CountDownLatch recebido = new CountDownLatch(1);
+  private final CountDownLatch liberar = new CountDownLatch(1);
+  private final List<ILoggingEvent> escritos = new CopyOnWriteArrayList<>();
+  private final MeteredAsyncAppender assincrono = new MeteredAsyncAppender();
+  private Logger logger;
+
+  @BeforeEach
+  void setUp() {
+    // O appender assíncrono copia o MDC de cada evento
+    contexto.setMDCAdapter(new LogbackMDCAdapter());
+
+    // Destino lento: segura a thread do appender até o teste liberar
+    AppenderBase<ILoggingEvent> lento = new AppenderBase<>() {
+      @Override
+      protected void append(ILoggingEvent evento) {
+        escritos.add(evento);
+        recebido.countDown();
+        try {
+          liberar.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    };
+    lento.setContext(contexto);
+    lento.start();
+
+    assincrono.setContext(contexto);
+    assincrono.setName("ASYNC_TESTE");
+    assincrono.setQueueSize(4);
+    assincrono.setDiscardingThreshold(2);
+    assincrono.addAppender(lento);
+    assincrono.start();
+
+    logger = contexto.getLogger("teste");
+    logger.setLevel(Level.DEBUG);
+    logger.addAppender(assincrono);
+  }
+
+  @AfterEach
+  void tearDown() {
+    liberar.countDown();
+    contexto.stop();
+  }
+
+  @Test
+  void descartaInfoComFilaCheiaEMantemWarn() throws Exception {
+    logger.warn("primeiro");
+    assertTrue(recebido.await(5, TimeUnit.SECONDS));
+
+    // Fila de 4 e reserva de 2: o terceiro INFO ainda entra, o quarto é descartado
+    for (int i = 0; i < 4; i++) {
+      logger.info("pedido {}", i);
+    }
+    logger.warn("alerta");
+    assertEquals(4, assincrono.getNumberOfElementsInQueue());
+    assertEquals(1, assincrono.getDescartados());
+
+    liberar.countDown();
+    assincrono.stop();
+    assertEquals(List.of("primeiro", "pedido 0", "pedido 1", "pedido 2", "alerta"),
+        escritos.stream().map(ILoggingEvent::getFormattedMessage).toList());
+  }
+
+  @Test
+  void exportaFilaEDescartes() throws Exception {
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    new AsyncLogMetrics(contexto).bindTo(meterRegistry);
+
+    logger.warn("primeiro");
+    assertTrue(recebido.await(5, TimeUnit.SECONDS));
+    for (int i = 0; i < 4; i++) {
+      logger.debug("detalhe {}", i);
+    }
+
+    assertEquals(3.0, meterRegistry.get("delivery.log.fila").tag("appender", "ASYNC_TESTE").gauge().value());
+    assertEquals(4.0,
+        meterRegistry.get("delivery.log.fila.capacidade").tag("appender", "ASYNC_TESTE").gauge().value());
+    assertEquals(1.0,
+        meterRegistry.get("delivery.log.descartados").tag("appender", "ASYNC_TESTE").functionCounter().count());
+  }
+}
@@ -0,0 +1,131 @@
+package com.deliverytech.delivery_api.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.deliverytech.delivery_api.common.monitoring.context.RequestContext;
+import com.deliverytech.delivery_api.common.monitoring.filters.CorrelationIdFilter;
+
+class RequestContextTest {
+
+  @AfterEach
+  void tearDown() {
+    RequestContext.restaurar(null);
+  }
+
+  @Test
+  void filtroNaoCriaSessaoEDevolveCorrelationId() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/restaurantes");
+    request.addHeader("X-Forwarded-For", "203.0.113.7, 10.0.0.1");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    AtomicReference<RequestContext> durante = new AtomicReference<>();
+
+    new CorrelationIdFilter().doFilter(request, response, (req, res) -> durante.set(RequestContext.atual()));
+
+    assertNull(request.getSession(false));
+    RequestContext contexto = durante.get();
+    assertNotNull(contexto);
+    assertEquals(16, contexto.getCorrelationId().length());
+    assertEquals("203.0.113.7", contexto.getClientIp());
+    assertEquals(contexto.getCorrelationId(), response.getHeader("X-Correlation-ID"));
+    // Contexto e MDC limpos ao fim da requisição
+    assertNull(RequestContext.atual());
+    assertNull(MDC.get(RequestContext.MDC_CORRELATION_ID));
+  }
+
+  @Test
+  void filtroReaproveitaIdRecebidoSomenteSeValido() throws Exception {
+    MockHttpServletRequest valido = new MockHttpServletRequest("GET", "/api/restaurantes");
+    valido.addHeader("X-Correlation-ID", "gateway-123");
+    MockHttpServletResponse resposta = new MockHttpServletResponse();
+    new CorrelationIdFilter().doFilter(valido, resposta, (req, res) -> {
+    });
+    assertEquals("gateway-123", resposta.getHeader("X-Correlation-ID"));
+
+    MockHttpServletRequest injetado = new MockHttpServletRequest("GET", "/api/restaurantes");
+    injetado.addHeader("X-Correlation-ID", "abc\nFAKE LOG LINE");
+    MockHttpServletResponse outraResposta = new MockHttpServletResponse();
+    new CorrelationIdFilter().doFilter(injetado, outraResposta, (req, res) -> {
+    });
+    assertNotEquals("abc\nFAKE LOG LINE", outraResposta.getHeader("X-Correlation-ID"));
+    assertEquals(16, outraResposta.getHeader("X-Correlation-ID").length());
+  }
+
+  @Test
+  void taskDecoratorPropagaContextoParaExecutorDoSpring() throws Exception {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(1);
+    executor.setTaskDecorator(RequestContext::propagar);
+    executor.initialize();
+    try {
+      RequestContext contexto = new RequestContext("abc123", "10.0.0.1", "JUnit");
+      RequestContext.abrir(contexto);
+      contexto.setUsuarioId(7L);
+
+      AtomicReference<String> mdc = new AtomicReference<>();
+      AtomicReference<Long> usuario = new AtomicReference<>();
+      executor.submit(() -> {
+        mdc.set(MDC.get(RequestContext.MDC_CORRELATION_ID));
+        usuario.set(RequestContext.usuarioIdAtual());
+      }).get(5, TimeUnit.SECONDS);
+
+      assertEquals("abc123", mdc.get());
+      assertEquals(7L, usuario.get());
+
+      // A thread do pool não fica com o contexto depois da tarefa
+      RequestContext.restaurar(null);
+      assertNull(executor.submit(RequestContext::atual).get(5, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void propagaContextoParaVirtualThreads() throws Exception {
+    RequestContext contexto = new RequestContext("virt42", "10.0.0.2", "JUnit");
+    RequestContext.abrir(contexto);
+
+    try (ExecutorService virtuais = Executors.newVirtualThreadPerTaskExecutor()) {
+      CompletableFuture<RequestContext> visto = CompletableFuture
+          .supplyAsync(RequestContext::atual, RequestContext.propagando(virtuais));
+      assertSame(contexto, visto.get(5, TimeUnit.SECONDS));
+
+      AtomicReference<String> direto = new AtomicReference<>();
+      Thread thread = Thread.ofVirtual().start(RequestContext.propagar(
+          () -> direto.set(RequestContext.correlationIdAtual())));
+      thread.join();
+      assertEquals("virt42", direto.get());
+    }
+  }
+
+  @Test
+  void restaurarVoltaAoContextoAnterior() {
+    RequestContext externo = new RequestContext("externo", null, null);
+    RequestContext interno = new RequestContext("interno", null, null);
+
+    assertNull(RequestContext.abrir(externo));
+    assertSame(externo, RequestContext.abrir(interno));
+    assertEquals("interno", MDC.get(RequestContext.MDC_CORRELATION_ID));
+
+    RequestContext.restaurar(externo);
+    assertEquals("externo", MDC.get(RequestContext.MDC_CORRELATION_ID));
+    RequestContext.restaurar(null);
+    assertNull(RequestContext.atual());
+  }
+}
@@ -0,0 +1,88 @@
+package com.deliverytech.delivery_api.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.deliverytech.delivery_api.common.monitoring.alerts.SlidingWindow;
+import com.deliverytech.delivery_api.common.monitoring.alerts.SlidingWindow.Resumo;
+
+class SlidingWindowTest {
+
+  private final AtomicLong agora = new AtomicLong();
+  private final SlidingWindow janela = new SlidingWindow(Duration.ofSeconds(5), Duration.ofMinutes(15), agora::get);
+
+  @Test
+  void resumeSoAJanelaPedida() {
+    // 10 erros há 10 minutos; 100 requisições saudáveis no último minuto
+    registrar(10, 50, true);
+    avancar(Duration.ofMinutes(10));
+    registrar(100, 20, false);
+    avancar(Duration.ofSeconds(30));
+
+    Resumo ultimoMinuto = janela.resumo(Duration.ofMinutes(1));
+    assertEquals(100, ultimoMinuto.requisicoes());
+    assertEquals(0.0, ultimoMinuto.taxaErro());
+
+    Resumo quinzeMinutos = janela.resumo(Duration.ofMinutes(15));
+    assertEquals(110, quinzeMinutos.requisicoes());
+    assertEquals(10.0 / 110, quinzeMinutos.taxaErro(), 1e-9);
+  }
+
+  @Test
+  void fatiasVencidasSaemDaJanela() {
+    registrar(50, 10, true);
+    avancar(Duration.ofMinutes(16));
+    registrar(5, 10, false);
+
+    Resumo resumo = janela.resumo(Duration.ofMinutes(15));
+    assertEquals(5, resumo.requisicoes());
+    assertEquals(0, resumo.erros());
+  }
+
+  @Test
+  void percentisComErroRelativoLimitado() {
+    // 90 rápidas (10ms), 8 médias (200ms), 2 lentas (2s)
+    registrar(90, 10, false);
+    registrar(8, 200, false);
+    registrar(2, 2000, false);
+
+    Resumo resumo = janela.resumo(Duration.ofMinutes(1));
+    assertEquals(100, resumo.requisicoes());
+    assertEntre(10, resumo.p50Ms());
+    assertEntre(200, resumo.p95Ms());
+    assertEntre(2000, resumo.p99Ms());
+    assertEquals((90 * 10 + 8 * 200 + 2 * 2000) / 100.0, resumo.mediaMs(), 0.01);
+  }
+
+  @Test
+  void throughputPeloTempoCoberto() {
+    for (int i = 0; i < 60; i++) {
+      registrar(10, 5, false);
+      avancar(Duration.ofSeconds(1));
+    }
+
+    Resumo resumo = janela.resumo(Duration.ofMinutes(1));
+    assertEquals(10.0, resumo.porSegundo(), 1.0);
+  }
+
+  private void registrar(int quantidade, long milis, boolean erro) {
+    for (int i = 0; i < quantidade; i++) {
+      janela.registrar(TimeUnit.MILLISECONDS.toNanos(milis), erro);
+    }
+  }
+
+  private void avancar(Duration duracao) {
+    agora.addAndGet(duracao.toNanos());
+  }
+
+  private static void assertEntre(double esperado, double percentil) {
+    assertTrue(percentil >= esperado && percentil <= esperado * 1.25,
+        "percentil " + percentil + " fora de [" + esperado + ", " + esperado * 1.25 + "]");
+  }
+}
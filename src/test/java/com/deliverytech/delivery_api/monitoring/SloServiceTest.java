@@ -0,0 +1,104 @@
+package com.deliverytech.delivery_api.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.deliverytech.delivery_api.common.monitoring.slo.SloProperties;
+import com.deliverytech.delivery_api.common.monitoring.slo.SloService;
+import com.deliverytech.delivery_api.common.monitoring.slo.SloService.Orcamento;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SloServiceTest {
+
+  private static final String PEDIDOS = "POST /api/pedidos";
+  private static final String RESTAURANTES = "GET /api/restaurantes";
+
+  private final AtomicLong agora = new AtomicLong();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final SloService sloService = new SloService(propriedades(), meterRegistry, agora::get);
+
+  @Test
+  void orcamentoConsumidoPelosErrosDoPeriodo() {
+    // Objetivo 99%: em 1000 requisições cabem 10 erros; 5 consomem metade
+    registrar(RESTAURANTES, 995, 100, false);
+    registrar(RESTAURANTES, 5, 100, true);
+
+    Orcamento orcamento = sloService.orcamento(RESTAURANTES);
+    assertEquals(0.995, orcamento.disponibilidade().valor(), 1e-9);
+    assertEquals(0.5, orcamento.disponibilidade().orcamentoRestante(), 1e-9);
+    assertEquals(0.5, orcamento.disponibilidade().queima(), 1e-9);
+    assertEquals(1.0, orcamento.latencia().orcamentoRestante(), 1e-9);
+  }
+
+  @Test
+  void queimaPelaJanelaCurtaEPeriodoDeslizante() {
+    // Erros antigos: ainda no período, fora da janela de queima
+    registrar(RESTAURANTES, 100, 100, true);
+    agora.addAndGet(Duration.ofMinutes(30).toNanos());
+    registrar(RESTAURANTES, 900, 100, false);
+
+    Orcamento orcamento = sloService.orcamento(RESTAURANTES);
+    assertEquals(0.0, orcamento.disponibilidade().queima(), 1e-9);
+    assertEquals(1 - 100 / 10.0, orcamento.disponibilidade().orcamentoRestante(), 1e-9);
+
+    // Passado o período, os erros antigos saem
+    agora.addAndGet(Duration.ofMinutes(45).toNanos());
+    registrar(RESTAURANTES, 10, 100, false);
+    orcamento = sloService.orcamento(RESTAURANTES);
+    assertEquals(910, orcamento.disponibilidade().requisicoes());
+    assertEquals(0, orcamento.disponibilidade().ruins());
+  }
+
+  @Test
+  void limiteDeLatenciaPorRota() {
+    // Padrão 500ms; pedidos aceitam até 1s com objetivo de 90%
+    registrar(RESTAURANTES, 10, 800, false);
+    registrar(PEDIDOS, 9, 800, false);
+    registrar(PEDIDOS, 1, 1200, false);
+
+    Orcamento restaurantes = sloService.orcamento(RESTAURANTES);
+    assertEquals(500, restaurantes.latenciaLimiteMs());
+    assertEquals(0.0, restaurantes.latencia().valor(), 1e-9);
+
+    Orcamento pedidos = sloService.orcamento(PEDIDOS);
+    assertEquals(1000, pedidos.latenciaLimiteMs());
+    assertEquals(0.9, pedidos.latencia().valor(), 1e-9);
+    assertEquals(0.0, pedidos.latencia().orcamentoRestante(), 1e-9);
+
+    // Mais perto de estourar primeiro
+    List<Orcamento> orcamentos = sloService.orcamentos();
+    assertEquals(RESTAURANTES, orcamentos.get(0).rota());
+    assertEquals(-9.0, meterRegistry.get("delivery.slo.orcamento.restante")
+        .tag("rota", RESTAURANTES).tag("sli", "latencia").gauge().value(), 1e-9);
+  }
+
+  @Test
+  void rotaSemRequisicoes() {
+    assertNull(sloService.orcamento("GET /api/produtos"));
+  }
+
+  private void registrar(String rota, int quantidade, long milis, boolean erro) {
+    for (int i = 0; i < quantidade; i++) {
+      sloService.registrar(rota, Duration.ofMillis(milis).toNanos(), erro);
+    }
+  }
+
+  private static SloProperties propriedades() {
+    SloProperties properties = new SloProperties();
+    properties.setDisponibilidade(0.99);
+    properties.setLatenciaObjetivo(0.9);
+
+    SloProperties.Rota pedidos = new SloProperties.Rota();
+    pedidos.setRota(PEDIDOS);
+    pedidos.setLatencia(Duration.ofSeconds(1));
+    properties.setRotas(List.of(pedidos));
+    return properties;
+  }
+}
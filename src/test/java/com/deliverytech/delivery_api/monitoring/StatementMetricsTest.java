@@ -0,0 +1,195 @@
+package com.deliverytech.delivery_api.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Types;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import com.deliverytech.delivery_api.common.monitoring.database.InstrumentedDataSource;
+import com.deliverytech.delivery_api.common.monitoring.database.QueryContext;
+import com.deliverytech.delivery_api.common.monitoring.database.StatementListener;
+import com.deliverytech.delivery_api.common.monitoring.database.StatementMetrics;
+import com.deliverytech.delivery_api.common.monitoring.metrics.MetricsService;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class StatementMetricsTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ListAppender<ILoggingEvent> logs = new ListAppender<>();
+  private final Logger logger = (Logger) LoggerFactory.getLogger(StatementMetrics.class);
+
+  @AfterEach
+  void tearDown() {
+    logger.detachAppender(logs);
+    QueryContext.restaurar(null);
+  }
+
+  @Test
+  void medeStatementsPorConsultaEOperacao() throws Exception {
+    InstrumentedDataSource dataSource = criar("medicao", Duration.ofMinutes(1), 200);
+
+    try (Connection conexao = dataSource.getConnection(); Statement statement = conexao.createStatement()) {
+      statement.execute("create table item (id bigint primary key, nome varchar(50))");
+      assertSame(conexao, statement.getConnection());
+
+      String anterior = QueryContext.abrir("ItemRepository.save");
+      try (PreparedStatement insert = conexao.prepareStatement("insert into item values (?, ?)")) {
+        insert.setLong(1, 1L);
+        insert.setString(2, "pizza");
+        insert.executeUpdate();
+      } finally {
+        QueryContext.restaurar(anterior);
+      }
+
+      QueryContext.abrir("ItemRepository.findById");
+      try (PreparedStatement select = conexao.prepareStatement("select nome from item where id = ?")) {
+        select.setLong(1, 1L);
+        try (ResultSet resultado = select.executeQuery()) {
+          assertTrue(resultado.next());
+          assertEquals("pizza", resultado.getString(1));
+        }
+      }
+    }
+
+    assertEquals(1, timer(StatementMetrics.SEM_REPOSITORIO, "outro").count());
+    assertEquals(1, timer("ItemRepository.save", "insert").count());
+    assertEquals(1, timer("ItemRepository.findById", "select").count());
+    assertNull(meterRegistry.find("delivery.database.consulta.lenta").counter());
+  }
+
+  @Test
+  void consultaLentaVaiParaOLogComOFormatoDosParametros() throws Exception {
+    InstrumentedDataSource dataSource = criar("lentas", Duration.ZERO, 200);
+    logs.start();
+    logger.addAppender(logs);
+
+    try (Connection conexao = dataSource.getConnection()) {
+      conexao.createStatement().execute("create table item (id bigint primary key, nome varchar(50), obs varchar(50))");
+      QueryContext.abrir("ItemRepository.save");
+      try (PreparedStatement insert = conexao.prepareStatement("insert into item values (?, ?, ?)")) {
+        insert.setLong(1, 1L);
+        insert.setString(2, "segredo-cliente");
+        insert.setNull(3, Types.VARCHAR);
+        insert.executeUpdate();
+      }
+    }
+
+    Counter lentas = meterRegistry.find("delivery.database.consulta.lenta").tag("consulta", "ItemRepository.save")
+        .counter();
+    assertNotNull(lentas);
+    assertEquals(1.0, lentas.count());
+
+    String mensagem = logs.list.get(logs.list.size() - 1).getFormattedMessage();
+    assertTrue(mensagem.contains("insert into item values (?, ?, ?)"));
+    assertTrue(mensagem.contains("[Long, String(15), null]"));
+    // Valores dos binds nunca vão para o log
+    assertFalse(mensagem.contains("segredo-cliente"));
+  }
+
+  @Test
+  void limitaOsNomesDeConsulta() throws Exception {
+    InstrumentedDataSource dataSource = criar("cardinalidade", Duration.ofMinutes(1), 2);
+
+    try (Connection conexao = dataSource.getConnection()) {
+      for (String consulta : new String[] { "Repo.a", "Repo.b", "Repo.c", "Repo.d" }) {
+        QueryContext.abrir(consulta);
+        try (PreparedStatement select = conexao.prepareStatement("select 1")) {
+          select.executeQuery().close();
+        }
+      }
+    }
+
+    assertEquals(1, timer("Repo.a", "select").count());
+    assertEquals(1, timer("Repo.b", "select").count());
+    assertEquals(2, timer(StatementMetrics.OUTRAS, "select").count());
+    assertEquals(3, meterRegistry.find("delivery.database.consulta.tempo").timers().size());
+  }
+
+  @Test
+  void listenersRecebemStatementsELinhasLidas() throws Exception {
+    List<String> statements = new ArrayList<>();
+    AtomicInteger linhas = new AtomicInteger();
+    InstrumentedDataSource dataSource = criar("listener", Duration.ofMinutes(1), 200, new StatementListener() {
+      @Override
+      public void statement(String consulta, String sql) {
+        statements.add(consulta + " " + sql);
+      }
+
+      @Override
+      public void linha() {
+        linhas.incrementAndGet();
+      }
+    });
+
+    try (Connection conexao = dataSource.getConnection(); Statement statement = conexao.createStatement()) {
+      statement.execute("create table item (id bigint primary key)");
+      statement.executeUpdate("insert into item values (1), (2), (3)");
+
+      QueryContext.abrir("ItemRepository.findAll");
+      try (PreparedStatement select = conexao.prepareStatement("select id from item");
+          ResultSet resultado = select.executeQuery()) {
+        assertSame(select, resultado.getStatement());
+        while (resultado.next()) {
+          resultado.getLong(1);
+        }
+      }
+    }
+
+    assertEquals(3, statements.size());
+    assertEquals("ItemRepository.findAll select id from item", statements.get(2));
+    assertEquals(3, linhas.get());
+  }
+
+  @Test
+  void semListenerOResultSetVaiDiretoAoDriver() throws Exception {
+    InstrumentedDataSource dataSource = criar("sem-listener", Duration.ofMinutes(1), 200);
+
+    try (Connection conexao = dataSource.getConnection();
+        PreparedStatement select = conexao.prepareStatement("select 1");
+        ResultSet resultado = select.executeQuery()) {
+      assertFalse(Proxy.isProxyClass(resultado.getClass()));
+    }
+  }
+
+  private InstrumentedDataSource criar(String banco, Duration consultaLenta, int maximoConsultas,
+      StatementListener... listeners) {
+    JdbcDataSource h2 = new JdbcDataSource();
+    h2.setURL("jdbc:h2:mem:" + banco + ";DB_CLOSE_DELAY=-1");
+    StatementMetrics metrics = new StatementMetrics(new MetricsService(meterRegistry), meterRegistry, consultaLenta,
+        maximoConsultas, List.of(listeners));
+    return new InstrumentedDataSource(h2, metrics);
+  }
+
+  private Timer timer(String consulta, String operacao) {
+    Timer timer = meterRegistry.find("delivery.database.consulta.tempo")
+        .tag("consulta", consulta)
+        .tag("operacao", operacao)
+        .timer();
+    assertNotNull(timer, consulta + "/" + operacao);
+    return timer;
+  }
+}
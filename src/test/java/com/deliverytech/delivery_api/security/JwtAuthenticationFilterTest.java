@@ -4,12 +4,16 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
@@ -22,8 +26,14 @@ import org.springframework.test.util.ReflectionTestUtils;
 import com.deliverytech.delivery_api.auth.model.Role;
 import com.deliverytech.delivery_api.auth.model.Usuario;
 import com.deliverytech.delivery_api.auth.service.AuthService;
+import com.deliverytech.delivery_api.auth.service.SessionRevocationService;
+import com.deliverytech.delivery_api.auth.service.TokenVersionService;
 import com.deliverytech.delivery_api.common.security.JwtAuthenticationFilter;
+import com.deliverytech.delivery_api.common.monitoring.metrics.MetricsService;
 import com.deliverytech.delivery_api.common.security.JwtUtil;
+import com.deliverytech.delivery_api.common.security.VerifiedTokenCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 class JwtAuthenticationFilterTest {
 
@@ -77,6 +87,120 @@ class JwtAuthenticationFilterTest {
     verify(chain, times(1)).doFilter(request, response);
   }
 
+  @Test
+  void deveVerificarOTokenUmaUnicaVez() throws Exception {
+    JwtUtil jwtUtilSpy = spy(jwtUtil);
+    filter = new JwtAuthenticationFilter(authService, jwtUtilSpy);
+    var request = new MockHttpServletRequest();
+    request.addHeader("Authorization", "Bearer " + token);
+
+    filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+    assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+    verify(jwtUtilSpy, times(1)).validar(token);
+    verify(jwtUtilSpy, never()).extractUsername(token);
+    verify(jwtUtilSpy, never()).isTokenExpired(token);
+  }
+
+  @Test
+  void deveMontarUsuarioDasClaimsSemConsultarOBanco() throws Exception {
+    TokenVersionService tokenVersionService = mock(TokenVersionService.class);
+    when(tokenVersionService.versaoAtual(10L)).thenReturn(0);
+    filter = new JwtAuthenticationFilter(authService, jwtUtil, tokenVersionService, null, null, true);
+    var request = new MockHttpServletRequest();
+    request.addHeader("Authorization", "Bearer " + token);
+
+    filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+    Usuario principal = (Usuario) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    assertEquals(10L, principal.getId());
+    assertEquals("user@email.com", principal.getEmail());
+    assertEquals(Role.CLIENTE, principal.getRole());
+    verify(authService, never()).loadUserByUsername(any());
+  }
+
+  @Test
+  void deveRetornar401ParaTokenRevogado() throws Exception {
+    TokenVersionService tokenVersionService = mock(TokenVersionService.class);
+    when(tokenVersionService.versaoAtual(10L)).thenReturn(TokenVersionService.REVOGADO);
+    filter = new JwtAuthenticationFilter(authService, jwtUtil, tokenVersionService, null, null, true);
+    var request = new MockHttpServletRequest();
+    request.addHeader("Authorization", "Bearer " + token);
+    var response = new MockHttpServletResponse();
+    var chain = spy(new MockFilterChain());
+
+    filter.doFilter(request, response, chain);
+
+    assertEquals(HttpStatus.UNAUTHORIZED.value(), response.getStatus());
+    assertTrue(response.getContentAsString().contains("Token revogado"));
+    assertNull(SecurityContextHolder.getContext().getAuthentication());
+    verify(chain, never()).doFilter(any(), any());
+  }
+
+  @Test
+  void deveChecarRevogacaoMesmoComTokenEmCache() throws Exception {
+    TokenVersionService tokenVersionService = mock(TokenVersionService.class);
+    when(tokenVersionService.versaoAtual(10L)).thenReturn(0, TokenVersionService.REVOGADO);
+    var tokenCache = new VerifiedTokenCache(jwtUtil, new MetricsService(new SimpleMeterRegistry()), 100,
+        Duration.ofMinutes(10));
+    filter = new JwtAuthenticationFilter(authService, jwtUtil, tokenVersionService, tokenCache, null, true);
+
+    var primeira = new MockHttpServletRequest();
+    primeira.addHeader("Authorization", "Bearer " + token);
+    filter.doFilter(primeira, new MockHttpServletResponse(), new MockFilterChain());
+    assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+
+    SecurityContextHolder.clearContext();
+    var segunda = new MockHttpServletRequest();
+    segunda.addHeader("Authorization", "Bearer " + token);
+    var response = new MockHttpServletResponse();
+    filter.doFilter(segunda, response, new MockFilterChain());
+
+    assertEquals(HttpStatus.UNAUTHORIZED.value(), response.getStatus());
+    assertNull(SecurityContextHolder.getContext().getAuthentication());
+  }
+
+  @Test
+  void deveRetornar401ParaSessaoEncerrada() throws Exception {
+    SessionRevocationService revogacoes = mock(SessionRevocationService.class);
+    when(revogacoes.estaRevogada("sessao-1")).thenReturn(true);
+    filter = new JwtAuthenticationFilter(authService, jwtUtil, null, null, revogacoes, false);
+    var request = new MockHttpServletRequest();
+    request.addHeader("Authorization", "Bearer " + jwtUtil.generateToken(usuario, "sessao-1"));
+    var response = new MockHttpServletResponse();
+
+    filter.doFilter(request, response, new MockFilterChain());
+
+    assertEquals(HttpStatus.UNAUTHORIZED.value(), response.getStatus());
+    assertTrue(response.getContentAsString().contains("Sessão encerrada"));
+    assertNull(SecurityContextHolder.getContext().getAuthentication());
+  }
+
+  @Test
+  void naoDeveAutenticarComRefreshToken() throws Exception {
+    var request = new MockHttpServletRequest();
+    request.addHeader("Authorization", "Bearer " + jwtUtil.generateRefreshToken(usuario, "sessao-1", "jti-1"));
+    var response = new MockHttpServletResponse();
+
+    filter.doFilter(request, response, new MockFilterChain());
+
+    assertEquals(HttpStatus.UNAUTHORIZED.value(), response.getStatus());
+    assertNull(SecurityContextHolder.getContext().getAuthentication());
+  }
+
+  @Test
+  void deveRetornar401ParaUsuarioDesativadoCarregadoDoBanco() throws Exception {
+    usuario.setAtivo(false);
+    var request = new MockHttpServletRequest();
+    request.addHeader("Authorization", "Bearer " + token);
+    var response = new MockHttpServletResponse();
+
+    filter.doFilter(request, response, new MockFilterChain());
+
+    assertEquals(HttpStatus.UNAUTHORIZED.value(), response.getStatus());
+    assertNull(SecurityContextHolder.getContext().getAuthentication());
+  }
+
   @Test
   void deveRetornar401ParaTokenExpirado() throws Exception {
     // força expiração
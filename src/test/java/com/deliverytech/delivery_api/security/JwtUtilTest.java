@@ -13,6 +13,7 @@ import org.springframework.test.util.ReflectionTestUtils;
 import com.deliverytech.delivery_api.auth.model.Role;
 import com.deliverytech.delivery_api.auth.model.Usuario;
 import com.deliverytech.delivery_api.common.security.JwtUtil;
+import com.deliverytech.delivery_api.common.security.TokenValidado;
 
 class JwtUtilTest {
 
@@ -53,4 +54,29 @@ class JwtUtilTest {
       jwtUtil.isTokenExpired(token);
     });
   }
+
+  @Test
+  void deveValidarTokenLendoTodasAsClaimsDeUmaVez() {
+    String token = jwtUtil.generateToken(usuario);
+
+    TokenValidado validado = jwtUtil.validar(token);
+
+    assertEquals("user@email.com", validado.username());
+    assertEquals(10L, validado.userId());
+    assertEquals("CLIENTE", validado.role());
+    assertEquals("User Test", validado.nome());
+    assertNotNull(validado.expiraEm());
+    assertFalse(validado.expirado());
+    assertEquals("CLIENTE", validado.claims().get("role"));
+    assertThrows(UnsupportedOperationException.class, () -> validado.claims().put("role", "ADMIN"));
+    assertTrue(jwtUtil.validateToken(validado, usuario));
+  }
+
+  @Test
+  void deveRejeitarTokenAssinadoComOutroSegredo() {
+    String token = jwtUtil.generateToken(usuario);
+    ReflectionTestUtils.setField(jwtUtil, "secret", "outrosegredooutrosegredooutrosegredooutrosegredo");
+
+    assertThrows(io.jsonwebtoken.security.SignatureException.class, () -> jwtUtil.validar(token));
+  }
 }
@@ -0,0 +1,104 @@
+package com.deliverytech.delivery_api.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.deliverytech.delivery_api.auth.model.Role;
+import com.deliverytech.delivery_api.auth.model.Usuario;
+import com.deliverytech.delivery_api.auth.repository.UsuarioRepository;
+import com.deliverytech.delivery_api.common.exceptions.EntityNotFoundException;
+import com.deliverytech.delivery_api.common.security.OwnershipResolver;
+import com.deliverytech.delivery_api.pedido.repository.PedidoRepository;
+import com.deliverytech.delivery_api.produto.repository.ProdutoRepository;
+
+class OwnershipResolverTest {
+
+  private PedidoRepository pedidoRepository;
+  private ProdutoRepository produtoRepository;
+  private UsuarioRepository usuarioRepository;
+  private OwnershipResolver resolver;
+
+  @BeforeEach
+  void setUp() {
+    pedidoRepository = mock(PedidoRepository.class);
+    produtoRepository = mock(ProdutoRepository.class);
+    usuarioRepository = mock(UsuarioRepository.class);
+    resolver = new OwnershipResolver(pedidoRepository, produtoRepository, usuarioRepository, 100,
+        Duration.ofMinutes(30));
+
+    Usuario usuario = new Usuario("dono@email.com", null, "Dono", Role.RESTAURANTE);
+    usuario.setId(10L);
+    SecurityContextHolder.getContext().setAuthentication(
+        new UsernamePasswordAuthenticationToken(usuario, null, usuario.getAuthorities()));
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Test
+  void deveConsultarSoOIdDoClienteUmaVezPorRequisicao() {
+    when(pedidoRepository.findUsuarioIdById(1L)).thenReturn(Optional.of(10L));
+    when(pedidoRepository.findUsuarioIdById(2L)).thenReturn(Optional.of(20L));
+
+    assertTrue(resolver.donoDoPedido(1L));
+    assertTrue(resolver.donoDoPedido(1L));
+    assertFalse(resolver.donoDoPedido(2L));
+
+    verify(pedidoRepository, times(1)).findUsuarioIdById(1L);
+  }
+
+  @Test
+  void deveLancarNaoEncontradoParaPedidoInexistente() {
+    when(pedidoRepository.findUsuarioIdById(99L)).thenReturn(Optional.empty());
+
+    assertThrows(EntityNotFoundException.class, () -> resolver.donoDoPedido(99L));
+  }
+
+  @Test
+  void deveGuardarRestauranteDoProdutoEntreRequisicoes() {
+    when(produtoRepository.findRestauranteIdById(5L)).thenReturn(Optional.of(3L));
+    when(usuarioRepository.findRestauranteIdById(10L)).thenReturn(Optional.of(3L));
+
+    assertTrue(resolver.donoDoProduto(5L));
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    assertTrue(resolver.donoDoProduto(5L));
+
+    verify(produtoRepository, times(1)).findRestauranteIdById(5L);
+    // O restaurante do usuário é memorizado só dentro de cada requisição
+    verify(usuarioRepository, times(2)).findRestauranteIdById(10L);
+  }
+
+  @Test
+  void deveRecusarProdutoDeOutroRestauranteOuInexistente() {
+    when(produtoRepository.findRestauranteIdById(5L)).thenReturn(Optional.of(4L));
+    when(produtoRepository.findRestauranteIdById(6L)).thenReturn(Optional.empty());
+    when(usuarioRepository.findRestauranteIdById(10L)).thenReturn(Optional.of(3L));
+
+    assertFalse(resolver.donoDoProduto(5L));
+    assertFalse(resolver.donoDoProduto(6L));
+    assertFalse(resolver.donoDoRestaurante(4L));
+    assertTrue(resolver.donoDoRestaurante(3L));
+    verify(usuarioRepository, times(1)).findRestauranteIdById(10L);
+  }
+}
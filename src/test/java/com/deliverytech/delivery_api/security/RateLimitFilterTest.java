@@ -0,0 +1,224 @@
+package com.deliverytech.delivery_api.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.BindException;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.validation.ValidationBindHandler;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import com.deliverytech.delivery_api.auth.model.Role;
+import com.deliverytech.delivery_api.auth.model.Usuario;
+import com.deliverytech.delivery_api.common.monitoring.filters.RateLimitFilter;
+import com.deliverytech.delivery_api.common.ratelimit.LocalRateLimiter;
+import com.deliverytech.delivery_api.common.ratelimit.RateLimitProperties;
+import com.deliverytech.delivery_api.common.ratelimit.RateLimiter.Decisao;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimitFilterTest {
+
+  private AtomicLong nanos;
+  private SimpleMeterRegistry meterRegistry;
+  private RateLimitFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    RateLimitProperties.Rota calcular = new RateLimitProperties.Rota();
+    calcular.setNome("calcular-pedido");
+    calcular.setMetodo("POST");
+    calcular.setPadrao("/api/pedidos/calcular");
+    calcular.setCapacidade(3);
+    calcular.setPorSegundo(1);
+    RateLimitProperties properties = new RateLimitProperties();
+    properties.setRotas(List.of(calcular));
+
+    nanos = new AtomicLong(1_000_000_000L);
+    meterRegistry = new SimpleMeterRegistry();
+    filter = new RateLimitFilter(properties, new LocalRateLimiter(1_000, nanos::get), meterRegistry);
+    SecurityContextHolder.clearContext();
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void deveBloquearAcimaDaCapacidadeEInformarCabecalhos() throws Exception {
+    for (int restantes = 2; restantes >= 0; restantes--) {
+      MockHttpServletResponse response = calcular("10.0.0.1");
+      assertEquals(200, response.getStatus());
+      assertEquals("3", response.getHeader("RateLimit-Limit"));
+      assertEquals(String.valueOf(restantes), response.getHeader("RateLimit-Remaining"));
+    }
+
+    MockHttpServletResponse bloqueada = calcular("10.0.0.1");
+
+    assertEquals(429, bloqueada.getStatus());
+    assertEquals("0", bloqueada.getHeader("RateLimit-Remaining"));
+    assertEquals("1", bloqueada.getHeader("Retry-After"));
+    assertEquals("3", bloqueada.getHeader("RateLimit-Reset"));
+    assertEquals(3.0, requisicoes("permitida"));
+    assertEquals(1.0, requisicoes("bloqueada"));
+  }
+
+  @Test
+  void deveReporTokensComOTempo() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      calcular("10.0.0.1");
+    }
+    assertEquals(429, calcular("10.0.0.1").getStatus());
+
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+    assertEquals(200, calcular("10.0.0.1").getStatus());
+    assertEquals(429, calcular("10.0.0.1").getStatus());
+  }
+
+  @Test
+  void deveLimitarPorUsuarioAutenticadoOuPorIp() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      calcular("10.0.0.1");
+    }
+    assertEquals(429, calcular("10.0.0.1").getStatus());
+    assertEquals(200, calcular("10.0.0.2").getStatus());
+
+    // Mesmo IP, mas autenticado: o bucket é o do usuário
+    Usuario usuario = new Usuario("cliente@email.com", null, "Cliente", Role.CLIENTE);
+    usuario.setId(7L);
+    SecurityContextHolder.getContext().setAuthentication(
+        new UsernamePasswordAuthenticationToken(usuario, null, usuario.getAuthorities()));
+    assertEquals(200, calcular("10.0.0.1").getStatus());
+  }
+
+  @Test
+  void deveIgnorarXForwardedForEnviadoPeloCliente() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      assertEquals(200, calcular("10.0.0.1", "203.0.113." + i).getStatus());
+    }
+
+    // Trocar o cabeçalho não troca de bucket: vale o IP da conexão
+    assertEquals(429, calcular("10.0.0.1", "203.0.113.99").getStatus());
+  }
+
+  @Test
+  void deveRecusarRotaComTaxaOuCapacidadeNaoPositiva() {
+    assertThrows(BindException.class, () -> vincular(Map.of(
+        "delivery.rate-limit.rotas[0].nome", "calcular-pedido",
+        "delivery.rate-limit.rotas[0].padrao", "/api/pedidos/calcular",
+        "delivery.rate-limit.rotas[0].capacidade", "3",
+        "delivery.rate-limit.rotas[0].por-segundo", "0")));
+    assertThrows(BindException.class, () -> vincular(Map.of(
+        "delivery.rate-limit.rotas[0].nome", "calcular-pedido",
+        "delivery.rate-limit.rotas[0].padrao", "/api/pedidos/calcular",
+        "delivery.rate-limit.rotas[0].capacidade", "0",
+        "delivery.rate-limit.rotas[0].por-segundo", "1")));
+
+    RateLimitProperties valida = vincular(Map.of(
+        "delivery.rate-limit.rotas[0].nome", "calcular-pedido",
+        "delivery.rate-limit.rotas[0].padrao", "/api/pedidos/calcular",
+        "delivery.rate-limit.rotas[0].capacidade", "3",
+        "delivery.rate-limit.rotas[0].por-segundo", "0.5"));
+    assertEquals(0.5, valida.getRotas().get(0).getPorSegundo());
+  }
+
+  @Test
+  void naoDeveLimitarRotasSemConfiguracao() throws Exception {
+    var request = new MockHttpServletRequest("GET", "/api/pedidos/calcular");
+    var response = new MockHttpServletResponse();
+
+    filter.doFilter(request, response, new MockFilterChain());
+
+    assertEquals(200, response.getStatus());
+    assertNull(response.getHeader("RateLimit-Remaining"));
+  }
+
+  @Test
+  void bucketNaoDeveDeixarPassarMaisQueACapacidadeSobConcorrencia() throws Exception {
+    LocalRateLimiter limiter = new LocalRateLimiter(1_000);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Callable<Integer>> tarefas = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        tarefas.add(() -> {
+          int permitidas = 0;
+          for (int i = 0; i < 1_000; i++) {
+            Decisao decisao = limiter.tentar("cliente", 500, 0.001);
+            if (decisao.permitida()) {
+              permitidas++;
+            } else {
+              assertFalse(decisao.esperaNanos() <= 0);
+            }
+          }
+          return permitidas;
+        });
+      }
+      int total = 0;
+      for (Future<Integer> resultado : executor.invokeAll(tarefas)) {
+        total += resultado.get();
+      }
+      assertEquals(500, total);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private MockHttpServletResponse calcular(String ip) throws Exception {
+    return calcular(ip, null);
+  }
+
+  private MockHttpServletResponse calcular(String ip, String xForwardedFor) throws Exception {
+    var request = new MockHttpServletRequest("POST", "/api/pedidos/calcular");
+    request.setRemoteAddr(ip);
+    if (xForwardedFor != null) {
+      request.addHeader("X-Forwarded-For", xForwardedFor);
+    }
+    var response = new MockHttpServletResponse();
+    var chain = new MockFilterChain();
+    filter.doFilter(request, response, chain);
+    assertTrue(response.getStatus() == 429 || chain.getRequest() != null);
+    return response;
+  }
+
+  /**
+   * Mesmo caminho do @ConfigurationProperties com @Validated na subida
+   */
+  private static RateLimitProperties vincular(Map<String, String> valores) {
+    try (LocalValidatorFactoryBean validador = new LocalValidatorFactoryBean()) {
+      validador.afterPropertiesSet();
+      return new Binder(new MapConfigurationPropertySource(valores))
+          .bind("delivery.rate-limit", Bindable.of(RateLimitProperties.class), new ValidationBindHandler(validador))
+          .get();
+    }
+  }
+
+  private double requisicoes(String resultado) {
+    return meterRegistry.get("delivery.ratelimit.requisicoes").tag("rota", "calcular-pedido")
+        .tag("resultado", resultado).counter().count();
+  }
+}
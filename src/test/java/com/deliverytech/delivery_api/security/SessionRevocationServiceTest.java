@@ -0,0 +1,174 @@
+package com.deliverytech.delivery_api.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.deliverytech.delivery_api.auth.repository.InMemoryRefreshTokenStore;
+import com.deliverytech.delivery_api.auth.service.SessionRevocationService;
+import com.deliverytech.delivery_api.common.cache.CacheCircuitBreaker;
+import com.deliverytech.delivery_api.common.security.JwtUtil;
+import com.deliverytech.delivery_api.common.utils.BloomFilter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SessionRevocationServiceTest {
+
+  private static final String CANAL = "delivery:auth:revogacoes";
+
+  private InMemoryRefreshTokenStore store;
+  private StringRedisTemplate redisTemplate;
+  private JwtUtil jwtUtil;
+  private SimpleMeterRegistry meterRegistry;
+  private CacheCircuitBreaker circuito;
+  private SessionRevocationService revogacoes;
+
+  @BeforeEach
+  void setUp() {
+    store = spy(new InMemoryRefreshTokenStore());
+    redisTemplate = mock(StringRedisTemplate.class);
+    jwtUtil = new JwtUtil();
+    ReflectionTestUtils.setField(jwtUtil, "refreshExpiration", Duration.ofDays(7).toMillis());
+    meterRegistry = new SimpleMeterRegistry();
+    circuito = new CacheCircuitBreaker(meterRegistry, 3, Duration.ofSeconds(30), System::currentTimeMillis);
+    revogacoes = novoNo();
+  }
+
+  @Test
+  void deveResponderSessaoNaoRevogadaSemConsultarOStore() {
+    revogacoes.revogar("sessao-revogada");
+
+    assertFalse(revogacoes.estaRevogada("sessao-ativa"));
+    assertTrue(revogacoes.estaRevogada("sessao-revogada"));
+
+    verify(store, never()).sessaoRevogada("sessao-ativa");
+    verify(redisTemplate).convertAndSend(CANAL, "sessao-revogada");
+    assertEquals(1.0, consultas("memoria"));
+    assertEquals(1.0, consultas("revogada"));
+  }
+
+  @Test
+  void deveAplicarRevogacaoRecebidaDeOutroNo() {
+    SessionRevocationService outroNo = novoNo();
+    store.revogarSessao("sessao-1", Instant.now().plus(Duration.ofDays(7)));
+    assertFalse(outroNo.estaRevogada("sessao-1"));
+
+    outroNo.onMessage(new DefaultMessage(CANAL.getBytes(StandardCharsets.UTF_8),
+        "sessao-1".getBytes(StandardCharsets.UTF_8)), null);
+
+    assertTrue(outroNo.estaRevogada("sessao-1"));
+  }
+
+  @Test
+  void deveMontarFiltroComAsRevogacoesDoStoreNaSubida() {
+    store.revogarSessao("sessao-1", Instant.now().plus(Duration.ofDays(7)));
+    store.revogarSessao("sessao-vencida", Instant.now().minusSeconds(1));
+
+    SessionRevocationService novoNo = novoNo();
+
+    assertTrue(novoNo.estaRevogada("sessao-1"));
+    assertFalse(novoNo.estaRevogada("sessao-vencida"));
+  }
+
+  @Test
+  void deveContinuarRevogandoSePublicacaoFalhar() {
+    doThrow(new IllegalStateException("redis fora"))
+        .when(redisTemplate).convertAndSend(any(), any());
+
+    revogacoes.revogar("sessao-1");
+
+    assertTrue(revogacoes.estaRevogada("sessao-1"));
+  }
+
+  @Test
+  void deveRecusarSessaoApontadaPeloFiltroComStoreIndisponivel() {
+    revogacoes.revogar("sessao-revogada");
+    doThrow(new RedisConnectionFailureException("redis fora")).when(store).sessaoRevogada(any());
+
+    // Filtro aponta a sessão e o store não responde: recusa em vez de propagar o erro
+    assertTrue(revogacoes.estaRevogada("sessao-revogada"));
+    assertFalse(revogacoes.estaRevogada("sessao-ativa"));
+
+    assertEquals(1.0, consultas("indisponivel"));
+    assertEquals(1, circuito.getFalhasSeguidas());
+  }
+
+  @Test
+  void deveConsultarOStoreEnquantoOFiltroNaoForMontado() {
+    store.revogarSessao("revogada-antes-da-subida", Instant.now().plus(Duration.ofDays(7)));
+    doThrow(new RedisConnectionFailureException("redis fora")).when(store).sessoesRevogadas();
+
+    SessionRevocationService novoNo = novoNo();
+
+    // Filtro vazio não pode responder "não revogada" pelas revogações anteriores
+    assertFalse(novoNo.isFiltroMontado());
+    assertTrue(novoNo.estaRevogada("revogada-antes-da-subida"));
+    assertFalse(novoNo.estaRevogada("sessao-ativa"));
+    verify(store).sessaoRevogada("sessao-ativa");
+    assertEquals(1.0, consultas("sem_filtro"));
+
+    // Store também fora na consulta: recusa
+    doThrow(new RedisConnectionFailureException("redis fora")).when(store).sessaoRevogada(any());
+    assertTrue(novoNo.estaRevogada("sessao-ativa"));
+
+    doCallRealMethod().when(store).sessoesRevogadas();
+    doCallRealMethod().when(store).sessaoRevogada(any());
+    novoNo.montarFiltroPendente();
+
+    assertTrue(novoNo.isFiltroMontado());
+    assertTrue(novoNo.estaRevogada("revogada-antes-da-subida"));
+    assertFalse(novoNo.estaRevogada("outra-sessao"));
+    verify(store, never()).sessaoRevogada("outra-sessao");
+  }
+
+  @Test
+  void filtroDeBloomDeveRespeitarTaxaDeFalsoPositivo() {
+    BloomFilter filtro = new BloomFilter(10_000, 0.01);
+    for (int i = 0; i < 10_000; i++) {
+      filtro.adicionar("revogada-" + i);
+    }
+
+    int falsosPositivos = 0;
+    for (int i = 0; i < 100_000; i++) {
+      assertTrue(filtro.podeConter("revogada-" + (i % 10_000)));
+      if (filtro.podeConter(UUID.randomUUID().toString())) {
+        falsosPositivos++;
+      }
+    }
+
+    assertTrue(falsosPositivos < 2_000, "taxa de falso positivo acima de 2%: " + falsosPositivos);
+  }
+
+  /**
+   * Nó recém-subido: o filtro é montado como no @PostConstruct
+   */
+  private SessionRevocationService novoNo() {
+    SessionRevocationService no = new SessionRevocationService(store, circuito, redisTemplate, jwtUtil, meterRegistry,
+        CANAL, 1_000, 0.01);
+    no.reconstruirFiltro();
+    return no;
+  }
+
+  private double consultas(String resultado) {
+    return meterRegistry.get("delivery.auth.revogacao.consultas").tag("resultado", resultado).counter().count();
+  }
+}
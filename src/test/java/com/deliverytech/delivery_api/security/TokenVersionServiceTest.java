@@ -0,0 +1,104 @@
+package com.deliverytech.delivery_api.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Configuration;
+
+import com.deliverytech.delivery_api.auth.model.Usuario;
+import com.deliverytech.delivery_api.auth.repository.UsuarioRepository;
+import com.deliverytech.delivery_api.auth.service.TokenVersionService;
+import com.deliverytech.delivery_api.utils.redis.TwoLevelCacheCluster;
+
+/**
+ * Dois nós com o cache versoesToken em dois níveis sobre o mesmo Redis e o
+ * mesmo banco: a revogação em um nó precisa valer no outro, que já tem a
+ * versão antiga no L1.
+ */
+class TokenVersionServiceTest {
+
+  private static final long USUARIO_ID = 1L;
+
+  @Configuration
+  @EnableCaching
+  static class CacheConfig {
+  }
+
+  private final Usuario usuario = new Usuario();
+  private TwoLevelCacheCluster cluster;
+  private AnnotationConfigApplicationContext contextoA;
+  private AnnotationConfigApplicationContext contextoB;
+  private TokenVersionService noA;
+  private TokenVersionService noB;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    usuario.setId(USUARIO_ID);
+
+    // Banco compartilhado: a consulta segue a mesma regra do findVersaoToken
+    UsuarioRepository usuarioRepository = mock(UsuarioRepository.class);
+    when(usuarioRepository.findVersaoToken(anyLong()))
+        .thenAnswer(i -> Optional.of(usuario.getAtivo() ? TokenVersionService.versaoDe(usuario)
+            : TokenVersionService.REVOGADO));
+    when(usuarioRepository.save(any(Usuario.class))).thenAnswer(i -> i.getArgument(0));
+
+    cluster = new TwoLevelCacheCluster(TokenVersionService.CACHE);
+    contextoA = novoNo(usuarioRepository);
+    contextoB = novoNo(usuarioRepository);
+    noA = contextoA.getBean(TokenVersionService.class);
+    noB = contextoB.getBean(TokenVersionService.class);
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    contextoA.close();
+    contextoB.close();
+    cluster.close();
+  }
+
+  private AnnotationConfigApplicationContext novoNo(UsuarioRepository usuarioRepository) {
+    TwoLevelCacheCluster.No no = cluster.novoNo();
+    AnnotationConfigApplicationContext contexto = new AnnotationConfigApplicationContext();
+    contexto.register(CacheConfig.class);
+    contexto.registerBean(CacheManager.class, no::cacheManager);
+    contexto.registerBean(UsuarioRepository.class, () -> usuarioRepository);
+    contexto.registerBean(TokenVersionService.class);
+    contexto.refresh();
+    return contexto;
+  }
+
+  @Test
+  void revogacaoNoNoAValeNoNoB() {
+    int versaoDoToken = noB.versaoAtual(USUARIO_ID); // nó B guarda a versão 0 no L1
+    assertEquals(0, versaoDoToken);
+
+    noA.revogarTokens(usuario);
+
+    assertNotEquals(versaoDoToken, noB.versaoAtual(USUARIO_ID));
+    assertEquals(1, noB.versaoAtual(USUARIO_ID));
+  }
+
+  @Test
+  void desativacaoNoNoAValeNoNoB() {
+    assertEquals(0, noB.versaoAtual(USUARIO_ID));
+
+    // Mesmo caminho do AuthService.desativarUsuario
+    usuario.setAtivo(false);
+    noA.revogarTokens(usuario);
+
+    assertEquals(TokenVersionService.REVOGADO, noB.versaoAtual(USUARIO_ID));
+  }
+}
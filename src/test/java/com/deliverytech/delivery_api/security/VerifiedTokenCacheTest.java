@@ -0,0 +1,82 @@
+package com.deliverytech.delivery_api.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.deliverytech.delivery_api.auth.model.Role;
+import com.deliverytech.delivery_api.auth.model.Usuario;
+import com.deliverytech.delivery_api.common.monitoring.metrics.MetricsService;
+import com.deliverytech.delivery_api.common.security.JwtUtil;
+import com.deliverytech.delivery_api.common.security.TokenValidado;
+import com.deliverytech.delivery_api.common.security.VerifiedTokenCache;
+
+import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class VerifiedTokenCacheTest {
+
+  private JwtUtil jwtUtil;
+  private SimpleMeterRegistry meterRegistry;
+  private MetricsService metricsService;
+  private AtomicLong nanos;
+  private VerifiedTokenCache cache;
+  private String token;
+
+  @BeforeEach
+  void setUp() {
+    jwtUtil = spy(new JwtUtil());
+    ReflectionTestUtils.setField(jwtUtil, "secret", "mysecretkeymysecretkeymysecretkeymysecretkey");
+    ReflectionTestUtils.setField(jwtUtil, "expiration", 3600000L); // 1h
+
+    meterRegistry = new SimpleMeterRegistry();
+    metricsService = new MetricsService(meterRegistry);
+    nanos = new AtomicLong();
+    cache = new VerifiedTokenCache(jwtUtil, metricsService, 100, Duration.ofMinutes(10), nanos::get);
+
+    Usuario usuario = new Usuario("user@email.com", "123", "User", Role.CLIENTE);
+    usuario.setId(10L);
+    token = jwtUtil.generateToken(usuario);
+  }
+
+  @Test
+  void deveReaproveitarVerificacaoDoMesmoToken() {
+    TokenValidado primeiro = cache.validar(token);
+    TokenValidado segundo = cache.validar(token);
+
+    assertSame(primeiro, segundo);
+    verify(jwtUtil, times(1)).validar(token);
+    assertEquals(1.0, meterRegistry.get("delivery.auth.token.cache").tag("resultado", "hit").counter().count());
+    assertEquals(1.0, meterRegistry.get("delivery.auth.token.cache").tag("resultado", "miss").counter().count());
+    assertEquals(0.5, metricsService.taxaAcertoCacheTokens());
+    assertEquals(1, meterRegistry.get("delivery.auth.token.validacao.tempo").tag("origem", "cache").timer().count());
+  }
+
+  @Test
+  void naoDeveGuardarTokenInvalido() {
+    assertThrows(MalformedJwtException.class, () -> cache.validar("token_invalido"));
+    assertThrows(MalformedJwtException.class, () -> cache.validar("token_invalido"));
+
+    assertEquals(0, cache.getTamanho());
+  }
+
+  @Test
+  void deveVerificarNovamenteAposTtlMaximo() {
+    cache.validar(token);
+    nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+
+    cache.validar(token);
+
+    verify(jwtUtil, times(2)).validar(token);
+  }
+}
@@ -27,6 +27,7 @@ import com.deliverytech.delivery_api.auth.model.Role;
 import com.deliverytech.delivery_api.auth.model.Usuario;
 import com.deliverytech.delivery_api.auth.repository.UsuarioRepository;
 import com.deliverytech.delivery_api.auth.service.AuthService;
+import com.deliverytech.delivery_api.auth.service.TokenVersionService;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("AuthService - Testes Unitários")
@@ -38,6 +39,9 @@ class AuthServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private TokenVersionService tokenVersionService;
+
     @InjectMocks
     private AuthService authService;
 
@@ -183,4 +187,15 @@ class AuthServiceTest {
             () -> authService.buscarPorEmail(EMAIL));
         verify(usuarioRepository).findByEmail(EMAIL);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve desativar usuário e revogar seus tokens")
+    void deveDesativarUsuarioERevogarTokens() {
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
+
+        Usuario resultado = authService.desativarUsuario(1L);
+
+        assertFalse(resultado.getAtivo());
+        verify(tokenVersionService).revogarTokens(usuario);
+    }
+}
@@ -0,0 +1,235 @@
+package com.deliverytech.delivery_api.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.deliverytech.delivery_api.auth.model.Role;
+import com.deliverytech.delivery_api.auth.model.Usuario;
+import com.deliverytech.delivery_api.auth.service.LoginService;
+import com.deliverytech.delivery_api.common.exceptions.ServiceOverloadedException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("LoginService - Testes Unitários")
+class LoginServiceTest {
+
+  private static final String EMAIL = "cliente@email.com";
+  private static final String SENHA = "senha123";
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final List<LoginService> servicos = new ArrayList<>();
+
+  @AfterEach
+  void tearDown() {
+    servicos.forEach(LoginService::encerrar);
+  }
+
+  @Test
+  @DisplayName("Deve devolver o usuário autenticado sem nova consulta")
+  void deveDevolverUsuarioAutenticado() {
+    Usuario usuario = usuario(new BCryptPasswordEncoder(4));
+    AuthenticationManager manager = mock(AuthenticationManager.class);
+    when(manager.authenticate(any()))
+        .thenReturn(new UsernamePasswordAuthenticationToken(usuario, null, usuario.getAuthorities()));
+
+    Usuario autenticado = loginService(manager, 1, 1, Duration.ofSeconds(5)).autenticar(EMAIL, SENHA);
+
+    assertSame(usuario, autenticado);
+    assertEquals(1, meterRegistry.get("delivery.auth.login.fila.espera").timer().count());
+  }
+
+  @Test
+  @DisplayName("Deve repassar credenciais inválidas")
+  void deveRepassarCredenciaisInvalidas() {
+    AuthenticationManager manager = mock(AuthenticationManager.class);
+    when(manager.authenticate(any())).thenThrow(new BadCredentialsException("Credenciais inválidas"));
+
+    LoginService loginService = loginService(manager, 1, 1, Duration.ofSeconds(5));
+
+    assertThrows(BadCredentialsException.class, () -> loginService.autenticar(EMAIL, "errada"));
+  }
+
+  @Test
+  @DisplayName("Deve recusar na hora quando pool e fila estão cheios")
+  void deveRecusarComFilaCheia() throws Exception {
+    CountDownLatch liberar = new CountDownLatch(1);
+    AuthenticationManager manager = auth -> {
+      try {
+        liberar.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      throw new BadCredentialsException("liberado");
+    };
+    LoginService loginService = loginService(manager, 1, 1, Duration.ofSeconds(5));
+    ExecutorService requisicoes = Executors.newFixedThreadPool(2);
+    try {
+      // Uma em execução e uma na fila
+      requisicoes.submit(() -> loginService.autenticar(EMAIL, SENHA));
+      requisicoes.submit(() -> loginService.autenticar(EMAIL, SENHA));
+      aguardarFila(loginService, 1);
+
+      // Recusada pela fila cheia, não por esgotar o tempo esperando o login preso no latch
+      ServiceOverloadedException e = assertThrows(ServiceOverloadedException.class,
+          () -> loginService.autenticar(EMAIL, SENHA));
+
+      assertEquals(Duration.ofSeconds(2), e.getRetryAfter());
+      assertEquals(1.0, meterRegistry.get("delivery.auth.login.rejeicoes").tag("motivo", "fila_cheia")
+          .counter().count());
+    } finally {
+      liberar.countDown();
+      requisicoes.shutdown();
+    }
+  }
+
+  @Test
+  @DisplayName("Deve recusar quando a espera passa do tempo máximo")
+  void deveRecusarAoEsgotarTempo() {
+    AuthenticationManager manager = auth -> {
+      try {
+        Thread.sleep(1_000);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return auth;
+    };
+    LoginService loginService = loginService(manager, 1, 1, Duration.ofMillis(50));
+
+    assertThrows(ServiceOverloadedException.class, () -> loginService.autenticar(EMAIL, SENHA));
+    assertEquals(1.0, meterRegistry.get("delivery.auth.login.rejeicoes").tag("motivo", "tempo_esgotado")
+        .counter().count());
+  }
+
+  /**
+   * Rajada de logins seguida de requisições comuns ("pedidos") no pool de
+   * requisições do Tomcat (8 threads). Cada login fica preso em um latch: com
+   * o login nas threads de requisição, a rajada ocupa todas e nenhum pedido
+   * anda; com o pool de login (1 thread, fila 2) só 3 threads de requisição
+   * esperam, os demais logins são recusados e os pedidos terminam com os
+   * logins ainda presos.
+   */
+  @Test
+  @DisplayName("Deve isolar as demais requisições de uma rajada de logins")
+  void deveIsolarDemaisRequisicoesDeRajadaDeLogins() throws Exception {
+    CountDownLatch liberar = new CountDownLatch(1);
+    AtomicInteger verificacoes = new AtomicInteger();
+    AuthenticationManager manager = auth -> {
+      verificacoes.incrementAndGet();
+      try {
+        liberar.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return auth;
+    };
+
+    // Sem isolamento: 8 logins ocupam as 8 threads e o pedido fica na fila
+    ExecutorService semIsolamento = Executors.newFixedThreadPool(8);
+    try {
+      for (int i = 0; i < 40; i++) {
+        semIsolamento.submit(() -> manager.authenticate(new UsernamePasswordAuthenticationToken(EMAIL, SENHA)));
+      }
+      Future<Long> pedido = semIsolamento.submit(LoginServiceTest::pedido);
+      aguardar(() -> verificacoes.get() == 8);
+
+      assertFalse(pedido.isDone());
+    } finally {
+      semIsolamento.shutdownNow();
+    }
+
+    verificacoes.set(0);
+    LoginService loginService = loginService(manager, 1, 2, Duration.ofSeconds(30));
+    AtomicInteger recusados = new AtomicInteger();
+    ExecutorService requisicoes = Executors.newFixedThreadPool(8);
+    try {
+      for (int i = 0; i < 40; i++) {
+        requisicoes.submit(() -> {
+          try {
+            loginService.autenticar(EMAIL, SENHA);
+          } catch (ServiceOverloadedException e) {
+            recusados.incrementAndGet();
+          }
+        });
+      }
+      List<Future<Long>> pedidos = new ArrayList<>();
+      for (int i = 0; i < 20; i++) {
+        pedidos.add(requisicoes.submit(LoginServiceTest::pedido));
+      }
+      for (Future<Long> pedido : pedidos) {
+        pedido.get(30, TimeUnit.SECONDS);
+      }
+      aguardar(() -> recusados.get() == 37);
+
+      // Pedidos concluídos com o login ainda preso: um em execução, dois na fila
+      assertEquals(1, liberar.getCount());
+      assertEquals(1, verificacoes.get());
+      assertEquals(2, loginService.getTamanhoFila());
+      assertEquals(37, recusados.get());
+      assertEquals(37.0, meterRegistry.get("delivery.auth.login.rejeicoes").tag("motivo", "fila_cheia")
+          .counter().count());
+      assertEquals(0.0, meterRegistry.get("delivery.auth.login.rejeicoes").tag("motivo", "tempo_esgotado")
+          .counter().count());
+    } finally {
+      liberar.countDown();
+      requisicoes.shutdown();
+      requisicoes.awaitTermination(30, TimeUnit.SECONDS);
+    }
+  }
+
+  private static long pedido() {
+    long soma = 0;
+    for (int j = 0; j < 10_000; j++) {
+      soma += j;
+    }
+    return soma;
+  }
+
+  private LoginService loginService(AuthenticationManager manager, int threads, int fila, Duration tempoMaximo) {
+    LoginService loginService = new LoginService(manager, meterRegistry, threads, fila, tempoMaximo,
+        Duration.ofSeconds(2));
+    servicos.add(loginService);
+    return loginService;
+  }
+
+  private static void aguardarFila(LoginService loginService, int tamanho) throws InterruptedException {
+    aguardar(() -> loginService.getTamanhoFila() >= tamanho);
+  }
+
+  private static void aguardar(BooleanSupplier condicao) throws InterruptedException {
+    for (int i = 0; i < 1_000 && !condicao.getAsBoolean(); i++) {
+      Thread.sleep(10);
+    }
+    assertTrue(condicao.getAsBoolean(), "condição não atingida em 10 s");
+  }
+
+  private static Usuario usuario(BCryptPasswordEncoder bcrypt) {
+    Usuario usuario = new Usuario(EMAIL, bcrypt.encode(SENHA), "Cliente", Role.CLIENTE);
+    usuario.setId(1L);
+    return usuario;
+  }
+}
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -27,6 +28,8 @@ import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.deliverytech.delivery_api.auth.model.Usuario;
 import com.deliverytech.delivery_api.auth.repository.UsuarioRepository;
@@ -148,7 +151,35 @@ class PedidoServiceImplTest {
         verify(restauranteRepository).findById(1L);
         verify(produtoRepository).findById(1L);
         verify(pedidoRepository).save(any(Pedido.class));
+        verify(metricsService).incrementarPedidosProcessados();
         verify(metricsService).incrementarPedidosComSucesso();
+        verify(metricsService).finalizarTimerPedido(any());
+    }
+
+    @Test
+    @DisplayName("Deve contar sucesso e receita do pedido só após o commit")
+    void deveRegistrarMetricasDoPedidoAposCommit() {
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
+        when(restauranteRepository.findById(1L)).thenReturn(Optional.of(restaurante));
+        when(produtoRepository.findById(1L)).thenReturn(Optional.of(produto));
+        when(pedidoRepository.save(any(Pedido.class))).thenReturn(pedido);
+        when(modelMapper.map(any(Pedido.class), eq(PedidoResponseDTO.class)))
+                .thenReturn(new PedidoResponseDTO());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            pedidoService.criarPedido(pedidoDTO);
+
+            verify(metricsService, never()).incrementarPedidosComSucesso();
+            verify(metricsService, never()).adicionarReceita(anyDouble());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(metricsService).incrementarPedidosComSucesso();
+        verify(metricsService).adicionarReceita(anyDouble());
     }
 
     @Test
@@ -160,6 +191,8 @@ class PedidoServiceImplTest {
                 () -> pedidoService.criarPedido(pedidoDTO));
         verify(usuarioRepository).findById(1L);
         verify(pedidoRepository, never()).save(any());
+        verify(metricsService).incrementarPedidosComErro();
+        verify(metricsService).finalizarTimerPedido(any());
     }
 
     @Test
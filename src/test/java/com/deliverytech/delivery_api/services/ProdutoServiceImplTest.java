@@ -23,14 +23,18 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
+import com.deliverytech.delivery_api.common.cache.NegativeLookupCache;
 import com.deliverytech.delivery_api.common.exceptions.ConflictException;
 import com.deliverytech.delivery_api.common.exceptions.EntityNotFoundException;
 import com.deliverytech.delivery_api.common.exceptions.InactiveEntityException;
 import com.deliverytech.delivery_api.common.exceptions.ValidationException;
+import com.deliverytech.delivery_api.common.security.OwnershipResolver;
 import com.deliverytech.delivery_api.produto.dto.ProdutoDTO;
 import com.deliverytech.delivery_api.produto.dto.ProdutoFiltroDTO;
 import com.deliverytech.delivery_api.produto.dto.ProdutoResponseDTO;
@@ -53,6 +57,18 @@ class ProdutoServiceImplTest {
   @Mock
   private ModelMapper modelMapper;
 
+  @Mock
+  private NegativeLookupCache ausentes;
+
+  @Mock
+  private OwnershipResolver ownershipResolver;
+
+  @Mock
+  private CacheManager cacheManager;
+
+  @Mock
+  private Cache cardapios;
+
   @InjectMocks
   private ProdutoServiceImpl produtoService;
 
@@ -206,6 +222,18 @@ class ProdutoServiceImplTest {
     assertThrows(EntityNotFoundException.class,
         () -> produtoService.buscarProdutoPorId(1L));
     verify(produtoRepository).findById(1L);
+    verify(ausentes).registrarAusente("produtos", 1L);
+  }
+
+  @Test
+  @DisplayName("Deve responder produto inexistente pelo cache negativo sem consultar o banco")
+  void deveResponderProdutoInexistentePeloCacheNegativo() {
+    when(ausentes.isAusente("produtos", 1L)).thenReturn(true);
+
+    EntityNotFoundException erro = assertThrows(EntityNotFoundException.class,
+        () -> produtoService.buscarProdutoPorId(1L));
+    assertEquals(0, erro.getStackTrace().length);
+    verify(produtoRepository, never()).findById(any());
   }
 
   @Test
@@ -360,10 +388,16 @@ class ProdutoServiceImplTest {
   void deveDeletarProdutoComSucesso() {
     when(produtoRepository.findById(1L)).thenReturn(Optional.of(produto));
     doNothing().when(produtoRepository).delete(any(Produto.class));
+    when(cacheManager.getCache("cardapios")).thenReturn(cardapios);
 
     assertDoesNotThrow(() -> produtoService.deletarProduto(1L));
     verify(produtoRepository).findById(1L);
     verify(produtoRepository).delete(produto);
+    verify(ausentes).registrarExclusao("produtos", 1L);
+    verify(ownershipResolver).removerProduto(1L);
+    // Só o cardápio do restaurante do produto
+    verify(cardapios).evict(1L);
+    verify(cardapios, never()).clear();
   }
 
   @Test
@@ -0,0 +1,117 @@
+package com.deliverytech.delivery_api.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.deliverytech.delivery_api.auth.model.Role;
+import com.deliverytech.delivery_api.auth.model.Usuario;
+import com.deliverytech.delivery_api.auth.repository.InMemoryRefreshTokenStore;
+import com.deliverytech.delivery_api.auth.service.AuthService;
+import com.deliverytech.delivery_api.auth.service.RefreshTokenService;
+import com.deliverytech.delivery_api.auth.service.RefreshTokenService.SessaoEmitida;
+import com.deliverytech.delivery_api.auth.service.SessionRevocationService;
+import com.deliverytech.delivery_api.common.cache.CacheCircuitBreaker;
+import com.deliverytech.delivery_api.common.security.JwtUtil;
+import com.deliverytech.delivery_api.common.security.TokenValidado;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("RefreshTokenService - Testes Unitários")
+class RefreshTokenServiceTest {
+
+  private JwtUtil jwtUtil;
+  private AuthService authService;
+  private SessionRevocationService revogacoes;
+  private RefreshTokenService refreshTokenService;
+  private Usuario usuario;
+
+  @BeforeEach
+  void setUp() {
+    jwtUtil = new JwtUtil();
+    ReflectionTestUtils.setField(jwtUtil, "secret", "mysecretkeymysecretkeymysecretkeymysecretkey");
+    ReflectionTestUtils.setField(jwtUtil, "expiration", 3600000L); // 1h
+
+    InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore();
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    revogacoes = new SessionRevocationService(store, new CacheCircuitBreaker(meterRegistry, 5, Duration.ofSeconds(30),
+        System::currentTimeMillis), mock(StringRedisTemplate.class), jwtUtil, meterRegistry,
+        "delivery:auth:revogacoes", 1_000, 0.01);
+    authService = mock(AuthService.class);
+    refreshTokenService = new RefreshTokenService(jwtUtil, store, revogacoes, authService);
+
+    usuario = new Usuario("user@email.com", "123", "User", Role.CLIENTE);
+    usuario.setId(10L);
+    when(authService.loadUserByUsername("user@email.com")).thenReturn(usuario);
+  }
+
+  @Test
+  @DisplayName("Deve trocar o refresh token a cada uso, mantendo a sessão")
+  void deveRotacionarRefreshToken() {
+    SessaoEmitida login = refreshTokenService.iniciarSessao(usuario);
+
+    SessaoEmitida renovada = refreshTokenService.renovar(login.refreshToken());
+
+    TokenValidado antigo = jwtUtil.validar(login.refreshToken());
+    TokenValidado novo = jwtUtil.validar(renovada.refreshToken());
+    assertEquals(antigo.sessao(), novo.sessao());
+    assertNotEquals(antigo.id(), novo.id());
+    assertEquals(novo.sessao(), jwtUtil.validar(renovada.accessToken()).sessao());
+    assertEquals(Duration.ofDays(7), refreshTokenService.getValidade());
+  }
+
+  @Test
+  @DisplayName("Deve revogar a sessão quando um refresh token já usado voltar")
+  void deveRevogarSessaoAoReutilizarRefreshToken() {
+    SessaoEmitida login = refreshTokenService.iniciarSessao(usuario);
+    SessaoEmitida renovada = refreshTokenService.renovar(login.refreshToken());
+
+    assertThrows(BadCredentialsException.class, () -> refreshTokenService.renovar(login.refreshToken()));
+
+    // O token legítimo mais recente e o access token da sessão também caem
+    assertTrue(revogacoes.estaRevogada(jwtUtil.validar(renovada.accessToken()).sessao()));
+    assertThrows(BadCredentialsException.class, () -> refreshTokenService.renovar(renovada.refreshToken()));
+  }
+
+  @Test
+  @DisplayName("Deve recusar refresh depois do logout")
+  void deveRecusarRefreshAposLogout() {
+    SessaoEmitida login = refreshTokenService.iniciarSessao(usuario);
+
+    refreshTokenService.encerrarSessao(login.refreshToken());
+
+    assertTrue(revogacoes.estaRevogada(jwtUtil.validar(login.accessToken()).sessao()));
+    assertThrows(BadCredentialsException.class, () -> refreshTokenService.renovar(login.refreshToken()));
+  }
+
+  @Test
+  @DisplayName("Deve recusar access token e refresh token sem sessão")
+  void deveRecusarTokenQueNaoEhRefreshDeSessao() {
+    SessaoEmitida login = refreshTokenService.iniciarSessao(usuario);
+
+    assertThrows(BadCredentialsException.class, () -> refreshTokenService.renovar(login.accessToken()));
+    assertThrows(BadCredentialsException.class,
+        () -> refreshTokenService.renovar(jwtUtil.generateRefreshToken(usuario)));
+  }
+
+  @Test
+  @DisplayName("Deve recusar refresh de usuário desativado")
+  void deveRecusarRefreshDeUsuarioDesativado() {
+    SessaoEmitida login = refreshTokenService.iniciarSessao(usuario);
+    usuario.setAtivo(false);
+
+    assertThrows(BadCredentialsException.class, () -> refreshTokenService.renovar(login.refreshToken()));
+  }
+}
@@ -26,6 +26,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
+import com.deliverytech.delivery_api.common.cache.NegativeLookupCache;
 import com.deliverytech.delivery_api.common.exceptions.ConflictException;
 import com.deliverytech.delivery_api.common.exceptions.EntityNotFoundException;
 import com.deliverytech.delivery_api.common.exceptions.ValidationException;
@@ -52,6 +53,9 @@ class RestauranteServiceImplTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private NegativeLookupCache ausentes;
+
     @InjectMocks
     private RestauranteServiceImpl restauranteService;
 
@@ -212,6 +216,17 @@ class RestauranteServiceImplTest {
         assertThrows(EntityNotFoundException.class, 
             () -> restauranteService.buscarPorId(1L));
         verify(restauranteRepository).findById(1L);
+        verify(ausentes).registrarAusente("restaurantes", 1L);
+    }
+
+    @Test
+    @DisplayName("Deve responder restaurante inexistente pelo cache negativo sem consultar o banco")
+    void deveResponderRestauranteInexistentePeloCacheNegativo() {
+        when(ausentes.isAusente("restaurantes", 1L)).thenReturn(true);
+
+        assertThrows(EntityNotFoundException.class, 
+            () -> restauranteService.buscarComProdutos(1L));
+        verify(restauranteRepository, never()).findById(any());
     }
 
     @Test
@@ -8,30 +8,45 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.Map;
+import java.util.Set;
 
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.deliverytech.delivery_api.auth.dto.LoginRequestDTO;
 import com.deliverytech.delivery_api.auth.repository.UsuarioRepository;
+import com.deliverytech.delivery_api.common.cache.NegativeLookupCache;
+import com.deliverytech.delivery_api.common.cache.TwoLevelCache;
 import com.deliverytech.delivery_api.pedido.repository.PedidoRepository;
 import com.deliverytech.delivery_api.produto.repository.ProdutoRepository;
 import com.deliverytech.delivery_api.restaurante.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.utils.performance.PerformanceBudget;
+import com.deliverytech.delivery_api.utils.performance.PerformanceBudgetExtension;
+import com.deliverytech.delivery_api.utils.performance.QueryRecorder;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @SpringBootTest
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
-@Import(TestContainersConfig.class)
+@Import({ TestContainersConfig.class, QueryRecorder.class })
+@ExtendWith(PerformanceBudgetExtension.class)
 public abstract class BaseIntegrationTest {
 
   @Autowired
@@ -47,6 +62,22 @@ public abstract class BaseIntegrationTest {
   protected ProdutoRepository produtoRepository;
   @Autowired
   protected PedidoRepository pedidoRepository;
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+  @Autowired
+  private CacheManager cacheManager;
+
+  /**
+   * A primeira requisição inicializa o DispatcherServlet e carrega classes;
+   * fora dos testes, essa alocação não cai no orçamento de nenhum deles. A
+   * limpeza dos caches aquece o caminho das remoções, que só roda no commit,
+   * e evita valores da classe anterior.
+   */
+  @BeforeAll
+  void aquecerMockMvc() throws Exception {
+    mockMvc.perform(get("/api/restaurantes"));
+    cacheManager.getCacheNames().forEach(nome -> cacheManager.getCache(nome).clear());
+  }
 
   @BeforeEach
   void setupBanco() {
@@ -93,7 +124,7 @@ public abstract class BaseIntegrationTest {
       params.forEach(requestBuilder::param);
     }
 
-    return mockMvc.perform(requestBuilder);
+    return perform("GET " + url, requestBuilder);
   }
 
   // 🔽 Wrappers com header Authorization automaticamente aplicado
@@ -102,28 +133,77 @@ public abstract class BaseIntegrationTest {
   }
 
   protected ResultActions postJson(String url, String token, Object body) throws Exception {
-    return mockMvc.perform(post(url)
+    return perform("POST " + url, post(url)
         .contentType(MediaType.APPLICATION_JSON)
         .header("Authorization", "Bearer " + token)
         .content(toJson(body)));
   }
 
   protected ResultActions putJson(String url, String token, Object body, Object... uriVars) throws Exception {
-    return mockMvc.perform(put(url, uriVars)
+    return perform("PUT " + url, put(url, uriVars)
         .contentType(MediaType.APPLICATION_JSON)
         .header("Authorization", "Bearer " + token)
         .content(toJson(body)));
   }
 
   protected ResultActions patchJson(String url, String token, Object body, Object... uriVars) throws Exception {
-    return mockMvc.perform(patch(url, uriVars)
+    return perform("PATCH " + url, patch(url, uriVars)
         .contentType(MediaType.APPLICATION_JSON)
         .header("Authorization", "Bearer " + token)
         .content(toJson(body)));
   }
 
   protected ResultActions deleteJson(String url, String token, Object... uriVars) throws Exception {
-    return mockMvc.perform(delete(url, uriVars)
+    return perform("DELETE " + url, delete(url, uriVars)
         .header("Authorization", "Bearer " + token));
   }
+
+  /**
+   * Requisições dos helpers passam aqui: com {@link PerformanceBudget} no
+   * teste, são medidas e conferidas contra o orçamento
+   */
+  private ResultActions perform(String descricao, RequestBuilder requestBuilder) throws Exception {
+    return PerformanceBudgetExtension.medir(descricao, () -> mockMvc.perform(requestBuilder),
+        () -> desfazendo(requestBuilder));
+  }
+
+  /**
+   * Aquecimento: a requisição roda dentro de uma transação desfeita no fim.
+   * Os serviços participam dela, e os caches transaction-aware só gravam no
+   * commit: banco e caches ficam como estavam para a execução medida. O que
+   * roda só no commit (remoções dos caches) é aquecido no aquecerMockMvc.
+   *
+   * O cache negativo grava na hora, fora da transação: as marcas novas do
+   * aquecimento são removidas, senão o 404 medido sairia do cache sem ir ao
+   * banco. (O rate limit, outro estado fora da transação, fica desligado no
+   * perfil de teste.)
+   */
+  private ResultActions desfazendo(RequestBuilder requestBuilder) {
+    Set<Object> ausentes = marcasAusentes();
+    ResultActions aquecida = new TransactionTemplate(transactionManager).execute(transacao -> {
+      transacao.setRollbackOnly();
+      try {
+        ResultActions resultado = mockMvc.perform(requestBuilder);
+        transacao.flush(); // os INSERT/UPDATE pendentes também rodam
+        return resultado;
+      } catch (Exception e) {
+        throw new IllegalStateException("Falha no aquecimento da requisição", e);
+      }
+    });
+    Cache cache = cacheManager.getCache(NegativeLookupCache.CACHE);
+    marcasAusentes().stream().filter(chave -> !ausentes.contains(chave)).forEach(cache::evict);
+    return aquecida;
+  }
+
+  /**
+   * Chaves do cache negativo no L1 deste nó (toda gravação passa por ele)
+   */
+  private Set<Object> marcasAusentes() {
+    Cache cache = cacheManager.getCache(NegativeLookupCache.CACHE);
+    if (cache instanceof TransactionAwareCacheDecorator decorator) {
+      cache = decorator.getTargetCache();
+    }
+    return cache instanceof TwoLevelCache doisNiveis ? Set.copyOf(doisNiveis.getLocalCache().asMap().keySet())
+        : Set.of();
+  }
 }
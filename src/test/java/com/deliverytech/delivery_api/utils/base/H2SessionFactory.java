@@ -0,0 +1,35 @@
+package com.deliverytech.delivery_api.utils.base;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import com.deliverytech.delivery_api.auth.model.Usuario;
+import com.deliverytech.delivery_api.pedido.model.Pedido;
+import com.deliverytech.delivery_api.pedido.model.PedidoItem;
+import com.deliverytech.delivery_api.produto.model.Produto;
+import com.deliverytech.delivery_api.restaurante.model.Restaurante;
+
+/**
+ * SessionFactory do Hibernate sobre H2 em memória, com as entidades da
+ * aplicação e sem subir o Spring (testes e benchmarks de listeners).
+ */
+public class H2SessionFactory {
+
+  public static SessionFactoryImplementor criar(String banco) {
+    SessionFactory sessionFactory = new Configuration()
+        .addAnnotatedClass(Usuario.class)
+        .addAnnotatedClass(Restaurante.class)
+        .addAnnotatedClass(Produto.class)
+        .addAnnotatedClass(Pedido.class)
+        .addAnnotatedClass(PedidoItem.class)
+        .setProperty("hibernate.connection.url", "jdbc:h2:mem:" + banco + ";DB_CLOSE_DELAY=-1")
+        .setProperty("hibernate.connection.username", "sa")
+        .setProperty("hibernate.connection.password", "")
+        .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+        .setProperty("jakarta.persistence.validation.mode", "none")
+        .setProperty("hibernate.show_sql", "false")
+        .buildSessionFactory();
+    return sessionFactory.unwrap(SessionFactoryImplementor.class);
+  }
+}
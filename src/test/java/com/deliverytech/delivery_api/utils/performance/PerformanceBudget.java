@@ -0,0 +1,29 @@
+package com.deliverytech.delivery_api.utils.performance;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Orçamento de cada requisição feita pelo teste (via helpers do
+ * BaseIntegrationTest). Estourar qualquer limite falha o teste com a lista
+ * dos statements executados. -1 = sem limite.
+ *
+ * No método vale para o teste; na classe, para os testes sem anotação.
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PerformanceBudget {
+
+  /** Statements SQL por requisição */
+  int consultas() default -1;
+
+  /** Linhas lidas de ResultSets por requisição */
+  int linhas() default -1;
+
+  /** Bytes alocados pela thread da requisição, em KB */
+  long kbAlocados() default -1;
+}
@@ -0,0 +1,93 @@
+package com.deliverytech.delivery_api.utils.performance;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Confere o {@link PerformanceBudget} do teste.
+ *
+ * Só as requisições feitas pelo corpo do teste são medidas (o setup e os
+ * logins do @BeforeEach não). A alocação é a da thread do teste, que no
+ * MockMvc é a mesma da requisição; trabalho assíncrono (auditoria, @Async)
+ * fica de fora.
+ *
+ * Cada requisição medida é precedida do aquecimento (a mesma requisição, sem
+ * medição e sem efeito no banco ou nos caches): classes, planos de consulta
+ * do Hibernate e serializadores do caminho já estão carregados, e a execução
+ * do teste é conferida inteira, alocação inclusive. O que só roda no commit
+ * não é aquecido e entra no orçamento.
+ */
+public class PerformanceBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+  private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+  private static final ThreadLocal<List<RequestMeasurement>> MEDICOES = new ThreadLocal<>();
+
+  /**
+   * Executa a requisição medindo-a, se o teste tiver orçamento
+   *
+   * @param aquecimento roda antes, sem medição
+   */
+  public static <T> T medir(String requisicao, Callable<T> chamada, Callable<?> aquecimento) throws Exception {
+    List<RequestMeasurement> medicoes = MEDICOES.get();
+    if (medicoes == null) {
+      return chamada.call();
+    }
+    aquecimento.call();
+
+    RequestMeasurement medicao = new RequestMeasurement(requisicao);
+    long antes = THREADS.getCurrentThreadAllocatedBytes();
+    QueryRecorder.iniciar(medicao);
+    try {
+      return chamada.call();
+    } finally {
+      QueryRecorder.encerrar();
+      medicao.setBytesAlocados(THREADS.getCurrentThreadAllocatedBytes() - antes);
+      medicoes.add(medicao);
+    }
+  }
+
+  @Override
+  public void beforeTestExecution(ExtensionContext context) {
+    if (orcamento(context).isPresent()) {
+      MEDICOES.set(new ArrayList<>());
+    }
+  }
+
+  @Override
+  public void afterTestExecution(ExtensionContext context) {
+    List<RequestMeasurement> medicoes = MEDICOES.get();
+    MEDICOES.remove();
+    // Teste já falhou por outro motivo: não mascara a falha original
+    if (medicoes == null || context.getExecutionException().isPresent()) {
+      return;
+    }
+
+    PerformanceBudget orcamento = orcamento(context).orElseThrow();
+    StringBuilder relatorio = new StringBuilder();
+    for (RequestMeasurement medicao : medicoes) {
+      List<String> violacoes = medicao.violacoes(orcamento);
+      if (!violacoes.isEmpty()) {
+        relatorio.append("\n  ").append(medicao.getRequisicao()).append(": ").append(String.join(", ", violacoes))
+            .append(medicao.relatorio());
+      }
+    }
+    if (!relatorio.isEmpty()) {
+      throw new AssertionError("Orçamento de desempenho excedido" + relatorio);
+    }
+  }
+
+  private static Optional<PerformanceBudget> orcamento(ExtensionContext context) {
+    return AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), PerformanceBudget.class)
+        .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), PerformanceBudget.class));
+  }
+}
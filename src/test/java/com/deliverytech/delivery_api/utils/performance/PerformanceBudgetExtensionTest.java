@@ -0,0 +1,65 @@
+package com.deliverytech.delivery_api.utils.performance;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * A alocação é conferida em toda execução, inclusive na primeira de cada
+ * requisição: uma regressão de alocação falha o teste.
+ */
+class PerformanceBudgetExtensionTest {
+
+  private final PerformanceBudgetExtension extension = new PerformanceBudgetExtension();
+
+  @PerformanceBudget(kbAlocados = 256)
+  void orcamentoDe256Kb() {
+  }
+
+  @Test
+  void deveFalharQuandoAPrimeiraExecucaoAlocaAlemDoOrcamento() throws Exception {
+    ExtensionContext context = contexto();
+    extension.beforeTestExecution(context);
+
+    PerformanceBudgetExtension.medir("POST /api/pedidos", () -> new byte[4 * 1024 * 1024],
+        () -> null);
+
+    AssertionError erro = assertThrows(AssertionError.class, () -> extension.afterTestExecution(context));
+    assertTrue(erro.getMessage().contains("KB alocados (orçamento 256 KB)"), erro.getMessage());
+  }
+
+  @Test
+  void aquecimentoRodaAntesENaoEntraNaMedicao() throws Exception {
+    ExtensionContext context = contexto();
+    AtomicInteger aquecimentos = new AtomicInteger();
+    extension.beforeTestExecution(context);
+
+    byte[] resposta = PerformanceBudgetExtension.medir("GET /api/pedidos/{id}", () -> new byte[1024], () -> {
+      aquecimentos.incrementAndGet();
+      return new byte[4 * 1024 * 1024];
+    });
+
+    assertEquals(1024, resposta.length);
+    assertEquals(1, aquecimentos.get());
+    assertDoesNotThrow(() -> extension.afterTestExecution(context));
+  }
+
+  private ExtensionContext contexto() throws NoSuchMethodException {
+    Method metodo = getClass().getDeclaredMethod("orcamentoDe256Kb");
+    ExtensionContext context = mock(ExtensionContext.class);
+    when(context.getRequiredTestMethod()).thenReturn(metodo);
+    when(context.getRequiredTestClass()).thenAnswer(i -> getClass());
+    when(context.getExecutionException()).thenReturn(Optional.empty());
+    return context;
+  }
+}
@@ -0,0 +1,47 @@
+package com.deliverytech.delivery_api.utils.performance;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import com.deliverytech.delivery_api.common.monitoring.database.InstrumentedDataSource;
+import com.deliverytech.delivery_api.common.monitoring.database.StatementListener;
+
+/**
+ * Registra statements e linhas lidas na {@link RequestMeasurement} ativa na
+ * thread, como listener do {@link InstrumentedDataSource} da aplicação. Sem
+ * medição ativa (setup, login), nada é registrado.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class QueryRecorder {
+
+  private static final ThreadLocal<RequestMeasurement> ATUAL = new ThreadLocal<>();
+
+  static void iniciar(RequestMeasurement medicao) {
+    ATUAL.set(medicao);
+  }
+
+  static void encerrar() {
+    ATUAL.remove();
+  }
+
+  @Bean
+  StatementListener queryRecorderListener() {
+    return new StatementListener() {
+      @Override
+      public void statement(String consulta, String sql) {
+        RequestMeasurement medicao = ATUAL.get();
+        if (medicao != null) {
+          medicao.statement(consulta, sql != null ? sql : "?");
+        }
+      }
+
+      @Override
+      public void linha() {
+        RequestMeasurement medicao = ATUAL.get();
+        if (medicao != null) {
+          medicao.linha();
+        }
+      }
+    };
+  }
+}
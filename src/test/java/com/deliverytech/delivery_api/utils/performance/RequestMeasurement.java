@@ -0,0 +1,83 @@
+package com.deliverytech.delivery_api.utils.performance;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Statements, linhas e bytes alocados de uma requisição
+ */
+public class RequestMeasurement {
+
+  public record ExecutedStatement(String consulta, String sql) {
+  }
+
+  private final String requisicao;
+  private final List<ExecutedStatement> statements = new ArrayList<>();
+  private int linhas;
+  private long bytesAlocados;
+
+  RequestMeasurement(String requisicao) {
+    this.requisicao = requisicao;
+  }
+
+  void statement(String consulta, String sql) {
+    statements.add(new ExecutedStatement(consulta, sql));
+  }
+
+  void linha() {
+    linhas++;
+  }
+
+  void setBytesAlocados(long bytesAlocados) {
+    this.bytesAlocados = bytesAlocados;
+  }
+
+  public String getRequisicao() {
+    return requisicao;
+  }
+
+  public List<ExecutedStatement> getStatements() {
+    return statements;
+  }
+
+  public int getLinhas() {
+    return linhas;
+  }
+
+  public long getBytesAlocados() {
+    return bytesAlocados;
+  }
+
+  /**
+   * Violações do orçamento; vazia se dentro dele
+   */
+  List<String> violacoes(PerformanceBudget orcamento) {
+    List<String> violacoes = new ArrayList<>();
+    if (orcamento.consultas() >= 0 && statements.size() > orcamento.consultas()) {
+      violacoes.add(statements.size() + " statements (orçamento " + orcamento.consultas() + ")");
+    }
+    if (orcamento.linhas() >= 0 && linhas > orcamento.linhas()) {
+      violacoes.add(linhas + " linhas (orçamento " + orcamento.linhas() + ")");
+    }
+    if (orcamento.kbAlocados() >= 0 && bytesAlocados / 1024 > orcamento.kbAlocados()) {
+      violacoes.add(bytesAlocados / 1024 + " KB alocados (orçamento " + orcamento.kbAlocados() + " KB)");
+    }
+    return violacoes;
+  }
+
+  /**
+   * Statements agrupados por SQL, na ordem da primeira execução: repetições
+   * (N+1) aparecem como "3x"
+   */
+  String relatorio() {
+    Map<ExecutedStatement, Integer> repeticoes = new LinkedHashMap<>();
+    statements.forEach(s -> repeticoes.merge(s, 1, Integer::sum));
+
+    StringBuilder relatorio = new StringBuilder();
+    repeticoes.forEach((s, vezes) -> relatorio.append("\n    ").append(vezes).append("x [")
+        .append(s.consulta()).append("] ").append(s.sql()));
+    return relatorio.toString();
+  }
+}
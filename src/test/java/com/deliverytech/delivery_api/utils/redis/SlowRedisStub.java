@@ -0,0 +1,200 @@
+package com.deliverytech.delivery_api.utils.redis;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Redis de mentira para testes: fala RESP2 e guarda os valores em memória,
+ * com latência configurável antes de cada resposta.
+ *
+ * Atende o necessário para o RedisCache e o pub/sub (GET, SET, DEL, MGET,
+ * PUBLISH, PING); os demais comandos respondem OK. HELLO responde erro, o que
+ * faz o Lettuce usar RESP2.
+ */
+public class SlowRedisStub implements AutoCloseable {
+
+  private final ServerSocket servidor;
+  private final ExecutorService conexoes = Executors.newCachedThreadPool(r -> {
+    Thread thread = new Thread(r, "slow-redis-stub");
+    thread.setDaemon(true);
+    return thread;
+  });
+  private final Map<String, byte[]> dados = new ConcurrentHashMap<>();
+  private final Queue<String> comandos = new ConcurrentLinkedQueue<>();
+  private final List<Socket> clientes = new ArrayList<>();
+
+  private volatile long latenciaMs;
+
+  public SlowRedisStub() throws IOException {
+    servidor = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+    conexoes.execute(this::aceitar);
+  }
+
+  public int getPorta() {
+    return servidor.getLocalPort();
+  }
+
+  public void setLatenciaMs(long latenciaMs) {
+    this.latenciaMs = latenciaMs;
+  }
+
+  /**
+   * Nomes dos comandos recebidos (em maiúsculas), na ordem de chegada
+   */
+  public List<String> getComandos() {
+    return List.copyOf(comandos);
+  }
+
+  public void limparComandos() {
+    comandos.clear();
+  }
+
+  public boolean contem(String chave) {
+    return dados.containsKey(chave);
+  }
+
+  @Override
+  public void close() throws IOException {
+    servidor.close();
+    synchronized (clientes) {
+      for (Socket cliente : clientes) {
+        cliente.close();
+      }
+    }
+    conexoes.shutdownNow();
+  }
+
+  private void aceitar() {
+    while (!servidor.isClosed()) {
+      try {
+        Socket cliente = servidor.accept();
+        synchronized (clientes) {
+          clientes.add(cliente);
+        }
+        conexoes.execute(() -> atender(cliente));
+      } catch (IOException e) {
+        return;
+      }
+    }
+  }
+
+  private void atender(Socket cliente) {
+    try (cliente) {
+      InputStream in = new BufferedInputStream(cliente.getInputStream());
+      OutputStream out = cliente.getOutputStream();
+      List<byte[]> comando;
+      while ((comando = lerComando(in)) != null) {
+        if (latenciaMs > 0) {
+          Thread.sleep(latenciaMs);
+        }
+        out.write(responder(comando));
+        out.flush();
+      }
+    } catch (SocketException e) {
+      // Cliente desconectou
+    } catch (IOException e) {
+      // Conexão encerrada no fechamento do stub
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private byte[] responder(List<byte[]> comando) {
+    String nome = texto(comando.get(0)).toUpperCase();
+    comandos.add(nome);
+
+    return switch (nome) {
+      case "HELLO" -> erro("unknown command 'HELLO'");
+      case "PING" -> simples("PONG");
+      case "GET" -> bulk(dados.get(texto(comando.get(1))));
+      case "SET" -> {
+        dados.put(texto(comando.get(1)), comando.get(2));
+        yield simples("OK");
+      }
+      case "DEL", "UNLINK" -> {
+        long removidos = comando.stream().skip(1).filter(c -> dados.remove(texto(c)) != null).count();
+        yield inteiro(removidos);
+      }
+      case "MGET" -> {
+        ByteArrayOutputStream resposta = new ByteArrayOutputStream();
+        resposta.writeBytes(("*" + (comando.size() - 1) + "\r\n").getBytes(StandardCharsets.UTF_8));
+        comando.stream().skip(1).forEach(c -> resposta.writeBytes(bulk(dados.get(texto(c)))));
+        yield resposta.toByteArray();
+      }
+      case "PUBLISH" -> inteiro(0);
+      default -> simples("OK");
+    };
+  }
+
+  private static List<byte[]> lerComando(InputStream in) throws IOException {
+    String cabecalho = lerLinha(in);
+    if (cabecalho == null) {
+      return null;
+    }
+    int partes = Integer.parseInt(cabecalho.substring(1));
+    List<byte[]> comando = new ArrayList<>(partes);
+    for (int i = 0; i < partes; i++) {
+      int tamanho = Integer.parseInt(lerLinha(in).substring(1));
+      byte[] dado = in.readNBytes(tamanho);
+      in.readNBytes(2); // \r\n
+      comando.add(dado);
+    }
+    return comando;
+  }
+
+  private static String lerLinha(InputStream in) throws IOException {
+    StringBuilder linha = new StringBuilder();
+    int c;
+    while ((c = in.read()) != -1) {
+      if (c == '\r') {
+        in.read(); // \n
+        return linha.toString();
+      }
+      linha.append((char) c);
+    }
+    return null;
+  }
+
+  private static String texto(byte[] bytes) {
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static byte[] simples(String valor) {
+    return ("+" + valor + "\r\n").getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static byte[] erro(String mensagem) {
+    return ("-ERR " + mensagem + "\r\n").getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static byte[] inteiro(long valor) {
+    return (":" + valor + "\r\n").getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static byte[] bulk(byte[] valor) {
+    if (valor == null) {
+      return "$-1\r\n".getBytes(StandardCharsets.UTF_8);
+    }
+    ByteArrayOutputStream resposta = new ByteArrayOutputStream();
+    resposta.writeBytes(("$" + valor.length + "\r\n").getBytes(StandardCharsets.UTF_8));
+    resposta.writeBytes(valor);
+    resposta.writeBytes("\r\n".getBytes(StandardCharsets.UTF_8));
+    return resposta.toByteArray();
+  }
+}
@@ -0,0 +1,110 @@
+package com.deliverytech.delivery_api.utils.redis;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import com.deliverytech.delivery_api.common.cache.CacheAccessTracker;
+import com.deliverytech.delivery_api.common.cache.CacheCircuitBreaker;
+import com.deliverytech.delivery_api.common.cache.CacheInvalidationBroadcaster;
+import com.deliverytech.delivery_api.common.cache.TwoLevelCacheManager;
+import com.deliverytech.delivery_api.common.cache.codec.CodecRedisSerializer;
+import com.deliverytech.delivery_api.common.cache.codec.SmileCacheValueCodec;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Vários nós da aplicação sobre o mesmo Redis (SlowRedisStub), cada um com o
+ * seu TwoLevelCacheManager montado como no RedisConfig (transaction-aware).
+ *
+ * O stub não implementa SUBSCRIBE: cada PUBLISH de um nó é entregue direto ao
+ * broadcaster dos demais, como faria o listener do Redis. Com
+ * setEntregarInvalidacoes(false) as mensagens se perdem (Redis fora do ar).
+ */
+public class TwoLevelCacheCluster implements AutoCloseable {
+
+  private static final String CANAL = "delivery:cache:invalidacao";
+
+  public record No(TwoLevelCacheManager cacheManager, CacheInvalidationBroadcaster broadcaster,
+      CacheCircuitBreaker circuito) {
+  }
+
+  private final SlowRedisStub redis;
+  private final LettuceConnectionFactory connectionFactory;
+  private final List<String> caches;
+  private final List<CacheInvalidationBroadcaster> broadcasters = new CopyOnWriteArrayList<>();
+
+  private volatile boolean entregarInvalidacoes = true;
+
+  public TwoLevelCacheCluster(String... caches) throws IOException {
+    this.caches = List.of(caches);
+    redis = new SlowRedisStub();
+    connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", redis.getPorta()),
+        LettuceClientConfiguration.builder().commandTimeout(Duration.ofMillis(500)).build());
+    connectionFactory.afterPropertiesSet();
+  }
+
+  public No novoNo() {
+    return novoNo(new CacheCircuitBreaker(new SimpleMeterRegistry(), 3, Duration.ofSeconds(30),
+        System::currentTimeMillis));
+  }
+
+  public No novoNo(CacheCircuitBreaker circuito) {
+    RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
+        .entryTtl(Duration.ofMinutes(30))
+        .disableCachingNullValues()
+        .serializeKeysWith(SerializationPair.fromSerializer(new StringRedisSerializer()))
+        .serializeValuesWith(SerializationPair.fromSerializer(new CodecRedisSerializer(new SmileCacheValueCodec())));
+    RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+        .cacheDefaults(config)
+        .initialCacheNames(Set.copyOf(caches))
+        .build();
+    redisCacheManager.afterPropertiesSet();
+
+    StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    CacheInvalidationBroadcaster broadcaster = new CacheInvalidationBroadcaster(redisTemplate, CANAL, circuito);
+    doAnswer(invocacao -> {
+      if (entregarInvalidacoes) {
+        DefaultMessage mensagem = new DefaultMessage(CANAL.getBytes(StandardCharsets.UTF_8),
+            invocacao.<String>getArgument(1).getBytes(StandardCharsets.UTF_8));
+        broadcasters.forEach(b -> b.onMessage(mensagem, null));
+      }
+      return 1L;
+    }).when(redisTemplate).convertAndSend(anyString(), any());
+    broadcasters.add(broadcaster);
+
+    TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(redisCacheManager, connectionFactory, broadcaster,
+        new SimpleMeterRegistry(), mock(CacheAccessTracker.class), circuito, 100, 1_000, Duration.ofMinutes(5), 1.0);
+    cacheManager.setTransactionAware(true);
+    cacheManager.afterPropertiesSet();
+    return new No(cacheManager, broadcaster, circuito);
+  }
+
+  public void setEntregarInvalidacoes(boolean entregarInvalidacoes) {
+    this.entregarInvalidacoes = entregarInvalidacoes;
+  }
+
+  @Override
+  public void close() throws IOException {
+    connectionFactory.destroy();
+    redis.close();
+  }
+}